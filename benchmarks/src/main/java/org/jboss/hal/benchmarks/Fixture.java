@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * DMR payloads used by the benchmarks. The payloads are stored as base64 encoded DMR in the top-level {@code fixtures}
+ * directory, so results are reproducible offline. See {@code docs/development/building.md} for how to record fixtures from a
+ * running server.
+ */
+public enum Fixture {
+
+    /** {@code :read-resource(recursive=true, include-runtime=true)} of a standalone server */
+    STANDALONE_RESOURCE("standalone-resource.dmr"),
+
+    /**
+     * {@code /subsystem=undertow:read-resource-description(recursive=true, operations=true,
+     * access-control=combined-descriptions)} of a standalone server
+     */
+    STANDALONE_RRD("standalone-rrd.dmr"),
+
+    /** {@code /profile=full:read-resource(recursive=true)} of a domain controller */
+    DOMAIN_RESOURCE("domain-resource.dmr"),
+
+    /**
+     * {@code /profile=full/subsystem=*:read-resource-description(recursive=true, operations=true,
+     * access-control=combined-descriptions)} of a domain controller
+     */
+    DOMAIN_RRD("domain-rrd.dmr");
+
+    static {
+        // all benchmarks use the fixtures and run on the JVM
+        DataBuffers.useByteArrays();
+    }
+
+    public final String file;
+
+    Fixture(String file) {
+        this.file = file;
+    }
+
+    /** Returns the payload as base64 encoded DMR without line breaks. */
+    public String base64() {
+        try (InputStream in = Fixture.class.getResourceAsStream("/fixtures/" + file)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture " + file + " not found");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII).replaceAll("\\s", "");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Returns the payload as binary DMR. */
+    public byte[] bytes() {
+        return ModelNode.fromBase64(base64()).toBytes();
+    }
+
+    /** Returns the decoded payload. */
+    public ModelNode node() {
+        return ModelNode.fromBase64(base64());
+    }
+}
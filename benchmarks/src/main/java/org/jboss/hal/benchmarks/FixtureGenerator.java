@@ -0,0 +1,336 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EXCEPTIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EXECUTE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EXPRESSIONS_ALLOWED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MODEL_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NILLABLE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STORAGE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE;
+
+/**
+ * Generates the {@linkplain Fixture fixtures} if no server is available for recording. The generated payloads have the
+ * structure, the value types and roughly the size of the responses of a WildFly server, but use made-up names. The
+ * generator is seeded, so the same fixtures are generated on every run.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.jboss.hal.benchmarks.FixtureGenerator [directory]}. The directory defaults
+ * to the top-level {@code fixtures} directory, relative to the {@code benchmarks} module.
+ */
+public final class FixtureGenerator {
+
+    private static final String[] SUBSYSTEMS = {
+            "batch-jberet", "datasources", "ee", "ejb3", "elytron", "infinispan", "io", "jaxrs", "jca", "jgroups", "jmx",
+            "jpa", "logging", "mail", "messaging-activemq", "naming", "remoting", "request-controller", "transactions",
+            "undertow", "webservices", "weld"};
+    private static final String[] WORDS = {
+            "address", "binding", "buffer", "cache", "capacity", "charset", "connection", "count", "default", "domain",
+            "enabled", "expiration", "filter", "format", "handler", "interval", "level", "lifespan", "limit", "max", "min",
+            "mode", "name", "path", "pool", "port", "queue", "realm", "retry", "security", "session", "size", "socket",
+            "stack", "statistics", "strategy", "thread", "timeout", "transport", "worker"};
+    private static final ModelType[] TYPES = {
+            ModelType.STRING, ModelType.STRING, ModelType.STRING, ModelType.INT, ModelType.LONG, ModelType.BOOLEAN,
+            ModelType.BOOLEAN, ModelType.LIST, ModelType.OBJECT};
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "../fixtures");
+        Files.createDirectories(directory);
+        for (Fixture fixture : Fixture.values()) {
+            String base64 = generate(fixture).toBase64String();
+            StringBuilder wrapped = new StringBuilder();
+            for (int i = 0; i < base64.length(); i += 120) {
+                wrapped.append(base64, i, Math.min(base64.length(), i + 120)).append('\n');
+            }
+            Files.writeString(directory.resolve(fixture.file), wrapped);
+            System.out.printf("%s: %,d bytes%n", fixture.file, base64.length());
+        }
+    }
+
+    /** Generates the payload of the given fixture. */
+    public static ModelNode generate(Fixture fixture) {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        switch (fixture) {
+            case STANDALONE_RESOURCE:
+                response.get(RESULT).set(new FixtureGenerator(1, true).resources(SUBSYSTEMS, true));
+                break;
+            case STANDALONE_RRD:
+                response.get(RESULT).set(new FixtureGenerator(1, true).type("undertow", 0).description());
+                break;
+            case DOMAIN_RESOURCE:
+                ModelNode profile = new ModelNode();
+                profile.get("name").set("full");
+                profile.get("subsystem").set(new FixtureGenerator(2, false).resources(SUBSYSTEMS, false));
+                response.get(RESULT).set(profile);
+                break;
+            case DOMAIN_RRD:
+                FixtureGenerator generator = new FixtureGenerator(2, false);
+                for (String subsystem : SUBSYSTEMS) {
+                    ModelNode step = new ModelNode();
+                    step.get(ADDRESS).add("profile", "full");
+                    step.get(ADDRESS).add("subsystem", subsystem);
+                    step.get(OUTCOME).set(SUCCESS);
+                    step.get(RESULT).set(generator.type(subsystem, 0).description());
+                    response.get(RESULT).add(step);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown fixture " + fixture);
+        }
+        return response;
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final Random random;
+    private final boolean runtime;
+
+    private FixtureGenerator(long seed, boolean runtime) {
+        this.random = new Random(seed);
+        this.runtime = runtime;
+    }
+
+    private ModelNode resources(String[] subsystems, boolean wrap) {
+        ModelNode subsystemNode = new ModelNode();
+        for (String subsystem : subsystems) {
+            subsystemNode.get(subsystem).set(type(subsystem, 0).resource());
+        }
+        if (wrap) {
+            ModelNode root = new ModelNode();
+            root.get("name").set("localhost");
+            root.get("product-name").set("WildFly");
+            root.get("release-version").set("38.0.0.Final");
+            root.get("subsystem").set(subsystemNode);
+            return root;
+        }
+        return subsystemNode;
+    }
+
+    private ResourceType type(String name, int depth) {
+        int attributeCount = 8 + random.nextInt(depth == 0 ? 16 : 12);
+        Set<String> attributeNames = new LinkedHashSet<>();
+        while (attributeNames.size() < attributeCount) {
+            attributeNames.add(word() + "-" + word());
+        }
+        List<Attribute> attributes = new ArrayList<>();
+        for (String attributeName : attributeNames) {
+            ModelType type = TYPES[random.nextInt(TYPES.length)];
+            attributes.add(new Attribute(attributeName, type, runtime && random.nextInt(5) == 0, random.nextBoolean()));
+        }
+
+        List<ResourceType> children = new ArrayList<>();
+        int childCount = depth == 0 ? 2 + random.nextInt(3) : depth < 3 ? random.nextInt(3 - depth) : 0;
+        Set<String> childNames = new LinkedHashSet<>();
+        while (childNames.size() < childCount) {
+            String childName = word() + (random.nextBoolean() ? "" : "-" + word());
+            if (!attributeNames.contains(childName)) {
+                childNames.add(childName);
+            }
+        }
+        for (String childName : childNames) {
+            children.add(type(childName, depth + 1));
+        }
+        int instances = depth == 0 ? 1 : 1 + random.nextInt(3);
+        return new ResourceType(name, attributes, children, instances, random.nextLong());
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private record Attribute(String name, ModelType type, boolean metric, boolean expressionsAllowed) {
+
+        ModelNode value(Random random) {
+            ModelNode value = new ModelNode();
+            if (random.nextInt(5) == 0) {
+                return value; // undefined
+            }
+            switch (type) {
+                case STRING:
+                    if (expressionsAllowed && random.nextInt(4) == 0) {
+                        value.setExpression("${jboss." + name + ":" + name + "-" + random.nextInt(100) + "}");
+                    } else {
+                        value.set(name + "-" + random.nextInt(100));
+                    }
+                    break;
+                case INT:
+                    value.set(random.nextInt(100_000));
+                    break;
+                case LONG:
+                    value.set(random.nextLong() >>> 20);
+                    break;
+                case BOOLEAN:
+                    value.set(random.nextBoolean());
+                    break;
+                case LIST:
+                    for (int i = random.nextInt(4); i >= 0; i--) {
+                        value.add(name + "-" + i);
+                    }
+                    break;
+                case OBJECT:
+                    for (int i = random.nextInt(4); i >= 0; i--) {
+                        value.get("key-" + i).set("value-" + random.nextInt(100));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return value;
+        }
+
+        ModelNode description(Random random) {
+            ModelNode description = new ModelNode();
+            description.get(TYPE).set(type);
+            if (type == ModelType.LIST || type == ModelType.OBJECT) {
+                description.get("value-type").set(ModelType.STRING);
+            }
+            description.get(DESCRIPTION).set("The " + name.replace('-', ' ') + " of the resource. "
+                    + "Changes take effect " + (random.nextBoolean() ? "immediately." : "after the next reload."));
+            description.get(EXPRESSIONS_ALLOWED).set(expressionsAllowed);
+            boolean required = random.nextInt(4) == 0;
+            description.get(REQUIRED).set(required);
+            description.get(NILLABLE).set(!required);
+            if (type == ModelType.INT || type == ModelType.LONG) {
+                description.get(DEFAULT).set(random.nextInt(1000));
+                description.get("min").set(0);
+                description.get("max").set(Integer.MAX_VALUE);
+            } else if (type == ModelType.BOOLEAN) {
+                description.get(DEFAULT).set(random.nextBoolean());
+            }
+            description.get(ACCESS_TYPE).set(metric ? "metric" : "read-write");
+            description.get(STORAGE).set(metric ? "runtime" : "configuration");
+            if (!metric) {
+                description.get("restart-required").set(random.nextBoolean() ? "no-services" : "resource-services");
+            }
+            description.get("stability").set("default");
+            return description;
+        }
+    }
+
+    private static class ResourceType {
+
+        private static final String[] OPERATIONS_NAMES = {
+                "add", "remove", "read-attribute", "read-resource", "read-resource-description", "undefine-attribute",
+                "write-attribute"};
+
+        private final String name;
+        private final List<Attribute> attributes;
+        private final List<ResourceType> children;
+        private final int instances;
+        private final long seed;
+
+        ResourceType(String name, List<Attribute> attributes, List<ResourceType> children, int instances, long seed) {
+            this.name = name;
+            this.attributes = attributes;
+            this.children = children;
+            this.instances = instances;
+            this.seed = seed;
+        }
+
+        ModelNode resource() {
+            return resource(new Random(seed));
+        }
+
+        private ModelNode resource(Random random) {
+            ModelNode resource = new ModelNode();
+            for (Attribute attribute : attributes) {
+                resource.get(attribute.name).set(attribute.value(random));
+            }
+            for (ResourceType child : children) {
+                ModelNode childNode = resource.get(child.name);
+                for (int i = 0; i < child.instances; i++) {
+                    childNode.get(child.instances == 1 ? "default" : child.name + "-" + i).set(child.resource(random));
+                }
+            }
+            return resource;
+        }
+
+        ModelNode description() {
+            return description(new Random(seed));
+        }
+
+        private ModelNode description(Random random) {
+            ModelNode description = new ModelNode();
+            description.get(DESCRIPTION).set("The configuration of the " + name.replace('-', ' ') + " resource.");
+            description.get("capabilities").setEmptyList();
+            for (Attribute attribute : attributes) {
+                description.get(ATTRIBUTES, attribute.name).set(attribute.description(random));
+            }
+            for (String operation : OPERATIONS_NAMES) {
+                ModelNode operationNode = description.get(OPERATIONS, operation);
+                operationNode.get("operation-name").set(operation);
+                operationNode.get(DESCRIPTION).set("The " + operation + " operation of the " + name + " resource.");
+                operationNode.get("request-properties").setEmptyObject();
+                operationNode.get("reply-properties").setEmptyObject();
+                operationNode.get("read-only").set(operation.startsWith("read"));
+                operationNode.get("runtime-only").set(false);
+                operationNode.get("stability").set("default");
+            }
+            description.get("notifications");
+            if (children.isEmpty()) {
+                description.get(CHILDREN).setEmptyObject();
+            }
+            for (ResourceType child : children) {
+                ModelNode childNode = description.get(CHILDREN, child.name);
+                childNode.get(DESCRIPTION).set("The " + child.name.replace('-', ' ') + " resources.");
+                childNode.get(MODEL_DESCRIPTION, "*").set(child.description(random));
+            }
+
+            ModelNode accessControl = description.get(ACCESS_CONTROL);
+            ModelNode defaults = accessControl.get(DEFAULT);
+            defaults.get(READ).set(true);
+            defaults.get(WRITE).set(true);
+            for (Attribute attribute : attributes) {
+                defaults.get(ATTRIBUTES, attribute.name, READ).set(true);
+                defaults.get(ATTRIBUTES, attribute.name, WRITE).set(!attribute.metric);
+            }
+            for (String operation : OPERATIONS_NAMES) {
+                defaults.get(OPERATIONS, operation, EXECUTE).set(true);
+            }
+            accessControl.get(EXCEPTIONS).setEmptyObject();
+            return description;
+        }
+    }
+}
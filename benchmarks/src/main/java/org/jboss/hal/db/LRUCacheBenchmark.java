@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read-through access to an {@link LRUCache} with a skewed key distribution over a key space four times the capacity, so
+ * that hits, promotions and evictions are mixed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LRUCacheBenchmark {
+
+    private static final int KEYS = 1 << 16;
+    private static final int OPERATIONS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    int capacity;
+
+    private String[] keys;
+    private LRUCache<String, String> cache;
+    private LRUCache<String, String> weightedCache;
+    private LRUCache<String, String> ttlCache;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int keySpace = capacity * 4;
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            // the square skews the distribution towards low keys
+            double r = random.nextDouble();
+            keys[i] = "key-" + (int) (r * r * keySpace);
+        }
+        cache = new LRUCache<>(capacity);
+        weightedCache = new LRUCache<>(Integer.MAX_VALUE, capacity * 10L, (key, value) -> value.length());
+        ttlCache = new LRUCache<>(capacity);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int churn() {
+        return run(cache, LRUCache.NO_TTL);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int churnWeighted() {
+        return run(weightedCache, LRUCache.NO_TTL);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int churnWithTtl() {
+        return run(ttlCache, 60_000);
+    }
+
+    private int run(LRUCache<String, String> cache, long ttl) {
+        int hits = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            String key = keys[index++ & (KEYS - 1)];
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key, ttl);
+            }
+        }
+        return hits;
+    }
+}
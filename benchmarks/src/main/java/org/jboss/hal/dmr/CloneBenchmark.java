@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.benchmarks.Fixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Copying of decoded payloads, with and without modifying the copy afterward. The {@code clone} benchmarks make a deep copy
+ * using {@link ModelNode#clone()}, the {@code copyOnWrite} benchmarks use {@link ModelNode#copyOnWrite()}. Run with
+ * {@code -prof gc} to compare the allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CloneBenchmark {
+
+    @Param({"STANDALONE_RESOURCE", "STANDALONE_RRD", "DOMAIN_RESOURCE"})
+    Fixture fixture;
+
+    private ModelNode node;
+    private String[] path;
+
+    @Setup
+    public void setup() {
+        node = fixture.node();
+        CodecBenchmark.visit(node); // decode all values
+        path = deepestPath(node);
+    }
+
+    @Benchmark
+    public ModelNode cloneNode() {
+        return node.clone();
+    }
+
+    @Benchmark
+    public ModelNode cloneAndModify() {
+        ModelNode clone = node.clone();
+        clone.get(path).set("modified");
+        return clone;
+    }
+
+    @Benchmark
+    public ModelNode copyOnWrite() {
+        return node.copyOnWrite();
+    }
+
+    @Benchmark
+    public ModelNode copyOnWriteAndModify() {
+        ModelNode copy = node.copyOnWrite();
+        copy.get(path).set("modified");
+        return copy;
+    }
+
+    private static String[] deepestPath(ModelNode node) {
+        String[] deepest = new String[0];
+        if (node.getType() == ModelType.OBJECT) {
+            for (Property property : node.asPropertyList()) {
+                String[] nested = deepestPath(property.getValue());
+                if (nested.length + 1 > deepest.length) {
+                    deepest = new String[nested.length + 1];
+                    deepest[0] = property.getName();
+                    System.arraycopy(nested, 0, deepest, 1, nested.length);
+                }
+            }
+        }
+        return deepest;
+    }
+}
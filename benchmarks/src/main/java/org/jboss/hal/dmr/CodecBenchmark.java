@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.benchmarks.Fixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding and encoding of DMR payloads. {@link #decode()} only indexes the top-level objects, {@link #decodeAndVisit()}
+ * decodes the whole payload lazily and {@link #decodeEager()} decodes the whole payload in one pass. All fixtures are large
+ * enough to be decoded lazily by default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"STANDALONE_RESOURCE", "STANDALONE_RRD", "DOMAIN_RESOURCE", "DOMAIN_RRD"})
+    Fixture fixture;
+
+    private String base64;
+    private byte[] bytes;
+    private ModelNode node;
+
+    @Setup
+    public void setup() {
+        base64 = fixture.base64();
+        bytes = fixture.bytes();
+        node = decodeEager();
+    }
+
+    @Benchmark
+    public ModelNode decode() {
+        return ModelNode.fromBase64(base64);
+    }
+
+    @Benchmark
+    public int decodeAndVisit() {
+        return visit(ModelNode.fromBase64(base64));
+    }
+
+    @Benchmark
+    public ModelNode decodeEager() {
+        ModelNode node = new ModelNode();
+        node.readExternal(Base64Codec.decode(base64).lazy(false));
+        return node;
+    }
+
+    @Benchmark
+    public ModelNode decodeBinary() {
+        return ModelNode.fromBytes(bytes);
+    }
+
+    @Benchmark
+    public String encode() {
+        return node.toBase64String();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return node.toBytes();
+    }
+
+    static int visit(ModelNode node) {
+        int count = 1;
+        ModelType type = node.getType();
+        if (type == ModelType.OBJECT) {
+            for (Property property : node.asPropertyList()) {
+                count += visit(property.getValue());
+            }
+        } else if (type == ModelType.LIST) {
+            for (ModelNode element : node.asList()) {
+                count += visit(element);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.env.Environment;
+import org.jboss.hal.env.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.jboss.hal.env.OperationMode.DOMAIN;
+import static org.jboss.hal.meta.Placeholder.DOMAIN_CONTROLLER;
+import static org.jboss.hal.meta.Placeholder.SELECTED_HOST;
+import static org.jboss.hal.meta.Placeholder.SELECTED_PROFILE;
+import static org.jboss.hal.meta.Placeholder.SELECTED_SERVER;
+
+/** Parsing, appending and resolving of {@link AddressTemplate}s. Each invocation processes all {@link #TEMPLATES}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressTemplateBenchmark {
+
+    static final String[] TEMPLATES = {
+            "/",
+            "{domain.controller}",
+            "subsystem=undertow",
+            "{selected.profile}/subsystem=undertow/server=default-server/http-listener=default",
+            "{selected.profile}/subsystem=undertow/server=*/host=*/location=*",
+            "{selected.host}/{selected.server}/subsystem=datasources/data-source=ExampleDS",
+            "{selected.host}/server-config=*/jvm=*",
+            "{domain.controller}/core-service=platform-mbean/type=memory",
+            "profile=full/subsystem=messaging-activemq/server=default/jms-queue=DLQ",
+            "{selected.profile}/subsystem=elytron/key-store={selected.resource}",
+            "subsystem=logging/logger=org.jboss.as.config",
+            "host=primary/server=server-one/subsystem=infinispan/cache-container=web/distributed-cache=dist/component=expiration",
+    };
+
+    private StatementContext statementContext;
+    private List<AddressTemplate> templates;
+
+    @Setup
+    public void setup() {
+        Environment environment = new Environment();
+        environment.update("hal", "acme", "WildFly", Version.EMPTY_VERSION, Version.EMPTY_VERSION, DOMAIN);
+        statementContext = new StatementContext(environment);
+        statementContext.assign(DOMAIN_CONTROLLER, "primary");
+        statementContext.assign(SELECTED_HOST, "primary");
+        statementContext.assign(SELECTED_PROFILE, "full");
+        statementContext.assign(SELECTED_SERVER, "server-one");
+        statementContext.assign("selected.resource", "application");
+        templates = new ArrayList<>();
+        for (String template : TEMPLATES) {
+            templates.add(AddressTemplate.ofTrusted(template));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String template : TEMPLATES) {
+            blackhole.consume(AddressTemplate.ofTrusted(template));
+        }
+    }
+
+    @Benchmark
+    public void append(Blackhole blackhole) {
+        for (AddressTemplate template : templates) {
+            blackhole.consume(template.append("subsystem", "undertow").append("server", "default-server"));
+        }
+    }
+
+    @Benchmark
+    public void parentAndLast(Blackhole blackhole) {
+        for (AddressTemplate template : templates) {
+            blackhole.consume(template.parent());
+            blackhole.consume(template.last());
+        }
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        for (AddressTemplate template : templates) {
+            ResourceAddress address = template.resolve(statementContext);
+            blackhole.consume(address);
+        }
+    }
+
+    @Benchmark
+    public void toStringAndHashCode(Blackhole blackhole) {
+        for (AddressTemplate template : templates) {
+            blackhole.consume(template.toString());
+            blackhole.consume(template.hashCode());
+        }
+    }
+}
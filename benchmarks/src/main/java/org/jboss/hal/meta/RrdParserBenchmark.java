@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.benchmarks.Fixture;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Parsing of recursive {@code read-resource-description} results. The parser modifies the payload, so each invocation
+ * decodes the payload first. {@link #decode()} measures the decoding alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RrdParserBenchmark {
+
+    @Param({"STANDALONE_RRD", "DOMAIN_RRD"})
+    Fixture fixture;
+
+    private byte[] bytes;
+    private ResourceAddress address;
+
+    @Setup
+    public void setup() {
+        bytes = fixture.bytes();
+        address = fixture == Fixture.DOMAIN_RRD
+                ? new ResourceAddress().add("profile", "full").add("subsystem", "*")
+                : new ResourceAddress().add("subsystem", "undertow");
+    }
+
+    @Benchmark
+    public ModelNode decode() {
+        return ModelNode.fromBytes(bytes).get(RESULT);
+    }
+
+    @Benchmark
+    public RrdResult parse() {
+        RrdResult rrdResult = new RrdResult();
+        RrdParser.parseSingle(address, ModelNode.fromBytes(bytes).get(RESULT), rrdResult);
+        return rrdResult;
+    }
+}
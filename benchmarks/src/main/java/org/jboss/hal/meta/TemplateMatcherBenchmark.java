@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Finds the most specific pattern for concrete addresses using the linear
+ * {@link TemplateMatcher#bestMatch(Iterable, Function, AddressTemplate)} and the trie-based {@link TemplateIndex}. Each
+ * invocation matches {@link #INPUTS} addresses against {@link #patterns} patterns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateMatcherBenchmark {
+
+    static final int INPUTS = 100;
+    private static final String[] SUBSYSTEMS = {
+            "datasources", "ejb3", "elytron", "infinispan", "io", "jgroups", "logging", "messaging-activemq", "transactions",
+            "undertow"};
+    private static final String[] TYPES = {
+            "server", "host", "location", "handler", "filter", "listener", "cache", "container", "key-store", "realm"};
+
+    @Param({"100", "1000", "5000"})
+    int patterns;
+
+    private List<AddressTemplate> patternTemplates;
+    private List<AddressTemplate> inputs;
+    private TemplateIndex<AddressTemplate> index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        patternTemplates = new ArrayList<>();
+        for (int i = 0; i < patterns; i++) {
+            patternTemplates.add(template(random, true));
+        }
+        index = new TemplateIndex<>();
+        for (AddressTemplate pattern : patternTemplates) {
+            index.add(pattern, pattern);
+        }
+        inputs = new ArrayList<>();
+        for (int i = 0; i < INPUTS; i++) {
+            inputs.add(template(random, false));
+        }
+    }
+
+    @Benchmark
+    public void bestMatch(Blackhole blackhole) {
+        for (AddressTemplate input : inputs) {
+            blackhole.consume(TemplateMatcher.bestMatch(patternTemplates, Function.identity(), input));
+        }
+    }
+
+    @Benchmark
+    public void indexLookup(Blackhole blackhole) {
+        for (AddressTemplate input : inputs) {
+            blackhole.consume(index.bestMatch(input));
+        }
+    }
+
+    private static AddressTemplate template(Random random, boolean wildcards) {
+        AddressTemplate template = AddressTemplate.of("subsystem", SUBSYSTEMS[random.nextInt(SUBSYSTEMS.length)]);
+        int depth = 1 + random.nextInt(4);
+        for (int i = 0; i < depth; i++) {
+            String value = wildcards && random.nextBoolean() ? "*" : "name-" + random.nextInt(3);
+            template = template.append(TYPES[random.nextInt(TYPES.length)], value);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * First paint of a list with many children: {@code eager} binds one row per child like the data list before, {@code virtual}
+ * binds only the rows inside the viewport plus the overscan buffer using a {@link RowPool}. Rows build a string instead of
+ * DOM elements, so the benchmark runs on the JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FirstPaintBenchmark {
+
+    private static final int ROW_HEIGHT = 72;
+    private static final int VIEWPORT_HEIGHT = 720;
+    private static final int OVERSCAN = 5;
+
+    @Param({"1000", "10000"})
+    int children;
+
+    private List<String> items;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(children);
+        for (int i = 0; i < children; i++) {
+            items.add("child-" + i);
+        }
+    }
+
+    @Benchmark
+    public List<Row> eager() {
+        List<Row> rows = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Row row = new Row();
+            row.bind(items.get(i), i);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<String> virtual() {
+        RowPool<String, Row> pool = new RowPool<>(Row::new, Row::bind, row -> {});
+        pool.items(items);
+        return pool.render(RowRange.of(0, VIEWPORT_HEIGHT, ROW_HEIGHT, OVERSCAN, items.size()));
+    }
+
+    public static class Row {
+
+        String item;
+        int index;
+        // simulates building the DOM of a data list item
+        final StringBuilder dom = new StringBuilder();
+
+        void bind(String item, int index) {
+            this.item = item;
+            this.index = index;
+            dom.setLength(0);
+            dom.append("<li id=\"").append(item).append("\"><span>").append(item).append("</span></li>");
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.jboss.hal.core;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -26,7 +27,10 @@ import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.CacheMode;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRepository;
@@ -47,6 +51,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REMOVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.patternfly.core.Tuple.tuple;
 
 /**
@@ -141,19 +146,67 @@ public class CrudOperations {
      * @return a promise that resolves with the resource's model node
      */
     public Promise<ModelNode> read(AddressTemplate template) {
+        return read(template, CacheMode.DEFAULT);
+    }
+
+    /**
+     * Reads the resource at the specified address template, including runtime attributes. Uses the given cache mode if
+     * the response cache of the dispatcher is enabled.
+     *
+     * @param template  the address template of the resource to read
+     * @param cacheMode how to use the response cache, e.g. {@link CacheMode#REFRESH} to always read fresh values
+     * @return a promise that resolves with the resource's model node
+     */
+    public Promise<ModelNode> read(AddressTemplate template, CacheMode cacheMode) {
+        return read(template, cacheMode, CancellationToken.NONE);
+    }
+
+    /**
+     * Reads the resource at the specified address template, including runtime attributes. The request is aborted if the
+     * token is cancelled. No error notification is sent for cancelled requests.
+     *
+     * @param template the address template of the resource to read
+     * @param token    the token to cancel the request, e.g. the token of the current route
+     * @return a promise that resolves with the resource's model node
+     */
+    public Promise<ModelNode> read(AddressTemplate template, CancellationToken token) {
+        return read(template, CacheMode.DEFAULT, token);
+    }
+
+    private Promise<ModelNode> read(AddressTemplate template, CacheMode cacheMode, CancellationToken token) {
         Operation operation = new Operation.Builder(template.resolve(statementContext), READ_RESOURCE_OPERATION)
                 .param(INCLUDE_RUNTIME, true)
                 .build();
-        return dispatcher.execute(operation)
-                .then(Promise::resolve)
+        return dispatcher.dmr(operation, true, cacheMode, token)
+                .then(payload -> Promise.resolve(payload.get(RESULT)))
                 .catch_(error -> {
-                    notifications.send(error("Failed to read resource",
-                            "An error occurred while reading " + typeName(template) + ".")
-                            .details(String.valueOf(error), true));
+                    if (!token.cancelled()) {
+                        notifications.send(error("Failed to read resource",
+                                "An error occurred while reading " + typeName(template) + ".")
+                                .details(String.valueOf(error), true));
+                    }
                     return null;
                 });
     }
 
+    /**
+     * Reads the resource at the specified address template in two phases: the configuration is read first and reported
+     * immediately, the runtime attributes are read afterward in the background lane and reported as they come in. No error
+     * notification is sent: if the configuration cannot be read, the listener is told about the failed operation, unless the
+     * token has been cancelled.
+     *
+     * @param template the address template of the resource to read
+     * @param metadata the metadata of the resource, used to find the runtime attributes
+     * @param token    the token to cancel the requests, e.g. the token of the current route
+     * @param listener receives the configuration and the runtime attributes
+     * @see TwoPhaseLoader
+     */
+    public void readTwoPhase(AddressTemplate template, Metadata metadata, CancellationToken token,
+            TwoPhaseLoader.Listener listener) {
+        new TwoPhaseLoader(this::execute).load(template.resolve(statementContext), metadata.resourceDescription(), token,
+                listener);
+    }
+
     /**
      * Reads both the resource and its metadata in parallel.
      *
@@ -161,7 +214,19 @@ public class CrudOperations {
      * @return a promise that resolves with a tuple of the resource model node and its metadata
      */
     public Promise<Tuple<ModelNode, Metadata>> readWithMetadata(AddressTemplate template) {
-        Task<FlowContext> resourceTask = context -> read(template).then(result -> {
+        return readWithMetadata(template, CancellationToken.NONE);
+    }
+
+    /**
+     * Reads both the resource and its metadata in parallel. The request to read the resource is aborted if the token is
+     * cancelled.
+     *
+     * @param template the address template of the resource
+     * @param token    the token to cancel the request
+     * @return a promise that resolves with a tuple of the resource model node and its metadata
+     */
+    public Promise<Tuple<ModelNode, Metadata>> readWithMetadata(AddressTemplate template, CancellationToken token) {
+        Task<FlowContext> resourceTask = context -> read(template, CacheMode.DEFAULT, token).then(result -> {
             context.set("resource", result);
             return context.resolve();
         });
@@ -176,9 +241,11 @@ public class CrudOperations {
                     return Promise.resolve(tuple(resource, metadata));
                 })
                 .catch_(error -> {
-                    notifications.send(error("Failed to read resource",
-                            "An error occurred while reading " + typeName(template) + ".")
-                            .details(String.valueOf(error), true));
+                    if (!token.cancelled()) {
+                        notifications.send(error("Failed to read resource",
+                                "An error occurred while reading " + typeName(template) + ".")
+                                .details(String.valueOf(error), true));
+                    }
                     return null;
                 });
     }
@@ -208,6 +275,19 @@ public class CrudOperations {
 
     // ------------------------------------------------------ internal
 
+    private void execute(Operation operation, Lane lane, CancellationToken token, Consumer<ModelNode> success,
+            Consumer<String> failure) {
+        dispatcher.execute(operation, token, lane)
+                .then(result -> {
+                    success.accept(result);
+                    return null;
+                })
+                .catch_(error -> {
+                    failure.accept(String.valueOf(error));
+                    return null;
+                });
+    }
+
     private String typeName(AddressTemplate template) {
         AddressTemplate resolvedTemplate = new StatementContextResolver(statementContext).resolve(template);
         String type = resolvedTemplate.last().key;
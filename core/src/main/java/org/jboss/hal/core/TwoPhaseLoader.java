@@ -0,0 +1,233 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
+import org.jboss.hal.dmr.dispatch.Lane;
+import org.jboss.hal.meta.description.AttributeDescription;
+import org.jboss.hal.meta.description.ResourceDescription;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Reads a resource in two phases, so that the configuration can be shown before slow runtime attributes like pool statistics
+ * or JVM metrics have been read:
+ * <ol>
+ *     <li>The configuration is read using {@code read-resource(include-runtime=false)} in the {@link Lane#INTERACTIVE}
+ *     lane.</li>
+ *     <li>The runtime attributes ({@linkplain AttributeDescription#runtime() storage=runtime}) are read using composites of
+ *     {@code read-attribute} operations in the {@link Lane#BACKGROUND} lane. The values are merged into the resource as soon
+ *     as a composite returns.</li>
+ * </ol>
+ * Runtime attributes are part of the resource from the first phase on (as undefined values), so the set of attributes doesn't
+ * change while the runtime attributes are filled in. If a composite fails, its attributes are read one by one. Attributes
+ * which cannot be read stay undefined.
+ * <p>
+ * This class has no DOM dependencies. Operations are executed by an {@link Executor}. Use
+ * {@link CrudOperations#readTwoPhase(org.jboss.hal.meta.AddressTemplate, org.jboss.hal.meta.Metadata, CancellationToken,
+ * Listener)} to read resources using the dispatcher.
+ */
+public final class TwoPhaseLoader {
+
+    /** The default number of runtime attributes read in one composite. */
+    public static final int DEFAULT_BATCH_SIZE = 5;
+
+    /** Executes an operation in a lane and reports its {@code result} or the error. */
+    @FunctionalInterface
+    public interface Executor {
+
+        void execute(Operation operation, Lane lane, CancellationToken token, Consumer<ModelNode> success,
+                Consumer<String> failure);
+    }
+
+    /**
+     * Receives the phases of a read. Each callback gets its own copy of the resource. No callbacks are made once the token is
+     * cancelled.
+     */
+    public interface Listener {
+
+        /** Called once the configuration has been read. The runtime attributes are undefined at this point. */
+        void configuration(ModelNode resource);
+
+        /** Called whenever runtime attributes have been read and merged into the resource. */
+        default void runtime(ModelNode resource, List<String> attributes) {
+        }
+
+        /** Called once all runtime attributes have been read or failed. */
+        default void completed(ModelNode resource) {
+        }
+
+        /**
+         * Called if the configuration could not be read.
+         *
+         * @param operation the {@code read-resource(include-runtime=false)} operation which failed
+         * @param error     the error of the operation
+         */
+        void failed(Operation operation, String error);
+    }
+
+    /** Returns the names of the top-level attributes with {@code storage=runtime}. */
+    public static List<String> runtimeAttributes(ResourceDescription description) {
+        List<String> names = new ArrayList<>();
+        for (AttributeDescription attribute : description.attributes()) {
+            if (attribute.runtime()) {
+                names.add(attribute.name());
+            }
+        }
+        return names;
+    }
+
+    private final Executor executor;
+    private final int batchSize;
+
+    public TwoPhaseLoader(Executor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    public TwoPhaseLoader(Executor executor, int batchSize) {
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Reads the resource at the given address in two phases. */
+    public void load(ResourceAddress address, ResourceDescription description, CancellationToken token,
+            Listener listener) {
+        Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(ATTRIBUTES_ONLY, true)
+                .param(INCLUDE_RUNTIME, false)
+                .build();
+        executor.execute(operation, Lane.INTERACTIVE, token,
+                configuration -> new Load(address, runtimeAttributes(description), token, listener).start(configuration),
+                error -> {
+                    if (!token.cancelled()) {
+                        listener.failed(operation, error);
+                    }
+                });
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** The state of one two-phase read. */
+    private class Load {
+
+        private final ResourceAddress address;
+        private final List<String> runtime;
+        private final CancellationToken token;
+        private final Listener listener;
+        private ModelNode resource;
+        private int pending;
+
+        Load(ResourceAddress address, List<String> runtime, CancellationToken token, Listener listener) {
+            this.address = address;
+            this.runtime = runtime;
+            this.token = token;
+            this.listener = listener;
+        }
+
+        void start(ModelNode configuration) {
+            if (token.cancelled()) {
+                return;
+            }
+            resource = configuration.clone();
+            for (String name : runtime) {
+                if (!resource.has(name)) {
+                    resource.get(name);
+                }
+            }
+            listener.configuration(resource.clone());
+            if (runtime.isEmpty()) {
+                listener.completed(resource.clone());
+                return;
+            }
+            List<List<String>> batches = new ArrayList<>();
+            for (int i = 0; i < runtime.size(); i += batchSize) {
+                batches.add(runtime.subList(i, Math.min(i + batchSize, runtime.size())));
+            }
+            // count first: executors may report synchronously
+            pending = batches.size();
+            for (List<String> batch : batches) {
+                read(batch);
+            }
+        }
+
+        private void read(List<String> names) {
+            Composite composite = new Composite();
+            for (String name : names) {
+                composite.add(new Operation.Builder(address, READ_ATTRIBUTE_OPERATION)
+                        .param(NAME, name)
+                        .param(INCLUDE_DEFAULTS, true)
+                        .build());
+            }
+            executor.execute(composite, Lane.BACKGROUND, token,
+                    steps -> {
+                        if (!token.cancelled()) {
+                            merge(names, new CompositeResult(steps));
+                            done();
+                        }
+                    },
+                    error -> {
+                        if (!token.cancelled()) {
+                            if (names.size() > 1) {
+                                // one failing attribute fails the whole composite
+                                pending += names.size();
+                                for (String name : names) {
+                                    read(List.of(name));
+                                }
+                            }
+                            done();
+                        }
+                    });
+        }
+
+        private void merge(List<String> names, CompositeResult result) {
+            List<String> read = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                ModelNode step = result.step(i);
+                if (step.isDefined() && !step.isFailure()) {
+                    resource.get(names.get(i)).set(step.get(RESULT));
+                    read.add(names.get(i));
+                }
+            }
+            if (!read.isEmpty()) {
+                listener.runtime(resource.clone(), read);
+            }
+        }
+
+        private void done() {
+            pending--;
+            if (pending == 0) {
+                listener.completed(resource.clone());
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
+import org.jboss.hal.dmr.dispatch.Lane;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STORAGE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TwoPhaseLoaderTest {
+
+    private static final ResourceAddress ADDRESS = new ResourceAddress()
+            .add("subsystem", "datasources")
+            .add("data-source", "ExampleDS");
+    private static final List<String> CONFIGURATION = List.of("jndi-name", "max-pool-size", "min-pool-size");
+    private static final List<String> RUNTIME = List.of("active-count", "available-count", "in-use-count",
+            "max-used-count", "timed-out", "wait-count", "xa-commit-count");
+
+    private MockDispatcher dispatcher;
+    private Recorder recorder;
+    private CancellationToken token;
+
+    @BeforeEach
+    void beforeEach() {
+        dispatcher = new MockDispatcher();
+        recorder = new Recorder();
+        token = new CancellationToken();
+    }
+
+    // ------------------------------------------------------ tests
+
+    @Test
+    void configurationFirst() {
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+
+        Operation first = dispatcher.operations.get(0);
+        assertEquals(READ_RESOURCE_OPERATION, first.getName());
+        assertFalse(first.get(INCLUDE_RUNTIME).asBoolean());
+        assertEquals(Lane.INTERACTIVE, dispatcher.lanes.get(0));
+
+        // the configuration is there although no runtime attribute has been read yet
+        assertEquals(1, recorder.events.size());
+        assertEquals("configuration", recorder.events.get(0));
+        ModelNode configuration = recorder.resources.get(0);
+        for (String name : CONFIGURATION) {
+            assertTrue(configuration.get(name).isDefined(), name);
+        }
+        for (String name : RUNTIME) {
+            assertTrue(configuration.has(name), name);
+            assertFalse(configuration.get(name).isDefined(), name);
+        }
+        assertFalse(dispatcher.slow.isEmpty());
+    }
+
+    @Test
+    void runtimeInBackground() {
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+
+        // 7 runtime attributes in batches of 5
+        assertEquals(2, dispatcher.slow.size());
+        for (int i = 1; i < dispatcher.operations.size(); i++) {
+            assertEquals(Lane.BACKGROUND, dispatcher.lanes.get(i));
+            assertTrue(dispatcher.operations.get(i) instanceof Composite);
+            for (Operation operation : (Composite) dispatcher.operations.get(i)) {
+                assertEquals(READ_ATTRIBUTE_OPERATION, operation.getName());
+                assertTrue(RUNTIME.contains(operation.get(NAME).asString()));
+            }
+        }
+    }
+
+    @Test
+    void progressive() {
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+
+        dispatcher.release();
+        assertEquals(List.of("configuration", "runtime [active-count, available-count, in-use-count, max-used-count, "
+                + "timed-out]"), recorder.events);
+        ModelNode partial = recorder.resources.get(1);
+        assertEquals(1, partial.get("active-count").asInt());
+        assertFalse(partial.get("wait-count").isDefined());
+        assertFalse(recorder.resources.get(0).get("active-count").isDefined(), "copies are not modified afterwards");
+
+        dispatcher.release();
+        assertEquals(List.of("configuration",
+                "runtime [active-count, available-count, in-use-count, max-used-count, timed-out]",
+                "runtime [wait-count, xa-commit-count]",
+                "completed"), recorder.events);
+        ModelNode complete = recorder.resources.get(3);
+        for (int i = 0; i < RUNTIME.size(); i++) {
+            assertEquals(i + 1, complete.get(RUNTIME.get(i)).asInt());
+        }
+        for (String name : CONFIGURATION) {
+            assertEquals(dispatcher.configuration.get(name), complete.get(name));
+        }
+    }
+
+    @Test
+    void batchSize() {
+        new TwoPhaseLoader(dispatcher, 1).load(ADDRESS, description(), token, recorder);
+        assertEquals(RUNTIME.size(), dispatcher.slow.size());
+
+        dispatcher.releaseAll();
+        assertEquals(RUNTIME.size() + 2, recorder.events.size());
+        assertEquals("completed", recorder.events.get(recorder.events.size() - 1));
+    }
+
+    @Test
+    void noRuntimeAttributes() {
+        ModelNode modelNode = new ModelNode();
+        for (String name : CONFIGURATION) {
+            modelNode.get(ATTRIBUTES).get(name).get(TYPE).set("STRING");
+        }
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, new ResourceDescription(modelNode), token, recorder);
+
+        assertEquals(List.of("configuration", "completed"), recorder.events);
+        assertEquals(1, dispatcher.operations.size());
+    }
+
+    @Test
+    void failingAttribute() {
+        dispatcher.failing.add("in-use-count");
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+
+        // the first composite fails and is split into single reads
+        dispatcher.release();
+        assertEquals(List.of("configuration"), recorder.events);
+        dispatcher.releaseAll();
+
+        assertEquals("completed", recorder.events.get(recorder.events.size() - 1));
+        ModelNode complete = recorder.resources.get(recorder.resources.size() - 1);
+        assertFalse(complete.get("in-use-count").isDefined());
+        for (String name : RUNTIME) {
+            if (!name.equals("in-use-count")) {
+                assertTrue(complete.get(name).isDefined(), name);
+            }
+        }
+        assertNull(recorder.error);
+    }
+
+    @Test
+    void cancelled() {
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+        token.cancel();
+        dispatcher.releaseAll();
+
+        assertEquals(List.of("configuration"), recorder.events);
+    }
+
+    @Test
+    void configurationFailed() {
+        dispatcher.failConfiguration = true;
+        new TwoPhaseLoader(dispatcher).load(ADDRESS, description(), token, recorder);
+
+        assertTrue(recorder.events.isEmpty());
+        assertEquals("WFLYCTL0216: Management resource not found", recorder.error);
+        assertEquals(1, dispatcher.operations.size());
+        assertEquals(READ_RESOURCE_OPERATION, recorder.failed.getName());
+        assertFalse(recorder.failed.getParameter().get(INCLUDE_RUNTIME).asBoolean());
+    }
+
+    @Test
+    void runtimeAttributes() {
+        assertEquals(RUNTIME, TwoPhaseLoader.runtimeAttributes(description()));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static ResourceDescription description() {
+        ModelNode modelNode = new ModelNode();
+        for (String name : CONFIGURATION) {
+            modelNode.get(ATTRIBUTES).get(name).get(TYPE).set("STRING");
+            modelNode.get(ATTRIBUTES).get(name).get(STORAGE).set("configuration");
+        }
+        for (String name : RUNTIME) {
+            modelNode.get(ATTRIBUTES).get(name).get(TYPE).set("INT");
+            modelNode.get(ATTRIBUTES).get(name).get(STORAGE).set("runtime");
+        }
+        return new ResourceDescription(modelNode);
+    }
+
+    /**
+     * Answers read-resource operations immediately and holds back read-attribute operations of runtime attributes until
+     * they're released, like a server which takes its time to compute metrics.
+     */
+    private static class MockDispatcher implements TwoPhaseLoader.Executor {
+
+        final ModelNode configuration = new ModelNode();
+        final List<Operation> operations = new ArrayList<>();
+        final List<Lane> lanes = new ArrayList<>();
+        final Deque<Runnable> slow = new ArrayDeque<>();
+        final Set<String> failing = new HashSet<>();
+        boolean failConfiguration;
+
+        MockDispatcher() {
+            configuration.get("jndi-name").set("java:jboss/datasources/ExampleDS");
+            configuration.get("max-pool-size").set(20);
+            configuration.get("min-pool-size").set(0);
+        }
+
+        @Override
+        public void execute(Operation operation, Lane lane, CancellationToken token, Consumer<ModelNode> success,
+                Consumer<String> failure) {
+            operations.add(operation);
+            lanes.add(lane);
+            if (READ_RESOURCE_OPERATION.equals(operation.getName())) {
+                if (failConfiguration) {
+                    failure.accept("WFLYCTL0216: Management resource not found");
+                } else if (operation.get(INCLUDE_RUNTIME).asBoolean()) {
+                    failure.accept("Slow runtime attributes must not be read in the first phase");
+                } else {
+                    success.accept(configuration.clone());
+                }
+            } else if (operation instanceof Composite composite) {
+                slow.add(() -> respond(composite, success, failure));
+            } else {
+                failure.accept("Unexpected operation " + operation.getName());
+            }
+        }
+
+        private void respond(Composite composite, Consumer<ModelNode> success, Consumer<String> failure) {
+            ModelNode steps = new ModelNode();
+            int index = 1;
+            for (Operation operation : composite) {
+                String name = operation.get(NAME).asString();
+                if (failing.contains(name)) {
+                    failure.accept("WFLYCTL0030: No resource definition is registered for " + name);
+                    return;
+                }
+                ModelNode step = steps.get("step-" + index++);
+                step.get(OUTCOME).set(SUCCESS);
+                step.get(RESULT).set(RUNTIME.indexOf(name) + 1);
+            }
+            success.accept(steps);
+        }
+
+        void release() {
+            Runnable response = slow.poll();
+            if (response != null) {
+                response.run();
+            }
+        }
+
+        void releaseAll() {
+            while (!slow.isEmpty()) {
+                release();
+            }
+        }
+    }
+
+    private static class Recorder implements TwoPhaseLoader.Listener {
+
+        final List<String> events = new ArrayList<>();
+        final List<ModelNode> resources = new ArrayList<>();
+        Operation failed;
+        String error;
+
+        @Override
+        public void configuration(ModelNode resource) {
+            events.add("configuration");
+            resources.add(resource);
+        }
+
+        @Override
+        public void runtime(ModelNode resource, List<String> attributes) {
+            events.add("runtime " + attributes);
+            resources.add(resource);
+        }
+
+        @Override
+        public void completed(ModelNode resource) {
+            events.add("completed");
+            resources.add(resource);
+        }
+
+        @Override
+        public void failed(Operation operation, String error) {
+            this.failed = operation;
+            this.error = error;
+        }
+    }
+}
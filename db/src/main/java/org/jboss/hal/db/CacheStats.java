@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+/**
+ * Immutable snapshot of the statistics of an {@link LRUCache}.
+ *
+ * @param hitCount      the number of lookups which returned a cached value
+ * @param missCount     the number of lookups which returned {@code null}
+ * @param evictionCount the number of entries evicted due to capacity, weight or expiration
+ * @param loadCount     the number of loads recorded using {@link LRUCache#recordLoad(long)}
+ * @param totalLoadTime the total load time in milliseconds
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long loadCount, long totalLoadTime) {
+
+    /** Returns the number of lookups, i.e. the sum of hits and misses. */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /** Returns the ratio of hits to lookups or {@code 1.0} if there were no lookups yet. */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /** Returns the average load time in milliseconds or {@code 0.0} if no loads have been recorded yet. */
+    public double averageLoadTime() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats(hits: " + hitCount + ", misses: " + missCount + ", evictions: " + evictionCount +
+                ", loads: " + loadCount + ", load time: " + totalLoadTime + "ms)";
+    }
+}
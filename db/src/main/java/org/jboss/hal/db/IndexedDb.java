@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsType;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+
+/** Minimal JsInterop bindings for the parts of the IndexedDB API used by {@link KeyValueStore}. */
+final class IndexedDb {
+
+    @JsFunction
+    interface EventHandler {
+
+        void onInvoke(Object event);
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBFactory")
+    interface IDBFactory {
+
+        IDBOpenDBRequest open(String name, int version);
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBRequest")
+    static class IDBRequest {
+
+        public Object result;
+        public Object error;
+        public EventHandler onsuccess;
+        public EventHandler onerror;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBOpenDBRequest")
+    static class IDBOpenDBRequest extends IDBRequest {
+
+        public EventHandler onupgradeneeded;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "DOMStringList")
+    interface DOMStringList {
+
+        boolean contains(String string);
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBDatabase")
+    static class IDBDatabase {
+
+        public DOMStringList objectStoreNames;
+
+        public native IDBObjectStore createObjectStore(String name);
+
+        public native IDBTransaction transaction(String storeName, String mode);
+
+        public native void close();
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBTransaction")
+    static class IDBTransaction {
+
+        public Object error;
+        public EventHandler oncomplete;
+        public EventHandler onerror;
+        public EventHandler onabort;
+
+        public native IDBObjectStore objectStore(String name);
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBObjectStore")
+    interface IDBObjectStore {
+
+        IDBRequest get(String key);
+
+        IDBRequest getAllKeys(IDBKeyRange range);
+
+        IDBRequest put(Object value, String key);
+
+        IDBRequest delete(Object keyOrRange);
+
+        IDBRequest clear();
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "IDBKeyRange")
+    static class IDBKeyRange {
+
+        public static native IDBKeyRange bound(String lower, String upper);
+    }
+
+    static final String READ_ONLY = "readonly";
+    static final String READ_WRITE = "readwrite";
+
+    private IndexedDb() {
+    }
+}
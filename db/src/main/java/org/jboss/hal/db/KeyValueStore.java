@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.db.IndexedDb.IDBDatabase;
+import org.jboss.hal.db.IndexedDb.IDBFactory;
+import org.jboss.hal.db.IndexedDb.IDBKeyRange;
+import org.jboss.hal.db.IndexedDb.IDBObjectStore;
+import org.jboss.hal.db.IndexedDb.IDBOpenDBRequest;
+import org.jboss.hal.db.IndexedDb.IDBRequest;
+import org.jboss.hal.db.IndexedDb.IDBTransaction;
+
+import elemental2.core.JsArray;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+
+import static org.jboss.hal.db.IndexedDb.READ_ONLY;
+import static org.jboss.hal.db.IndexedDb.READ_WRITE;
+
+/**
+ * Persistent, promise-based key-value store backed by an IndexedDB object store. Keys and values are strings.
+ * <p>
+ * Every method opens its own transaction. Write operations resolve once their transaction has completed. If IndexedDB is
+ * not available (e.g. in private browsing mode of some browsers), {@link #open(String, String)} rejects, and callers should
+ * fall back to not using persistent storage.
+ */
+public class KeyValueStore {
+
+    private static final Logger logger = Logger.getLogger(KeyValueStore.class.getName());
+    private static final int VERSION = 1;
+
+    /**
+     * Opens (and creates if necessary) the given database with the given object store.
+     *
+     * @param database  the name of the IndexedDB database
+     * @param storeName the name of the object store inside the database
+     * @return a promise which resolves to the opened store
+     */
+    public static Promise<KeyValueStore> open(String database, String storeName) {
+        IDBFactory factory = Js.uncheckedCast(Js.global().get("indexedDB"));
+        if (factory == null) {
+            return Promise.reject("IndexedDB not available");
+        }
+        return new Promise<>((resolve, reject) -> {
+            IDBOpenDBRequest request = factory.open(database, VERSION);
+            request.onupgradeneeded = event -> {
+                IDBDatabase db = Js.uncheckedCast(request.result);
+                if (!db.objectStoreNames.contains(storeName)) {
+                    db.createObjectStore(storeName);
+                }
+            };
+            request.onsuccess = event -> resolve.onInvoke(new KeyValueStore(Js.uncheckedCast(request.result), storeName));
+            request.onerror = event -> {
+                logger.error("Unable to open IndexedDB %s: %s", database, request.error);
+                reject.onInvoke(request.error);
+            };
+        });
+    }
+
+    private final IDBDatabase db;
+    private final String storeName;
+
+    private KeyValueStore(IDBDatabase db, String storeName) {
+        this.db = db;
+        this.storeName = storeName;
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Returns the value for the given key or {@code null} if there's no such key. */
+    public Promise<String> get(String key) {
+        return request(READ_ONLY, store -> store.get(key)).then(result -> Promise.resolve(Js.<String>uncheckedCast(result)));
+    }
+
+    /** Returns all keys starting with the given prefix. */
+    public Promise<List<String>> keys(String prefix) {
+        IDBKeyRange range = IDBKeyRange.bound(prefix, prefix + "\uffff");
+        return request(READ_ONLY, store -> store.getAllKeys(range)).then(result -> {
+            JsArray<String> array = Js.uncheckedCast(result);
+            List<String> keys = new ArrayList<>(array.length);
+            for (int i = 0; i < array.length; i++) {
+                keys.add(array.getAt(i));
+            }
+            return Promise.resolve(keys);
+        });
+    }
+
+    /** Stores the given value for the given key. */
+    public Promise<Void> put(String key, String value) {
+        return transaction(store -> store.put(value, key));
+    }
+
+    /** Removes the given key. */
+    public Promise<Void> remove(String key) {
+        return transaction(store -> store.delete(key));
+    }
+
+    /** Removes all keys in one transaction. */
+    public Promise<Void> remove(List<String> keys) {
+        return transaction(store -> {
+            IDBRequest request = null;
+            for (String key : keys) {
+                request = store.delete(key);
+            }
+            return request;
+        });
+    }
+
+    /** Removes all entries. */
+    public Promise<Void> clear() {
+        return transaction(IDBObjectStore::clear);
+    }
+
+    /** Closes the underlying database connection. */
+    public void close() {
+        db.close();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private Promise<Object> request(String mode, StoreRequest storeRequest) {
+        return new Promise<>((resolve, reject) -> {
+            IDBTransaction transaction = db.transaction(storeName, mode);
+            IDBRequest request = storeRequest.apply(transaction.objectStore(storeName));
+            request.onsuccess = event -> resolve.onInvoke(request.result);
+            request.onerror = event -> reject.onInvoke(request.error);
+        });
+    }
+
+    private Promise<Void> transaction(StoreRequest storeRequest) {
+        return new Promise<>((resolve, reject) -> {
+            IDBTransaction transaction = db.transaction(storeName, READ_WRITE);
+            storeRequest.apply(transaction.objectStore(storeName));
+            transaction.oncomplete = event -> resolve.onInvoke((Void) null);
+            transaction.onerror = event -> reject.onInvoke(transaction.error);
+            transaction.onabort = event -> reject.onInvoke(transaction.error);
+        });
+    }
+
+    @FunctionalInterface
+    private interface StoreRequest {
+
+        IDBRequest apply(IDBObjectStore store);
+    }
+}
@@ -17,32 +17,50 @@ package org.jboss.hal.db;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
+import java.util.function.LongSupplier;
 
 /**
- * A fixed-capacity, least-recently-used (LRU) cache. When the cache exceeds its capacity, the least recently accessed entry is
- * evicted automatically. Registered {@link RemovalHandler}s are notified on eviction.
+ * A bounded, least-recently-used (LRU) cache. When the cache exceeds its capacity or its maximum weight, the least recently
+ * accessed entries are evicted automatically. Registered {@link RemovalHandler}s are notified on eviction.
+ *
+ * <p>
+ * The cache keeps its entries in an intrusive doubly linked list: each {@link Node} knows its predecessor and successor, so
+ * promoting, inserting and removing an entry are constant-time operations.
  *
  * <p>
  * Accessing an entry via {@link #get(Object)} or updating it via {@link #put(Object, Object)} promotes it to the most recently
- * used position. This implementation is not thread-safe.
+ * used position. Entries can optionally be weighted using a {@link Weigher} and can be given a time-to-live (TTL). Expired
+ * entries are evicted lazily when accessed and whenever new entries are added. Use {@link #stats()} to get a snapshot of
+ * the cache statistics. This implementation is not thread-safe.
  *
  * @param <K> the type of keys
  * @param <V> the type of values
  */
 public class LRUCache<K, V> {
 
+    /** Value used for {@link #put(Object, Object, long)} to store entries which never expire. */
+    public static final long NO_TTL = 0;
+
     private final int capacity;
-    private final LinkedList<Node<K, V>> cacheList;
+    private final long maxWeight;
+    private final Weigher<K, V> weigher;
+    private final LongSupplier clock;
     private final HashMap<K, Node<K, V>> cacheMap;
     private final List<RemovalHandler<K, V>> removalHandlers;
+    private Node<K, V> head;
+    private Node<K, V> tail;
+    private long weight;
+    private long nextExpiration;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long loadCount;
+    private long totalLoadTime;
 
     /**
      * Creates a new LRU cache with the given maximum capacity.
@@ -50,17 +68,42 @@ public class LRUCache<K, V> {
      * @param capacity the maximum number of entries the cache can hold before eviction begins
      */
     public LRUCache(int capacity) {
+        this(capacity, Long.MAX_VALUE, Weigher.singleton());
+    }
+
+    /**
+     * Creates a new LRU cache with the given maximum capacity and maximum weight. The weight of an entry is calculated once
+     * when the entry is added or updated.
+     *
+     * @param capacity  the maximum number of entries the cache can hold before eviction begins
+     * @param maxWeight the maximum total weight of all entries before eviction begins
+     * @param weigher   calculates the weight of an entry
+     */
+    public LRUCache(int capacity, long maxWeight, Weigher<K, V> weigher) {
+        this(capacity, maxWeight, weigher, System::currentTimeMillis);
+    }
+
+    // for testing purposes
+    LRUCache(int capacity, long maxWeight, Weigher<K, V> weigher, LongSupplier clock) {
         this.capacity = capacity;
-        this.cacheList = new LinkedList<>();
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.clock = clock;
         this.cacheMap = new HashMap<>();
         this.removalHandlers = new ArrayList<>();
+        this.nextExpiration = NO_TTL;
     }
 
     // ------------------------------------------------------ api
 
-    /** Returns {@code true} if the cache contains an entry for the given key. */
+    /** Returns {@code true} if the cache contains a non-expired entry for the given key. */
     public boolean contains(K key) {
-        return cacheMap.containsKey(key);
+        Node<K, V> node = cacheMap.get(key);
+        if (node != null && expired(node, clock.getAsLong())) {
+            evict(node);
+            return false;
+        }
+        return node != null;
     }
 
     /** Returns the number of entries currently in the cache. */
@@ -68,54 +111,121 @@ public class LRUCache<K, V> {
         return cacheMap.size();
     }
 
+    /** Returns the total weight of all entries currently in the cache. */
+    public long weight() {
+        return weight;
+    }
+
     /**
-     * Returns the value associated with the given key, or {@code null} if no entry exists. Accessing an entry promotes it to the
-     * most recently used position.
+     * Returns the value associated with the given key, or {@code null} if no entry exists or if the entry has expired.
+     * Accessing an entry promotes it to the most recently used position.
      */
     public V get(K key) {
         Node<K, V> node = cacheMap.get(key);
         if (node == null) {
+            missCount++;
+            return null;
+        }
+        if (expired(node, clock.getAsLong())) {
+            evict(node);
+            missCount++;
             return null;
         }
 
+        hitCount++;
         moveToHead(node);
         return node.value;
     }
 
-    /** Returns a set view of the cache entries. */
+    /** Returns a set view of the non-expired cache entries. Expired entries are evicted before the view is returned. */
     public Set<Map.Entry<K, Node<K, V>>> entries() {
+        evictExpired();
         return cacheMap.entrySet();
     }
 
-    /** Returns a set of all keys in the cache. */
+    /**
+     * Returns a set of all non-expired keys in the cache, ordered from the most to the least recently used. Expired entries
+     * are evicted before the keys are collected.
+     */
     public Set<K> keys() {
-        return cacheMap.values().stream().map(n -> n.key).collect(toSet());
+        evictExpired();
+        Set<K> keys = new LinkedHashSet<>();
+        for (Node<K, V> node = head; node != null; node = node.next) {
+            keys.add(node.key);
+        }
+        return keys;
     }
 
-    /** Returns a list of all values in the cache. */
+    /**
+     * Returns a list of all non-expired values in the cache, ordered from the most to the least recently used. Expired entries
+     * are evicted before the values are collected.
+     */
     public List<V> values() {
-        return cacheMap.values().stream().map(n -> n.value).collect(toList());
+        evictExpired();
+        List<V> values = new ArrayList<>(cacheMap.size());
+        for (Node<K, V> node = head; node != null; node = node.next) {
+            values.add(node.value);
+        }
+        return values;
     }
 
     /**
      * Associates the given value with the given key. If the key already exists, its value is updated and the entry is promoted to
-     * the most recently used position. If the cache is at capacity, the least recently used entry is evicted and
-     * {@link RemovalHandler}s are notified.
+     * the most recently used position. If the cache exceeds its capacity or maximum weight, the least recently used entries are
+     * evicted and {@link RemovalHandler}s are notified. A value which alone exceeds the maximum weight is not stored: a new
+     * entry is rejected and reported as evicted, an existing entry is evicted, so that the cache never returns the previous
+     * value.
      */
     public void put(K key, V value) {
-        Node<K, V> existingNode = cacheMap.get(key);
-        if (existingNode != null) {
-            existingNode.value = value;
-            moveToHead(existingNode);
+        put(key, value, NO_TTL);
+    }
+
+    /**
+     * Same as {@link #put(Object, Object)}, but the entry expires after the given time-to-live in milliseconds. Use
+     * {@link #NO_TTL} for entries which never expire.
+     */
+    public void put(K key, V value, long ttl) {
+        long now = clock.getAsLong();
+        long expiresAt = ttl > 0 ? now + ttl : NO_TTL;
+        long entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight " + entryWeight + " for key " + key);
+        }
+
+        Node<K, V> node = cacheMap.get(key);
+        if (entryWeight > maxWeight) {
+            // the entry alone exceeds the maximum weight and would flush the whole cache: new entries are rejected,
+            // existing entries are evicted since their value is stale
+            if (node == null) {
+                evictionCount++;
+                notifyRemoval(key, value);
+            } else {
+                evict(node);
+            }
             return;
         }
+        if (node != null) {
+            weight += entryWeight - node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            node.expiresAt = expiresAt;
+            moveToHead(node);
+        } else {
+            node = new Node<>(key, value, entryWeight, expiresAt);
+            linkFirst(node);
+            cacheMap.put(key, node);
+            weight += entryWeight;
+        }
 
-        Node<K, V> newNode = new Node<>(key, value);
-        cacheList.addFirst(newNode);
-        cacheMap.put(key, newNode);
+        if (expiresAt != NO_TTL && (nextExpiration == NO_TTL || expiresAt < nextExpiration)) {
+            nextExpiration = expiresAt;
+        }
 
-        if (cacheList.size() > capacity) {
-            removeLeastRecentlyUsed();
+        if ((cacheMap.size() > capacity || weight > maxWeight) && nextExpiration != NO_TTL && nextExpiration <= now) {
+            evictExpired(now);
+        }
+        while (tail != null && (cacheMap.size() > capacity || weight > maxWeight)) {
+            evict(tail);
         }
     }
 
@@ -124,38 +234,126 @@ public class LRUCache<K, V> {
      * <strong>not</strong> notified for explicit removals.
      */
     public V remove(K key) {
-        Node<K, V> existingNode = cacheMap.remove(key);
-        if (existingNode != null) {
-            cacheList.remove(existingNode);
-            return existingNode.value;
+        Node<K, V> node = cacheMap.remove(key);
+        if (node != null) {
+            unlink(node);
+            weight -= node.weight;
+            return node.value;
         }
         return null;
     }
 
-    /** Registers a handler that is called whenever an entry is evicted due to capacity overflow. */
+    /** Removes all entries from the cache. Removal handlers are <strong>not</strong> notified. */
+    public void clear() {
+        cacheMap.clear();
+        head = null;
+        tail = null;
+        weight = 0;
+        nextExpiration = NO_TTL;
+    }
+
+    /** Registers a handler that is called whenever an entry is evicted due to capacity or weight overflow or expiration. */
     public void addRemovalHandler(RemovalHandler<K, V> handler) {
         removalHandlers.add(handler);
     }
 
+    /**
+     * Records the time it took to load a value which has been added to this cache afterward. Loading usually happens
+     * asynchronously outside of this cache, so callers report the time themselves.
+     *
+     * @param time the load time in milliseconds
+     */
+    public void recordLoad(long time) {
+        loadCount++;
+        totalLoadTime += time;
+    }
+
+    /** Returns a snapshot of the current cache statistics. */
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, loadCount, totalLoadTime);
+    }
+
     // ------------------------------------------------------ internal
 
     // for testing purposes
     @SuppressWarnings("unchecked")
     K[] keysArray() {
-        return (K[]) cacheList.stream().map(n -> n.key).toArray();
+        return (K[]) keys().toArray();
     }
 
-    private void moveToHead(Node<K, V> node) {
-        cacheList.remove(node);
-        cacheList.addFirst(node);
+    private boolean expired(Node<K, V> node, long now) {
+        return node.expiresAt != NO_TTL && node.expiresAt <= now;
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        if (nextExpiration != NO_TTL && nextExpiration <= now) {
+            evictExpired(now);
+        }
     }
 
-    private void removeLeastRecentlyUsed() {
-        Node<K, V> tail = cacheList.removeLast();
-        cacheMap.remove(tail.key);
+    // Scans the whole list, but is only called if at least one entry is known to have expired. The scan also recalculates
+    // the next expiration, which is only a lower bound otherwise.
+    private void evictExpired(long now) {
+        nextExpiration = NO_TTL;
+        Node<K, V> node = tail;
+        while (node != null) {
+            Node<K, V> previous = node.previous;
+            if (expired(node, now)) {
+                evict(node);
+            } else if (node.expiresAt != NO_TTL && (nextExpiration == NO_TTL || node.expiresAt < nextExpiration)) {
+                nextExpiration = node.expiresAt;
+            }
+            node = previous;
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        cacheMap.remove(node.key);
+        unlink(node);
+        weight -= node.weight;
+        evictionCount++;
+        notifyRemoval(node.key, node.value);
+    }
+
+    private void notifyRemoval(K key, V value) {
         for (RemovalHandler<K, V> removalHandler : removalHandlers) {
-            removalHandler.onRemoval(tail.key, tail.value);
+            removalHandler.onRemoval(key, value);
+        }
+    }
+
+    private void moveToHead(Node<K, V> node) {
+        if (node != head) {
+            unlink(node);
+            linkFirst(node);
+        }
+    }
+
+    private void linkFirst(Node<K, V> node) {
+        node.previous = null;
+        node.next = head;
+        if (head != null) {
+            head.previous = node;
+        }
+        head = node;
+        if (tail == null) {
+            tail = node;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            head = node.next;
         }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        } else {
+            tail = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
     }
 
     // ------------------------------------------------------ inner classes
@@ -167,10 +365,16 @@ public class LRUCache<K, V> {
         public final K key;
         /** The mutable value of this cache entry. */
         public V value;
+        long weight;
+        long expiresAt;
+        Node<K, V> previous;
+        Node<K, V> next;
 
-        private Node(K key, V value) {
+        private Node(K key, V value, long weight, long expiresAt) {
             this.key = key;
             this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
         }
 
         @Override
@@ -189,4 +393,3 @@ public class LRUCache<K, V> {
         }
     }
 }
-
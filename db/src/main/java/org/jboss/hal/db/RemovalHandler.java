@@ -15,7 +15,7 @@
  */
 package org.jboss.hal.db;
 
-/** Callback invoked when an entry is evicted from an {@link LRUCache} due to capacity overflow. */
+/** Callback invoked when an entry is evicted from an {@link LRUCache} due to capacity or weight overflow or expiration. */
 @FunctionalInterface
 public interface RemovalHandler<K, V> {
 
@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+/** Calculates the weight of an {@link LRUCache} entry, e.g. the encoded size of a value. */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /** Returns a weigher which assigns a weight of one to every entry. */
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+
+    /**
+     * Returns the weight of the given entry. The weight must not be negative and is calculated once when the entry is added or
+     * updated.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @return the weight of the entry
+     */
+    long weigh(K key, V value);
+}
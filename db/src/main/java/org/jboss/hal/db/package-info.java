@@ -22,7 +22,8 @@
  * This package contains an {@link org.jboss.hal.db.LRUCache LRUCache} for bounded, in-memory caching with least-recently-used
  * eviction, and a {@link org.jboss.hal.db.Document Document} interface for PouchDB document interop. The LRU cache is used by
  * other modules (such as the metadata repository) to store frequently accessed data with automatic eviction when the cache
- * reaches capacity.
+ * reaches capacity. Entries can be weighted using a {@link org.jboss.hal.db.Weigher Weigher}, can expire after a
+ * time-to-live, and the cache keeps {@link org.jboss.hal.db.CacheStats statistics} about hits, misses, evictions and loads.
  *
  * <h2>Usage</h2>
  * {@snippet :
@@ -31,6 +32,11 @@
  *             logger.debug("Evicted %s", key));
  *     cache.put("datasource-1", modelNode);
  *     ModelNode result = cache.get("datasource-1");
+ *
+ *     // weighted cache with a maximum weight of 1 MB and a TTL of five minutes
+ *     LRUCache<String, String> payloads = new LRUCache<>(1_000, 1_000_000, (key, value) -> value.length());
+ *     payloads.put("payload-1", payload, 5 * 60 * 1_000);
+ *     logger.debug("Cache stats: %s", payloads.stats());
  * }
  */
 package org.jboss.hal.db;
@@ -15,6 +15,9 @@
  */
 package org.jboss.hal.db;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.jboss.elemento.Id;
@@ -23,7 +26,9 @@ import org.junit.jupiter.api.Test;
 import static java.lang.Math.max;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LRUCacheTest {
@@ -123,13 +128,186 @@ class LRUCacheTest {
         }
     }
 
+    @Test
+    void weight() {
+        LRUCache<Integer, String> cache = new LRUCache<>(100, 10, (k, v) -> v.length());
+        Recorder recorder = new Recorder();
+        cache.addRemovalHandler(recorder);
+
+        // populate (3:CCC, 2:BBB, 1:AAA) weight 9
+        cache.put(1, "AAA");
+        cache.put(2, "BBB");
+        cache.put(3, "CCC");
+        assertEquals(9, cache.weight());
+        assertTrue(recorder.removed.isEmpty());
+        assertArrayEquals(new Integer[]{3, 2, 1}, cache.keysArray());
+
+        // new entry (4:DD, 3:CCC, 2:BBB) [1:AAA] weight 8
+        cache.put(4, "DD");
+        assertEquals(List.of(1), recorder.removed);
+        assertEquals("AAA", recorder.lastValue);
+        assertEquals(8, cache.weight());
+        assertArrayEquals(new Integer[]{4, 3, 2}, cache.keysArray());
+
+        // get entry (2:BBB, 4:DD, 3:CCC)
+        assertEquals("BBB", cache.get(2));
+        assertArrayEquals(new Integer[]{2, 4, 3}, cache.keysArray());
+
+        // update entry with higher weight (4:DDDDDD, 2:BBB) [3:CCC] weight 9
+        cache.put(4, "DDDDDD");
+        assertEquals(List.of(1, 3), recorder.removed);
+        assertEquals(9, cache.weight());
+        assertArrayEquals(new Integer[]{4, 2}, cache.keysArray());
+
+        // new entry evicting multiple entries (5:EEEEEEEE) [2:BBB, 4:DDDDDD] weight 8
+        cache.put(5, "EEEEEEEE");
+        assertEquals(List.of(1, 3, 2, 4), recorder.removed);
+        assertEquals(8, cache.weight());
+        assertArrayEquals(new Integer[]{5}, cache.keysArray());
+
+        // entry exceeding the max weight is rejected (5:EEEEEEEE) [6:FFFFFFFFFFF]
+        cache.put(6, "FFFFFFFFFFF");
+        assertEquals(List.of(1, 3, 2, 4, 6), recorder.removed);
+        assertEquals(8, cache.weight());
+        assertArrayEquals(new Integer[]{5}, cache.keysArray());
+
+        // update exceeding the max weight evicts the current value () [5:EEEEEEEE]
+        cache.put(5, "EEEEEEEEEEE");
+        assertEquals(List.of(1, 3, 2, 4, 6, 5), recorder.removed);
+        assertEquals("EEEEEEEE", recorder.lastValue);
+        assertEquals(0, cache.weight());
+        assertNull(cache.get(5));
+
+        // explicit removal does not notify
+        cache.put(7, "GGG");
+        cache.remove(7);
+        assertEquals(List.of(1, 3, 2, 4, 6, 5), recorder.removed);
+        assertEquals(0, cache.weight());
+        assertEquals(6, cache.stats().evictionCount());
+    }
+
+    @Test
+    void ttl() {
+        long[] now = {1_000};
+        LRUCache<Integer, String> cache = new LRUCache<>(3, Long.MAX_VALUE, Weigher.singleton(), () -> now[0]);
+        Recorder recorder = new Recorder();
+        cache.addRemovalHandler(recorder);
+
+        cache.put(1, "A", 100);
+        cache.put(2, "B");
+        cache.put(3, "C", 200);
+        now[0] += 50;
+        assertEquals("A", cache.get(1));
+        assertTrue(cache.contains(3));
+
+        // 1:A is expired and evicted on access
+        now[0] += 50;
+        assertNull(cache.get(1));
+        assertFalse(cache.contains(1));
+        assertEquals(List.of(1), recorder.removed);
+        assertArrayEquals(new Integer[]{3, 2}, cache.keysArray());
+
+        // expired entries are evicted before the least recently used entry
+        cache.put(4, "D");
+        now[0] += 100;
+        cache.get(2);
+        cache.put(5, "E"); // (5:E, 2:B, 4:D) [3:C]
+        assertEquals(List.of(1, 3), recorder.removed);
+        assertArrayEquals(new Integer[]{5, 2, 4}, cache.keysArray());
+
+        // updating an entry resets its ttl
+        cache.put(2, "b", 10);
+        now[0] += 5;
+        cache.put(2, "b", 10);
+        now[0] += 5;
+        assertEquals("b", cache.get(2));
+        now[0] += 10;
+        assertNull(cache.get(2));
+        assertEquals(List.of(1, 3, 2), recorder.removed);
+
+        // entries() hides expired entries like get() does (6:F, 5:E, 4:D)
+        cache.put(6, "F", 10);
+        assertEquals(3, cache.entries().size());
+        now[0] += 10;
+        assertEquals(2, cache.entries().size());
+        assertFalse(cache.entries().stream().anyMatch(entry -> entry.getKey() == 6));
+        assertEquals(List.of(1, 3, 2, 6), recorder.removed);
+
+        // so do keys() and values() (5:E, 4:D)
+        cache.put(7, "G", 10);
+        assertEquals(List.of(7, 5, 4), List.copyOf(cache.keys()));
+        now[0] += 10;
+        assertEquals(List.of(5, 4), List.copyOf(cache.keys()));
+        assertEquals(List.of(1, 3, 2, 6, 7), recorder.removed);
+        cache.put(8, "H", 10);
+        assertEquals(List.of("H", "E", "D"), cache.values());
+        now[0] += 10;
+        assertEquals(List.of("E", "D"), cache.values());
+        assertEquals(List.of(1, 3, 2, 6, 7, 8), recorder.removed);
+    }
+
+    @Test
+    void stats() {
+        LRUCache<Integer, String> cache = new LRUCache<>(2);
+        cache.put(1, "A");
+        cache.put(2, "B");
+        cache.get(1);
+        cache.get(1);
+        cache.get(3);
+        cache.put(3, "C");
+        cache.recordLoad(20);
+        cache.recordLoad(40);
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(3, stats.requestCount());
+        assertEquals(2.0 / 3.0, stats.hitRate());
+        assertEquals(1, stats.evictionCount());
+        assertEquals(2, stats.loadCount());
+        assertEquals(60, stats.totalLoadTime());
+        assertEquals(30.0, stats.averageLoadTime());
+
+        // stats are a snapshot
+        cache.get(1);
+        assertEquals(2, stats.hitCount());
+        assertEquals(3, cache.stats().hitCount());
+    }
+
+    @Test
+    void constantTime() {
+        // a cache with O(n) promotions needs billions of steps for this
+        int entries = 100_000;
+        LRUCache<Integer, Integer> cache = new LRUCache<>(entries);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < entries; i++) {
+                cache.put(i, i);
+            }
+            for (int round = 0; round < 10; round++) {
+                // access entries from the tail, so that every access is a promotion
+                for (int i = 0; i < entries; i++) {
+                    assertEquals(i, cache.get(i));
+                }
+            }
+            for (int i = entries; i < 2 * entries; i++) {
+                cache.put(i, i);
+            }
+        });
+        assertEquals(entries, cache.size());
+        assertEquals(entries, cache.stats().evictionCount());
+        assertFalse(cache.contains(entries - 1));
+        assertTrue(cache.contains(entries));
+    }
+
     private static class Recorder implements RemovalHandler<Integer, String> {
 
+        final List<Integer> removed = new ArrayList<>();
         Integer lastKey = null;
         String lastValue = null;
 
         @Override
         public void onRemoval(Integer key, String value) {
+            this.removed.add(key);
             this.lastKey = key;
             this.lastValue = value;
         }
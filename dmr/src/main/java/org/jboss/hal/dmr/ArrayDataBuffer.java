@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/** Pure Java {@link DataBuffer} backed by a {@code byte[]}. Used on the JVM. */
+class ArrayDataBuffer extends DataBuffer {
+
+    private final byte[] bytes;
+
+    ArrayDataBuffer(int capacity) {
+        this(new byte[capacity]);
+    }
+
+    private ArrayDataBuffer(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    int capacity() {
+        return bytes.length;
+    }
+
+    @Override
+    int get(int index) {
+        return bytes[index] & 0xFF;
+    }
+
+    @Override
+    void set(int index, int value) {
+        bytes[index] = (byte) value;
+    }
+
+    @Override
+    int getInt32(int index) {
+        return (get(index) << 24) | (get(index + 1) << 16) | (get(index + 2) << 8) | get(index + 3);
+    }
+
+    @Override
+    void setInt32(int index, int value) {
+        bytes[index] = (byte) (value >>> 24);
+        bytes[index + 1] = (byte) (value >>> 16);
+        bytes[index + 2] = (byte) (value >>> 8);
+        bytes[index + 3] = (byte) value;
+    }
+
+    @Override
+    double getFloat64(int index) {
+        long high = getInt32(index) & 0xFFFFFFFFL;
+        long low = getInt32(index + 4) & 0xFFFFFFFFL;
+        return Double.longBitsToDouble((high << 32) | low);
+    }
+
+    @Override
+    void setFloat64(int index, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        setInt32(index, (int) (bits >>> 32));
+        setInt32(index + 4, (int) bits);
+    }
+
+    @Override
+    DataBuffer copy(int capacity, int length) {
+        byte[] copy = Arrays.copyOf(bytes, capacity);
+        if (length < capacity) {
+            Arrays.fill(copy, length, capacity, (byte) 0);
+        }
+        return new ArrayDataBuffer(copy);
+    }
+
+    @Override
+    String decodeUtf8(int offset, int length) {
+        try {
+            return UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes, offset, length)).toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven base64 codec which reads from and writes to a {@link DataBuffer} directly. Decoding skips whitespace (line
+ * breaks are common in DMR responses) and stops at the first padding character.
+ */
+final class Base64Codec {
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int WHITESPACE = -2;
+    private static final int INVALID = -1;
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, INVALID);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+        DECODE[' '] = WHITESPACE;
+        DECODE['\t'] = WHITESPACE;
+        DECODE['\n'] = WHITESPACE;
+        DECODE['\r'] = WHITESPACE;
+    }
+
+    /** Decodes the given string and returns a {@link DataInput} for the decoded bytes. */
+    static DataInput decode(String encoded) {
+        int length = encoded.length();
+        DataBuffer buffer = DataBuffer.allocate((length / 4 + 1) * 3);
+        int position = 0;
+        int quantum = 0;
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = encoded.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? DECODE[c] : INVALID;
+            if (value == WHITESPACE) {
+                continue;
+            } else if (value == INVALID) {
+                throw new IllegalArgumentException("Illegal base64 character '" + c + "' at index " + i);
+            }
+            quantum = (quantum << 6) | value;
+            bits++;
+            if (bits == 4) {
+                buffer.set(position++, quantum >> 16);
+                buffer.set(position++, quantum >> 8);
+                buffer.set(position++, quantum);
+                quantum = 0;
+                bits = 0;
+            }
+        }
+        if (bits == 2) {
+            buffer.set(position++, quantum >> 4);
+        } else if (bits == 3) {
+            buffer.set(position++, quantum >> 10);
+            buffer.set(position++, quantum >> 2);
+        } else if (bits == 1) {
+            throw new IllegalArgumentException("Truncated base64 input");
+        }
+        return new DataInput(buffer, position);
+    }
+
+    /** Encodes the first {@code length} bytes of the given buffer using padding and without line breaks. */
+    static String encode(DataBuffer buffer, int length) {
+        char[] chars = new char[(length + 2) / 3 * 4];
+        int index = 0;
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int quantum = (buffer.get(i) << 16) | (buffer.get(i + 1) << 8) | buffer.get(i + 2);
+            chars[index++] = ALPHABET[(quantum >> 18) & 0x3F];
+            chars[index++] = ALPHABET[(quantum >> 12) & 0x3F];
+            chars[index++] = ALPHABET[(quantum >> 6) & 0x3F];
+            chars[index++] = ALPHABET[quantum & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining > 0) {
+            int quantum = buffer.get(i) << 16;
+            if (remaining == 2) {
+                quantum |= buffer.get(i + 1) << 8;
+            }
+            chars[index++] = ALPHABET[(quantum >> 18) & 0x3F];
+            chars[index++] = ALPHABET[(quantum >> 12) & 0x3F];
+            chars[index++] = remaining == 2 ? ALPHABET[(quantum >> 6) & 0x3F] : '=';
+            chars[index] = '=';
+        }
+        return new String(chars);
+    }
+
+    private Base64Codec() {
+    }
+}
@@ -30,7 +30,9 @@ class BigIntegerModelValue extends ModelValue {
 
     @Override
     void writeExternal(DataOutput out) {
-        out.write(value.toByteArray());
+        byte[] bytes = value.toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
     }
 
     @Override
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.function.IntFunction;
+
+/**
+ * Growable byte buffer used by {@link DataInput} and {@link DataOutput}. Multibyte values are stored in big-endian format.
+ * <p>
+ * In the browser, the buffer is backed by an {@code ArrayBuffer} which is accessed using a {@code Uint8Array} and a
+ * {@code DataView}. On the JVM (e.g. in unit tests), the buffer is backed by a plain {@code byte[]} (see
+ * {@link DataBuffers#useByteArrays()}). Both implementations share the same codec classes, so the binary format can be
+ * tested without a browser.
+ */
+abstract class DataBuffer {
+
+    static IntFunction<DataBuffer> ALLOCATOR = TypedDataBuffer::new; // replaced in JVM unit tests and benchmarks
+
+    static DataBuffer allocate(int capacity) {
+        return ALLOCATOR.apply(capacity);
+    }
+
+    /** The number of bytes this buffer can hold. */
+    abstract int capacity();
+
+    /** Returns the unsigned byte at the given index. */
+    abstract int get(int index);
+
+    /** Stores the lower eight bits of the given value at the given index. */
+    abstract void set(int index, int value);
+
+    abstract int getInt32(int index);
+
+    abstract void setInt32(int index, int value);
+
+    abstract double getFloat64(int index);
+
+    abstract void setFloat64(int index, double value);
+
+    /** Returns a new buffer with the given capacity, which contains the first {@code length} bytes of this buffer. */
+    abstract DataBuffer copy(int capacity, int length);
+
+    /**
+     * Decodes the given range as strict UTF-8 in one go. Returns {@code null} if the range is no valid UTF-8, which is the
+     * case for the modified UTF-8 encoding of {@code \u0000} and of supplementary characters.
+     */
+    abstract String decodeUtf8(int offset, int length);
+}
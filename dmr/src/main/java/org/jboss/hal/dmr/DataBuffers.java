@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Selects the buffer implementation of the DMR codec. By default, the codec uses typed arrays, which are only available in
+ * the browser. Code which encodes or decodes DMR on the JVM (unit tests, benchmarks) has to call {@link #useByteArrays()}
+ * first.
+ */
+public final class DataBuffers {
+
+    /** Backs the DMR codec by plain byte arrays. */
+    public static void useByteArrays() {
+        DataBuffer.ALLOCATOR = ArrayDataBuffer::new;
+    }
+
+    private DataBuffers() {
+    }
+}
@@ -15,31 +15,129 @@
  */
 package org.jboss.hal.dmr;
 
-import elemental2.core.ArrayBuffer;
-import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-import elemental2.core.JsArray;
-
 /**
- * Reads primitive values and UTF-8 strings from a byte array in big-endian format. Used to deserialize DMR binary data
- * received from the management endpoint. Backed by a JavaScript {@code JsArray<Byte>} for J2CL compatibility.
+ * Reads primitive values and UTF-8 strings from a {@link DataBuffer} in big-endian format. Used to deserialize DMR binary
+ * data received from the management endpoint.
+ * <p>
+ * Longer strings are decoded in one go using {@link DataBuffer#decodeUtf8(int, int)} ({@code TextDecoder} in the browser).
+ * Short strings and strings which are no valid UTF-8 (modified UTF-8 as written by {@code java.io.DataOutput}) are decoded
+ * char by char.
+ * <p>
+ * If the input is {@linkplain #lazy() lazy}, objects are decoded on demand: {@link ObjectModelValue} only records the
+ * offsets of its values using {@link #skipValue()} and decodes a value on first access using a reader
+ * {@linkplain #at(int) positioned} at its offset. By default, only payloads of at least {@value #LAZY_PAYLOAD_THRESHOLD}
+ * bytes (e.g. the results of recursive {@code read-resource-description} operations) are read lazily. Smaller payloads are
+ * decoded eagerly, since the offsets and the retained buffer cost more than decoding the few values up front.
  */
 class DataInput {
 
-    private final JsArray<Byte> bytes;
-    private int pos = 0;
+    static final int BULK_UTF_THRESHOLD = 32;
+    static final int LAZY_PAYLOAD_THRESHOLD = 32 * 1024;
+
+    private final DataBuffer buffer;
+    private final int length;
+    private final boolean lazy;
+    private int pos;
+
+    /** Creates a reader which is {@linkplain #lazy() lazy} if the payload has at least {@value #LAZY_PAYLOAD_THRESHOLD} bytes. */
+    DataInput(DataBuffer buffer, int length) {
+        this(buffer, length, length >= LAZY_PAYLOAD_THRESHOLD);
+    }
+
+    DataInput(DataBuffer buffer, int length, boolean lazy) {
+        this(buffer, length, lazy, 0);
+    }
+
+    private DataInput(DataBuffer buffer, int length, boolean lazy, int pos) {
+        this.buffer = buffer;
+        this.length = length;
+        this.lazy = lazy;
+        this.pos = pos;
+    }
+
+    // ------------------------------------------------------ position
 
-    DataInput(JsArray<Byte> bytes) {
-        this.bytes = bytes;
+    /** Whether objects should be decoded on demand. */
+    boolean lazy() {
+        return lazy;
+    }
+
+    /** Returns a new reader for the same data and position with the given decoding mode. */
+    DataInput lazy(boolean lazy) {
+        return new DataInput(buffer, length, lazy, pos);
+    }
+
+    int position() {
+        return pos;
+    }
+
+    /** Returns a new reader for the same data which starts at the given position. */
+    DataInput at(int position) {
+        return new DataInput(buffer, length, lazy, position);
+    }
+
+    /** Skips a complete model value including the type character without decoding it. */
+    void skipValue() {
+        ModelType type = ModelType.forChar((char) (readByte() & 0xff));
+        switch (type) {
+            case UNDEFINED:
+                return;
+            case BIG_DECIMAL:
+            case EXPRESSION:
+            case STRING:
+                skipUTF();
+                return;
+            case BIG_INTEGER:
+            case BYTES:
+                skip(readInt());
+                return;
+            case BOOLEAN:
+            case TYPE:
+                skip(1);
+                return;
+            case INT:
+                skip(4);
+                return;
+            case DOUBLE:
+            case LONG:
+                skip(8);
+                return;
+            case LIST:
+                for (int i = readInt(); i > 0; i--) {
+                    skipValue();
+                }
+                return;
+            case OBJECT:
+                for (int i = readInt(); i > 0; i--) {
+                    skipUTF();
+                    skipValue();
+                }
+                return;
+            case PROPERTY:
+                skipUTF();
+                skipValue();
+                return;
+            default:
+                throw new IllegalStateException("Invalid type read: " + type);
+        }
+    }
+
+    private void skipUTF() {
+        skip(readUnsignedShort());
+    }
+
+    private void skip(int bytes) {
+        require(bytes);
+        pos += bytes;
     }
 
     // ------------------------------------------------------ read a-z
 
     private int read() {
-        if (pos >= bytes.length) {
+        if (pos >= length) {
             return -1;
         }
-        return bytes.getAt(pos++) & 0xFF;
+        return buffer.get(pos++);
     }
 
     boolean readBoolean() {
@@ -61,45 +159,32 @@ class DataInput {
     }
 
     double readDouble() {
-        byte[] doubleBytes = new byte[8];
-        readFully(doubleBytes);
-
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        for (int i = 0; i < doubleBytes.length; i++) {
-            array.setAt(i, (double) doubleBytes[i]);
-        }
-        return view.getFloat64(0);
+        require(8);
+        double value = buffer.getFloat64(pos);
+        pos += 8;
+        return value;
     }
 
     void readFully(byte[] b) {
+        require(b.length);
         for (int i = 0; i < b.length; i++) {
-            b[i] = bytes.getAt(pos++);
+            b[i] = (byte) buffer.get(pos++);
         }
     }
 
     int readInt() {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        int c = readUnsignedByte();
-        int d = readUnsignedByte();
-        return (a << 24) | (b << 16) | (c << 8) | d;
+        require(4);
+        int value = buffer.getInt32(pos);
+        pos += 4;
+        return value;
     }
 
     long readLong() {
-        byte[] longBytes = new byte[8];
-        readFully(longBytes);
-
-        return (((long) longBytes[0] << 56) +
-                ((long) (longBytes[1] & 255) << 48) +
-                ((long) (longBytes[2] & 255) << 40) +
-                ((long) (longBytes[3] & 255) << 32) +
-                ((long) (longBytes[4] & 255) << 24) +
-                ((longBytes[5] & 255) << 16) +
-                ((longBytes[6] & 255) << 8) +
-                ((longBytes[7] & 255)));
-
+        require(8);
+        long high = buffer.getInt32(pos);
+        long low = buffer.getInt32(pos + 4) & 0xFFFFFFFFL;
+        pos += 8;
+        return (high << 32) | low;
     }
 
     short readShort() {
@@ -124,7 +209,18 @@ class DataInput {
 
     String readUTF() {
         int bytes = readUnsignedShort();
-        StringBuilder sb = new StringBuilder();
+        if (bytes >= BULK_UTF_THRESHOLD && pos + bytes <= length) {
+            String decoded = buffer.decodeUtf8(pos, bytes);
+            if (decoded != null) {
+                pos += bytes;
+                return decoded;
+            }
+        }
+        return readUTFChars(bytes);
+    }
+
+    private String readUTFChars(int bytes) {
+        StringBuilder sb = new StringBuilder(bytes);
 
         while (bytes > 0) {
             bytes -= readUTFChar(sb);
@@ -172,4 +268,10 @@ class DataInput {
             return 1;
         }
     }
+
+    private void require(int bytes) {
+        if (bytes < 0 || pos + bytes > length) {
+            throw new RuntimeException("EOF");
+        }
+    }
 }
@@ -18,111 +18,138 @@ package org.jboss.hal.dmr;
 import java.nio.charset.StandardCharsets;
 
 import elemental2.core.ArrayBuffer;
-import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-import elemental2.core.JsArray;
 
 /**
- * Writes primitive values and UTF-8 strings into a byte array in big-endian format. Used to serialize DMR binary data
- * for transmission to the management endpoint. Backed by a JavaScript {@code JsArray<Byte>} for J2CL compatibility.
+ * Writes primitive values and UTF-8 strings into a growable {@link DataBuffer} in big-endian format. Used to serialize DMR
+ * binary data for transmission to the management endpoint.
  */
 public class DataOutput {
 
-    private final JsArray<Byte> bytes;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private DataBuffer buffer;
+    private int length;
 
     DataOutput() {
-        bytes = new JsArray<>();
+        buffer = DataBuffer.allocate(INITIAL_CAPACITY);
+        length = 0;
     }
 
+    /** Returns the written bytes as ISO-8859-1 string. */
     @Override
     public String toString() {
-        int length = bytes.getLength();
+        return new String(toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    /** Returns a copy of the written bytes. */
+    byte[] toByteArray() {
         byte[] array = new byte[length];
         for (int i = 0; i < length; i++) {
-            array[i] = bytes.getAt(i);
+            array[i] = (byte) buffer.get(i);
         }
-        return new String(array, StandardCharsets.ISO_8859_1);
+        return array;
+    }
+
+    /** Returns a copy of the written bytes as {@code ArrayBuffer}. Only available in the browser. */
+    ArrayBuffer toArrayBuffer() {
+        if (buffer instanceof TypedDataBuffer typed) {
+            return typed.slice(length);
+        }
+        throw new UnsupportedOperationException("ArrayBuffer is not available");
+    }
+
+    /** Returns the written bytes as base64 encoded string. */
+    String toBase64() {
+        return Base64Codec.encode(buffer, length);
+    }
+
+    /** The number of bytes written so far. */
+    int length() {
+        return length;
     }
 
     // ------------------------------------------------------ write a-z
 
     void write(byte[] bits) {
-        for (int i = 0; i < bits.length; i++) {
-            bytes.push(bits[i]);
-        }
+        write(bits, 0, bits.length);
     }
 
     private void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
         for (int i = 0; i < len; i++) {
-            bytes.push(b[off + i]);
+            buffer.set(length++, b[off + i]);
         }
     }
 
     void writeBoolean(boolean v) {
-        bytes.push(v ? (byte) 1 : (byte) 0);
+        writeByte(v ? 1 : 0);
     }
 
     void writeByte(int v) {
-        bytes.push((byte) v);
+        ensureCapacity(1);
+        buffer.set(length++, v);
     }
 
     void writeChar(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        writeShort(v);
     }
 
     void writeDouble(double v) {
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        view.setFloat64(0, v);
-        for (int i = 0; i < array.getLength(); i++) {
-            bytes.push(array.getAt(i).byteValue());
-        }
+        ensureCapacity(8);
+        buffer.setFloat64(length, v);
+        length += 8;
     }
 
     void writeInt(int v) {
-        bytes.push((byte) (v >>> 24));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(4);
+        buffer.setInt32(length, v);
+        length += 4;
     }
 
     void writeLong(long v) {
-        bytes.push((byte) (v >>> 56));
-        bytes.push((byte) ((v >>> 48) & 0xFF));
-        bytes.push((byte) ((v >>> 40) & 0xFF));
-        bytes.push((byte) ((v >>> 32) & 0xFF));
-        bytes.push((byte) ((v >>> 24) & 0xFF));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(8);
+        buffer.setInt32(length, (int) (v >>> 32));
+        buffer.setInt32(length + 4, (int) v);
+        length += 8;
     }
 
     private void writeShort(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(2);
+        buffer.set(length++, v >>> 8);
+        buffer.set(length++, v);
     }
 
     void writeUTF(String s) {
-        int length = s.length();
-        byte[] bytes = new byte[length * 3];
-        int bl = 0;
+        int chars = s.length();
+        ensureCapacity(2 + chars * 3);
+        int start = length;
+        length += 2; // length is written afterward
         char c;
-        for (int i = 0; i < length; i++) {
+        for (int i = 0; i < chars; i++) {
             c = s.charAt(i);
             if (c > 0 && c <= 0x7f) {
-                bytes[bl++] = (byte) c;
+                buffer.set(length++, c);
             } else if (c <= 0x07ff) {
-                bytes[bl++] = (byte) (0xc0 | 0x1f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                buffer.set(length++, 0xc0 | 0x1f & c >> 6);
+                buffer.set(length++, 0x80 | 0x3f & c);
             } else {
-                bytes[bl++] = (byte) (0xe0 | 0x0f & c >> 12);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                buffer.set(length++, 0xe0 | 0x0f & c >> 12);
+                buffer.set(length++, 0x80 | 0x3f & c >> 6);
+                buffer.set(length++, 0x80 | 0x3f & c);
             }
         }
-        writeShort(bl);
-        write(bytes, 0, bl);
+        int bl = length - start - 2;
+        buffer.set(start, bl >>> 8);
+        buffer.set(start + 1, bl);
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void ensureCapacity(int bytes) {
+        int required = length + bytes;
+        if (required > buffer.capacity()) {
+            int capacity = Math.max(required, buffer.capacity() * 2);
+            buffer = buffer.copy(capacity, length);
+        }
     }
 }
@@ -21,11 +21,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
-/** {@link ModelValue} implementation holding an ordered list of {@link ModelNode} values. */
+/**
+ * {@link ModelValue} implementation holding an ordered list of {@link ModelNode} values.
+ * <p>
+ * Like {@link ObjectModelValue}, lists are {@linkplain #share(ModelNode) shared} by copies and replaced by a
+ * {@linkplain #writable(ModelNode) writable} copy before their elements are exposed or modified.
+ */
 class ListModelValue extends ModelValue {
 
     public static final ModelNode[] NO_NODES = new ModelNode[0];
     private final List<ModelNode> list;
+    private boolean shared;
+    private ModelNode owner;
 
     ListModelValue() {
         super(ModelType.LIST);
@@ -34,7 +41,10 @@ class ListModelValue extends ModelValue {
 
     private ListModelValue(ListModelValue orig) {
         super(ModelType.LIST);
-        list = new ArrayList<>(orig.list);
+        list = new ArrayList<>(orig.list.size());
+        for (ModelNode node : orig.list) {
+            list.add(node.clone());
+        }
     }
 
     ListModelValue(List<ModelNode> list) {
@@ -174,6 +184,36 @@ class ListModelValue extends ModelValue {
         return new ListModelValue(this);
     }
 
+    @Override
+    ModelValue share(ModelNode owner) {
+        if (!shared) {
+            shared = true;
+            this.owner = owner;
+        }
+        return this;
+    }
+
+    @Override
+    ModelValue writable(ModelNode node) {
+        if (!shared) {
+            return this;
+        }
+        if (node == owner) {
+            // the owner keeps its elements, the other nodes continue with copies of the elements
+            ArrayList<ModelNode> newList = new ArrayList<>(list);
+            for (int i = 0; i < list.size(); i++) {
+                list.set(i, list.get(i).copyOnWrite());
+            }
+            owner = null;
+            return new ListModelValue(newList);
+        }
+        ArrayList<ModelNode> newList = new ArrayList<>(list.size());
+        for (ModelNode element : list) {
+            newList.add(element.copyOnWrite());
+        }
+        return new ListModelValue(newList);
+    }
+
     @Override
     ModelValue resolve() {
         ArrayList<ModelNode> copy = new ArrayList<>(list.size());
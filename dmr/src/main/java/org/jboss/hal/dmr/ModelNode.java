@@ -23,10 +23,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
-import elemental2.core.JsArray;
+import elemental2.core.ArrayBuffer;
 
-import static elemental2.dom.DomGlobal.atob;
-import static elemental2.dom.DomGlobal.btoa;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
@@ -50,20 +48,39 @@ public class ModelNode implements Cloneable {
      * @return the new model node
      */
     public static ModelNode fromBase64(String encoded) {
-        // Bloody IE can't cope with line breaks when decoding base64!
-        String safeEncoded = encoded.replace("\n", "");
         ModelNode node = new ModelNode();
-        String decoded = atob(safeEncoded);
-        node.readExternal(new DataInput(toBytes(decoded)));
+        node.readExternal(Base64Codec.decode(encoded));
         return node;
     }
 
-    private static JsArray<Byte> toBytes(String str) {
-        JsArray<Byte> bytes = new JsArray<>();
-        for (int i = 0; i < str.length(); i++) {
-            bytes.push((byte) str.charAt(i));
+    /**
+     * Creates a new node from the binary DMR representation in the given buffer. Only available in the browser.
+     *
+     * @param buffer The buffer containing the binary representation.
+     *
+     * @return the new model node
+     */
+    public static ModelNode fromArrayBuffer(ArrayBuffer buffer) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(new TypedDataBuffer(buffer), buffer.byteLength));
+        return node;
+    }
+
+    /**
+     * Creates a new node from the given binary DMR representation.
+     *
+     * @param bytes The binary representation.
+     *
+     * @return the new model node
+     */
+    public static ModelNode fromBytes(byte[] bytes) {
+        DataBuffer buffer = DataBuffer.allocate(bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.set(i, bytes[i]);
         }
-        return bytes;
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(buffer, bytes.length));
+        return node;
     }
 
     private static final String NEW_VALUE_IS_NULL = "newValue is null";
@@ -87,7 +104,7 @@ public class ModelNode implements Cloneable {
     public void protect() {
         if (!protect) {
             protect = true;
-            value = value.protect();
+            value = value.writable(this).protect();
         }
     }
 
@@ -255,7 +272,7 @@ public class ModelNode implements Cloneable {
      * @throws IllegalArgumentException if no conversion is possible
      */
     public Property asProperty() throws IllegalArgumentException {
-        return value.asProperty();
+        return writable().asProperty();
     }
 
     /**
@@ -268,7 +285,7 @@ public class ModelNode implements Cloneable {
      * @throws IllegalArgumentException if no conversion is possible
      */
     public List<Property> asPropertyList() throws IllegalArgumentException {
-        return value.asPropertyList();
+        return writable().asPropertyList();
     }
 
     /**
@@ -522,6 +539,23 @@ public class ModelNode implements Cloneable {
         return this;
     }
 
+    /**
+     * Change this node's value to a copy-on-write copy of the given value. Objects and lists are shared with the given node
+     * until either node accesses or modifies a child. See {@link #copyOnWrite()} for when this is safe to use.
+     *
+     * @param newValue the new value
+     *
+     * @return this node
+     */
+    public ModelNode setCopyOnWrite(ModelNode newValue) {
+        if (newValue == null) {
+            throw new IllegalArgumentException(NEW_VALUE_IS_NULL);
+        }
+        checkProtect();
+        value = newValue.value.share(newValue);
+        return this;
+    }
+
     /**
      * Change this node's value to the given value.
      *
@@ -822,7 +856,7 @@ public class ModelNode implements Cloneable {
             this.value = new ObjectModelValue();
             return this.value.getChild(name);
         }
-        return value.getChild(name);
+        return writable().getChild(name);
     }
 
     /**
@@ -838,7 +872,7 @@ public class ModelNode implements Cloneable {
      * @throws NoSuchElementException if the element does not exist
      */
     public ModelNode require(String name) throws NoSuchElementException {
-        return value.requireChild(name);
+        return writable().requireChild(name);
     }
 
     /**
@@ -853,7 +887,7 @@ public class ModelNode implements Cloneable {
      * @throws NoSuchElementException if the element does not exist
      */
     public ModelNode remove(String name) throws NoSuchElementException {
-        return value.removeChild(name);
+        return writable().removeChild(name);
     }
 
     /**
@@ -874,7 +908,7 @@ public class ModelNode implements Cloneable {
             checkProtect();
             return (this.value = new ListModelValue()).getChild(index);
         }
-        return value.getChild(index);
+        return writable().getChild(index);
     }
 
     /**
@@ -890,7 +924,7 @@ public class ModelNode implements Cloneable {
      * @throws NoSuchElementException if the element does not exist
      */
     public ModelNode require(int index) {
-        return value.requireChild(index);
+        return writable().requireChild(index);
     }
 
     /**
@@ -1162,7 +1196,7 @@ public class ModelNode implements Cloneable {
             this.value = new ListModelValue();
             return this.value.addChild();
         }
-        return value.addChild();
+        return writable().addChild();
     }
 
     /**
@@ -1255,7 +1289,7 @@ public class ModelNode implements Cloneable {
      * @return the entry list
      */
     public List<ModelNode> asList() {
-        return value.asList();
+        return writable().asList();
     }
 
     /**
@@ -1307,7 +1341,21 @@ public class ModelNode implements Cloneable {
     public String toBase64String() {
         DataOutput out = new DataOutput();
         writeExternal(out);
-        return btoa(out.toString());
+        return out.toBase64();
+    }
+
+    /** Returns the binary representation of this model node as {@code ArrayBuffer}. Only available in the browser. */
+    public ArrayBuffer toArrayBuffer() {
+        DataOutput out = new DataOutput();
+        writeExternal(out);
+        return out.toArrayBuffer();
+    }
+
+    /** Returns the binary representation of this model node. */
+    public byte[] toBytes() {
+        DataOutput out = new DataOutput();
+        writeExternal(out);
+        return out.toByteArray();
     }
 
     /**
@@ -1357,7 +1405,7 @@ public class ModelNode implements Cloneable {
     }
 
     /**
-     * Clone this model node.
+     * Clone this model node. The clone is a deep copy which is isolated from this node and all of its children.
      *
      * @return the clone
      */
@@ -1367,6 +1415,30 @@ public class ModelNode implements Cloneable {
         return clone;
     }
 
+    /**
+     * Returns a copy of this node whose objects and lists are copied on write: The copy shares the structure of this node until
+     * either node accesses or modifies a child. Only the objects and lists along the accessed path are copied.
+     * <p>
+     * Unlike {@link #clone()}, changes made through child nodes which have been obtained from this node <em>before</em> the
+     * copy was made are not isolated from the copy. Use this method only if these nodes are not modified afterward, e.g. for
+     * nodes which are owned by the caller.
+     *
+     * @return the copy
+     */
+    public ModelNode copyOnWrite() {
+        ModelNode copy = new ModelNode();
+        copy.value = value.share(this);
+        return copy;
+    }
+
+    /** Returns the value of this node ready to expose or modify its children. */
+    private ModelValue writable() {
+        if (!protect) {
+            value = value.writable(this);
+        }
+        return value;
+    }
+
     protected void format(StringBuilder builder, int indent, boolean multiLine) {
         value.format(builder, indent, multiLine);
     }
@@ -1461,6 +1533,11 @@ public class ModelNode implements Cloneable {
         }
     }
 
+    // for testing purposes
+    ModelValue modelValue() {
+        return value;
+    }
+
     private void checkProtect() {
         if (protect) {
             throw new UnsupportedOperationException();
@@ -260,6 +260,24 @@ abstract class ModelValue {
         return this;
     }
 
+    /**
+     * Returns a value which can be used by another node as a copy of this value. Values other than objects and lists return a {@link #copy()}.
+     * Container values return themselves and are copied lazily by {@link #writable(ModelNode)}.
+     *
+     * @param owner the node which holds this value
+     */
+    ModelValue share(ModelNode owner) {
+        return copy();
+    }
+
+    /**
+     * Returns a value which the given node may use to expose or modify its children. Returns this value unless it has been
+     * {@linkplain #share(ModelNode) shared}.
+     */
+    ModelValue writable(ModelNode node) {
+        return this;
+    }
+
     @Override
     public abstract boolean equals(Object other);
 
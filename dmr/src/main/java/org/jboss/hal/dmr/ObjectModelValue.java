@@ -17,6 +17,7 @@ package org.jboss.hal.dmr;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -24,10 +25,32 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
-/** {@link ModelValue} implementation holding an ordered map of named {@link ModelNode} values. */
+/**
+ * {@link ModelValue} implementation holding an ordered map of named {@link ModelNode} values.
+ * <p>
+ * Objects with at least {@value #LAZY_THRESHOLD} keys which are read from a {@linkplain DataInput#lazy() lazy} input (large
+ * payloads) are decoded on demand: The constructor only reads the keys and records the offset of each value. The map
+ * contains {@code null} for values which have not been decoded yet. A value is decoded on first access of its key, and all values
+ * are decoded as soon as the whole map is needed (e.g. to iterate, format, copy or compare the object). Reading the keys,
+ * the size or testing for a key doesn't decode any values. Until all values have been decoded, the object keeps a
+ * reference to the underlying buffer.
+ * <p>
+ * Copies made by {@link ModelNode#copyOnWrite()} or {@link ModelNode#setCopyOnWrite(ModelNode)} {@linkplain #share(ModelNode)
+ * share} this value instead of copying the whole tree. A shared value is never modified structurally. Before a node exposes or
+ * modifies the children of a shared value, it replaces the value with a {@linkplain #writable(ModelNode) writable} copy: The
+ * copy contains a new map, whose values are copy-on-write copies of the shared children. Since these copies share their
+ * values as well, only the objects along the accessed path are copied. The node which owned the value before it was shared keeps its child
+ * nodes, so references to children obtained from the original before it was cloned stay attached to the original.
+ */
 class ObjectModelValue extends ModelValue {
 
+    static final int LAZY_THRESHOLD = 8;
+
     private final Map<String, ModelNode> map;
+    private DataInput source;
+    private Map<String, Integer> offsets;
+    private boolean shared;
+    private ModelNode owner;
 
     ObjectModelValue() {
         super(ModelType.OBJECT);
@@ -39,22 +62,43 @@ class ObjectModelValue extends ModelValue {
         this.map = map;
     }
 
+    private ObjectModelValue(Map<String, ModelNode> map, DataInput source, Map<String, Integer> offsets) {
+        super(ModelType.OBJECT);
+        this.map = map;
+        if (offsets != null) {
+            this.source = source;
+            this.offsets = new HashMap<>(offsets);
+        }
+    }
+
     ObjectModelValue(DataInput in) {
         super(ModelType.OBJECT);
         int count = in.readInt();
         LinkedHashMap<String, ModelNode> map = new LinkedHashMap<>();
-        for (int i = 0; i < count; i++) {
-            String key = in.readUTF();
-            ModelNode value = new ModelNode();
-            value.readExternal(in);
-            map.put(key, value);
+        if (in.lazy() && count >= LAZY_THRESHOLD) {
+            Map<String, Integer> offsets = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                offsets.put(key, in.position());
+                map.put(key, null);
+                in.skipValue();
+            }
+            this.source = in;
+            this.offsets = offsets;
+        } else {
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                ModelNode value = new ModelNode();
+                value.readExternal(in);
+                map.put(key, value);
+            }
         }
         this.map = map;
     }
 
     @Override
     void writeExternal(DataOutput out) {
-        Map<String, ModelNode> map = this.map;
+        Map<String, ModelNode> map = map();
         int size = map.size();
         out.writeInt(size);
         for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
@@ -65,7 +109,7 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     ModelValue protect() {
-        Map<String, ModelNode> map = this.map;
+        Map<String, ModelNode> map = map();
         for (ModelNode node : map.values()) {
             node.protect();
         }
@@ -82,7 +126,7 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        ModelNode node = map.get(name);
+        ModelNode node = node(name);
         if (node != null) {
             return node;
         }
@@ -96,7 +140,9 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        return map.remove(name);
+        ModelNode node = node(name);
+        map.remove(name);
+        return node;
     }
 
     @Override
@@ -132,7 +178,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     Property asProperty() {
         if (map.size() == 1) {
-            Map.Entry<String, ModelNode> entry = map.entrySet().iterator().next();
+            Map.Entry<String, ModelNode> entry = map().entrySet().iterator().next();
             return new Property(entry.getKey(), entry.getValue());
         }
         return super.asProperty();
@@ -141,7 +187,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     List<Property> asPropertyList() {
         List<Property> propertyList = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             propertyList.add(new Property(entry.getKey(), entry.getValue()));
         }
         return propertyList;
@@ -159,16 +205,50 @@ class ObjectModelValue extends ModelValue {
 
     ModelValue copy(boolean resolve) {
         LinkedHashMap<String, ModelNode> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             newMap.put(entry.getKey(), resolve ? entry.getValue().resolve() : entry.getValue().clone());
         }
         return new ObjectModelValue(newMap);
     }
 
+    @Override
+    ModelValue share(ModelNode owner) {
+        if (!shared) {
+            shared = true;
+            this.owner = owner;
+        }
+        return this;
+    }
+
+    @Override
+    ModelValue writable(ModelNode node) {
+        if (!shared) {
+            return this;
+        }
+        LinkedHashMap<String, ModelNode> newMap;
+        if (node == owner) {
+            // the owner keeps its children, the other nodes continue with copies of the children
+            newMap = new LinkedHashMap<>(map);
+            for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+                if (entry.getValue() != null) {
+                    entry.setValue(entry.getValue().copyOnWrite());
+                }
+            }
+            owner = null;
+        } else {
+            newMap = new LinkedHashMap<>();
+            for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+                ModelNode child = entry.getValue();
+                newMap.put(entry.getKey(), child != null ? child.copyOnWrite() : null);
+            }
+        }
+        return new ObjectModelValue(newMap, source, offsets);
+    }
+
     @Override
     List<ModelNode> asList() {
         ArrayList<ModelNode> nodes = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             ModelNode node = new ModelNode();
             node.set(entry.getKey(), entry.getValue());
             nodes.add(node);
@@ -195,7 +275,7 @@ class ObjectModelValue extends ModelValue {
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -223,7 +303,7 @@ class ObjectModelValue extends ModelValue {
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -264,12 +344,12 @@ class ObjectModelValue extends ModelValue {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(ObjectModelValue other) {
-        return this == other || other != null && other.map.equals(map);
+        return this == other || other != null && other.map().equals(map());
     }
 
     @Override
     public int hashCode() {
-        return map.hashCode();
+        return map().hashCode();
     }
 
     @Override
@@ -279,10 +359,59 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     ModelNode requireChild(String name) throws NoSuchElementException {
-        ModelNode node = map.get(name);
+        ModelNode node = node(name);
         if (node != null) {
             return node;
         }
         return super.requireChild(name);
     }
+
+    // ------------------------------------------------------ lazy decoding
+
+    /** Returns the value of the given key, decodes the value if necessary or returns {@code null} if there's no such key. */
+    private ModelNode node(String name) {
+        ModelNode node = map.get(name);
+        if (node == null && offsets != null && map.containsKey(name)) {
+            node = decode(offsets.remove(name));
+            map.put(name, node);
+            if (offsets.isEmpty()) {
+                release();
+            }
+        }
+        return node;
+    }
+
+    /** Returns the map with all values decoded. */
+    private Map<String, ModelNode> map() {
+        if (offsets != null) {
+            for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+                if (entry.getValue() == null) {
+                    entry.setValue(decode(offsets.get(entry.getKey())));
+                }
+            }
+            release();
+        }
+        return map;
+    }
+
+    private ModelNode decode(int offset) {
+        ModelNode node = new ModelNode();
+        node.readExternal(source.at(offset));
+        return node;
+    }
+
+    private void release() {
+        source = null;
+        offsets = null;
+    }
+
+    /** @return the number of values which have not been decoded yet */
+    int pending() {
+        return offsets != null ? offsets.size() : 0;
+    }
+
+    // for testing purposes
+    boolean shared() {
+        return shared;
+    }
 }
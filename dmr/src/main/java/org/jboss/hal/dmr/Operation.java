@@ -44,7 +44,7 @@ public class Operation extends ModelNode {
         this.header = header;
         this.roles = roles;
 
-        set(this.parameter.clone());
+        setCopyOnWrite(this.parameter);
         get(OP).set(name);
         get(ADDRESS).set(address);
         if (header.isDefined()) {
@@ -105,7 +105,7 @@ public class Operation extends ModelNode {
 
     /** Returns a copy of this operation configured to run with the specified RBAC roles. */
     public Operation runAs(Set<String> runAs) {
-        return new Operation(name, address, parameter, header, new HashSet<>(runAs));
+        return new Operation(name, address, parameter, header.clone(), new HashSet<>(runAs));
     }
 
     /**
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.DataView;
+import elemental2.core.Uint8Array;
+import elemental2.dom.TextDecoder;
+import jsinterop.base.JsPropertyMap;
+
+/** {@link DataBuffer} backed by an {@code ArrayBuffer}. Used in the browser. */
+class TypedDataBuffer extends DataBuffer {
+
+    private static TextDecoder decoder;
+
+    private final Uint8Array bytes;
+    private final DataView view;
+
+    TypedDataBuffer(int capacity) {
+        this(new ArrayBuffer(capacity));
+    }
+
+    TypedDataBuffer(ArrayBuffer buffer) {
+        this.bytes = new Uint8Array(buffer);
+        this.view = new DataView(buffer);
+    }
+
+    /** Returns a copy of the first {@code length} bytes. */
+    ArrayBuffer slice(int length) {
+        return bytes.buffer.slice(0, length);
+    }
+
+    @Override
+    int capacity() {
+        return bytes.length;
+    }
+
+    @Override
+    int get(int index) {
+        return view.getUint8(index);
+    }
+
+    @Override
+    void set(int index, int value) {
+        view.setUint8(index, value & 0xFF);
+    }
+
+    @Override
+    int getInt32(int index) {
+        return view.getInt32(index);
+    }
+
+    @Override
+    void setInt32(int index, int value) {
+        view.setInt32(index, value);
+    }
+
+    @Override
+    double getFloat64(int index) {
+        return view.getFloat64(index);
+    }
+
+    @Override
+    void setFloat64(int index, double value) {
+        view.setFloat64(index, value);
+    }
+
+    @Override
+    DataBuffer copy(int capacity, int length) {
+        TypedDataBuffer copy = new TypedDataBuffer(capacity);
+        copy.bytes.set(bytes.subarray(0, Math.min(length, capacity)));
+        return copy;
+    }
+
+    @Override
+    String decodeUtf8(int offset, int length) {
+        if (decoder == null) {
+            decoder = new TextDecoder("utf-8", JsPropertyMap.of("fatal", true));
+        }
+        try {
+            return decoder.decode(bytes.subarray(offset, offset + length));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
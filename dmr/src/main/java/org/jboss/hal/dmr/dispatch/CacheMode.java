@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Operation;
+
+/**
+ * Controls how a single operation uses the {@link ResponseCache} of the {@link Dispatcher}. Has no effect if caching is
+ * disabled or if the operation is not {@linkplain ResponseCache#cacheable(Operation) cacheable}.
+ */
+public enum CacheMode {
+
+    /** Serves the response from the cache if possible and stores fresh responses. */
+    DEFAULT,
+
+    /** Always executes the operation and stores the fresh response (e.g. for refresh buttons). */
+    REFRESH,
+
+    /** Always executes the operation and leaves the cache untouched (e.g. for polling runtime values). */
+    BYPASS
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ModelNode;
+
+import elemental2.core.ArrayBuffer;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.dispatch.CancellationToken.CANCELLED;
+
+/**
+ * A {@link DmrResponseProcessor} which delegates to another processor unless the {@link CancellationToken} has been
+ * cancelled. The responses of cancelled operations are not decoded, but replaced by a failure with the failure description
+ * {@link CancellationToken#CANCELLED}.
+ */
+class CancellableResponseProcessor implements DmrResponseProcessor {
+
+    private final CancellationToken token;
+    private final DmrResponseProcessor delegate;
+
+    CancellableResponseProcessor(CancellationToken token, DmrResponseProcessor delegate) {
+        this.token = token;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ModelNode processPayload(HttpMethod method, String contentType, String payload) {
+        return token.cancelled() ? cancelled() : delegate.processPayload(method, contentType, payload);
+    }
+
+    @Override
+    public ModelNode processPayload(HttpMethod method, String contentType, ArrayBuffer payload) {
+        return token.cancelled() ? cancelled() : delegate.processPayload(method, contentType, payload);
+    }
+
+    private ModelNode cancelled() {
+        ModelNode node = new ModelNode();
+        node.get(OUTCOME).set(FAILED);
+        node.get(FAILURE_DESCRIPTION).set(CANCELLED);
+        return node;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token to cancel one or many operations executed by the {@link Dispatcher}. Once {@linkplain #cancel() cancelled}, the
+ * dispatcher aborts the related HTTP requests using an {@code AbortController}, doesn't decode their responses and rejects
+ * the related promises with {@link #CANCELLED}. Operations executed with an already cancelled token are not sent at all.
+ * <p>
+ * A token can be shared by any number of operations, e.g. all operations of a page (see {@link RouteCancellation}). A
+ * token cannot be reset: Use a new token once a token has been cancelled. This implementation is not thread-safe.
+ */
+public class CancellationToken {
+
+    /** The error used to reject the promises of cancelled operations. */
+    public static final String CANCELLED = "Operation cancelled";
+
+    /** A token which is never cancelled. */
+    public static final CancellationToken NONE = new CancellationToken(false);
+
+    private final boolean cancellable;
+    private List<Runnable> listeners;
+    private boolean cancelled;
+
+    public CancellationToken() {
+        this(true);
+    }
+
+    private CancellationToken(boolean cancellable) {
+        this.cancellable = cancellable;
+        this.listeners = new ArrayList<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Cancels this token and notifies all registered listeners. Subsequent calls have no effect. */
+    public void cancel() {
+        if (cancellable && !cancelled) {
+            cancelled = true;
+            List<Runnable> notify = listeners;
+            listeners = new ArrayList<>();
+            for (Runnable listener : notify) {
+                listener.run();
+            }
+        }
+    }
+
+    /** @return whether this token has been cancelled */
+    public boolean cancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers a listener which is called once this token is cancelled. If this token is already cancelled, the listener
+     * is called immediately.
+     *
+     * @return a handle to remove the listener again, e.g. once the related operation has completed
+     */
+    public Runnable onCancel(Runnable listener) {
+        if (!cancellable) {
+            return () -> {};
+        }
+        if (cancelled) {
+            listener.run();
+            return () -> {};
+        }
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    // ------------------------------------------------------ internal
+
+    // for testing purposes
+    int listeners() {
+        return listeners.size();
+    }
+}
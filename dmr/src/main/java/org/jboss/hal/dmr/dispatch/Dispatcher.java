@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -28,11 +29,15 @@ import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.OperationRecorder.Measurement;
 import org.jboss.hal.env.AccessControlProvider;
 import org.jboss.hal.env.Endpoints;
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.env.Settings;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.AbortController;
 import elemental2.dom.Headers;
 import elemental2.dom.Request;
 import elemental2.dom.RequestInit;
@@ -40,17 +45,26 @@ import elemental2.dom.Response;
 import elemental2.promise.IThenable.ThenOnFulfilledCallbackFn;
 import elemental2.promise.Promise;
 import elemental2.promise.Promise.CatchOnRejectedCallbackFn;
+import jsinterop.annotations.JsMethod;
 
+import static elemental2.core.Global.JSON;
 import static elemental2.dom.DomGlobal.fetch;
+import static elemental2.dom.DomGlobal.performance;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WHOAMI_OPERATION;
+import static org.jboss.hal.dmr.dispatch.CancellationToken.CANCELLED;
+import static org.jboss.hal.dmr.dispatch.DmrEncoding.BASE64;
+import static org.jboss.hal.dmr.dispatch.DmrEncoding.BINARY;
 import static org.jboss.hal.dmr.dispatch.DmrResponseProcessor.PARSE_ERROR;
-import static org.jboss.hal.dmr.dispatch.HeaderValues.APPLICATION_DMR_ENCODED;
 import static org.jboss.hal.dmr.dispatch.HeaderValues.HEADER_MANAGEMENT_CLIENT_VALUE;
 import static org.jboss.hal.dmr.dispatch.HttpMethod.POST;
+import static org.jboss.hal.dmr.dispatch.OperationBatcher.DEFAULT_MAX_BATCH_SIZE;
 import static org.jboss.hal.dmr.dispatch.RequestHeader.ACCEPT;
 import static org.jboss.hal.dmr.dispatch.RequestHeader.CONTENT_TYPE;
 import static org.jboss.hal.dmr.dispatch.RequestHeader.X_MANAGEMENT_CLIENT_NAME;
+import static org.jboss.hal.dmr.dispatch.RequestScheduler.DEFAULT_MAX_IN_FLIGHT;
+import static org.jboss.hal.dmr.dispatch.RequestScheduler.DEFAULT_MAX_WAIT;
 import static org.jboss.hal.env.Settings.Key.RUN_AS;
 
 /**
@@ -58,9 +72,21 @@ import static org.jboss.hal.env.Settings.Key.RUN_AS;
  * composites} against the WildFly management endpoint via HTTP POST.
  *
  * <p>
- * The dispatcher encodes operations in base64-encoded DMR format, sends them to the management endpoint, and decodes the
- * responses back into {@link ModelNode} structures. It automatically processes custom DMR response headers via registered
- * {@link DmrHeaderProcessor} instances and supports RBAC run-as semantics when configured.
+ * The dispatcher encodes operations in DMR format, sends them to the management endpoint, and decodes the responses back
+ * into {@link ModelNode} structures. Payloads are base64-encoded unless the endpoint supports the binary
+ * {@link DmrEncoding encoding}, which is detected once during bootstrap using {@link #negotiateEncoding()}. It
+ * automatically processes custom DMR response headers via registered {@link DmrHeaderProcessor} instances and supports
+ * RBAC run-as semantics when configured.
+ *
+ * <p>
+ * Read-only operations can optionally be batched into composite operations (see {@link #enableBatching(int)}) and their
+ * responses can optionally be cached for a short time (see {@link #enableCaching(long)}). The {@link #recorder()} can be
+ * enabled to record the sizes and timings of all requests. Operations can be cancelled using a {@link CancellationToken}.
+ *
+ * <p>
+ * All requests are sent through the {@link RequestScheduler}, which limits the number of requests in flight and decides
+ * which queued request is sent next based on its {@link Lane}. Operations are executed in the {@link Lane#INTERACTIVE}
+ * lane unless specified otherwise.
  *
  * <p>
  * Operations can be executed synchronously (returning a {@link Promise}) or asynchronously (with a success callback and
@@ -78,6 +104,11 @@ public class Dispatcher {
     private final Environment environment;
     private final Settings settings;
     private final Instance<DmrHeaderProcessor> dmrHeaderProcessors;
+    private final OperationRecorder recorder;
+    private final RequestScheduler scheduler;
+    private DmrEncoding encoding;
+    private OperationBatcher batcher;
+    private ResponseCache responseCache;
 
     @Inject
     public Dispatcher(Environment environment,
@@ -88,12 +119,146 @@ public class Dispatcher {
         this.settings = settings;
         this.endpoints = endpoints;
         this.dmrHeaderProcessors = dmrHeaderProcessors;
+        this.encoding = BASE64;
+        this.recorder = new OperationRecorder();
+        this.scheduler = new RequestScheduler(DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_WAIT, () -> (long) now());
         defaultErrorHandler = (operation, error) -> {
             logger.error("Error executing operation: %s: %s", operation.asCli(), error);
             // TODO Fire message event
         };
     }
 
+    // ------------------------------------------------------ encoding
+
+    /**
+     * Detects whether the management endpoint supports the {@link DmrEncoding#BINARY binary encoding}. Sends a
+     * {@code whoami} operation in binary and switches to the binary encoding if the endpoint answers successfully in
+     * binary. Falls back to {@link DmrEncoding#BASE64} otherwise. The returned promise is never rejected.
+     */
+    public Promise<DmrEncoding> negotiateEncoding() {
+        Operation probe = new Operation.Builder(ResourceAddress.root(), WHOAMI_OPERATION).build();
+        RequestInit init = requestInit(POST, BINARY);
+        init.setBody(probe.toArrayBuffer());
+        return fetch(new Request(endpoints.dmr(), init))
+                .then(response -> {
+                    String contentType = response.headers.get(CONTENT_TYPE.header());
+                    if (DmrEncoding.negotiate(response.status, contentType) == BINARY) {
+                        return response.arrayBuffer().then(buffer -> Promise.resolve(
+                                ModelNode.fromArrayBuffer(buffer).isFailure() ? BASE64 : BINARY));
+                    }
+                    return Promise.resolve(BASE64);
+                })
+                .catch_(error -> {
+                    logger.debug("Binary encoding not supported: %s", error);
+                    return Promise.resolve(BASE64);
+                })
+                .then(negotiated -> {
+                    encoding = negotiated;
+                    logger.info("Use %s encoding for DMR operations", negotiated.name().toLowerCase());
+                    return Promise.resolve(negotiated);
+                });
+    }
+
+    /** Returns the encoding used for DMR operations. */
+    public DmrEncoding encoding() {
+        return encoding;
+    }
+
+    // ------------------------------------------------------ batching
+
+    /**
+     * Enables batching of read-only operations. Read-only operations which are executed in the same microtask are sent as
+     * one composite operation with at most {@code maxBatchSize} steps. The results are split back to the individual
+     * promises and callbacks. Failed steps reject the related operation only. Composites and operations which modify the
+     * management model are never batched.
+     */
+    public void enableBatching(int maxBatchSize) {
+        disableBatching();
+        batcher = new OperationBatcher(maxBatchSize,
+                task -> Promise.resolve((Void) null).then(__ -> {
+                    task.run();
+                    return null;
+                }),
+                (operation, onPayload, onError) -> schedule(operation, now(), CancellationToken.NONE, Lane.INTERACTIVE)
+                        .then(payload -> {
+                            onPayload.accept(payload);
+                            return null;
+                        })
+                        .catch_(error -> {
+                            onError.accept(error);
+                            return null;
+                        }),
+                this::processHeaders);
+    }
+
+    /** Enables batching of read-only operations using a default batch size. */
+    public void enableBatching() {
+        enableBatching(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /** Disables batching of read-only operations. Operations which are already queued are sent immediately. */
+    public void disableBatching() {
+        if (batcher != null) {
+            batcher.flush();
+            batcher = null;
+        }
+    }
+
+    // ------------------------------------------------------ caching
+
+    /**
+     * Enables the {@link ResponseCache} for read-only operations. Responses expire after {@code timeToLive} milliseconds.
+     * Successful operations which modify the management model invalidate the related entries. The cache is cleared once
+     * a server changes to {@code reload-required} or {@code restart-required}. Use {@link CacheMode} to bypass the cache
+     * for individual operations.
+     */
+    public void enableCaching(long timeToLive) {
+        responseCache = new ResponseCache(timeToLive);
+    }
+
+    /** Enables the {@link ResponseCache} for read-only operations using a default time-to-live. */
+    public void enableCaching() {
+        enableCaching(ResponseCache.DEFAULT_TIME_TO_LIVE);
+    }
+
+    /** Disables and drops the {@link ResponseCache}. */
+    public void disableCaching() {
+        responseCache = null;
+    }
+
+    /** Returns the response cache or {@code null} if caching is disabled. */
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+
+    // ------------------------------------------------------ recording
+
+    /**
+     * Returns the recorder for the sizes and timings of the requests. The recorder is disabled by default. In the browser
+     * console, it can be started using {@code Dispatcher.record()} and exported using {@code Dispatcher.recordings()}.
+     */
+    public OperationRecorder recorder() {
+        return recorder;
+    }
+
+    // ------------------------------------------------------ scheduling
+
+    /**
+     * Returns the scheduler of the requests. Use {@link RequestScheduler#metrics(Lane)} to get the queue depth and wait
+     * time of the lanes.
+     */
+    public RequestScheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Sets the maximum number of requests in flight per endpoint. Further requests are queued. Defaults to
+     * {@link RequestScheduler#DEFAULT_MAX_IN_FLIGHT}.
+     */
+    public void limitInFlight(int maxInFlight) {
+        scheduler.maxInFlight(maxInFlight);
+    }
+
     // ------------------------------------------------------ execute composite
 
     /** Executes a composite operation and invokes the success callback with the result. Uses the default error handler. */
@@ -121,6 +286,29 @@ public class Dispatcher {
         return dmr(operations).then(payload -> Promise.resolve(compositeResult(payload)));
     }
 
+    /**
+     * Executes a composite operation and returns a promise of the composite result. The promise is rejected with
+     * {@link CancellationToken#CANCELLED} if the token is cancelled before the response has been decoded.
+     */
+    public Promise<CompositeResult> execute(Composite operations, CancellationToken token) {
+        return dmr(operations, true, CacheMode.DEFAULT, token)
+                .then(payload -> Promise.resolve(compositeResult(payload)));
+    }
+
+    /** Executes a composite operation in the given lane and returns a promise of the composite result. */
+    public Promise<CompositeResult> execute(Composite operations, Lane lane) {
+        return execute(operations, CancellationToken.NONE, lane);
+    }
+
+    /**
+     * Executes a composite operation in the given lane and returns a promise of the composite result. The promise is
+     * rejected with {@link CancellationToken#CANCELLED} if the token is cancelled before the response has been decoded.
+     */
+    public Promise<CompositeResult> execute(Composite operations, CancellationToken token, Lane lane) {
+        return dmr(operations, true, CacheMode.DEFAULT, token, lane)
+                .then(payload -> Promise.resolve(compositeResult(payload)));
+    }
+
     // ------------------------------------------------------ execute operation
 
     /** Executes a single operation and invokes the success callback with the {@code "result"} payload. Uses the default error handler. */
@@ -153,6 +341,32 @@ public class Dispatcher {
         return dmr(operation, logError).then(payload -> Promise.resolve(operationResult(payload)));
     }
 
+    /** Executes a single operation and returns a promise of the {@code "result"} payload. Uses the given cache mode. */
+    public Promise<ModelNode> execute(Operation operation, CacheMode cacheMode) {
+        return dmr(operation, true, cacheMode).then(payload -> Promise.resolve(operationResult(payload)));
+    }
+
+    /**
+     * Executes a single operation and returns a promise of the {@code "result"} payload. The promise is rejected with
+     * {@link CancellationToken#CANCELLED} if the token is cancelled before the response has been decoded.
+     */
+    public Promise<ModelNode> execute(Operation operation, CancellationToken token) {
+        return dmr(operation, true, CacheMode.DEFAULT, token).then(payload -> Promise.resolve(operationResult(payload)));
+    }
+
+    /** Executes a single operation in the given lane and returns a promise of the {@code "result"} payload. */
+    public Promise<ModelNode> execute(Operation operation, Lane lane) {
+        return execute(operation, CancellationToken.NONE, lane);
+    }
+
+    /**
+     * Executes a single operation in the given lane and returns a promise of the {@code "result"} payload. The promise is
+     * rejected with {@link CancellationToken#CANCELLED} if the token is cancelled before the response has been decoded.
+     */
+    public Promise<ModelNode> execute(Operation operation, CancellationToken token, Lane lane) {
+        return dmr(operation, true, CacheMode.DEFAULT, token, lane).then(payload -> Promise.resolve(operationResult(payload)));
+    }
+
     // ------------------------------------------------------ dmr
 
     /**
@@ -196,14 +410,101 @@ public class Dispatcher {
      * @return a {@link Promise} of {@link ModelNode} - the result of the operation
      */
     public Promise<ModelNode> dmr(Operation operation, boolean logError) {
-        RequestInit init = requestInit(POST, true);
-        init.setBody(runAs(operation).toBase64String());
-        Request request = new Request(endpoints.dmr(), init);
+        return dmr(operation, logError, CacheMode.DEFAULT);
+    }
 
-        return fetch(request)
-                .then(processResponse())
-                .then(processText(operation, new OperationResponseProcessor(), true))
+    /**
+     * Executes the operation and upon a successful result, returns the response result but doesn't retrieve the "result"
+     * payload as the other execute methods does. You should use this method if the response node you want is not in the
+     * "result" attribute.
+     *
+     * @param operation the {@link Operation} to be executed
+     * @param logError  if true, logs any error that occurs during the operation execution
+     * @param cacheMode how to use the {@link ResponseCache} if caching is enabled
+     * @return a {@link Promise} of {@link ModelNode} - the result of the operation
+     */
+    public Promise<ModelNode> dmr(Operation operation, boolean logError, CacheMode cacheMode) {
+        return dmr(operation, logError, cacheMode, CancellationToken.NONE);
+    }
+
+    /**
+     * Executes the operation and upon a successful result, returns the response result but doesn't retrieve the "result"
+     * payload as the other execute methods does. You should use this method if the response node you want is not in the
+     * "result" attribute.
+     *
+     * @param operation the {@link Operation} to be executed
+     * @param logError  if true, logs any error that occurs during the operation execution
+     * @param cacheMode how to use the {@link ResponseCache} if caching is enabled
+     * @param token     the token to cancel the operation. Cancelled operations are rejected with
+     *                  {@link CancellationToken#CANCELLED} and are never logged.
+     * @return a {@link Promise} of {@link ModelNode} - the result of the operation
+     */
+    public Promise<ModelNode> dmr(Operation operation, boolean logError, CacheMode cacheMode, CancellationToken token) {
+        return dmr(operation, logError, cacheMode, token, Lane.INTERACTIVE);
+    }
+
+    /**
+     * Executes the operation and upon a successful result, returns the response result but doesn't retrieve the "result"
+     * payload as the other execute methods does. You should use this method if the response node you want is not in the
+     * "result" attribute.
+     *
+     * @param operation the {@link Operation} to be executed
+     * @param logError  if true, logs any error that occurs during the operation execution
+     * @param cacheMode how to use the {@link ResponseCache} if caching is enabled
+     * @param token     the token to cancel the operation. Cancelled operations are rejected with
+     *                  {@link CancellationToken#CANCELLED} and are never logged.
+     * @param lane      the lane of the {@link RequestScheduler}
+     * @return a {@link Promise} of {@link ModelNode} - the result of the operation
+     */
+    public Promise<ModelNode> dmr(Operation operation, boolean logError, CacheMode cacheMode, CancellationToken token,
+            Lane lane) {
+        if (token.cancelled()) {
+            return Promise.reject(CANCELLED);
+        }
+        ResponseCache cache = responseCache;
+        String key = null;
+        long generation = 0;
+        if (cache != null && cacheMode != CacheMode.BYPASS && ResponseCache.cacheable(operation)) {
+            key = ResponseCache.key(runAs(operation));
+            if (cacheMode == CacheMode.DEFAULT) {
+                ModelNode cached = cache.get(key);
+                if (cached != null) {
+                    logger.debug("Serve DMR operation from cache: %s", operation.asCli());
+                    return Promise.resolve(cached);
+                }
+            }
+            generation = cache.generation();
+        }
+
+        Promise<ModelNode> payload;
+        double queued = now();
+        // the batcher processes the headers of the composite response
+        boolean batched = batcher != null && token == CancellationToken.NONE && lane == Lane.INTERACTIVE
+                && OperationBatcher.batchable(operation);
+        if (batched) {
+            payload = new Promise<>((resolve, reject) -> batcher.enqueue(operation, resolve::onInvoke, reject::onInvoke));
+        } else {
+            if (batcher != null) {
+                // send queued reads first to keep the order of operations
+                batcher.flush();
+            }
+            payload = schedule(operation, queued, token, lane);
+        }
+        String cacheKey = key;
+        long cacheGeneration = generation;
+        return payload
+                .then(processPayload(operation, !batched))
+                .then(result -> {
+                    if (cacheKey != null) {
+                        cache.put(cacheKey, operation, result, cacheGeneration);
+                    }
+                    return Promise.resolve(result);
+                })
                 .catch_(error -> {
+                    if (token.cancelled()) {
+                        logger.debug("Operation cancelled: %s", operation.asCli());
+                        return Promise.reject(CANCELLED);
+                    }
                     if (logError) {
                         defaultErrorHandler.onError(operation, String.valueOf(error));
                     }
@@ -211,37 +512,127 @@ public class Dispatcher {
                 });
     }
 
+    private Promise<ModelNode> schedule(Operation operation, double queued, CancellationToken token, Lane lane) {
+        return new Promise<>((resolve, reject) -> {
+            Runnable[] unregister = new Runnable[1];
+            RequestScheduler.Ticket ticket = scheduler.submit(endpoints.dmr(), lane, done -> {
+                if (unregister[0] != null) {
+                    unregister[0].run();
+                }
+                Promise<ModelNode> posted;
+                try {
+                    posted = post(operation, queued, token);
+                } catch (Throwable e) {
+                    // post() failed before the request has been sent (encoding, request init): release the slot,
+                    // otherwise the endpoint stops sending once all slots are taken
+                    done.run();
+                    reject.onInvoke(e);
+                    return;
+                }
+                posted.then(payload -> {
+                            done.run();
+                            resolve.onInvoke(payload);
+                            return null;
+                        })
+                        .catch_(error -> {
+                            done.run();
+                            reject.onInvoke(error);
+                            return null;
+                        });
+            });
+            if (token != CancellationToken.NONE && ticket.queued()) {
+                // remove queued operations from the scheduler, in-flight operations are aborted in post()
+                unregister[0] = token.onCancel(() -> {
+                    if (ticket.cancel()) {
+                        reject.onInvoke(CANCELLED);
+                    }
+                });
+            }
+        });
+    }
+
+    private Promise<ModelNode> post(Operation operation, double queued, CancellationToken token) {
+        DmrEncoding requestEncoding = encoding;
+        RequestInit init = requestInit(POST, requestEncoding);
+        int requestSize;
+        if (requestEncoding == BINARY) {
+            ArrayBuffer body = runAs(operation).toArrayBuffer();
+            requestSize = body.byteLength;
+            init.setBody(body);
+        } else {
+            String body = runAs(operation).toBase64String();
+            requestSize = body.length();
+            init.setBody(body);
+        }
+        if (token == CancellationToken.NONE) {
+            return send(operation, init, requestSize, queued, new OperationResponseProcessor());
+        }
+        AbortController controller = new AbortController();
+        init.setSignal(controller.signal);
+        Runnable unregister = token.onCancel(controller::abort);
+        return send(operation, init, requestSize, queued,
+                new CancellableResponseProcessor(token, new OperationResponseProcessor()))
+                .finally_(unregister::run);
+    }
+
+    private Promise<ModelNode> send(Operation operation, RequestInit init, int requestSize, double queued,
+            DmrResponseProcessor payloadProcessor) {
+        Request request = new Request(endpoints.dmr(), init);
+        Measurement measurement = recorder.start(operation, requestSize, queued, now());
+        return fetch(request).then(processResponse(payloadProcessor, measurement));
+    }
+
     // ------------------------------------------------------ promise handlers
 
-    ThenOnFulfilledCallbackFn<Response, String> processResponse() {
+    ThenOnFulfilledCallbackFn<Response, ModelNode> processResponse(DmrResponseProcessor payloadProcessor) {
+        return processResponse(payloadProcessor, null);
+    }
+
+    ThenOnFulfilledCallbackFn<Response, ModelNode> processResponse(DmrResponseProcessor payloadProcessor,
+            Measurement measurement) {
         return response -> {
             if (!response.ok && response.status != 500) {
                 return Promise.reject(ResponseStatus.fromStatusCode(response.status).statusText());
             }
             String contentType = response.headers.get(CONTENT_TYPE.header());
-            if (!contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+            DmrEncoding responseEncoding = DmrEncoding.fromContentType(contentType);
+            if (responseEncoding == null) {
                 return Promise.reject(PARSE_ERROR + contentType);
+            } else if (responseEncoding == BINARY) {
+                return response.arrayBuffer().then(buffer -> {
+                    if (measurement != null) {
+                        measurement.received(now(), buffer.byteLength);
+                    }
+                    return Promise.resolve(decoded(measurement, payloadProcessor.processPayload(POST, contentType, buffer)));
+                });
+            } else {
+                return response.text().then(text -> {
+                    if (measurement != null) {
+                        measurement.received(now(), text.length());
+                    }
+                    return Promise.resolve(decoded(measurement, payloadProcessor.processPayload(POST, contentType, text)));
+                });
             }
-            return response.text();
         };
     }
 
-    ThenOnFulfilledCallbackFn<String, ModelNode> processText(Operation operation, DmrResponseProcessor payloadProcessor,
-            boolean recordOperation) {
-        return text -> {
-            if (recordOperation) {
-                // TODO Macro recording
-            }
-            logger.debug("Process text for DMR operation: %s", operation.asCli());
-            ModelNode payload = payloadProcessor.processPayload(POST, APPLICATION_DMR_ENCODED, text);
+    private ModelNode decoded(Measurement measurement, ModelNode payload) {
+        if (measurement != null) {
+            measurement.decoded(now(), payload.isFailure());
+        }
+        return payload;
+    }
+
+    ThenOnFulfilledCallbackFn<ModelNode, ModelNode> processPayload(Operation operation, boolean headers) {
+        return payload -> {
+            logger.debug("Process payload for DMR operation: %s", operation.asCli());
             if (!payload.isFailure()) {
-                if (payload.hasDefined(RESPONSE_HEADERS)) {
-                    DmrHeader[] headers = environment.standalone()
-                            ? DmrHeader.standalone(payload.get(RESPONSE_HEADERS))
-                            : DmrHeader.domain(payload.get(RESPONSE_HEADERS));
-                    for (DmrHeaderProcessor dmrHeaderProcessor : dmrHeaderProcessors) {
-                        dmrHeaderProcessor.process(headers);
-                    }
+                if (headers) {
+                    processHeaders(payload);
+                }
+                ResponseCache cache = responseCache;
+                if (cache != null) {
+                    cache.invalidate(operation);
                 }
                 return Promise.resolve(payload);
             } else {
@@ -250,6 +641,23 @@ public class Dispatcher {
         };
     }
 
+    /** Passes the response headers to the {@link DmrHeaderProcessor}s and the process state to the response cache. */
+    void processHeaders(ModelNode payload) {
+        DmrHeader[] headers = new DmrHeader[0];
+        if (payload.hasDefined(RESPONSE_HEADERS)) {
+            headers = environment.standalone()
+                    ? DmrHeader.standalone(payload.get(RESPONSE_HEADERS))
+                    : DmrHeader.domain(payload.get(RESPONSE_HEADERS));
+            for (DmrHeaderProcessor dmrHeaderProcessor : dmrHeaderProcessors) {
+                dmrHeaderProcessor.process(headers);
+            }
+        }
+        ResponseCache cache = responseCache;
+        if (cache != null) {
+            cache.processState(ProcessStateProcessor.processState(headers));
+        }
+    }
+
     CatchOnRejectedCallbackFn<ModelNode> rejectWithError() {
         return error -> {
             logger.error("Dispatcher error: %s", error);
@@ -257,6 +665,34 @@ public class Dispatcher {
         };
     }
 
+    // ------------------------------------------------------ js api
+
+    private static Dispatcher instance;
+
+    @PostConstruct
+    void init() {
+        Dispatcher.instance = this;
+    }
+
+    @JsMethod(name = "record")
+    private static void jsRecord() {
+        if (instance != null) {
+            instance.recorder.enable();
+        } else {
+            logger.error("Dispatcher not initialized");
+        }
+    }
+
+    @JsMethod(name = "recordings")
+    private static Object jsRecordings() {
+        if (instance != null) {
+            return JSON.parse(instance.recorder.toJson());
+        } else {
+            logger.error("Dispatcher not initialized");
+            return JSON.parse("{\"error\": \"Dispatcher not initialized\"}");
+        }
+    }
+
     // ------------------------------------------------------ internal
 
     private CompositeResult compositeResult(ModelNode payload) {
@@ -267,11 +703,11 @@ public class Dispatcher {
         return payload.get(RESULT);
     }
 
-    private RequestInit requestInit(HttpMethod method, boolean dmr) {
+    private RequestInit requestInit(HttpMethod method, DmrEncoding dmrEncoding) {
         Headers headers = new Headers();
-        if (dmr) {
-            headers.set(ACCEPT.header(), APPLICATION_DMR_ENCODED);
-            headers.set(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
+        if (dmrEncoding != null) {
+            headers.set(ACCEPT.header(), dmrEncoding.contentType());
+            headers.set(CONTENT_TYPE.header(), dmrEncoding.contentType());
         }
         headers.set(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
         String bearerToken = token();
@@ -301,6 +737,10 @@ public class Dispatcher {
         return operation;
     }
 
+    private double now() {
+        return performance.now();
+    }
+
     private String token() {
         // TODO Implement SSO using Keycloak
         return null;
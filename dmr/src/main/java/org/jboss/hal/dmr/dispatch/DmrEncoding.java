@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import static org.jboss.hal.dmr.dispatch.HeaderValues.APPLICATION_DMR_ENCODED;
+import static org.jboss.hal.dmr.dispatch.HeaderValues.BINARY_ENCODING_PARAMETER;
+
+/**
+ * Defines how DMR payloads are encoded on the wire.
+ *
+ * <p>
+ * Both encodings use the {@code application/dmr-encoded} media type. {@link #BASE64} is the default and supported by all
+ * management endpoints. {@link #BINARY} sends and receives the raw DMR bytes, which saves the base64 inflation of 33% and
+ * the detour through a string. The binary encoding is flagged using the media type parameter {@code encoding=binary}. It
+ * is only used if the endpoint has acknowledged it during bootstrap (see {@link Dispatcher#negotiateEncoding()}).
+ */
+public enum DmrEncoding {
+
+    BASE64(APPLICATION_DMR_ENCODED),
+
+    BINARY(APPLICATION_DMR_ENCODED + "; " + BINARY_ENCODING_PARAMETER);
+
+    /**
+     * Returns the encoding of the given content type, or {@code null} if the content type is not
+     * {@code application/dmr-encoded}.
+     */
+    public static DmrEncoding fromContentType(String contentType) {
+        if (contentType == null || !contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+            return null;
+        }
+        String parameters = contentType.substring(APPLICATION_DMR_ENCODED.length()).replace(" ", "");
+        for (String parameter : parameters.split(";")) {
+            if (BINARY_ENCODING_PARAMETER.equalsIgnoreCase(parameter)) {
+                return BINARY;
+            }
+        }
+        return BASE64;
+    }
+
+    /**
+     * Decides on the encoding based on the response of the binary probe sent during bootstrap. The binary encoding is used
+     * only if the endpoint has answered successfully and in binary.
+     *
+     * @param status      the HTTP status code of the probe response
+     * @param contentType the content type of the probe response
+     */
+    public static DmrEncoding negotiate(int status, String contentType) {
+        return status == 200 && fromContentType(contentType) == BINARY ? BINARY : BASE64;
+    }
+
+    private final String contentType;
+
+    DmrEncoding(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /** The value used for the {@code Content-Type} and {@code Accept} headers. */
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -17,8 +17,9 @@ package org.jboss.hal.dmr.dispatch;
 
 import org.jboss.hal.dmr.ModelNode;
 
-/** Interface to turn the raw base64 encoded payload of a DMR response into a model node. */
-@FunctionalInterface
+import elemental2.core.ArrayBuffer;
+
+/** Interface to turn the raw payload of a DMR response into a model node. */
 interface DmrResponseProcessor {
 
     String PARSE_ERROR = "Unable to parse response with unexpected content-type ";
@@ -32,4 +33,14 @@ interface DmrResponseProcessor {
      * @return the decoded model node
      */
     ModelNode processPayload(HttpMethod method, String contentType, String payload);
+
+    /**
+     * Decodes a raw binary DMR response payload into a {@link ModelNode}.
+     *
+     * @param method      the HTTP method used for the request
+     * @param contentType the content type of the response
+     * @param payload     the raw response body
+     * @return the decoded model node
+     */
+    ModelNode processPayload(HttpMethod method, String contentType, ArrayBuffer payload);
 }
@@ -21,6 +21,9 @@ interface HeaderValues {
     /** MIME type for base64-encoded DMR payloads. */
     String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
 
+    /** Media type parameter to flag raw (not base64-encoded) DMR payloads. */
+    String BINARY_ENCODING_PARAMETER = "encoding=binary";
+
     /** Value sent in the {@code X-Management-Client-Name} header to identify the HAL console. */
     String HEADER_MANAGEMENT_CLIENT_VALUE = "HAL";
 }
@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+/**
+ * Priority lanes of the {@link RequestScheduler}. Each lane gets a share of the available request slots proportional to its
+ * weight.
+ */
+public enum Lane {
+
+    /** Requests triggered by the user, e.g. clicks, form submits and page loads. */
+    INTERACTIVE(8),
+
+    /** Requests which run in the background, e.g. auto-refreshes and prefetching. */
+    BACKGROUND(3),
+
+    /** Long-running series of requests, e.g. model tree traversals. */
+    BULK(1);
+
+    final int weight;
+
+    Lane(int weight) {
+        this.weight = weight;
+    }
+
+    /** @return the relative share of the request slots */
+    public int weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Arrays;
+
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * Latency histogram with a log-linear bucket layout as known from the HdrHistogram. Values are recorded in microseconds.
+ * Values below {@value #SUB_BUCKET_COUNT} are recorded exactly. Larger values are recorded in buckets whose width doubles
+ * with each power of two, so that each value is recorded with a relative error of less than {@code 1/}{@value
+ * #SUB_BUCKET_HALF_COUNT} (about 1.6%). Values above {@link #MAX_VALUE} are clamped.
+ * <p>
+ * The histogram uses a fixed number of counters, no matter how many values are recorded. Recording a value doesn't
+ * allocate memory. This implementation is not thread-safe.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    /** The maximum value which can be recorded (about 19 hours in microseconds). */
+    public static final long MAX_VALUE = (1L << 36) - 1;
+
+    private final long[] counts;
+    private long count;
+    private long min;
+    private long max;
+    private double sum;
+
+    public LatencyHistogram() {
+        this.counts = new long[index(MAX_VALUE) + 1];
+        this.min = Long.MAX_VALUE;
+        this.max = 0;
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Records the given value in microseconds. Negative values are recorded as zero. */
+    public void record(long value) {
+        long v = Math.min(MAX_VALUE, Math.max(0, value));
+        counts[index(v)]++;
+        count++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Returns the value at the given percentile (0 - 100). The value is the highest value which is equivalent to the
+     * recorded values within the precision of the histogram, but never larger than the maximum recorded value. Returns
+     * {@code 0} if no values have been recorded.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double p = Math.min(100, Math.max(0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(max, Math.max(min, highestEquivalentValue(i)));
+            }
+        }
+        return max;
+    }
+
+    /** @return the number of recorded values */
+    public long count() {
+        return count;
+    }
+
+    /** @return the smallest recorded value or {@code 0} if no values have been recorded */
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    /** @return the largest recorded value or {@code 0} if no values have been recorded */
+    public long max() {
+        return max;
+    }
+
+    /** @return the mean of the recorded values or {@code 0} if no values have been recorded */
+    public double mean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /** Removes all recorded values. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Returns a model node with the count, min, max, mean and the 50th, 90th, 99th and 99.9th percentile in milliseconds.
+     */
+    public ModelNode toModelNode() {
+        ModelNode node = new ModelNode();
+        node.get("count").set(count);
+        node.get("min").set(millis(min()));
+        node.get("max").set(millis(max()));
+        node.get("mean").set(millis(mean()));
+        node.get("p50").set(millis(percentile(50)));
+        node.get("p90").set(millis(percentile(90)));
+        node.get("p99").set(millis(percentile(99)));
+        node.get("p99.9").set(millis(percentile(99.9)));
+        return node;
+    }
+
+    // ------------------------------------------------------ internal
+
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // shift the value so that it falls into the upper half of the sub buckets: [64, 128)
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) ((value >> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return subBucket << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_GROUP_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_GROUP_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+
+/**
+ * Collects read-only operations which are queued in the same microtask and sends them as one {@link Composite}. The
+ * {@code step-N} results of the composite are split back to the individual callbacks.
+ *
+ * <p>
+ * Only operations accepted by {@link #batchable(Operation)} must be queued. A failed step is reported as error of the
+ * related operation only. Steps without an outcome (e.g. because the composite was cancelled) are retried individually.
+ * Once {@link #maxBatchSize} operations are queued, the batch is sent immediately. The {@code response-headers} (e.g. the
+ * process state) belong to the response of the composite, not to its steps. Each response is therefore passed to the
+ * {@link #responses} callback once, before it is split.
+ *
+ * <p>
+ * The batcher doesn't know how to send operations or how to schedule a microtask. Both are provided by the
+ * {@link Dispatcher} using a {@link Transport} and a {@link Scheduler}. This implementation is not thread-safe.
+ */
+class OperationBatcher {
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    static final Set<String> READ_ONLY_OPERATIONS = Set.of(
+            READ_ATTRIBUTE_GROUP_NAMES_OPERATION,
+            READ_ATTRIBUTE_GROUP_OPERATION,
+            READ_ATTRIBUTE_OPERATION,
+            READ_CHILDREN_NAMES_OPERATION,
+            READ_CHILDREN_RESOURCES_OPERATION,
+            READ_CHILDREN_TYPES_OPERATION,
+            READ_OPERATION_DESCRIPTION_OPERATION,
+            READ_OPERATION_NAMES_OPERATION,
+            READ_RESOURCE_DESCRIPTION_OPERATION,
+            READ_RESOURCE_OPERATION);
+
+    /**
+     * Returns {@code true} if the given operation can be batched: It must be a read-only operation without operation headers
+     * and without run-as roles. Composites and mutating operations are never batched.
+     */
+    static boolean batchable(Operation operation) {
+        return !(operation instanceof Composite)
+                && READ_ONLY_OPERATIONS.contains(operation.getName())
+                && !(operation.getHeader().isDefined() && !operation.getHeader().keys().isEmpty())
+                && operation.getRoles().isEmpty();
+    }
+
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final Transport transport;
+    private final Consumer<ModelNode> responses;
+    private List<Entry> pending;
+    private boolean scheduled;
+
+    /**
+     * @param responses receives each response of the transport once before it is split to the queued operations, e.g. to
+     *                  process the response headers
+     */
+    OperationBatcher(int maxBatchSize, Scheduler scheduler, Transport transport, Consumer<ModelNode> responses) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = scheduler;
+        this.transport = transport;
+        this.responses = responses;
+        this.pending = new ArrayList<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Queues the given operation. {@code onSuccess} is called with the payload of the operation ({@code outcome},
+     * {@code result}, ...), {@code onError} is called with the failure description or the transport error.
+     */
+    void enqueue(Operation operation, Consumer<ModelNode> onSuccess, Consumer<Object> onError) {
+        pending.add(new Entry(operation, onSuccess, onError));
+        if (pending.size() >= maxBatchSize) {
+            flush();
+        } else if (!scheduled) {
+            scheduled = true;
+            scheduler.schedule(() -> {
+                scheduled = false;
+                flush();
+            });
+        }
+    }
+
+    /** Sends all queued operations now. */
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Entry> batch = pending;
+        pending = new ArrayList<>();
+        if (batch.size() == 1) {
+            send(batch.get(0));
+        } else {
+            List<Operation> operations = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                operations.add(entry.operation);
+            }
+            transport.send(new Composite(operations), payload -> split(batch, payload), error -> {
+                for (Entry entry : batch) {
+                    entry.onError.accept(error);
+                }
+            });
+        }
+    }
+
+    /** The number of queued operations. */
+    int pending() {
+        return pending.size();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void split(List<Entry> batch, ModelNode payload) {
+        responses.accept(payload);
+        ModelNode steps = payload.get(RESULT);
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            String step = "step-" + (i + 1); // NON-NLS
+            ModelNode stepPayload = steps.isDefined() && steps.has(step) ? steps.get(step) : null;
+            if (stepPayload != null && (stepPayload.hasDefined(FAILURE_DESCRIPTION) || succeeded(stepPayload))) {
+                deliver(entry, stepPayload);
+            } else {
+                // step was not executed or is missing in the response
+                send(entry);
+            }
+        }
+    }
+
+    private void send(Entry entry) {
+        transport.send(entry.operation, payload -> {
+            responses.accept(payload);
+            deliver(entry, payload);
+        }, entry.onError);
+    }
+
+    private void deliver(Entry entry, ModelNode payload) {
+        if (succeeded(payload)) {
+            entry.onSuccess.accept(payload);
+        } else {
+            entry.onError.accept(payload.getFailureDescription());
+        }
+    }
+
+    private boolean succeeded(ModelNode payload) {
+        return payload.hasDefined(OUTCOME) && SUCCESS.equals(payload.get(OUTCOME).asString());
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Sends an operation and reports the raw response payload or a transport error. */
+    @FunctionalInterface
+    interface Transport {
+
+        void send(Operation operation, Consumer<ModelNode> onPayload, Consumer<Object> onError);
+    }
+
+    /** Schedules a task to run at the end of the current microtask. */
+    @FunctionalInterface
+    interface Scheduler {
+
+        void schedule(Runnable task);
+    }
+
+    private record Entry(Operation operation, Consumer<ModelNode> onSuccess, Consumer<Object> onError) {}
+}
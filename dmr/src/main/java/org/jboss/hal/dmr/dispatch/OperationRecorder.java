@@ -0,0 +1,181 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+
+/**
+ * Records the requests sent by the {@link Dispatcher}: the operation, the address, the sizes of the encoded request and
+ * response and the time spent in the queue, on the network and for decoding.
+ * <p>
+ * The last {@link #capacity()} recordings are kept in a ring buffer. In addition, the total time of each request is
+ * aggregated in a {@link LatencyHistogram} per operation name. Both can be exported as JSON using {@link #toJson()}.
+ * <p>
+ * The recorder is disabled by default. As long as it's disabled, neither the ring buffer nor the histograms are allocated
+ * and the dispatcher doesn't create any {@link Measurement measurements}. This implementation is not thread-safe.
+ */
+public class OperationRecorder {
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private OperationRecording[] recordings;
+    private Map<String, LatencyHistogram> histograms;
+    private int head;
+    private int size;
+
+    // ------------------------------------------------------ api
+
+    /** Enables the recorder and keeps the last {@code capacity} recordings. Drops existing recordings and histograms. */
+    public void enable(int capacity) {
+        recordings = new OperationRecording[Math.max(1, capacity)];
+        histograms = new LinkedHashMap<>();
+        head = 0;
+        size = 0;
+    }
+
+    /** Enables the recorder using a default capacity. */
+    public void enable() {
+        enable(DEFAULT_CAPACITY);
+    }
+
+    /** Disables the recorder and drops all recordings and histograms. */
+    public void disable() {
+        recordings = null;
+        histograms = null;
+        head = 0;
+        size = 0;
+    }
+
+    /** @return whether the recorder is enabled */
+    public boolean enabled() {
+        return recordings != null;
+    }
+
+    /** @return the number of recordings kept in the ring buffer or {@code 0} if the recorder is disabled */
+    public int capacity() {
+        return recordings != null ? recordings.length : 0;
+    }
+
+    /** Adds the given recording. Overwrites the oldest recording if the ring buffer is full. Ignored if disabled. */
+    public void record(OperationRecording recording) {
+        if (recordings == null) {
+            return;
+        }
+        recordings[(head + size) % recordings.length] = recording;
+        if (size < recordings.length) {
+            size++;
+        } else {
+            head = (head + 1) % recordings.length;
+        }
+        histograms.computeIfAbsent(recording.operation(), __ -> new LatencyHistogram())
+                .record(Math.round(recording.totalTime() * 1000));
+    }
+
+    /** @return the recordings in the ring buffer from the oldest to the newest recording */
+    public List<OperationRecording> recordings() {
+        List<OperationRecording> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(recordings[(head + i) % recordings.length]);
+        }
+        return result;
+    }
+
+    /** @return the latency histogram for the given operation name or {@code null} if no such operation was recorded */
+    public LatencyHistogram histogram(String operation) {
+        return histograms != null ? histograms.get(operation) : null;
+    }
+
+    /** Removes all recordings and histograms, but keeps the recorder enabled. */
+    public void clear() {
+        if (recordings != null) {
+            enable(recordings.length);
+        }
+    }
+
+    /**
+     * Returns a model node with the latency histograms by operation name (key {@code histograms}) and the recordings from
+     * the oldest to the newest recording (key {@code recordings}).
+     */
+    public ModelNode toModelNode() {
+        ModelNode node = new ModelNode();
+        node.get("histograms").setEmptyObject();
+        node.get("recordings").setEmptyList();
+        if (histograms != null) {
+            histograms.forEach((operation, histogram) -> node.get("histograms").get(operation)
+                    .set(histogram.toModelNode()));
+        }
+        for (OperationRecording recording : recordings()) {
+            node.get("recordings").add(recording.toModelNode());
+        }
+        return node;
+    }
+
+    /** Returns {@link #toModelNode()} as JSON. */
+    public String toJson() {
+        return toModelNode().toJSONString();
+    }
+
+    // ------------------------------------------------------ internal
+
+    /**
+     * Starts a measurement for the given operation if the recorder is enabled, and returns {@code null} otherwise.
+     *
+     * @param queued the time when the operation was queued
+     * @param sent   the time when the request was sent
+     */
+    Measurement start(Operation operation, int requestSize, double queued, double sent) {
+        if (recordings == null) {
+            return null;
+        }
+        return new Measurement(operation, requestSize, queued, sent);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Collects the timings of one request until the response has been decoded. */
+    class Measurement {
+
+        private final Operation operation;
+        private final int requestSize;
+        private final double queued;
+        private final double sent;
+        private int responseSize;
+        private double received;
+
+        private Measurement(Operation operation, int requestSize, double queued, double sent) {
+            this.operation = operation;
+            this.requestSize = requestSize;
+            this.queued = queued;
+            this.sent = sent;
+        }
+
+        void received(double received, int responseSize) {
+            this.received = received;
+            this.responseSize = responseSize;
+        }
+
+        void decoded(double decoded, boolean failure) {
+            record(new OperationRecording(operation.getName(), operation.getAddress().toString(), requestSize,
+                    responseSize, queued, sent - queued, received - sent, decoded - received, failure));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * A single request recorded by the {@link OperationRecorder}. All times are in milliseconds.
+ *
+ * @param operation    the name of the operation ({@code composite} for composites and batched operations)
+ * @param address      the address of the operation
+ * @param requestSize  the size of the encoded request in bytes (binary) or characters (base64)
+ * @param responseSize the size of the encoded response in bytes (binary) or characters (base64)
+ * @param timestamp    the time when the operation was queued
+ * @param queueTime    the time between queuing and sending the request
+ * @param networkTime  the time between sending the request and receiving the complete response
+ * @param decodeTime   the time to decode the response
+ * @param failure      whether the response reports a failure
+ */
+public record OperationRecording(String operation, String address, int requestSize, int responseSize, double timestamp,
+                                 double queueTime, double networkTime, double decodeTime, boolean failure) {
+
+    /** @return the sum of queue, network and decode time */
+    public double totalTime() {
+        return queueTime + networkTime + decodeTime;
+    }
+
+    /** Returns a model node with all properties of this recording. */
+    public ModelNode toModelNode() {
+        ModelNode node = new ModelNode();
+        node.get("operation").set(operation);
+        node.get("address").set(address);
+        node.get("request-size").set(requestSize);
+        node.get("response-size").set(responseSize);
+        node.get("timestamp").set(timestamp);
+        node.get("queue-time").set(queueTime);
+        node.get("network-time").set(networkTime);
+        node.get("decode-time").set(decodeTime);
+        node.get("failure").set(failure);
+        return node;
+    }
+}
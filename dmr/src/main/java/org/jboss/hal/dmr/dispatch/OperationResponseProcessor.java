@@ -15,8 +15,12 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.function.Supplier;
+
 import org.jboss.hal.dmr.ModelNode;
 
+import elemental2.core.ArrayBuffer;
+
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
@@ -29,7 +33,7 @@ import static org.jboss.hal.dmr.dispatch.HttpMethod.GET;
  * Processes DMR response bodies, extracting the result {@link ModelNode} and checking for failure outcomes.
  *
  * <p>
- * This processor decodes base64-encoded DMR responses from the management endpoint. For POST operations, the response
+ * This processor decodes base64-encoded and binary DMR responses from the management endpoint. For POST operations, the response
  * includes {@code outcome} and {@code result} fields. For GET operations, the response contains only the result data, so
  * this processor repackages it into a standard format with {@code outcome=SUCCESS} and a {@code result} field.
  *
@@ -42,10 +46,20 @@ public class OperationResponseProcessor implements DmrResponseProcessor {
     /** Decodes a base64-encoded DMR response, repackaging GET results into the standard outcome/result envelope. */
     @Override
     public ModelNode processPayload(final HttpMethod method, final String contentType, final String payload) {
+        return process(method, contentType, () -> ModelNode.fromBase64(payload));
+    }
+
+    /** Decodes a binary DMR response, repackaging GET results into the standard outcome/result envelope. */
+    @Override
+    public ModelNode processPayload(final HttpMethod method, final String contentType, final ArrayBuffer payload) {
+        return process(method, contentType, () -> ModelNode.fromArrayBuffer(payload));
+    }
+
+    private ModelNode process(HttpMethod method, String contentType, Supplier<ModelNode> decoder) {
         ModelNode node;
         if (contentType.startsWith(APPLICATION_DMR_ENCODED)) {
             try {
-                node = ModelNode.fromBase64(payload);
+                node = decoder.get();
                 if (method == GET && !node.isFailure()) {
                     // For GET request the response is purely the model nodes result. The outcome
                     // is not send as part of the response but expressed with the HTTP status code.
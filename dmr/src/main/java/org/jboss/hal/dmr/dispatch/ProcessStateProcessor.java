@@ -42,6 +42,14 @@ public class ProcessStateProcessor implements DmrHeaderProcessor {
     /** Scans DMR response headers for {@code process-state} entries and fires a {@link ProcessStateEvent} if any are found. */
     @Override
     public void process(DmrHeader[] headers) {
+        ProcessState processState = processState(headers);
+        if (!processState.isEmpty()) {
+            processStateEventEvent.fire(new ProcessStateEvent(processState));
+        }
+    }
+
+    /** Collects the servers which report {@code reload-required} or {@code restart-required} in the given headers. */
+    static ProcessState processState(DmrHeader[] headers) {
         ProcessState processState = new ProcessState();
         for (DmrHeader header : headers) {
             if (header.getHeader().hasDefined(PROCESS_STATE)) {
@@ -56,8 +64,6 @@ public class ProcessStateProcessor implements DmrHeaderProcessor {
                 }
             }
         }
-        if (!processState.isEmpty()) {
-            processStateEventEvent.fire(new ProcessStateEvent(processState));
-        }
+        return processState;
     }
 }
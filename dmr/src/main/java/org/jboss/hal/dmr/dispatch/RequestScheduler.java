@@ -0,0 +1,271 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests in flight per endpoint and decides which queued request is sent next.
+ * <p>
+ * Requests are queued in one of three {@linkplain Lane lanes}. Free request slots are assigned using weighted fair queuing:
+ * Each request gets a virtual finish time based on the weight of its lane, and the request with the smallest finish time
+ * is sent next. As long as all lanes are busy, the lanes get a share of the request slots proportional to their weights.
+ * Within a lane, requests are sent in the order they were queued.
+ * <p>
+ * To protect lanes with low weight from starvation, a request which has been waiting for at least {@link #maxWait()}
+ * milliseconds is sent before all other requests. Queue depth and wait time are recorded per lane (see
+ * {@link #metrics(Lane)}).
+ * <p>
+ * The scheduler doesn't know how to send requests. Each request is a {@link Job} which must call the given callback once
+ * the request has completed. This implementation is not thread-safe.
+ */
+public class RequestScheduler {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 6;
+    public static final long DEFAULT_MAX_WAIT = 5_000;
+
+    private int maxInFlight;
+    private final long maxWait;
+    private final LongSupplier clock;
+    private final Map<String, EndpointQueue> endpoints;
+    private final Map<Lane, LaneMetrics> metrics;
+
+    RequestScheduler(int maxInFlight, long maxWait, LongSupplier clock) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxWait = maxWait;
+        this.clock = clock;
+        this.endpoints = new HashMap<>();
+        this.metrics = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            metrics.put(lane, new LaneMetrics());
+        }
+    }
+
+    // ------------------------------------------------------ api
+
+    /** @return the maximum number of requests in flight per endpoint */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of requests in flight per endpoint. If the limit is raised, queued requests are started
+     * immediately.
+     */
+    public void maxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        for (EndpointQueue queue : endpoints.values()) {
+            queue.pump();
+        }
+    }
+
+    /** @return the time in milliseconds after which a queued request is sent before all other requests */
+    public long maxWait() {
+        return maxWait;
+    }
+
+    /** @return the number of requests in flight for the given endpoint */
+    public int inFlight(String endpoint) {
+        EndpointQueue queue = endpoints.get(endpoint);
+        return queue != null ? queue.inFlight : 0;
+    }
+
+    /** Returns a snapshot of the queue depth and wait time of the given lane across all endpoints. */
+    public Metrics metrics(Lane lane) {
+        LaneMetrics m = metrics.get(lane);
+        return new Metrics(lane, m.queued, m.maxQueued, m.started, m.cancelled, m.totalWait, m.maxWait);
+    }
+
+    // ------------------------------------------------------ internal
+
+    /**
+     * Queues the given job and starts it as soon as a request slot of the endpoint is free and no other job is due. The
+     * returned ticket can be used to remove the job from the queue.
+     */
+    Ticket submit(String endpoint, Lane lane, Job job) {
+        EndpointQueue queue = endpoints.computeIfAbsent(endpoint, __ -> new EndpointQueue());
+        Ticket ticket = queue.add(lane, job, clock.getAsLong());
+        LaneMetrics m = metrics.get(lane);
+        m.queued++;
+        m.maxQueued = Math.max(m.maxQueued, m.queued);
+        queue.pump();
+        return ticket;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** A request which is started by the scheduler and which must call {@code done} once it has completed. */
+    @FunctionalInterface
+    interface Job {
+
+        void start(Runnable done);
+    }
+
+    /**
+     * Metrics of one lane.
+     *
+     * @param lane          the lane
+     * @param queueDepth    the number of currently queued requests
+     * @param maxQueueDepth the maximum number of queued requests
+     * @param started       the number of started requests
+     * @param cancelled     the number of requests which have been removed from the queue before they were started
+     * @param totalWaitTime the sum of the time in milliseconds the started requests were queued
+     * @param maxWaitTime   the maximum time in milliseconds a started request was queued
+     */
+    public record Metrics(Lane lane, int queueDepth, int maxQueueDepth, long started, long cancelled, long totalWaitTime,
+                          long maxWaitTime) {
+
+        /** @return the mean time in milliseconds the started requests were queued */
+        public double meanWaitTime() {
+            return started == 0 ? 0 : (double) totalWaitTime / started;
+        }
+    }
+
+    /** Handle of a queued job. */
+    class Ticket {
+
+        private final EndpointQueue queue;
+        private final Lane lane;
+        private final Job job;
+        private final long enqueued;
+        private final double finish;
+        private boolean started;
+        private boolean cancelled;
+
+        private Ticket(EndpointQueue queue, Lane lane, Job job, long enqueued, double finish) {
+            this.queue = queue;
+            this.lane = lane;
+            this.job = job;
+            this.enqueued = enqueued;
+            this.finish = finish;
+        }
+
+        /** @return {@code true} if the job is still queued */
+        boolean queued() {
+            return !started && !cancelled;
+        }
+
+        /**
+         * Removes the job from the queue.
+         *
+         * @return {@code true} if the job was removed, {@code false} if it has already been started or cancelled
+         */
+        boolean cancel() {
+            if (!queued()) {
+                return false;
+            }
+            cancelled = true;
+            queue.lanes.get(lane).remove(this);
+            LaneMetrics m = metrics.get(lane);
+            m.queued--;
+            m.cancelled++;
+            return true;
+        }
+    }
+
+    private class EndpointQueue {
+
+        private final Map<Lane, Deque<Ticket>> lanes;
+        private final Map<Lane, Double> lastFinish;
+        private double virtualTime;
+        private int inFlight;
+
+        EndpointQueue() {
+            this.lanes = new EnumMap<>(Lane.class);
+            this.lastFinish = new EnumMap<>(Lane.class);
+            for (Lane lane : Lane.values()) {
+                lanes.put(lane, new ArrayDeque<>());
+                lastFinish.put(lane, 0.0);
+            }
+        }
+
+        Ticket add(Lane lane, Job job, long now) {
+            // self-clocked fair queuing: a lane which was idle starts at the current virtual time
+            double start = Math.max(virtualTime, lastFinish.get(lane));
+            double finish = start + 1.0 / lane.weight;
+            lastFinish.put(lane, finish);
+            Ticket ticket = new Ticket(this, lane, job, now, finish);
+            lanes.get(lane).add(ticket);
+            return ticket;
+        }
+
+        void pump() {
+            while (inFlight < maxInFlight) {
+                Ticket next = next(clock.getAsLong());
+                if (next == null) {
+                    return;
+                }
+                start(next);
+            }
+        }
+
+        private Ticket next(long now) {
+            Ticket due = null;
+            Ticket fair = null;
+            for (Deque<Ticket> queue : lanes.values()) {
+                Ticket head = queue.peek();
+                if (head != null) {
+                    if (now - head.enqueued >= maxWait && (due == null || head.enqueued < due.enqueued)) {
+                        due = head;
+                    }
+                    // lanes are iterated by priority: ties are resolved in favour of the higher lane
+                    if (fair == null || head.finish < fair.finish) {
+                        fair = head;
+                    }
+                }
+            }
+            return due != null ? due : fair;
+        }
+
+        private void start(Ticket ticket) {
+            lanes.get(ticket.lane).poll();
+            ticket.started = true;
+            virtualTime = Math.max(virtualTime, ticket.finish - 1.0 / ticket.lane.weight);
+            inFlight++;
+
+            long wait = clock.getAsLong() - ticket.enqueued;
+            LaneMetrics m = metrics.get(ticket.lane);
+            m.queued--;
+            m.started++;
+            m.totalWait += wait;
+            m.maxWait = Math.max(m.maxWait, wait);
+
+            boolean[] done = new boolean[1];
+            ticket.job.start(() -> {
+                if (!done[0]) {
+                    done[0] = true;
+                    inFlight--;
+                    pump();
+                }
+            });
+        }
+    }
+
+    private static class LaneMetrics {
+
+        int queued;
+        int maxQueued;
+        long started;
+        long cancelled;
+        long totalWait;
+        long maxWait;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+import static org.jboss.hal.dmr.dispatch.OperationBatcher.READ_ONLY_OPERATIONS;
+
+/**
+ * Short-lived cache for the responses of read-only operations. Used by the {@link Dispatcher} to avoid sending the same
+ * {@code read-resource}, {@code read-children-names}, ... operation over and over again while the user navigates the
+ * console.
+ *
+ * <p>
+ * Responses are keyed by a canonical encoding of the operation name, the address, the parameters and the run-as roles.
+ * The order of the parameters doesn't matter. Entries expire after {@link #timeToLive()} milliseconds. A successful
+ * operation which modifies the management model {@linkplain #invalidate(ResourceAddress) invalidates} all entries whose
+ * address is on the same path as the address of the operation: ancestors (which might read the resource recursively or
+ * read the children names), the resource itself and all descendants. Wildcards match any value. Operations on the root
+ * resource (e.g. {@code :reload}) invalidate all entries.
+ *
+ * <p>
+ * Responses which are received after an invalidation, but belong to operations which were sent before the invalidation,
+ * are not stored (see {@link #generation()}). This implementation is not thread-safe.
+ */
+public class ResponseCache {
+
+    public static final long DEFAULT_TIME_TO_LIVE = 5_000;
+    static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Returns {@code true} if the response of the given operation can be cached: It must be a read-only operation without
+     * operation headers. Composites are never cached.
+     */
+    public static boolean cacheable(Operation operation) {
+        return !(operation instanceof Composite)
+                && READ_ONLY_OPERATIONS.contains(operation.getName())
+                && !(operation.getHeader().isDefined() && !operation.getHeader().keys().isEmpty());
+    }
+
+    /** Returns the canonical key of the given operation. Operations which differ only in the order of parameters share a key. */
+    static String key(Operation operation) {
+        StringBuilder builder = new StringBuilder(operation.getName()).append(' ');
+        canonical(operation.getAddress(), builder);
+        builder.append(' ');
+        canonical(operation.getParameter(), builder);
+        if (!operation.getRoles().isEmpty()) {
+            builder.append(' ').append(new TreeSet<>(operation.getRoles()));
+        }
+        return builder.toString();
+    }
+
+    private final long timeToLive;
+    private final int capacity;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private boolean processStateRequired;
+
+    ResponseCache(long timeToLive) {
+        this(timeToLive, DEFAULT_CAPACITY, System::currentTimeMillis);
+    }
+
+    // for testing purposes
+    ResponseCache(long timeToLive, int capacity, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.capacity = Math.max(1, capacity);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Returns the time in milliseconds after which an entry expires. */
+    public long timeToLive() {
+        return timeToLive;
+    }
+
+    /** Returns the hits, misses, invalidations and the current size of this cache. */
+    public Stats stats() {
+        return new Stats(hits, misses, invalidations, entries.size());
+    }
+
+    /**
+     * Removes all entries whose address is an ancestor of, equal to or a descendant of the given address. Wildcards in
+     * either address match any value.
+     */
+    public void invalidate(ResourceAddress address) {
+        String[] mutation = segments(address);
+        generation++;
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (samePath(iterator.next().address, mutation)) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    // ------------------------------------------------------ internal
+
+    /** Returns the cached payload or {@code null}. The payload is a copy and can be modified by the caller. */
+    ModelNode get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires <= clock.getAsLong()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.payload.copyOnWrite();
+    }
+
+    /**
+     * Stores a copy of the payload, unless the cache has been invalidated since the operation was sent (i.e. the current
+     * generation differs from {@code generation}).
+     */
+    void put(String key, Operation operation, ModelNode payload, long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.remove(key);
+        entries.put(key, new Entry(segments(operation.getAddress()), payload.copyOnWrite(), now + timeToLive));
+        // all entries share the same time-to-live: the iteration order is the expiration order
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            Entry eldest = iterator.next();
+            if (entries.size() > capacity || eldest.expires <= now) {
+                iterator.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
+    /** Invalidates the addresses of a successful operation, or all steps of a successful composite. */
+    void invalidate(Operation operation) {
+        if (operation instanceof Composite) {
+            for (Operation step : (Composite) operation) {
+                invalidate(step);
+            }
+        } else if (!READ_ONLY_OPERATIONS.contains(operation.getName())) {
+            invalidate(operation.getAddress());
+        }
+    }
+
+    /** Clears this cache once one or more servers change to {@code reload-required} or {@code restart-required}. */
+    void processState(ProcessState processState) {
+        boolean required = !processState.isEmpty();
+        if (required && !processStateRequired) {
+            clear();
+        }
+        processStateRequired = required;
+    }
+
+    /** Returns a counter which is incremented on each invalidation. */
+    long generation() {
+        return generation;
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static String[] segments(ResourceAddress address) {
+        List<String> segments = new ArrayList<>();
+        if (address.isDefined()) {
+            for (Property property : address.asPropertyList()) {
+                segments.add(property.getName());
+                segments.add(property.getValue().asString());
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static boolean samePath(String[] a, String[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i += 2) {
+            if (!a[i].equals(b[i])) {
+                return false;
+            }
+            if (!a[i + 1].equals(b[i + 1]) && !"*".equals(a[i + 1]) && !"*".equals(b[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void canonical(ModelNode node, StringBuilder builder) {
+        ModelType type = node.getType();
+        switch (type) {
+            case OBJECT:
+                builder.append('{');
+                boolean first = true;
+                for (String key : new TreeSet<>(node.keys())) {
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    builder.append(new ModelNode().set(key).toJSONString(true)).append(':');
+                    canonical(node.get(key), builder);
+                    first = false;
+                }
+                builder.append('}');
+                break;
+            case LIST:
+                builder.append('[');
+                List<ModelNode> list = node.asList();
+                for (int i = 0; i < list.size(); i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+                    canonical(list.get(i), builder);
+                }
+                builder.append(']');
+                break;
+            case PROPERTY:
+                Property property = node.asProperty();
+                builder.append('(').append(new ModelNode().set(property.getName()).toJSONString(true)).append(':');
+                canonical(property.getValue(), builder);
+                builder.append(')');
+                break;
+            case UNDEFINED:
+                builder.append("undefined");
+                break;
+            default:
+                builder.append(type.getTypeChar()).append(node.toJSONString(true));
+                break;
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Statistics of a {@link ResponseCache}. */
+    public record Stats(long hits, long misses, long invalidations, int size) {
+
+        /** Returns the ratio of hits to lookups, or {@code 0} if there were no lookups. */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(String[] address, ModelNode payload, long expires) {}
+}
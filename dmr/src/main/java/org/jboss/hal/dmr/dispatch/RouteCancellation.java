@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import static elemental2.dom.DomGlobal.location;
+
+/**
+ * Route-scoped {@link CancellationToken cancellation tokens}. All operations of a page should share the token returned by
+ * {@link #token()}. Once the user navigates to another route, {@link #navigated()} cancels the tokens of all other routes,
+ * which aborts the in-flight requests of the pages the user has left.
+ * <p>
+ * The current route is the path of the current location. It's read when a token is requested, so pages which request
+ * a token while being rendered for a new route are not affected.
+ */
+@ApplicationScoped
+public class RouteCancellation {
+
+    private final Supplier<String> route;
+    private final Map<String, CancellationToken> tokens;
+
+    @Inject
+    public RouteCancellation() {
+        this(() -> location.pathname);
+    }
+
+    // for testing purposes
+    RouteCancellation(Supplier<String> route) {
+        this.route = route;
+        this.tokens = new HashMap<>();
+    }
+
+    /** Returns the token for the current route. The token is cancelled once the user navigates to another route. */
+    public CancellationToken token() {
+        return tokens.computeIfAbsent(route.get(), __ -> new CancellationToken());
+    }
+
+    /** Cancels the tokens of all routes except the current one. Must be called after each navigation. */
+    public void navigated() {
+        String current = route.get();
+        for (Iterator<Map.Entry<String, CancellationToken>> iterator = tokens.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, CancellationToken> entry = iterator.next();
+            if (!entry.getKey().equals(current)) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+    }
+}
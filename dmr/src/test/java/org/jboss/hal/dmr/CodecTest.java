@@ -0,0 +1,195 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.DataInput.BULK_UTF_THRESHOLD;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Round-trip tests of the DMR codec against golden payloads written by {@code org.jboss.dmr.ModelNode.writeExternal()}. */
+class CodecTest {
+
+    // read-resource-description of /subsystem=logging (shortened), with line breaks as sent by some servers
+    private static final String RRD = """
+            bwAAAAIAB291dGNvbWVzAAdzdWNjZXNzAAZyZXN1bHRvAAAABAALZGVzY3JpcHRpb25zAFZUaGUgY29uZmlndXJhdGlvbiBvZiB0aGUgbG9nZ2lu
+            ZyBzdWJzeXN0ZW0gaW5jbHVkaW5nIGhhbmRsZXJzLCBsb2dnZXJzIGFuZCBmb3JtYXR0ZXJzLgAKYXR0cmlidXRlc28AAAADABxhZGQtbG9nZ2lu
+            Zy1hcGktZGVwZW5kZW5jaWVzbwAAAAUABHR5cGV0WgALZGVzY3JpcHRpb25zAG9JbmRpY2F0ZXMgd2hldGhlciBvciBub3QgbG9nZ2luZyBBUEkg
+            ZGVwZW5kZW5jaWVzIHNob3VsZCBiZSBhZGRlZCB0byBkZXBsb3ltZW50cyBkdXJpbmcgdGhlIGRlcGxveW1lbnQgcHJvY2Vzcy4AE2V4cHJlc3Np
+            b25zLWFsbG93ZWRaAQAIbmlsbGFibGVaAQAHZGVmYXVsdFoBABBtYXgtYmFja3VwLWluZGV4bwAAAAQABHR5cGV0SQAHZGVmYXVsdEkAAAABAANt
+            aW5KAAAAAAAAAAEAA21heEoAAAAAf////wAFcmF0aW9vAAAAAgAEdHlwZXREAAdkZWZhdWx0RD/oAAAAAAAAAApvcGVyYXRpb25zdQAIY2hpbGRy
+            ZW5vAAAAAQAGbG9nZ2VybwAAAAIAC2Rlc2NyaXB0aW9ucwAaRGVmaW5lcyBhIGxvZ2dlciBjYXRlZ29yeS4AEW1vZGVsLWRlc2NyaXB0aW9udQ==
+            """;
+
+    // all model types, multibyte and supplementary characters and the modified UTF-8 encoding of \u0000
+    private static final String MIXED = "bwAAAA8ABWFzY2lpcwAFc2hvcnQAB3VtbGF1dHNzAEJHcsO8w59lIGF1cyBLw7ZsbiDigJMgc2Now7ZuZSBHcsO8"
+            + "w59lIGF1cyBkZW0gU8O8ZGVuLCB6dW0gQmVpc3BpZWwAA2Nqa3MAP+aXpeacrOiqnuOBruODhuOCreOCueODiOOBr+S4ieODkOOCpOODiOOBp+es"
+            + "puWPt+WMluOBleOCjOOBvuOBmQAFZW1vamlzAENTdXBwbGVtZW50YXJ5IGNoYXJhY3RlcnMgbGlrZSDtoL3tuIAgYXJlIGVuY29kZWQgYXMgc3Vy"
+            + "cm9nYXRlIHBhaXJzAANudWxzAC9hwIBiIGFuZCBzb21lIG1vcmUgdGV4dCB0byBleGNlZWQgdGhlIHRocmVzaG9sZAAFZW1wdHlzAAAABGxpc3Rs"
+            + "AAAABHMAAWFwAARwb3J0SQAAJwZ1ZQAfJHtqYm9zcy5iaW5kLmFkZHJlc3M6MTI3LjAuMC4xfQAFYnl0ZXNiAAAABQABf4D/AAtiaWctaW50ZWdl"
+            + "cmkAAAAK/WK9SbGJjr27NQALYmlnLWRlY2ltYWxkABYzLjE0MTU5MjY1MzU4OTc5MzIzODQ2AARsb25nSv/f////////AANpbnRJ////1gAGZG91"
+            + "YmxlRIGlbh/C+PNZAAdib29sZWFuWgAABHR5cGV0bw==";
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
+    @Test
+    void rrd() {
+        ModelNode node = ModelNode.fromBase64(RRD);
+
+        assertEquals("success", node.get("outcome").asString());
+        ModelNode result = node.get("result");
+        assertEquals("The configuration of the logging subsystem including handlers, loggers and formatters.",
+                result.get("description").asString());
+        ModelNode attributes = result.get("attributes");
+        assertEquals(ModelType.BOOLEAN, attributes.get("add-logging-api-dependencies").get("type").asType());
+        assertTrue(attributes.get("add-logging-api-dependencies").get("nillable").asBoolean());
+        assertEquals(1, attributes.get("max-backup-index").get("default").asInt());
+        assertEquals(Integer.MAX_VALUE, attributes.get("max-backup-index").get("max").asLong());
+        assertEquals(0.75, attributes.get("ratio").get("default").asDouble());
+        assertFalse(result.get("operations").isDefined());
+        assertEquals("Defines a logger category.", result.get("children").get("logger").get("description").asString());
+
+        assertEquals(RRD.replace("\n", ""), node.toBase64String());
+    }
+
+    @Test
+    void mixed() {
+        ModelNode node = ModelNode.fromBase64(MIXED);
+
+        assertEquals("short", node.get("ascii").asString());
+        assertEquals("Grüße aus Köln – schöne Grüße aus dem Süden, zum Beispiel", node.get("umlauts").asString());
+        assertEquals("日本語のテキストは三バイトで符号化されます", node.get("cjk").asString());
+        assertEquals("Supplementary characters like 😀 are encoded as surrogate pairs", node.get("emoji").asString());
+        assertEquals("a\u0000b and some more text to exceed the threshold", node.get("nul").asString());
+        assertEquals("", node.get("empty").asString());
+
+        ModelNode list = node.get("list");
+        assertEquals(4, list.asList().size());
+        assertEquals("a", list.get(0).asString());
+        assertEquals("port", list.get(1).asProperty().getName());
+        assertEquals(9990, list.get(1).asProperty().getValue().asInt());
+        assertFalse(list.get(2).isDefined());
+        assertEquals(ModelType.EXPRESSION, list.get(3).getType());
+        assertEquals("${jboss.bind.address:127.0.0.1}", list.get(3).asString());
+
+        assertArrayEquals(new byte[]{0, 1, 127, (byte) 128, (byte) 255}, node.get("bytes").asBytes());
+        assertEquals(new BigInteger("-12345678901234567890123"), node.get("big-integer").asBigInteger());
+        assertEquals(new BigDecimal("3.14159265358979323846"), node.get("big-decimal").asBigDecimal());
+        assertEquals(-9007199254740993L, node.get("long").asLong());
+        assertEquals(-42, node.get("int").asInt());
+        assertEquals(-1.0e-300, node.get("double").asDouble());
+        assertFalse(node.get("boolean").asBoolean());
+        assertEquals(ModelType.OBJECT, node.get("type").asType());
+
+        assertEquals(MIXED, node.toBase64String());
+    }
+
+    @Test
+    void bulkUtf() {
+        String ascii = "x".repeat(BULK_UTF_THRESHOLD);
+        String multibyte = "ä€".repeat(BULK_UTF_THRESHOLD);
+        String modified = "\u0000😀".repeat(BULK_UTF_THRESHOLD);
+        for (String value : new String[]{ascii, multibyte, modified, ascii.substring(1)}) {
+            DataOutput out = new DataOutput();
+            out.writeUTF(value);
+            out.writeInt(42);
+            DataInput in = Base64Codec.decode(out.toBase64());
+            assertEquals(value, in.readUTF());
+            assertEquals(42, in.readInt());
+        }
+    }
+
+    @Test
+    void primitives() {
+        DataOutput out = new DataOutput();
+        out.writeBoolean(true);
+        out.writeByte(-1);
+        out.writeChar('€');
+        out.writeDouble(Double.NaN);
+        out.writeDouble(Double.NEGATIVE_INFINITY);
+        out.writeInt(Integer.MIN_VALUE);
+        out.writeLong(Long.MIN_VALUE);
+        out.writeLong(Long.MAX_VALUE);
+        out.writeLong(-1L);
+
+        DataInput in = Base64Codec.decode(out.toBase64());
+        assertTrue(in.readBoolean());
+        assertEquals(-1, in.readByte());
+        assertEquals('€', in.readChar());
+        assertTrue(Double.isNaN(in.readDouble()));
+        assertEquals(Double.NEGATIVE_INFINITY, in.readDouble());
+        assertEquals(Integer.MIN_VALUE, in.readInt());
+        assertEquals(Long.MIN_VALUE, in.readLong());
+        assertEquals(Long.MAX_VALUE, in.readLong());
+        assertEquals(-1L, in.readLong());
+        assertThrows(RuntimeException.class, in::readByte);
+    }
+
+    @Test
+    void growth() {
+        DataOutput out = new DataOutput();
+        byte[] bytes = new byte[100_000];
+        new Random(42).nextBytes(bytes);
+        for (int i = 0; i < bytes.length; i += 1_000) {
+            byte[] chunk = new byte[1_000];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            out.write(chunk);
+        }
+
+        assertEquals(bytes.length, out.length());
+        assertEquals(Base64.getEncoder().encodeToString(bytes), out.toBase64());
+    }
+
+    @Test
+    void base64() {
+        Random random = new Random(42);
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String encoded = Base64.getEncoder().encodeToString(bytes);
+            String wrapped = Base64.getMimeEncoder(8, "\r\n".getBytes()).encodeToString(bytes);
+
+            DataOutput out = new DataOutput();
+            out.write(bytes);
+            assertEquals(encoded, out.toBase64());
+            for (String input : new String[]{encoded, wrapped}) {
+                byte[] decoded = new byte[length];
+                Base64Codec.decode(input).readFully(decoded);
+                assertArrayEquals(bytes, decoded);
+            }
+        }
+    }
+
+    @Test
+    void invalidBase64() {
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("AAA-"));
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("AAAAA"));
+        assertThrows(IllegalArgumentException.class, () -> ModelNode.fromBase64("ü"));
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CopyOnWriteTest {
+
+    private static final String[] PATH = {"result", "server", "default-server", "host", "default-host", "default-web-module"};
+
+    @Test
+    void copyIsEqual() {
+        ModelNode node = UndertowFixture.response(3, 4);
+        ModelNode copy = node.copyOnWrite();
+        assertEquals(node, copy);
+        assertEquals(node.hashCode(), copy.hashCode());
+        assertEquals(node.toString(), copy.toString());
+    }
+
+    @Test
+    void modifyCopy() {
+        ModelNode node = UndertowFixture.response(3, 4);
+        String expected = node.toString();
+        ModelNode copy = node.copyOnWrite();
+
+        copy.get(PATH).set("foo");
+        copy.get("result", "statistics-enabled").set(true);
+        copy.get("result").remove("default-server");
+        copy.get("new").set("bar");
+
+        assertEquals(expected, node.toString());
+        assertEquals("foo", copy.get(PATH).asString());
+        assertFalse(copy.get("result").has("default-server"));
+        assertTrue(copy.has("new"));
+    }
+
+    @Test
+    void modifyOriginal() {
+        ModelNode node = UndertowFixture.response(3, 4);
+        ModelNode copy = node.copyOnWrite();
+        String expected = copy.toString();
+
+        node.get(PATH).set("foo");
+        node.get("result").remove("default-server");
+        node.get("new").set("bar");
+
+        assertEquals(expected, copy.toString());
+        assertEquals("foo", node.get(PATH).asString());
+    }
+
+    @Test
+    void modifyLists() {
+        ModelNode node = new ModelNode();
+        node.get("list").add("a");
+        node.get("list").add().get("b").set("c");
+        ModelNode copy = node.copyOnWrite();
+
+        copy.get("list").get(1).get("b").set("d");
+        copy.get("list").add("e");
+        node.get("list").get(0).set("f");
+
+        assertEquals("c", node.get("list").get(1).get("b").asString());
+        assertEquals(2, node.get("list").asList().size());
+        assertEquals("a", copy.get("list").get(0).asString());
+        assertEquals("d", copy.get("list").get(1).get("b").asString());
+        assertEquals(3, copy.get("list").asList().size());
+    }
+
+    @Test
+    void modifyListElements() {
+        ModelNode node = new ModelNode();
+        node.add().get("a").set(1);
+        ModelNode copy = node.copyOnWrite();
+
+        copy.asList().get(0).get("a").set(2);
+        assertEquals(1, node.get(0).get("a").asInt());
+        assertEquals(2, copy.get(0).get("a").asInt());
+    }
+
+    @Test
+    void modifyPropertyList() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        node.get("list").add("a", "b");
+        node.get("list").add("c").add("d");
+        String expected = node.toString();
+        ModelNode copy = node.copyOnWrite();
+
+        for (Property property : copy.get("result").asPropertyList()) {
+            property.getValue().set("foo");
+        }
+        for (Property property : copy.get("list").asPropertyList()) {
+            property.getValue().set("foo");
+        }
+        assertEquals(expected, node.toString());
+    }
+
+    @Test
+    void modifyProperty() {
+        ModelNode node = new ModelNode();
+        node.get("object", "a", "b").set("c");
+        node.get("list").add("a", "b");
+        String expected = node.toString();
+        ModelNode copy = node.copyOnWrite();
+
+        copy.get("object").asProperty().getValue().get("b").set("foo");
+        copy.get("list").get(0).asProperty().getValue().set("foo");
+
+        assertEquals(expected, node.toString());
+        // the value of a property node is part of the node
+        assertEquals("foo", copy.get("list").get(0).asProperty().getValue().asString());
+    }
+
+    @Test
+    void modifyObject() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        node.get("list").add("a", "b");
+        String expected = node.toString();
+        ModelNode copy = node.copyOnWrite();
+
+        copy.get("result").asObject().get("default-server").set("foo");
+        copy.get("list").asObject().get("a").set("foo");
+
+        assertEquals(expected, node.toString());
+    }
+
+    @Test
+    void modifySetValue() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode copy = new ModelNode();
+        copy.get("copy").setCopyOnWrite(node);
+
+        copy.get("copy").get(PATH).set("foo");
+        node.get("result", "default-server").set("bar");
+
+        assertEquals("ROOT.war", node.get(PATH).asString());
+        assertEquals("foo", copy.get("copy").get(PATH).asString());
+        assertEquals("default-server", copy.get("copy", "result", "default-server").asString());
+    }
+
+    @Test
+    void sharedUntilAccessed() {
+        ModelNode node = UndertowFixture.response(3, 4);
+        ModelNode copy = node.copyOnWrite();
+        assertSame(node.modelValue(), copy.modelValue());
+        assertTrue(((ObjectModelValue) node.modelValue()).shared());
+
+        // reading doesn't copy
+        assertEquals(node.toString(), copy.toString());
+        assertEquals(node.keys(), copy.keys());
+        assertSame(node.modelValue(), copy.modelValue());
+
+        // only the objects along the path are copied, the siblings are still shared
+        copy.get(PATH).set("foo");
+        assertNotSame(node.modelValue(), copy.modelValue());
+        assertNotSame(node.get("result").modelValue(), copy.get("result").modelValue());
+        assertSame(node.get("result", "servlet-container").modelValue(),
+                copy.get("result").get("servlet-container").modelValue());
+    }
+
+    @Test
+    void childrenOfOriginal() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode result = node.get("result");
+        ModelNode copy = node.copyOnWrite();
+
+        // children obtained before copying stay attached to the original
+        assertSame(result, node.get("result"));
+        result.get("default-server").set("foo");
+        assertEquals("foo", node.get("result", "default-server").asString());
+        assertEquals("default-server", copy.get("result", "default-server").asString());
+    }
+
+    @Test
+    void copyOfCopy() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode copy = node.copyOnWrite();
+        ModelNode copyOfCopy = copy.copyOnWrite();
+
+        copy.get(PATH).set("foo");
+        copyOfCopy.get(PATH).set("bar");
+
+        assertEquals("ROOT.war", node.get(PATH).asString());
+        assertEquals("foo", copy.get(PATH).asString());
+        assertEquals("bar", copyOfCopy.get(PATH).asString());
+    }
+
+    @Test
+    void protect() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode copy = node.copyOnWrite();
+        node.protect();
+
+        assertThrows(UnsupportedOperationException.class, () -> node.get(PATH).set("foo"));
+        copy.get(PATH).set("foo");
+        assertEquals("foo", copy.get(PATH).asString());
+
+        ModelNode copyOfProtected = node.copyOnWrite();
+        copyOfProtected.get(PATH).set("bar");
+        assertEquals("ROOT.war", node.get(PATH).asString());
+        assertEquals("bar", copyOfProtected.get(PATH).asString());
+    }
+
+    @Test
+    void cloneIsolatesChildrenOfOriginal() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode result = node.get("result");
+        ModelNode deep = node.get(PATH[0], PATH[1], PATH[2]);
+        ModelNode list = node.get("list");
+        list.add().get("a").set(1);
+        ModelNode element = list.get(0);
+        ModelNode clone = node.clone();
+
+        // modify children which have been obtained before cloning
+        result.get("default-server").set("foo");
+        deep.get("default-host").set("bar");
+        element.get("a").set(2);
+        list.add("b");
+
+        assertEquals("foo", node.get("result", "default-server").asString());
+        assertEquals("default-server", clone.get("result", "default-server").asString());
+        assertEquals("bar", node.get(PATH[0], PATH[1], PATH[2], "default-host").asString());
+        assertEquals("default-host", clone.get(PATH[0], PATH[1], PATH[2], "default-host").asString());
+        assertEquals(1, clone.get("list").get(0).get("a").asInt());
+        assertEquals(1, clone.get("list").asList().size());
+    }
+
+    @Test
+    void setIsolatesChildrenOfSource() {
+        ModelNode node = UndertowFixture.response(1, 1);
+        ModelNode result = node.get("result");
+        ModelNode copy = new ModelNode();
+        copy.get("copy").set(node);
+
+        result.get("default-server").set("foo");
+        assertEquals("default-server", copy.get("copy", "result", "default-server").asString());
+    }
+
+    @Test
+    void allocations() {
+        ModelNode node = UndertowFixture.response(10, 10);
+        Supplier<ModelNode> copyOnWrite = () -> {
+            ModelNode copy = node.copyOnWrite();
+            copy.get(PATH).set("foo");
+            return copy;
+        };
+        Supplier<ModelNode> deepCopy = () -> {
+            ModelNode clone = node.clone();
+            clone.get(PATH).set("foo");
+            return clone;
+        };
+        assertEquals(deepCopy.get(), copyOnWrite.get());
+
+        // warm up
+        for (int i = 0; i < 5; i++) {
+            copyOnWrite.get();
+            deepCopy.get();
+        }
+        long cow = allocated(copyOnWrite::get);
+        long deep = allocated(deepCopy::get);
+        if (cow > 0 && deep > 0) {
+            assertTrue(cow * 10 < deep, "Copy on write allocated " + cow + " bytes, deep copy " + deep + " bytes");
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    /** Returns the bytes allocated by the current thread or -1 if the JVM doesn't support allocation measurement. */
+    private long allocated(Runnable runnable) {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            long id = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(id);
+            runnable.run();
+            return threads.getThreadAllocatedBytes(id) - before;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyDecodingTest {
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
+    @Test
+    void sameAsEager() {
+        byte[] bytes = UndertowFixture.response(3, 4).toBytes();
+        ModelNode lazy = decode(bytes, true);
+        ModelNode eager = decode(bytes, false);
+
+        assertEquals(eager, lazy);
+        assertEquals(eager.toString(), lazy.toString());
+        assertEquals(eager.toJSONString(), lazy.toJSONString());
+        assertArrayEquals(bytes, lazy.toBytes());
+    }
+
+    @Test
+    void decodeOnAccess() {
+        ModelNode node = decode(UndertowFixture.response(3, 4).toBytes(), true);
+        ModelNode result = node.get("result");
+        int keys = result.keys().size();
+        assertEquals(keys, pending(result));
+
+        assertEquals("other", result.get("default-security-domain").asString());
+        assertEquals(8080, result.get("server", "default-server", "http-listener", "default", "port").asInt());
+        assertEquals("local-only", result.get("servlet-container", "default", "stack-trace-on-error").asString());
+
+        // only the touched subtrees are decoded
+        assertEquals(keys - 3, pending(result));
+        ModelNode listeners = result.get("server", "default-server", "http-listener", "default");
+        assertEquals(listeners.keys().size() - 1, pending(listeners));
+    }
+
+    @Test
+    void keysDontDecode() {
+        ModelNode result = decode(UndertowFixture.standalone().toBytes(), true).get("result");
+        int keys = result.keys().size();
+        assertTrue(result.has("server"));
+        assertFalse(result.has("foo"));
+        assertTrue(result.keys().contains("byte-buffer-pool"));
+        assertEquals(keys, result.asInt());
+        assertEquals(keys, pending(result));
+
+        // hasDefined() needs the value
+        assertTrue(result.hasDefined("servlet-container"));
+        assertEquals(keys - 1, pending(result));
+    }
+
+    @Test
+    void decodeAll() {
+        ModelNode result = decode(UndertowFixture.standalone().toBytes(), true).get("result");
+        assertEquals(result.keys().size(), result.asPropertyList().size());
+        assertEquals(0, pending(result));
+    }
+
+    @Test
+    void modify() {
+        byte[] bytes = UndertowFixture.standalone().toBytes();
+        ModelNode lazy = decode(bytes, true);
+        ModelNode eager = decode(bytes, false);
+
+        Consumer<ModelNode> modification = node -> {
+            ModelNode result = node.get("result");
+            result.get("default-server").set("other-server");
+            result.remove("application-security-domain");
+            result.get("server", "default-server", "https-listener", "https", "enabled").set(false);
+            result.get("foo").set("bar");
+        };
+        modification.accept(lazy);
+        modification.accept(eager);
+
+        assertEquals(eager, lazy);
+        assertEquals(eager.get("result").keys(), lazy.get("result").keys());
+        assertArrayEquals(eager.toBytes(), lazy.toBytes());
+    }
+
+    @Test
+    void removeUndecoded() {
+        ModelNode result = decode(UndertowFixture.standalone().toBytes(), true).get("result");
+        ModelNode removed = result.remove("buffer-cache");
+        assertEquals(1024, removed.get("default", "buffer-size").asInt());
+        assertFalse(result.has("buffer-cache"));
+        assertFalse(result.get("buffer-cache").isDefined());
+    }
+
+    @Test
+    void clone_() {
+        ModelNode result = decode(UndertowFixture.standalone().toBytes(), true).get("result");
+        ModelNode clone = result.clone();
+        clone.get("server", "default-server", "default-host").set("foo");
+        assertEquals("default-host", result.get("server", "default-server", "default-host").asString());
+        assertEquals("foo", clone.get("server", "default-server", "default-host").asString());
+    }
+
+    @Test
+    void smallObjectsAreEager() {
+        ModelNode node = new ModelNode();
+        node.get("a").set(1);
+        node.get("b").get("c").set("d");
+        ModelNode decoded = decode(node.toBytes(), true);
+        assertEquals(0, pending(decoded));
+        assertEquals(node, decoded);
+    }
+
+    @Test
+    void smallPayloadsAreEager() {
+        byte[] small = UndertowFixture.response(1, 1).toBytes();
+        byte[] large = UndertowFixture.response(10, 10).toBytes();
+        assertTrue(small.length < DataInput.LAZY_PAYLOAD_THRESHOLD);
+        assertTrue(large.length >= DataInput.LAZY_PAYLOAD_THRESHOLD);
+
+        assertEquals(0, pending(ModelNode.fromBytes(small).get("result")));
+        assertTrue(pending(ModelNode.fromBytes(large).get("result")) > 0);
+        assertEquals(0, pending(ModelNode.fromBase64(UndertowFixture.response(1, 1).toBase64String()).get("result")));
+    }
+
+    @Test
+    void truncated() {
+        byte[] bytes = UndertowFixture.standalone().toBytes();
+        byte[] truncated = new byte[bytes.length - 10];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        // the structure is validated while skipping the values
+        assertThrows(RuntimeException.class, () -> decode(truncated, true));
+    }
+
+    @Test
+    void allocations() {
+        byte[] bytes = UndertowFixture.response(10, 10).toBytes();
+        DataBuffer buffer = buffer(bytes);
+        Set<String> keys = Set.of("default-security-domain", "default-server", "statistics-enabled");
+        Consumer<Boolean> readThreeAttributes = lazy -> {
+            ModelNode node = new ModelNode();
+            node.readExternal(new DataInput(buffer, bytes.length, lazy));
+            ModelNode result = node.get("result");
+            for (String key : keys) {
+                assertTrue(result.get(key).isDefined());
+            }
+        };
+
+        // warm up
+        for (int i = 0; i < 5; i++) {
+            readThreeAttributes.accept(true);
+            readThreeAttributes.accept(false);
+        }
+        long lazy = allocated(() -> readThreeAttributes.accept(true));
+        long eager = allocated(() -> readThreeAttributes.accept(false));
+        if (lazy > 0 && eager > 0) {
+            assertTrue(lazy * 10 < eager, "Lazy decoding allocated " + lazy + " bytes, eager decoding " + eager + " bytes");
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private ModelNode decode(byte[] bytes, boolean lazy) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(buffer(bytes), bytes.length, lazy));
+        return node;
+    }
+
+    private DataBuffer buffer(byte[] bytes) {
+        DataBuffer buffer = DataBuffer.allocate(bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.set(i, bytes[i]);
+        }
+        return buffer;
+    }
+
+    private int pending(ModelNode node) {
+        return ((ObjectModelValue) node.modelValue()).pending();
+    }
+
+    /** Returns the bytes allocated by the current thread or -1 if the JVM doesn't support allocation measurement. */
+    private long allocated(Runnable runnable) {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            long id = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(id);
+            runnable.run();
+            return threads.getThreadAllocatedBytes(id) - before;
+        }
+        return -1;
+    }
+}
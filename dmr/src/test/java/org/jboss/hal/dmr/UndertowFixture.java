@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Builds the response of {@code /subsystem=undertow:read-resource(recursive=true, include-runtime=true)} as returned by a
+ * standalone server. The number of servers, hosts and listeners can be scaled to simulate bigger configurations.
+ */
+final class UndertowFixture {
+
+    /** Returns the response of a default standalone configuration. */
+    static ModelNode standalone() {
+        return response(1, 1);
+    }
+
+    /** Returns the response with the given number of servers and hosts per server. */
+    static ModelNode response(int servers, int hostsPerServer) {
+        ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        response.get("result").set(undertow(servers, hostsPerServer));
+        return response;
+    }
+
+    private static ModelNode undertow(int servers, int hostsPerServer) {
+        ModelNode undertow = new ModelNode();
+        undertow.get("default-security-domain").set("other");
+        undertow.get("default-server").set("default-server");
+        undertow.get("default-servlet-container").set("default");
+        undertow.get("default-virtual-host").set("default-host");
+        undertow.get("instance-id").setExpression("${jboss.node.name}");
+        undertow.get("obfuscate-session-route").set(false);
+        undertow.get("statistics-enabled")
+                .setExpression("${wildfly.undertow.statistics-enabled:${wildfly.statistics-enabled:false}}");
+
+        ModelNode asd = undertow.get("application-security-domain", "other");
+        asd.get("enable-jacc").set(false);
+        asd.get("enable-jaspi").set(true);
+        asd.get("http-authentication-factory");
+        asd.get("integrated-jaspi").set(true);
+        asd.get("override-deployment-config").set(false);
+        asd.get("referencing-deployments").setEmptyList();
+        asd.get("security-domain").set("ApplicationDomain");
+        asd.get("setting", "single-sign-on");
+
+        undertow.get("buffer-cache", "default").set(bufferCache());
+        undertow.get("byte-buffer-pool", "default").set(byteBufferPool());
+
+        ModelNode welcome = undertow.get("configuration", "handler").get("file", "welcome-content");
+        welcome.get("cache-buffer-size").set(1024);
+        welcome.get("cache-buffers").set(1024);
+        welcome.get("case-sensitive").set(true);
+        welcome.get("directory-listing").set(false);
+        welcome.get("follow-symlink").set(false);
+        welcome.get("path").setExpression("${jboss.home.dir}/welcome-content");
+        welcome.get("safe-symlink-paths");
+        undertow.get("configuration", "filter").setEmptyObject();
+
+        for (int i = 0; i < servers; i++) {
+            String name = i == 0 ? "default-server" : "server-" + i;
+            undertow.get("server", name).set(server(i, hostsPerServer));
+        }
+        undertow.get("servlet-container", "default").set(servletContainer());
+        return undertow;
+    }
+
+    private static ModelNode bufferCache() {
+        ModelNode cache = new ModelNode();
+        cache.get("buffer-size").set(1024);
+        cache.get("buffers-per-region").set(1024);
+        cache.get("max-regions").set(10);
+        return cache;
+    }
+
+    private static ModelNode byteBufferPool() {
+        ModelNode pool = new ModelNode();
+        pool.get("buffer-size");
+        pool.get("direct");
+        pool.get("leak-detection-percent").set(0);
+        pool.get("max-pool-size");
+        pool.get("thread-local-cache-size").set(12);
+        return pool;
+    }
+
+    private static ModelNode server(int index, int hosts) {
+        ModelNode server = new ModelNode();
+        server.get("default-host").set("default-host");
+        server.get("servlet-container").set("default");
+        server.get("ajp-listener");
+        server.get("http-listener", "default").set(listener("http", 8080 + index * 100, false));
+        server.get("https-listener", "https").set(listener("https", 8443 + index * 100, true));
+        for (int i = 0; i < hosts; i++) {
+            String name = i == 0 ? "default-host" : "host-" + i;
+            server.get("host", name).set(host(name));
+        }
+        return server;
+    }
+
+    private static ModelNode listener(String socketBinding, int port, boolean secure) {
+        ModelNode listener = new ModelNode();
+        listener.get("allow-encoded-slash").set(false);
+        listener.get("allow-equals-in-cookie-value").set(false);
+        listener.get("allow-unescaped-characters-in-url").set(false);
+        listener.get("always-set-keep-alive").set(true);
+        listener.get("buffer-pipelined-data").set(false);
+        listener.get("buffer-pool").set("default");
+        listener.get("bytes-received").set(123_456_789L);
+        listener.get("bytes-sent").set(987_654_321L);
+        listener.get("certificate-forwarding").set(false);
+        listener.get("decode-url").set(true);
+        listener.get("disallowed-methods").add("TRACE");
+        listener.get("enable-http2").set(true);
+        listener.get("enabled").set(true);
+        listener.get("error-count").set(0L);
+        listener.get("http2-enable-push").set(true);
+        listener.get("http2-header-table-size").set(4096);
+        listener.get("http2-initial-window-size").set(65535);
+        listener.get("http2-max-concurrent-streams");
+        listener.get("http2-max-frame-size").set(16384);
+        listener.get("http2-max-header-list-size");
+        listener.get("max-buffered-request-size").set(16384);
+        listener.get("max-connections");
+        listener.get("max-cookies").set(200);
+        listener.get("max-header-size").set(1_048_576);
+        listener.get("max-headers").set(200);
+        listener.get("max-parameters").set(1000);
+        listener.get("max-post-size").set(10_485_760L);
+        listener.get("max-processing-time").set(1_234L);
+        listener.get("no-request-timeout").set(60000);
+        listener.get("processing-time").set(98_765L);
+        listener.get("proxy-address-forwarding").set(false);
+        listener.get("read-timeout").set(90000);
+        listener.get("receive-buffer");
+        listener.get("record-request-start-time").set(false);
+        listener.get("redirect-socket").set("https");
+        listener.get("request-count").set(4711L);
+        listener.get("request-parse-timeout");
+        listener.get("require-host-http11").set(false);
+        listener.get("resolve-peer-address").set(false);
+        listener.get("rfc6265-cookie-validation").set(false);
+        listener.get("secure").set(secure);
+        listener.get("send-buffer");
+        listener.get("socket-binding").set(socketBinding);
+        listener.get("tcp-backlog");
+        listener.get("tcp-keep-alive");
+        listener.get("url-charset").set("UTF-8");
+        listener.get("worker").set("default");
+        listener.get("write-timeout").set(90000);
+        listener.get("port").set(port);
+        if (secure) {
+            listener.get("ssl-context").set("applicationSSC");
+            listener.get("enabled-cipher-suites");
+            listener.get("enabled-protocols");
+        }
+        return listener;
+    }
+
+    private static ModelNode host(String name) {
+        ModelNode host = new ModelNode();
+        host.get("alias").add("localhost");
+        host.get("alias").add(name + ".example.com");
+        host.get("default-response-code").set(404);
+        host.get("default-web-module").set("ROOT.war");
+        host.get("disable-console-redirect").set(false);
+        host.get("queue-requests-on-start").set(true);
+        host.get("filter-ref");
+        ModelNode root = host.get("location", "/");
+        root.get("handler").set("welcome-content");
+        root.get("filter-ref");
+        ModelNode setting = host.get("setting");
+        ModelNode httpInvoker = setting.get("http-invoker");
+        httpInvoker.get("http-authentication-factory");
+        httpInvoker.get("path").set("wildfly-services");
+        httpInvoker.get("realm");
+        setting.get("access-log");
+        setting.get("console-access-log");
+        setting.get("single-sign-on");
+        return host;
+    }
+
+    private static ModelNode servletContainer() {
+        ModelNode container = new ModelNode();
+        container.get("allow-non-standard-wrappers").set(false);
+        container.get("default-buffer-cache").set("default");
+        container.get("default-cookie-version").set(0);
+        container.get("default-encoding");
+        container.get("default-session-timeout").set(30);
+        container.get("directory-listing");
+        container.get("disable-caching-for-secured-pages").set(true);
+        container.get("disable-file-watch-service").set(false);
+        container.get("disable-session-id-reuse").set(false);
+        container.get("eager-filter-initialization").set(false);
+        container.get("file-cache-max-file-size").set(10485760);
+        container.get("file-cache-metadata-size").set(100);
+        container.get("file-cache-time-to-live");
+        container.get("ignore-flush").set(false);
+        container.get("max-sessions");
+        container.get("orphan-session-allowed").set(false);
+        container.get("preserve-path-on-forward").set(false);
+        container.get("proactive-authentication").set(true);
+        container.get("session-id-length").set(30);
+        container.get("stack-trace-on-error").set("local-only");
+        container.get("use-listener-encoding").set(false);
+        container.get("mime-mapping");
+        container.get("welcome-file");
+        ModelNode jsp = container.get("setting", "jsp");
+        jsp.get("check-interval").set(0);
+        jsp.get("development").set(false);
+        jsp.get("disabled").set(false);
+        jsp.get("display-source-fragment").set(true);
+        jsp.get("dump-smap").set(false);
+        jsp.get("error-on-use-bean-invalid-class-attribute").set(false);
+        jsp.get("generate-strings-as-char-arrays").set(false);
+        jsp.get("java-encoding").set("UTF8");
+        jsp.get("keep-generated").set(true);
+        jsp.get("mapped-file").set(true);
+        jsp.get("modification-test-interval").set(4);
+        jsp.get("optimize-scriptlets").set(false);
+        jsp.get("recompile-on-fail").set(false);
+        jsp.get("scratch-dir");
+        jsp.get("smap").set(true);
+        jsp.get("source-vm").set("1.8");
+        jsp.get("tag-pooling").set(true);
+        jsp.get("target-vm").set("1.8");
+        jsp.get("trim-spaces").set(false);
+        jsp.get("x-powered-by").set(true);
+        ModelNode websockets = container.get("setting", "websockets");
+        websockets.get("buffer-pool").set("default");
+        websockets.get("deflater-level").set(0);
+        websockets.get("dispatch-to-worker").set(true);
+        websockets.get("per-message-deflate").set(false);
+        websockets.get("worker").set("default");
+        return container;
+    }
+
+    private UndertowFixture() {
+    }
+}
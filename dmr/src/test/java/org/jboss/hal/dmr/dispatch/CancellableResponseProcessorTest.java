@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.dispatch.CancellationToken.CANCELLED;
+import static org.jboss.hal.dmr.dispatch.HttpMethod.POST;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellableResponseProcessorTest {
+
+    private static final String CONTENT_TYPE = DmrEncoding.BASE64.contentType();
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
+    @Test
+    void notCancelled() {
+        CountingProcessor delegate = new CountingProcessor();
+        CancellationToken token = new CancellationToken();
+        ModelNode payload = new CancellableResponseProcessor(token, delegate).processPayload(POST, CONTENT_TYPE, response());
+
+        assertEquals(1, delegate.count);
+        assertFalse(payload.isFailure());
+        assertEquals("foo", payload.get(RESULT).asString());
+    }
+
+    @Test
+    void cancelled() {
+        CountingProcessor delegate = new CountingProcessor();
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        ModelNode payload = new CancellableResponseProcessor(token, delegate).processPayload(POST, CONTENT_TYPE, response());
+
+        assertEquals(0, delegate.count);
+        assertTrue(payload.isFailure());
+        assertTrue(payload.getFailureDescription().contains(CANCELLED));
+    }
+
+    @Test
+    void cancelledBetweenResponses() {
+        CountingProcessor delegate = new CountingProcessor();
+        CancellationToken token = new CancellationToken();
+        CancellableResponseProcessor processor = new CancellableResponseProcessor(token, delegate);
+        processor.processPayload(POST, CONTENT_TYPE, response());
+        token.cancel();
+        processor.processPayload(POST, CONTENT_TYPE, response());
+        processor.processPayload(POST, CONTENT_TYPE, response());
+
+        assertEquals(1, delegate.count);
+    }
+
+    private static String response() {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set("foo");
+        return response.toBase64String();
+    }
+
+    private static class CountingProcessor extends OperationResponseProcessor {
+
+        int count;
+
+        @Override
+        public ModelNode processPayload(HttpMethod method, String contentType, String payload) {
+            count++;
+            return super.processPayload(method, contentType, payload);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationTokenTest {
+
+    @Test
+    void cancel() {
+        List<String> calls = new ArrayList<>();
+        CancellationToken token = new CancellationToken();
+        token.onCancel(() -> calls.add("a"));
+        token.onCancel(() -> calls.add("b"));
+        assertFalse(token.cancelled());
+
+        token.cancel();
+        token.cancel();
+        assertTrue(token.cancelled());
+        assertEquals(List.of("a", "b"), calls);
+        assertEquals(0, token.listeners());
+    }
+
+    @Test
+    void alreadyCancelled() {
+        List<String> calls = new ArrayList<>();
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        token.onCancel(() -> calls.add("a"));
+        assertEquals(List.of("a"), calls);
+        assertEquals(0, token.listeners());
+    }
+
+    @Test
+    void unregister() {
+        List<String> calls = new ArrayList<>();
+        CancellationToken token = new CancellationToken();
+        Runnable unregister = token.onCancel(() -> calls.add("a"));
+        assertEquals(1, token.listeners());
+
+        unregister.run();
+        assertEquals(0, token.listeners());
+        token.cancel();
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void none() {
+        CancellationToken.NONE.onCancel(() -> {
+            throw new AssertionError("Must not be called");
+        });
+        CancellationToken.NONE.cancel();
+        assertFalse(CancellationToken.NONE.cancelled());
+        assertEquals(0, CancellationToken.NONE.listeners());
+    }
+
+    @Test
+    void routes() {
+        String[] route = new String[]{"/configuration"};
+        RouteCancellation routeCancellation = new RouteCancellation(() -> route[0]);
+        CancellationToken configuration = routeCancellation.token();
+        assertSame(configuration, routeCancellation.token());
+
+        // the new page requests its token before navigated() is called
+        route[0] = "/runtime";
+        CancellationToken runtime = routeCancellation.token();
+        routeCancellation.navigated();
+        assertTrue(configuration.cancelled());
+        assertFalse(runtime.cancelled());
+
+        route[0] = "/configuration";
+        routeCancellation.navigated();
+        assertTrue(runtime.cancelled());
+        CancellationToken next = routeCancellation.token();
+        assertNotSame(configuration, next);
+        assertFalse(next.cancelled());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WHOAMI_OPERATION;
+import static org.jboss.hal.dmr.dispatch.DmrEncoding.BASE64;
+import static org.jboss.hal.dmr.dispatch.DmrEncoding.BINARY;
+import static org.jboss.hal.dmr.dispatch.RequestHeader.ACCEPT;
+import static org.jboss.hal.dmr.dispatch.RequestHeader.CONTENT_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the content negotiation and the wire format of both encodings against a local mock management endpoint. The mock
+ * endpoint behaves like WildFly for base64 payloads and optionally supports binary payloads.
+ */
+class DmrEncodingTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MockEndpoint endpoint;
+
+    @AfterEach
+    void tearDown() {
+        if (endpoint != null) {
+            endpoint.stop();
+        }
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
+    @Test
+    void fromContentType() {
+        assertEquals(BASE64, DmrEncoding.fromContentType("application/dmr-encoded"));
+        assertEquals(BASE64, DmrEncoding.fromContentType("application/dmr-encoded;charset=utf-8"));
+        assertEquals(BINARY, DmrEncoding.fromContentType("application/dmr-encoded; encoding=binary"));
+        assertEquals(BINARY, DmrEncoding.fromContentType("application/dmr-encoded;charset=utf-8; Encoding=BINARY"));
+        assertNull(DmrEncoding.fromContentType("application/json"));
+        assertNull(DmrEncoding.fromContentType(null));
+    }
+
+    @Test
+    void negotiate() {
+        assertEquals(BINARY, DmrEncoding.negotiate(200, BINARY.contentType()));
+        assertEquals(BASE64, DmrEncoding.negotiate(200, BASE64.contentType()));
+        assertEquals(BASE64, DmrEncoding.negotiate(500, BINARY.contentType()));
+        assertEquals(BASE64, DmrEncoding.negotiate(415, "text/plain"));
+    }
+
+    @Test
+    void binaryEndpoint() throws Exception {
+        endpoint = new MockEndpoint(true);
+        DmrEncoding encoding = probe();
+        assertEquals(BINARY, encoding);
+
+        ModelNode response = execute(readResource(), encoding);
+        assertEquals(SUCCESS, response.get(OUTCOME).asString());
+        assertEquals(READ_RESOURCE_OPERATION, response.get(RESULT).get("operation").asString());
+        assertEquals(BINARY, endpoint.requests.get(1).encoding());
+    }
+
+    @Test
+    void base64Endpoint() throws Exception {
+        endpoint = new MockEndpoint(false);
+        DmrEncoding encoding = probe();
+        assertEquals(BASE64, encoding);
+
+        ModelNode response = execute(readResource(), encoding);
+        assertEquals(SUCCESS, response.get(OUTCOME).asString());
+        assertEquals(READ_RESOURCE_OPERATION, response.get(RESULT).get("operation").asString());
+        assertEquals(BASE64, endpoint.requests.get(1).encoding());
+    }
+
+    @Test
+    void payloadSize() throws Exception {
+        endpoint = new MockEndpoint(true);
+        Operation operation = readResource();
+        execute(operation, BASE64);
+        execute(operation, BINARY);
+
+        int base64 = endpoint.requests.get(0).size();
+        int binary = endpoint.requests.get(1).size();
+        assertEquals(operation.toBytes().length, binary);
+        assertEquals(operation.toBase64String().length(), base64);
+        assertTrue(binary * 4 / 3 <= base64, "Binary payload of " + binary + " bytes not smaller than " + base64);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private Operation readResource() {
+        return new Operation.Builder(ResourceAddress.root()
+                .add("subsystem", "logging")
+                .add("periodic-rotating-file-handler", "FILE"),
+                READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .param(RECURSIVE, true)
+                .build();
+    }
+
+    private DmrEncoding probe() throws Exception {
+        Operation probe = new Operation.Builder(ResourceAddress.root(), WHOAMI_OPERATION).build();
+        HttpResponse<byte[]> response = send(probe, BINARY);
+        String contentType = response.headers().firstValue(CONTENT_TYPE.header()).orElse(null);
+        if (DmrEncoding.negotiate(response.statusCode(), contentType) == BINARY) {
+            return ModelNode.fromBytes(response.body()).isFailure() ? BASE64 : BINARY;
+        }
+        return BASE64;
+    }
+
+    private ModelNode execute(Operation operation, DmrEncoding encoding) throws Exception {
+        HttpResponse<byte[]> response = send(operation, encoding);
+        String contentType = response.headers().firstValue(CONTENT_TYPE.header()).orElse(null);
+        DmrEncoding responseEncoding = DmrEncoding.fromContentType(contentType);
+        assertEquals(encoding, responseEncoding);
+        return responseEncoding == BINARY
+                ? ModelNode.fromBytes(response.body())
+                : ModelNode.fromBase64(new String(response.body(), StandardCharsets.US_ASCII));
+    }
+
+    private HttpResponse<byte[]> send(Operation operation, DmrEncoding encoding) throws Exception {
+        byte[] body = encoding == BINARY
+                ? operation.toBytes()
+                : operation.toBase64String().getBytes(StandardCharsets.US_ASCII);
+        HttpRequest request = HttpRequest.newBuilder(endpoint.uri())
+                .header(ACCEPT.header(), encoding.contentType())
+                .header(CONTENT_TYPE.header(), encoding.contentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private record RecordedRequest(DmrEncoding encoding, int size) {}
+
+    /**
+     * Mock management endpoint which answers each operation with its name. Like WildFly, an endpoint without binary support
+     * treats every payload as base64 and answers with HTTP 500 if the payload can't be decoded.
+     */
+    private static class MockEndpoint {
+
+        private final boolean binary;
+        private final HttpServer server;
+        private final List<RecordedRequest> requests;
+
+        MockEndpoint(boolean binary) throws IOException {
+            this.binary = binary;
+            this.requests = new ArrayList<>();
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            this.server.createContext("/management", this::handle);
+            this.server.start();
+        }
+
+        URI uri() {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/management");
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            DmrEncoding encoding = DmrEncoding.fromContentType(exchange.getRequestHeaders().getFirst(CONTENT_TYPE.header()));
+            DmrEncoding effective = binary && encoding == BINARY ? BINARY : BASE64;
+            requests.add(new RecordedRequest(effective, body.length));
+
+            int status = 200;
+            ModelNode response = new ModelNode();
+            try {
+                ModelNode operation = effective == BINARY
+                        ? ModelNode.fromBytes(body)
+                        : ModelNode.fromBase64(new String(body, StandardCharsets.ISO_8859_1));
+                response.get(OUTCOME).set(SUCCESS);
+                response.get(RESULT).get("operation").set(operation.get("operation").asString());
+            } catch (RuntimeException e) {
+                status = 500;
+                response.get(OUTCOME).set(FAILED);
+                response.get(FAILURE_DESCRIPTION).set("Unable to decode payload: " + e.getMessage());
+            }
+
+            byte[] payload = effective == BINARY
+                    ? response.toBytes()
+                    : response.toBase64String().getBytes(StandardCharsets.US_ASCII);
+            exchange.getResponseHeaders().set(CONTENT_TYPE.header(), effective.contentType());
+            exchange.sendResponseHeaders(status, payload.length);
+            exchange.getResponseBody().write(payload);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.MAX_VALUE;
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.SUB_BUCKET_COUNT;
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.SUB_BUCKET_HALF_COUNT;
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.highestEquivalentValue;
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.index;
+import static org.jboss.hal.dmr.dispatch.LatencyHistogram.lowestEquivalentValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.min());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.mean());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test
+    void buckets() {
+        // every value maps to a bucket whose range contains the value
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1_000, 65_535, 65_536, 1_000_000, MAX_VALUE}) {
+            int index = index(value);
+            assertTrue(lowestEquivalentValue(index) <= value && value <= highestEquivalentValue(index),
+                    "Value " + value + " not in bucket " + index);
+        }
+        // buckets are contiguous
+        for (int i = 1; i <= index(MAX_VALUE); i++) {
+            assertEquals(highestEquivalentValue(i - 1) + 1, lowestEquivalentValue(i), "Gap before bucket " + i);
+        }
+        assertEquals(SUB_BUCKET_COUNT, index(SUB_BUCKET_COUNT));
+        assertEquals(MAX_VALUE, highestEquivalentValue(index(MAX_VALUE)));
+    }
+
+    @Test
+    void exactSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(1, histogram.min());
+        assertEquals(100, histogram.max());
+        assertEquals(50.5, histogram.mean());
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(1, histogram.percentile(1));
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(90, histogram.percentile(90));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(99.9));
+        assertEquals(100, histogram.percentile(100));
+    }
+
+    @Test
+    void relativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000_000; i++) {
+            histogram.record(i);
+        }
+        for (double percentile : new double[]{10, 25, 50, 75, 90, 99, 99.9}) {
+            double expected = percentile / 100.0 * 1_000_000;
+            long actual = histogram.percentile(percentile);
+            assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+            assertTrue((actual - expected) / expected <= 1.0 / SUB_BUCKET_HALF_COUNT,
+                    percentile + ": " + actual + " too far from " + expected);
+        }
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    void neverAboveMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(2_000);
+        // 2000 falls into [1984, 2015]
+        assertEquals(2_000, histogram.percentile(100));
+        // 1000 falls into [1000, 1007]
+        assertEquals(1_007, histogram.percentile(50));
+    }
+
+    @Test
+    void clamp() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.min());
+        assertEquals(MAX_VALUE, histogram.max());
+    }
+
+    @Test
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+    }
+
+    @Test
+    void toModelNode() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_500);
+        histogram.record(2_500);
+        assertEquals(2, histogram.toModelNode().get("count").asLong());
+        assertEquals(1.5, histogram.toModelNode().get("min").asDouble());
+        assertEquals(2.0, histogram.toModelNode().get("mean").asDouble());
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADD;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CANCELLED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROCESS_STATE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RELOAD_REQUIRED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperationBatcherTest {
+
+    private List<Runnable> microtasks;
+    private RecordingTransport transport;
+    private List<ModelNode> responses;
+    private Results results;
+
+    @BeforeEach
+    void setUp() {
+        microtasks = new ArrayList<>();
+        transport = new RecordingTransport();
+        responses = new ArrayList<>();
+        results = new Results();
+    }
+
+    @Test
+    void batchable() {
+        assertTrue(OperationBatcher.batchable(read("foo")));
+        assertTrue(OperationBatcher.batchable(new Operation.Builder(address("foo"), READ_ATTRIBUTE_OPERATION)
+                .param(NAME, "bar")
+                .build()));
+
+        assertFalse(OperationBatcher.batchable(new Operation.Builder(address("foo"), ADD).build()));
+        assertFalse(OperationBatcher.batchable(new Operation.Builder(address("foo"), WRITE_ATTRIBUTE_OPERATION)
+                .param(NAME, "bar")
+                .build()));
+        assertFalse(OperationBatcher.batchable(new Composite(read("foo"), read("bar"))));
+        assertFalse(OperationBatcher.batchable(new Operation.Builder(address("foo"), READ_RESOURCE_OPERATION)
+                .header("blocking-timeout", 10)
+                .build()));
+        assertFalse(OperationBatcher.batchable(read("foo").runAs(Set.of("Monitor"))));
+    }
+
+    @Test
+    void readsBecomeOneRequest() {
+        OperationBatcher batcher = batcher(32);
+        for (int i = 0; i < 10; i++) {
+            batcher.enqueue(read("r" + i), results.success(i), results.error(i));
+        }
+        assertTrue(transport.requests.isEmpty());
+
+        runMicrotasks();
+        assertEquals(1, transport.requests.size());
+        Operation request = transport.requests.get(0);
+        assertInstanceOf(Composite.class, request);
+        assertEquals(10, ((Composite) request).size());
+
+        transport.respond(0, composite(10, -1, -1));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("r" + i, results.successes.get(i).get(RESULT).asString());
+        }
+        assertTrue(results.errors.isEmpty());
+    }
+
+    @Test
+    void singleReadIsNotWrapped() {
+        OperationBatcher batcher = batcher(32);
+        batcher.enqueue(read("foo"), results.success(0), results.error(0));
+        runMicrotasks();
+
+        assertEquals(1, transport.requests.size());
+        assertFalse(transport.requests.get(0) instanceof Composite);
+
+        transport.respond(0, success("foo"));
+        assertEquals("foo", results.successes.get(0).get(RESULT).asString());
+    }
+
+    @Test
+    void failedStep() {
+        OperationBatcher batcher = batcher(32);
+        for (int i = 0; i < 3; i++) {
+            batcher.enqueue(read("r" + i), results.success(i), results.error(i));
+        }
+        runMicrotasks();
+        transport.respond(0, composite(3, 1, -1));
+
+        assertEquals(Set.of(0, 2), results.successes.keySet());
+        assertEquals(Set.of(1), results.errors.keySet());
+        assertTrue(String.valueOf(results.errors.get(1)).contains("WFLYCTL0216: Resource not found"));
+        assertEquals(1, transport.requests.size());
+    }
+
+    @Test
+    void cancelledStepIsRetried() {
+        OperationBatcher batcher = batcher(32);
+        for (int i = 0; i < 3; i++) {
+            batcher.enqueue(read("r" + i), results.success(i), results.error(i));
+        }
+        runMicrotasks();
+        transport.respond(0, composite(3, -1, 2));
+
+        assertEquals(Set.of(0, 1), results.successes.keySet());
+        assertEquals(2, transport.requests.size());
+        assertEquals(read("r2").asCli(), transport.requests.get(1).asCli());
+
+        transport.respond(1, success("r2"));
+        assertEquals("r2", results.successes.get(2).get(RESULT).asString());
+        assertTrue(results.errors.isEmpty());
+        assertEquals(2, responses.size());
+    }
+
+    @Test
+    void responseHeaders() {
+        OperationBatcher batcher = batcher(32);
+        List<Integer> responsesBeforeDelivery = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batcher.enqueue(read("r" + i), payload -> responsesBeforeDelivery.add(responses.size()), results.error(i));
+        }
+        runMicrotasks();
+        ModelNode payload = composite(3, -1, -1);
+        payload.get(RESPONSE_HEADERS, PROCESS_STATE).set(RELOAD_REQUIRED);
+        transport.respond(0, payload);
+
+        // the headers of the composite are passed on once before the steps are delivered
+        assertEquals(1, responses.size());
+        assertEquals(RELOAD_REQUIRED, responses.get(0).get(RESPONSE_HEADERS, PROCESS_STATE).asString());
+        assertEquals(List.of(1, 1, 1), responsesBeforeDelivery);
+        assertTrue(results.errors.isEmpty());
+    }
+
+    @Test
+    void transportError() {
+        OperationBatcher batcher = batcher(32);
+        for (int i = 0; i < 3; i++) {
+            batcher.enqueue(read("r" + i), results.success(i), results.error(i));
+        }
+        runMicrotasks();
+        transport.fail(0, "Network error");
+
+        assertTrue(results.successes.isEmpty());
+        assertEquals(3, results.errors.size());
+        results.errors.values().forEach(error -> assertEquals("Network error", error));
+    }
+
+    @Test
+    void cap() {
+        OperationBatcher batcher = batcher(10);
+        for (int i = 0; i < 25; i++) {
+            batcher.enqueue(read("r" + i), results.success(i), results.error(i));
+        }
+        // full batches are sent immediately
+        assertEquals(2, transport.requests.size());
+        assertEquals(5, batcher.pending());
+
+        runMicrotasks();
+        assertEquals(3, transport.requests.size());
+        assertEquals(10, ((Composite) transport.requests.get(0)).size());
+        assertEquals(10, ((Composite) transport.requests.get(1)).size());
+        assertEquals(5, ((Composite) transport.requests.get(2)).size());
+        assertEquals(0, batcher.pending());
+    }
+
+    @Test
+    void flush() {
+        OperationBatcher batcher = batcher(32);
+        batcher.enqueue(read("foo"), results.success(0), results.error(0));
+        batcher.enqueue(read("bar"), results.success(1), results.error(1));
+        batcher.flush();
+        assertEquals(1, transport.requests.size());
+
+        // the scheduled microtask must not send anything
+        runMicrotasks();
+        assertEquals(1, transport.requests.size());
+    }
+
+    @Test
+    void separateTicks() {
+        OperationBatcher batcher = batcher(32);
+        batcher.enqueue(read("foo"), results.success(0), results.error(0));
+        batcher.enqueue(read("bar"), results.success(1), results.error(1));
+        runMicrotasks();
+        batcher.enqueue(read("baz"), results.success(2), results.error(2));
+        runMicrotasks();
+
+        assertEquals(2, transport.requests.size());
+        assertInstanceOf(Composite.class, transport.requests.get(0));
+        assertFalse(transport.requests.get(1) instanceof Composite);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private OperationBatcher batcher(int maxBatchSize) {
+        return new OperationBatcher(maxBatchSize, microtasks::add, transport, responses::add);
+    }
+
+    private void runMicrotasks() {
+        List<Runnable> tasks = new ArrayList<>(microtasks);
+        microtasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static ResourceAddress address(String name) {
+        return ResourceAddress.root().add("subsystem", name);
+    }
+
+    private static Operation read(String name) {
+        return new Operation.Builder(address(name), READ_RESOURCE_OPERATION).build();
+    }
+
+    private static ModelNode success(String result) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).set(result);
+        return payload;
+    }
+
+    // the result of each step is "r<index>"
+    private static ModelNode composite(int steps, int failed, int cancelled) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(failed >= 0 || cancelled >= 0 ? FAILED : SUCCESS);
+        for (int i = 0; i < steps; i++) {
+            ModelNode step = payload.get(RESULT).get("step-" + (i + 1));
+            if (i == failed) {
+                step.get(OUTCOME).set(FAILED);
+                step.get(FAILURE_DESCRIPTION).set("WFLYCTL0216: Resource not found");
+            } else if (i == cancelled) {
+                step.get(OUTCOME).set(CANCELLED);
+            } else {
+                step.set(success("r" + i));
+            }
+        }
+        return payload;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class RecordingTransport implements OperationBatcher.Transport {
+
+        private final List<Operation> requests = new ArrayList<>();
+        private final List<Consumer<ModelNode>> payloadCallbacks = new ArrayList<>();
+        private final List<Consumer<Object>> errorCallbacks = new ArrayList<>();
+
+        @Override
+        public void send(Operation operation, Consumer<ModelNode> onPayload, Consumer<Object> onError) {
+            requests.add(operation);
+            payloadCallbacks.add(onPayload);
+            errorCallbacks.add(onError);
+        }
+
+        void respond(int request, ModelNode payload) {
+            payloadCallbacks.get(request).accept(payload);
+        }
+
+        void fail(int request, Object error) {
+            errorCallbacks.get(request).accept(error);
+        }
+    }
+
+    private static class Results {
+
+        private final Map<Integer, ModelNode> successes = new HashMap<>();
+        private final Map<Integer, Object> errors = new HashMap<>();
+        private final Set<Integer> delivered = new HashSet<>();
+
+        Consumer<ModelNode> success(int index) {
+            return payload -> {
+                assertTrue(delivered.add(index), "Result " + index + " delivered twice");
+                successes.put(index, payload);
+            };
+        }
+
+        Consumer<Object> error(int index) {
+            return error -> {
+                assertTrue(delivered.add(index), "Result " + index + " delivered twice");
+                errors.put(index, error);
+            };
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.OperationRecorder.Measurement;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperationRecorderTest {
+
+    @Test
+    void disabled() {
+        OperationRecorder recorder = new OperationRecorder();
+        assertFalse(recorder.enabled());
+        assertNull(recorder.start(operation(READ_RESOURCE_OPERATION), 10, 0, 0));
+
+        recorder.record(recording(READ_RESOURCE_OPERATION, 1));
+        assertTrue(recorder.recordings().isEmpty());
+        assertNull(recorder.histogram(READ_RESOURCE_OPERATION));
+        assertEquals(0, recorder.capacity());
+    }
+
+    @Test
+    void measurement() {
+        OperationRecorder recorder = new OperationRecorder();
+        recorder.enable();
+        Measurement measurement = recorder.start(operation(READ_RESOURCE_OPERATION), 120, 100, 102);
+        measurement.received(110, 4_000);
+        measurement.decoded(111.5, false);
+
+        OperationRecording recording = recorder.recordings().get(0);
+        assertEquals(READ_RESOURCE_OPERATION, recording.operation());
+        assertEquals(120, recording.requestSize());
+        assertEquals(4_000, recording.responseSize());
+        assertEquals(100, recording.timestamp());
+        assertEquals(2, recording.queueTime());
+        assertEquals(8, recording.networkTime());
+        assertEquals(1.5, recording.decodeTime());
+        assertEquals(11.5, recording.totalTime());
+        assertFalse(recording.failure());
+        assertEquals(11_500, recorder.histogram(READ_RESOURCE_OPERATION).max());
+    }
+
+    @Test
+    void wraparound() {
+        OperationRecorder recorder = new OperationRecorder();
+        recorder.enable(3);
+        for (int i = 1; i <= 2; i++) {
+            recorder.record(recording(READ_RESOURCE_OPERATION, i));
+        }
+        assertEquals(List.of(1.0, 2.0), timestamps(recorder));
+
+        for (int i = 3; i <= 7; i++) {
+            recorder.record(recording(READ_RESOURCE_OPERATION, i));
+        }
+        assertEquals(List.of(5.0, 6.0, 7.0), timestamps(recorder));
+        // the histogram aggregates all recordings, not only the ones in the ring buffer
+        assertEquals(7, recorder.histogram(READ_RESOURCE_OPERATION).count());
+    }
+
+    @Test
+    void histogramPerOperation() {
+        OperationRecorder recorder = new OperationRecorder();
+        recorder.enable();
+        recorder.record(recording(READ_RESOURCE_OPERATION, 1));
+        recorder.record(recording(READ_RESOURCE_OPERATION, 2));
+        recorder.record(recording(READ_ATTRIBUTE_OPERATION, 3));
+
+        assertEquals(2, recorder.histogram(READ_RESOURCE_OPERATION).count());
+        assertEquals(1, recorder.histogram(READ_ATTRIBUTE_OPERATION).count());
+    }
+
+    @Test
+    void clear() {
+        OperationRecorder recorder = new OperationRecorder();
+        recorder.enable(3);
+        recorder.record(recording(READ_RESOURCE_OPERATION, 1));
+        recorder.clear();
+        assertTrue(recorder.enabled());
+        assertEquals(3, recorder.capacity());
+        assertTrue(recorder.recordings().isEmpty());
+        assertNull(recorder.histogram(READ_RESOURCE_OPERATION));
+    }
+
+    @Test
+    void json() {
+        OperationRecorder recorder = new OperationRecorder();
+        recorder.enable(2);
+        recorder.record(recording(READ_RESOURCE_OPERATION, 1));
+        recorder.record(recording(READ_ATTRIBUTE_OPERATION, 2));
+        recorder.record(recording(READ_RESOURCE_OPERATION, 3));
+
+        ModelNode node = recorder.toModelNode();
+        assertEquals(2, node.get("histograms").get(READ_RESOURCE_OPERATION).get("count").asLong());
+        assertEquals(1, node.get("histograms").get(READ_ATTRIBUTE_OPERATION).get("count").asLong());
+        assertEquals(2, node.get("recordings").asList().size());
+        assertEquals(READ_ATTRIBUTE_OPERATION, node.get("recordings").get(0).get("operation").asString());
+
+        String json = recorder.toJson();
+        assertTrue(json.contains("\"histograms\""), json);
+        assertTrue(json.contains("\"" + READ_RESOURCE_OPERATION + "\""), json);
+        assertTrue(json.contains("\"p99.9\""), json);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static Operation operation(String name) {
+        return new Operation.Builder(ResourceAddress.root().add("subsystem", "logging"), name).build();
+    }
+
+    private static OperationRecording recording(String operation, double timestamp) {
+        return new OperationRecording(operation, "/subsystem=logging", 100, 1_000, timestamp, 0, 5, 1, false);
+    }
+
+    private static List<Double> timestamps(OperationRecorder recorder) {
+        return recorder.recordings().stream().map(OperationRecording::timestamp).toList();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.frequency;
+import static org.jboss.hal.dmr.dispatch.Lane.BACKGROUND;
+import static org.jboss.hal.dmr.dispatch.Lane.BULK;
+import static org.jboss.hal.dmr.dispatch.Lane.INTERACTIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestSchedulerTest {
+
+    private static final String ENDPOINT = "/management";
+
+    private AtomicLong clock;
+    private List<String> started;
+    private List<Runnable> running;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        started = new ArrayList<>();
+        running = new ArrayList<>();
+    }
+
+    @Test
+    void maxInFlight() {
+        RequestScheduler scheduler = scheduler(2);
+        submit(scheduler, INTERACTIVE, "a");
+        submit(scheduler, INTERACTIVE, "b");
+        submit(scheduler, INTERACTIVE, "c");
+        assertEquals(List.of("a", "b"), started);
+        assertEquals(2, scheduler.inFlight(ENDPOINT));
+
+        complete(0);
+        assertEquals(List.of("a", "b", "c"), started);
+        assertEquals(2, scheduler.inFlight(ENDPOINT));
+    }
+
+    @Test
+    void maxInFlightPerEndpoint() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, "/a", INTERACTIVE, "a1");
+        submit(scheduler, "/a", INTERACTIVE, "a2");
+        submit(scheduler, "/b", INTERACTIVE, "b1");
+        assertEquals(List.of("a1", "b1"), started);
+        assertEquals(1, scheduler.inFlight("/a"));
+        assertEquals(1, scheduler.inFlight("/b"));
+    }
+
+    @Test
+    void raiseMaxInFlight() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, INTERACTIVE, "a");
+        submit(scheduler, INTERACTIVE, "b");
+        submit(scheduler, INTERACTIVE, "c");
+        scheduler.maxInFlight(3);
+        assertEquals(List.of("a", "b", "c"), started);
+    }
+
+    @Test
+    void doneIsIdempotent() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, INTERACTIVE, "a");
+        Runnable done = running.get(0);
+        done.run();
+        done.run();
+        assertEquals(0, scheduler.inFlight(ENDPOINT));
+    }
+
+    @Test
+    void fifoWithinLane() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, BULK, "blocker");
+        for (int i = 0; i < 5; i++) {
+            submit(scheduler, BULK, "bulk-" + i);
+        }
+        drain();
+        assertEquals(List.of("blocker", "bulk-0", "bulk-1", "bulk-2", "bulk-3", "bulk-4"), started);
+    }
+
+    @Test
+    void interactiveOvertakesBulk() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, BULK, "blocker");
+        for (int i = 0; i < 10; i++) {
+            submit(scheduler, BULK, "bulk-" + i);
+        }
+        submit(scheduler, INTERACTIVE, "click");
+        complete(0);
+        assertEquals(List.of("blocker", "click"), started);
+    }
+
+    @Test
+    void weightedShare() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, INTERACTIVE, "blocker");
+        for (int i = 0; i < 100; i++) {
+            submit(scheduler, INTERACTIVE, "interactive");
+            submit(scheduler, BACKGROUND, "background");
+            submit(scheduler, BULK, "bulk");
+        }
+
+        // 8 + 3 + 1 = 12 requests per round
+        for (int i = 0; i < 24; i++) {
+            complete(0);
+        }
+        List<String> rounds = started.subList(1, 25);
+        assertEquals(16, frequency(rounds, "interactive"));
+        assertEquals(6, frequency(rounds, "background"));
+        assertEquals(2, frequency(rounds, "bulk"));
+    }
+
+    @Test
+    void idleLaneDoesNotSaveCredit() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, BULK, "blocker");
+        for (int i = 0; i < 20; i++) {
+            submit(scheduler, BULK, "bulk");
+        }
+        // bulk was the only lane for a while. Interactive requests arriving now must not be delayed by the past bulk
+        // requests, and bulk must not be starved by the interactive lane.
+        drain(10);
+        for (int i = 0; i < 20; i++) {
+            submit(scheduler, INTERACTIVE, "interactive");
+        }
+        int before = started.size();
+        drain(18);
+        List<String> window = started.subList(before, started.size());
+        assertEquals("interactive", window.get(0));
+        assertTrue(frequency(window, "bulk") >= 1);
+        assertTrue(frequency(window, "interactive") >= 16);
+    }
+
+    @Test
+    void starvationProtection() {
+        RequestScheduler scheduler = new RequestScheduler(1, 1_000, clock::get);
+        submit(scheduler, INTERACTIVE, "blocker");
+        submit(scheduler, BULK, "bulk");
+        clock.addAndGet(500);
+        for (int i = 0; i < 50; i++) {
+            submit(scheduler, INTERACTIVE, "interactive-" + i);
+        }
+
+        // without the starvation protection, the bulk request would be sent after 8 interactive requests
+        clock.addAndGet(500);
+        complete(0);
+        assertEquals(List.of("blocker", "bulk"), started);
+    }
+
+    @Test
+    void starvationProtectionServesOldestFirst() {
+        RequestScheduler scheduler = new RequestScheduler(1, 1_000, clock::get);
+        submit(scheduler, INTERACTIVE, "blocker");
+        submit(scheduler, BULK, "bulk");
+        clock.addAndGet(100);
+        submit(scheduler, BACKGROUND, "background");
+        clock.addAndGet(2_000);
+        drain(2);
+        assertEquals(List.of("blocker", "bulk", "background"), started);
+    }
+
+    @Test
+    void cancel() {
+        RequestScheduler scheduler = scheduler(1);
+        RequestScheduler.Ticket blocker = submit(scheduler, INTERACTIVE, "blocker");
+        RequestScheduler.Ticket queued = submit(scheduler, INTERACTIVE, "queued");
+        submit(scheduler, INTERACTIVE, "next");
+
+        assertFalse(blocker.cancel());
+        assertTrue(queued.cancel());
+        assertFalse(queued.cancel());
+        complete(0);
+        assertEquals(List.of("blocker", "next"), started);
+
+        RequestScheduler.Metrics metrics = scheduler.metrics(INTERACTIVE);
+        assertEquals(1, metrics.cancelled());
+        assertEquals(2, metrics.started());
+        assertEquals(0, metrics.queueDepth());
+    }
+
+    @Test
+    void metrics() {
+        RequestScheduler scheduler = scheduler(1);
+        submit(scheduler, INTERACTIVE, "blocker");
+        submit(scheduler, BACKGROUND, "b1");
+        submit(scheduler, BACKGROUND, "b2");
+        submit(scheduler, BACKGROUND, "b3");
+
+        RequestScheduler.Metrics metrics = scheduler.metrics(BACKGROUND);
+        assertEquals(3, metrics.queueDepth());
+        assertEquals(3, metrics.maxQueueDepth());
+        assertEquals(0, metrics.started());
+
+        clock.addAndGet(100);
+        complete(0); // starts b1 after 100 ms
+        clock.addAndGet(200);
+        complete(0); // starts b2 after 300 ms
+        metrics = scheduler.metrics(BACKGROUND);
+        assertEquals(1, metrics.queueDepth());
+        assertEquals(3, metrics.maxQueueDepth());
+        assertEquals(2, metrics.started());
+        assertEquals(400, metrics.totalWaitTime());
+        assertEquals(300, metrics.maxWaitTime());
+        assertEquals(200.0, metrics.meanWaitTime());
+
+        metrics = scheduler.metrics(INTERACTIVE);
+        assertEquals(1, metrics.started());
+        assertEquals(0, metrics.totalWaitTime());
+    }
+
+    @Test
+    void synchronousCompletion() {
+        RequestScheduler scheduler = scheduler(1);
+        for (int i = 0; i < 3; i++) {
+            String name = "sync-" + i;
+            scheduler.submit(ENDPOINT, INTERACTIVE, done -> {
+                started.add(name);
+                done.run();
+            });
+        }
+        assertEquals(List.of("sync-0", "sync-1", "sync-2"), started);
+        assertEquals(0, scheduler.inFlight(ENDPOINT));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private RequestScheduler scheduler(int maxInFlight) {
+        return new RequestScheduler(maxInFlight, Long.MAX_VALUE, clock::get);
+    }
+
+    private RequestScheduler.Ticket submit(RequestScheduler scheduler, Lane lane, String name) {
+        return submit(scheduler, ENDPOINT, lane, name);
+    }
+
+    private RequestScheduler.Ticket submit(RequestScheduler scheduler, String endpoint, Lane lane, String name) {
+        return scheduler.submit(endpoint, lane, done -> {
+            started.add(name);
+            running.add(done);
+        });
+    }
+
+    private void complete(int index) {
+        running.remove(index).run();
+    }
+
+    private void drain() {
+        while (!running.isEmpty()) {
+            complete(0);
+        }
+    }
+
+    private void drain(int count) {
+        for (int i = 0; i < count && !running.isEmpty(); i++) {
+            complete(0);
+        }
+    }
+}
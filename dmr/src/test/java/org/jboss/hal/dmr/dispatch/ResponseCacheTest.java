@@ -0,0 +1,287 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Set;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.ServerState.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADD;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REMOVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    private static final long TTL = 1_000;
+
+    private long now;
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        cache = new ResponseCache(TTL, 16, () -> now);
+    }
+
+    @Test
+    void cacheable() {
+        assertTrue(ResponseCache.cacheable(read(address("subsystem", "logging"))));
+        assertFalse(ResponseCache.cacheable(write(address("subsystem", "logging"))));
+        assertFalse(ResponseCache.cacheable(new Composite(read(address("subsystem", "logging")))));
+        assertFalse(ResponseCache.cacheable(new Operation.Builder(address("subsystem", "logging"), READ_RESOURCE_OPERATION)
+                .header("rollback-on-runtime-failure", true)
+                .build()));
+    }
+
+    @Test
+    void canonicalKey() {
+        ResourceAddress address = address("subsystem", "logging");
+        Operation op1 = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .param(RECURSIVE, false)
+                .build();
+        Operation op2 = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, false)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        Operation op3 = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, "false")
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+
+        assertEquals(ResponseCache.key(op1), ResponseCache.key(op2));
+        assertNotEquals(ResponseCache.key(op1), ResponseCache.key(op3));
+        assertNotEquals(ResponseCache.key(op1), ResponseCache.key(op1.runAs(Set.of("Monitor"))));
+        assertEquals(ResponseCache.key(op1.runAs(Set.of("Monitor", "Operator"))),
+                ResponseCache.key(op2.runAs(Set.of("Operator", "Monitor"))));
+        assertNotEquals(ResponseCache.key(read(address("subsystem", "logging"))),
+                ResponseCache.key(read(address("subsystem", "io"))));
+    }
+
+    @Test
+    void hitAndMiss() {
+        Operation read = read(address("subsystem", "logging"));
+        assertNull(get(read));
+        put(read);
+        assertNotNull(get(read));
+
+        ResponseCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void copies() {
+        Operation read = read(address("subsystem", "logging"));
+        put(read);
+        get(read).get(RESULT).get(NAME).set("modified");
+        assertEquals("logging", get(read).get(RESULT).get(NAME).asString());
+    }
+
+    @Test
+    void expire() {
+        Operation read = read(address("subsystem", "logging"));
+        put(read);
+        now = TTL - 1;
+        assertNotNull(get(read));
+        now = TTL;
+        assertNull(get(read));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void capacity() {
+        for (int i = 0; i < 20; i++) {
+            put(read(address("subsystem", "logging").add("logger", "l" + i)));
+        }
+        assertEquals(16, cache.stats().size());
+        assertNull(get(read(address("subsystem", "logging").add("logger", "l0"))));
+        assertNotNull(get(read(address("subsystem", "logging").add("logger", "l19"))));
+    }
+
+    @Test
+    void invalidatePrefix() {
+        Operation root = read(ResourceAddress.root());
+        Operation subsystem = read(address("subsystem", "logging"));
+        Operation children = childrenNames(address("subsystem", "logging"), "logger");
+        Operation foo = read(address("subsystem", "logging").add("logger", "foo"));
+        Operation fooHandler = read(address("subsystem", "logging").add("logger", "foo").add("handler", "h"));
+        Operation bar = read(address("subsystem", "logging").add("logger", "bar"));
+        Operation io = read(address("subsystem", "io"));
+        put(root, subsystem, children, foo, fooHandler, bar, io);
+
+        cache.invalidate(address("subsystem", "logging").add("logger", "foo"));
+
+        // ancestors, the resource itself and descendants
+        assertNull(get(root));
+        assertNull(get(subsystem));
+        assertNull(get(children));
+        assertNull(get(foo));
+        assertNull(get(fooHandler));
+        // siblings and unrelated resources
+        assertNotNull(get(bar));
+        assertNotNull(get(io));
+        assertEquals(5, cache.stats().invalidations());
+    }
+
+    @Test
+    void invalidateWildcards() {
+        Operation loggers = read(address("subsystem", "logging").add("logger", "*"));
+        Operation handlers = read(address("subsystem", "logging").add("console-handler", "*"));
+        put(loggers, handlers);
+
+        cache.invalidate(address("subsystem", "logging").add("logger", "foo"));
+        assertNull(get(loggers));
+        assertNotNull(get(handlers));
+
+        Operation foo = read(address("subsystem", "logging").add("logger", "foo"));
+        put(foo);
+        cache.invalidate(address("subsystem", "logging").add("logger", "*"));
+        assertNull(get(foo));
+        assertNotNull(get(handlers));
+    }
+
+    @Test
+    void invalidateRoot() {
+        put(read(address("subsystem", "logging")), read(address("subsystem", "io")));
+        cache.invalidate(ResourceAddress.root());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void invalidateOperations() {
+        Operation foo = read(address("subsystem", "logging").add("logger", "foo"));
+        Operation bar = read(address("subsystem", "logging").add("logger", "bar"));
+        Operation io = read(address("subsystem", "io"));
+        put(foo, bar, io);
+
+        // read-only operations don't invalidate anything
+        cache.invalidate(read(address("subsystem", "logging")));
+        assertEquals(3, cache.stats().size());
+
+        // only the mutating steps of a composite invalidate entries
+        cache.invalidate(new Composite(read(address("subsystem", "io")),
+                write(address("subsystem", "logging").add("logger", "foo")),
+                new Operation.Builder(address("subsystem", "logging").add("logger", "bar"), REMOVE).build()));
+        assertNull(get(foo));
+        assertNull(get(bar));
+        assertNotNull(get(io));
+
+        put(foo);
+        cache.invalidate(new Operation.Builder(address("subsystem", "logging").add("logger", "baz"), ADD).build());
+        assertNotNull(get(foo));
+        assertNotNull(get(io));
+    }
+
+    @Test
+    void staleResponse() {
+        Operation foo = read(address("subsystem", "logging").add("logger", "foo"));
+        long generation = cache.generation();
+        cache.invalidate(address("subsystem", "logging").add("logger", "foo"));
+        cache.put(ResponseCache.key(foo), foo, payload(foo), generation);
+        assertNull(get(foo));
+    }
+
+    @Test
+    void processState() {
+        Operation foo = read(address("subsystem", "logging").add("logger", "foo"));
+        put(foo);
+        cache.processState(new ProcessState());
+        assertNotNull(get(foo));
+
+        ProcessState reloadRequired = new ProcessState();
+        reloadRequired.add(new ServerState("primary", "server-one", State.RELOAD_REQUIRED));
+        cache.processState(reloadRequired);
+        assertNull(get(foo));
+
+        // still reload-required: keep the entries
+        put(foo);
+        cache.processState(reloadRequired);
+        assertNotNull(get(foo));
+
+        cache.processState(new ProcessState());
+        cache.processState(reloadRequired);
+        assertNull(get(foo));
+    }
+
+    @Test
+    void clear() {
+        put(read(address("subsystem", "logging")), read(address("subsystem", "io")));
+        cache.clear();
+        assertEquals(0, cache.stats().size());
+        assertEquals(2, cache.stats().invalidations());
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static ResourceAddress address(String name, String value) {
+        return ResourceAddress.root().add(name, value);
+    }
+
+    private static Operation read(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).param(INCLUDE_RUNTIME, true).build();
+    }
+
+    private static Operation childrenNames(ResourceAddress address, String childType) {
+        return new Operation.Builder(address, READ_CHILDREN_NAMES_OPERATION).param(CHILD_TYPE, childType).build();
+    }
+
+    private static Operation write(ResourceAddress address) {
+        return new Operation.Builder(address, WRITE_ATTRIBUTE_OPERATION)
+                .param(NAME, "level")
+                .param("value", "DEBUG")
+                .build();
+    }
+
+    private static ModelNode payload(Operation operation) {
+        ModelNode payload = new ModelNode();
+        payload.get(RESULT).get(NAME).set(operation.getAddress().isEmpty()
+                ? "root"
+                : operation.getAddress().asPropertyList().get(operation.getAddress().size() - 1).getValue().asString());
+        return payload;
+    }
+
+    private void put(Operation... operations) {
+        for (Operation operation : operations) {
+            cache.put(ResponseCache.key(operation), operation, payload(operation), cache.generation());
+        }
+    }
+
+    private ModelNode get(Operation operation) {
+        return cache.get(ResponseCache.key(operation));
+    }
+}
@@ -61,6 +61,7 @@ public class Environment {
     private Stability serverStability;
     private Stability[] permissibleStabilityLevels;
     private AccessControlProvider accessControlProvider;
+    private String identity;
     private boolean sso;
     private String domainController;
 
@@ -88,6 +89,7 @@ public class Environment {
         this.serverStability = COMMUNITY;
         this.permissibleStabilityLevels = new Stability[0];
         this.accessControlProvider = SIMPLE;
+        this.identity = "anonymous";
         this.sso = false;
         this.domainController = "undefined";
     }
@@ -133,6 +135,14 @@ public class Environment {
         this.sso = sso;
     }
 
+    /**
+     * Updates the identity of the current user. The identity consists of the username and the mapped roles and is used to
+     * separate data which depends on the access control decisions for the current user.
+     */
+    public void updateIdentity(String identity) {
+        this.identity = identity;
+    }
+
     /**
      * Updates the server stability level and permissible stability levels.
      */
@@ -288,6 +298,11 @@ public class Environment {
         return accessControlProvider;
     }
 
+    /** Returns the identity of the current user (username and mapped roles). */
+    public String identity() {
+        return identity;
+    }
+
     /** Returns {@code true} if single sign-on is enabled on the management interface. */
     public boolean sso() {
         return sso;
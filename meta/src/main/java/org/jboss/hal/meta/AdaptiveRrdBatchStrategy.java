@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+/**
+ * Default {@link RrdBatchStrategy} which sizes the composites by the estimated response weight and adjusts the maximum
+ * batch weight using additive-increase/multiplicative-decrease:
+ * <ul>
+ *     <li>if a batch was answered faster than {@link #TARGET_LATENCY} and returned no more than {@link #MAX_RESULTS}
+ *     resource descriptions, the maximum batch weight grows by half of its current value</li>
+ *     <li>if a batch took longer than {@link #TARGET_LATENCY}, the maximum batch weight is halved</li>
+ * </ul>
+ * The estimated weight of an address grows with the number of wildcards, since each wildcard can expand to many resource
+ * descriptions.
+ */
+class AdaptiveRrdBatchStrategy implements RrdBatchStrategy {
+
+    static final int MAX_IN_FLIGHT = 4;
+    static final long INITIAL_WEIGHT = 8;
+    static final long MIN_WEIGHT = 1;
+    static final long MAX_WEIGHT = 64;
+    static final long TARGET_LATENCY = 750;
+    static final int MAX_RESULTS = 100;
+    private static final long WILDCARD_WEIGHT = 3;
+
+    private long maxBatchWeight;
+
+    AdaptiveRrdBatchStrategy() {
+        this.maxBatchWeight = INITIAL_WEIGHT;
+    }
+
+    @Override
+    public int maxInFlight() {
+        return MAX_IN_FLIGHT;
+    }
+
+    @Override
+    public long maxBatchWeight() {
+        return maxBatchWeight;
+    }
+
+    @Override
+    public long weigh(String address) {
+        long weight = 1;
+        for (Segment segment : AddressTemplate.ofTrusted(address)) {
+            if ("*".equals(segment.value)) {
+                weight += WILDCARD_WEIGHT;
+            }
+        }
+        return weight;
+    }
+
+    @Override
+    public void onResponse(int operations, long weight, int results, long latency) {
+        if (latency > TARGET_LATENCY) {
+            maxBatchWeight = Math.max(MIN_WEIGHT, maxBatchWeight / 2);
+        } else if (results <= MAX_RESULTS && weight >= maxBatchWeight / 2) {
+            // only grow if the batch was large enough to tell something about the current limit
+            maxBatchWeight = Math.min(MAX_WEIGHT, maxBatchWeight + Math.max(1, maxBatchWeight / 2));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveRrdBatchStrategy(maxBatchWeight=" + maxBatchWeight + ")";
+    }
+}
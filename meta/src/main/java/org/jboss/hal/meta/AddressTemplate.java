@@ -15,22 +15,23 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import org.jboss.elemento.Id;
+import org.jboss.hal.db.LRUCache;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.WildcardResolver.Direction;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ValueEncoder.ENCODED_SLASH;
 
 /**
@@ -115,6 +116,11 @@ import static org.jboss.hal.dmr.ValueEncoder.ENCODED_SLASH;
  */
 public final class AddressTemplate implements Iterable<Segment> {
 
+    /** Number of templates created by {@link #ofTrusted(String)} which are kept for reuse. */
+    static final int INTERN_CAPACITY = 1_000;
+    private static final AddressTemplate ROOT = new AddressTemplate(emptyList());
+    private static final LRUCache<String, AddressTemplate> INTERNED = new LRUCache<>(INTERN_CAPACITY);
+
     // ------------------------------------------------------ trusted factory (no encoding)
 
     /**
@@ -131,7 +137,15 @@ public final class AddressTemplate implements Iterable<Segment> {
      * @return a new address template
      */
     public static AddressTemplate ofTrusted(String template) {
-        return new AddressTemplate(parseSegments(template));
+        if (template == null) {
+            return root();
+        }
+        AddressTemplate interned = INTERNED.get(template);
+        if (interned == null) {
+            interned = new AddressTemplate(parseSegments(template));
+            INTERNED.put(template, interned);
+        }
+        return interned;
     }
 
     // ------------------------------------------------------ untrusted factory (parsing + validation)
@@ -171,7 +185,7 @@ public final class AddressTemplate implements Iterable<Segment> {
      * Creates a new root address template, which represents the empty address.
      */
     public static AddressTemplate root() {
-        return new AddressTemplate(emptyList());
+        return ROOT;
     }
 
     /**
@@ -193,7 +207,7 @@ public final class AddressTemplate implements Iterable<Segment> {
         if (placeholder != null) {
             return new AddressTemplate(parseSegments("/" + placeholder.expression()));
         } else {
-            return new AddressTemplate(emptyList());
+            return root();
         }
     }
 
@@ -209,7 +223,7 @@ public final class AddressTemplate implements Iterable<Segment> {
      * Creates a new address template from an existing template.
      */
     public static AddressTemplate of(AddressTemplate template) {
-        return template != null ? new AddressTemplate(template.segments) : new AddressTemplate(emptyList());
+        return template != null ? template : root();
     }
 
     /**
@@ -217,7 +231,7 @@ public final class AddressTemplate implements Iterable<Segment> {
      * at serialization time.
      */
     public static AddressTemplate of(List<Segment> segments) {
-        return segments != null ? new AddressTemplate(segments) : new AddressTemplate(emptyList());
+        return segments != null ? new AddressTemplate(segments) : root();
     }
 
     /**
@@ -228,7 +242,7 @@ public final class AddressTemplate implements Iterable<Segment> {
         if (address != null && address.isDefined()) {
             List<Segment> segments = address.asPropertyList().stream()
                     .map(p -> new Segment(p.getName(), p.getValue().asString()))
-                    .collect(toCollection(LinkedList::new));
+                    .collect(toList());
             return new AddressTemplate(segments);
         }
         return root();
@@ -238,15 +252,21 @@ public final class AddressTemplate implements Iterable<Segment> {
 
     /** The string representation of this address template. If the template contains special characters, they're encoded. */
     public final String template;
-    private final LinkedList<Segment> segments;
+    private final Path path;
+    private final int from;
+    private final int to;
+    private final int hash;
 
     private AddressTemplate(List<Segment> segments) {
-        this.segments = segments.stream()
-                .filter(Predicate.not(segment -> segment == Segment.EMPTY))
-                .collect(toCollection(LinkedList::new));
-        this.template = "/" + this.segments.stream()
-                .map(Segment::toString)
-                .collect(joining("/"));
+        this(Path.of(segments), 0, -1);
+    }
+
+    private AddressTemplate(Path path, int from, int to) {
+        this.path = path;
+        this.from = from;
+        this.to = to < 0 ? path.segments.length : to;
+        this.template = path.template(this.from, this.to);
+        this.hash = template.hashCode();
     }
 
     @Override
@@ -258,14 +278,12 @@ public final class AddressTemplate implements Iterable<Segment> {
             return false;
         }
         AddressTemplate that = (AddressTemplate) o;
-        return template.equals(that.template);
+        return hash == that.hash && template.equals(that.template);
     }
 
     @Override
     public int hashCode() {
-        int result = template.hashCode();
-        result = 31 * result;
-        return result;
+        return 31 * hash;
     }
 
     /**
@@ -295,9 +313,7 @@ public final class AddressTemplate implements Iterable<Segment> {
         if (template == null || template.isEmpty()) {
             return this;
         }
-        LinkedList<Segment> newSegments = new LinkedList<>(this.segments);
-        newSegments.addAll(parseSegments(template));
-        return new AddressTemplate(newSegments);
+        return append(parseSegments(template));
     }
 
     // ------------------------------------------------------ safe append (encoding handled)
@@ -313,9 +329,7 @@ public final class AddressTemplate implements Iterable<Segment> {
     public AddressTemplate append(String key, String value) {
         String cleanKey = (key != null && key.startsWith("/") && !key.startsWith(ENCODED_SLASH))
                 ? key.substring(1) : key;
-        LinkedList<Segment> newSegments = new LinkedList<>(this.segments);
-        newSegments.add(new Segment(cleanKey, value));
-        return new AddressTemplate(newSegments);
+        return append(singletonList(new Segment(cleanKey, value)));
     }
 
     /**
@@ -326,9 +340,7 @@ public final class AddressTemplate implements Iterable<Segment> {
      * @return a new address template with the appended segment
      */
     public AddressTemplate append(Segment segment) {
-        LinkedList<Segment> newSegments = new LinkedList<>(this.segments);
-        newSegments.add(segment);
-        return new AddressTemplate(newSegments);
+        return append(singletonList(segment));
     }
 
     /**
@@ -337,9 +349,12 @@ public final class AddressTemplate implements Iterable<Segment> {
      * @return a new template
      */
     public AddressTemplate append(AddressTemplate template) {
-        LinkedList<Segment> newSegments = new LinkedList<>(this.segments);
-        newSegments.addAll(template.segments);
-        return new AddressTemplate(newSegments);
+        if (template.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return template;
+        }
+        return append(template.segments());
     }
 
     /**
@@ -350,9 +365,7 @@ public final class AddressTemplate implements Iterable<Segment> {
      */
     public AddressTemplate append(Placeholder placeholder) {
         if (placeholder != null) {
-            LinkedList<Segment> newSegments = new LinkedList<>(this.segments);
-            newSegments.addAll(parseSegments(placeholder.expression()));
-            return new AddressTemplate(newSegments);
+            return append(parseSegments(placeholder.expression()));
         }
         return this;
     }
@@ -360,7 +373,8 @@ public final class AddressTemplate implements Iterable<Segment> {
     // ------------------------------------------------------ sub and parent
 
     /**
-     * Works like {@link List#subList(int, int)} over the segments of this template and throws the same exceptions.
+     * Works like {@link List#subList(int, int)} over the segments of this template and throws the same exceptions. The sub
+     * template shares the segments of this template and doesn't copy them.
      *
      * @param fromIndex low endpoint (inclusive) of the sub template
      * @param toIndex   high endpoint (exclusive) of the sub template
@@ -369,8 +383,15 @@ public final class AddressTemplate implements Iterable<Segment> {
      *                                   fromIndex &gt; toIndex</tt>)
      */
     public AddressTemplate subTemplate(int fromIndex, int toIndex) {
-        LinkedList<Segment> subSegments = new LinkedList<>(this.segments.subList(fromIndex, toIndex));
-        return new AddressTemplate(subSegments);
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+        }
+        if (fromIndex == 0 && toIndex == size()) {
+            return this;
+        } else if (fromIndex == toIndex) {
+            return root();
+        }
+        return new AddressTemplate(path, from + fromIndex, from + toIndex);
     }
 
     /** @return the parent address template or the root template */
@@ -397,16 +418,16 @@ public final class AddressTemplate implements Iterable<Segment> {
 
     /** @return the first segment or {@link Segment#EMPTY} if this address template is empty. */
     public Segment first() {
-        if (!segments.isEmpty()) {
-            return segments.getFirst();
+        if (!isEmpty()) {
+            return path.segments[from];
         }
         return Segment.EMPTY;
     }
 
     /** @return the last segment or {@link Segment#EMPTY} if this address template is empty. */
     public Segment last() {
-        if (!segments.isEmpty()) {
-            return segments.getLast();
+        if (!isEmpty()) {
+            return path.segments[to - 1];
         }
         return Segment.EMPTY;
     }
@@ -418,32 +439,37 @@ public final class AddressTemplate implements Iterable<Segment> {
      * @return true if the address template is fully qualified, false otherwise.
      */
     public boolean fullyQualified() {
-        for (Segment segment : this) {
-            if (segment.containsPlaceholder() || "*".equals(segment.value)) {
-                return false;
-            }
-        }
-        return true;
+        return !path.any(path.placeholders | path.wildcards, from, to, Path.PLACEHOLDER | Path.WILDCARD);
+    }
+
+    /** @return true if any segment of this template contains a placeholder */
+    boolean containsPlaceholder() {
+        return path.any(path.placeholders, from, to, Path.PLACEHOLDER);
     }
 
     /** @return true if this template contains no tokens, false otherwise */
     public boolean isEmpty() {
-        return segments.isEmpty();
+        return from == to;
     }
 
     /** @return the number of tokens */
     public int size() {
-        return segments.size();
+        return to - from;
+    }
+
+    /** @return the segment at the given index */
+    Segment segment(int index) {
+        return path.segments[from + index];
     }
 
     /** @return an unmodifiable list of segments in this address template */
     public List<Segment> segments() {
-        return unmodifiableList(segments);
+        return unmodifiableList(asList(path.segments).subList(from, to));
     }
 
     @Override
     public Iterator<Segment> iterator() {
-        return segments.iterator();
+        return segments().iterator();
     }
 
     /** @return a sanitized, DOM-safe identifier derived from this template, suitable for use as an HTML element ID */
@@ -516,6 +542,13 @@ public final class AddressTemplate implements Iterable<Segment> {
 
     // ------------------------------------------------------ internal
 
+    private AddressTemplate append(List<Segment> segments) {
+        List<Segment> newSegments = new ArrayList<>(size() + segments.size());
+        newSegments.addAll(segments());
+        newSegments.addAll(segments);
+        return new AddressTemplate(newSegments);
+    }
+
     private static int countRawSegments(String template) {
         if (template == null || template.trim().isEmpty()) {
             return 0;
@@ -637,4 +670,86 @@ public final class AddressTemplate implements Iterable<Segment> {
         }
         return segments;
     }
+
+    // ------------------------------------------------------ inner classes
+
+    /**
+     * The segments of a template together with their string form and bitmaps of the segments containing placeholders and
+     * wildcards. Sub templates share the path of their template and only select a range of segments.
+     */
+    private static final class Path {
+
+        static final int PLACEHOLDER = 1;
+        static final int WILDCARD = 2;
+        private static final int BITS = 32;
+
+        static Path of(List<Segment> segments) {
+            List<Segment> valid = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                if (segment != Segment.EMPTY) {
+                    valid.add(segment);
+                }
+            }
+            return new Path(valid.toArray(new Segment[0]));
+        }
+
+        final Segment[] segments;
+        final String template;
+        final int[] ends;
+        final int placeholders;
+        final int wildcards;
+
+        private Path(Segment[] segments) {
+            this.segments = segments;
+            this.ends = new int[segments.length];
+            StringBuilder builder = new StringBuilder("/");
+            int placeholders = 0;
+            int wildcards = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if (i > 0) {
+                    builder.append('/');
+                }
+                builder.append(segments[i]);
+                ends[i] = builder.length();
+                if (i < BITS) {
+                    if (segments[i].containsPlaceholder()) {
+                        placeholders |= 1 << i;
+                    }
+                    if ("*".equals(segments[i].value)) {
+                        wildcards |= 1 << i;
+                    }
+                }
+            }
+            this.template = builder.toString();
+            this.placeholders = placeholders;
+            this.wildcards = wildcards;
+        }
+
+        /** Returns the string form of the segments in the given range without building it again. */
+        String template(int from, int to) {
+            if (from == to) {
+                return "/";
+            } else if (from == 0 && to == segments.length) {
+                return template;
+            }
+            // ends[from - 1] is the position of the slash in front of the first segment
+            return template.substring(from == 0 ? 0 : ends[from - 1], ends[to - 1]);
+        }
+
+        /** Returns whether any segment in the given range has one of the given kinds. */
+        boolean any(int bits, int from, int to, int kinds) {
+            if (to <= BITS) {
+                int mask = (to == BITS ? -1 : (1 << to) - 1) & (-1 << from);
+                return (bits & mask) != 0;
+            }
+            for (int i = from; i < to; i++) {
+                Segment segment = segments[i];
+                if (((kinds & PLACEHOLDER) != 0 && segment.containsPlaceholder())
+                        || ((kinds & WILDCARD) != 0 && "*".equals(segment.value))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * Second-level cache which keeps metadata in memory. All callbacks are invoked synchronously. Used when IndexedDB is not
+ * available and in unit tests.
+ */
+public class InMemorySecondLevelCache implements SecondLevelCache {
+
+    private final Map<String, ModelNode> entries;
+    private MetadataScope scope;
+
+    public InMemorySecondLevelCache() {
+        this.entries = new HashMap<>();
+    }
+
+    @Override
+    public void open(MetadataScope scope, Runnable ready) {
+        this.scope = scope;
+        entries.keySet().removeIf(scope::stale);
+        ready.run();
+    }
+
+    @Override
+    public MetadataScope scope() {
+        return scope;
+    }
+
+    @Override
+    public void get(String address, Consumer<Metadata> callback) {
+        ModelNode modelNode = scope != null ? entries.get(scope.key(address)) : null;
+        callback.accept(modelNode != null ? Metadata.from(modelNode) : null);
+    }
+
+    @Override
+    public void put(Metadata metadata) {
+        if (scope != null) {
+            entries.put(scope.key(metadata.address()), metadata.clone());
+        }
+    }
+
+    @Override
+    public void getProcessed(String address, Consumer<Set<String>> callback) {
+        ModelNode modelNode = scope != null ? entries.get(scope.processedKey(address)) : null;
+        callback.accept(processed(modelNode));
+    }
+
+    @Override
+    public void putProcessed(String address, Set<String> processed) {
+        if (scope != null) {
+            entries.put(scope.processedKey(address), processed(processed));
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /** Returns the number of entries of all scopes. */
+    public int size() {
+        return entries.size();
+    }
+
+    // ------------------------------------------------------ processed addresses
+
+    static ModelNode processed(Set<String> processed) {
+        ModelNode modelNode = new ModelNode().setEmptyList();
+        for (String address : processed) {
+            modelNode.add(address);
+        }
+        return modelNode;
+    }
+
+    static Set<String> processed(ModelNode modelNode) {
+        Set<String> processed = new LinkedHashSet<>();
+        if (modelNode != null && modelNode.isDefined()) {
+            for (ModelNode address : modelNode.asList()) {
+                processed.add(address.asString());
+            }
+        }
+        return processed;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.db.KeyValueStore;
+import org.jboss.hal.dmr.ModelNode;
+
+import elemental2.promise.Promise;
+
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Second-level cache which persists metadata in IndexedDB using a {@link KeyValueStore}. Metadata is stored base64-encoded.
+ * <p>
+ * The database is opened lazily. If IndexedDB is not available, this cache falls back to an
+ * {@link InMemorySecondLevelCache}.
+ */
+class IndexedDbSecondLevelCache implements SecondLevelCache {
+
+    private static final Logger logger = Logger.getLogger(IndexedDbSecondLevelCache.class.getName());
+    private static final String DATABASE = "hal-metadata";
+    private static final String STORE = "metadata";
+
+    private Promise<KeyValueStore> store;
+    private SecondLevelCache fallback;
+    private MetadataScope scope;
+
+    @Override
+    public void open(MetadataScope scope, Runnable ready) {
+        this.scope = scope;
+        if (fallback != null) {
+            fallback.open(scope, ready);
+            return;
+        }
+        if (store == null) {
+            store = KeyValueStore.open(DATABASE, STORE);
+        }
+        store.then(kvs -> kvs.keys(scope.endpointPrefix()).then(keys -> {
+                    List<String> stale = keys.stream().filter(scope::stale).collect(toList());
+                    if (!stale.isEmpty()) {
+                        logger.info("Remove %d stale metadata entries for %s", stale.size(), scope.endpoint());
+                        return kvs.remove(stale);
+                    }
+                    return Promise.resolve((Void) null);
+                }))
+                .then(__ -> {
+                    ready.run();
+                    return null;
+                })
+                .catch_(error -> {
+                    logger.warn("Unable to use IndexedDB for metadata: %s. Fall back to in-memory cache.", error);
+                    fallback = new InMemorySecondLevelCache();
+                    fallback.open(scope, ready);
+                    return null;
+                });
+    }
+
+    @Override
+    public MetadataScope scope() {
+        return scope;
+    }
+
+    @Override
+    public void get(String address, Consumer<Metadata> callback) {
+        if (fallback != null) {
+            fallback.get(address, callback);
+        } else if (store == null || scope == null) {
+            callback.accept(null);
+        } else {
+            String key = scope.key(address);
+            store.then(kvs -> kvs.get(key))
+                    .then(value -> {
+                        callback.accept(value != null ? Metadata.from(ModelNode.fromBase64(value)) : null);
+                        return null;
+                    })
+                    .catch_(error -> {
+                        logger.error("Unable to read metadata for %s from IndexedDB: %s", address, error);
+                        callback.accept(null);
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void put(Metadata metadata) {
+        if (fallback != null) {
+            fallback.put(metadata);
+        } else if (store != null && scope != null) {
+            // the metadata is encoded right away (so later changes to the metadata aren't written),
+            // only the write waits for the store
+            String key = scope.key(metadata.address());
+            String value = metadata.toBase64String();
+            store.then(kvs -> kvs.put(key, value))
+                    .catch_(error -> {
+                        logger.error("Unable to write metadata for %s to IndexedDB: %s", metadata.address(), error);
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void getProcessed(String address, Consumer<Set<String>> callback) {
+        if (fallback != null) {
+            fallback.getProcessed(address, callback);
+        } else if (store == null || scope == null) {
+            callback.accept(emptySet());
+        } else {
+            String key = scope.processedKey(address);
+            store.then(kvs -> kvs.get(key))
+                    .then(value -> {
+                        callback.accept(value != null
+                                ? InMemorySecondLevelCache.processed(ModelNode.fromBase64(value))
+                                : emptySet());
+                        return null;
+                    })
+                    .catch_(error -> {
+                        logger.error("Unable to read processed addresses for %s from IndexedDB: %s", address, error);
+                        callback.accept(emptySet());
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void putProcessed(String address, Set<String> processed) {
+        if (fallback != null) {
+            fallback.putProcessed(address, processed);
+        } else if (store != null && scope != null) {
+            String key = scope.processedKey(address);
+            String value = InMemorySecondLevelCache.processed(processed).toBase64String();
+            store.then(kvs -> kvs.put(key, value))
+                    .catch_(error -> {
+                        logger.error("Unable to write processed addresses for %s to IndexedDB: %s", address, error);
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (fallback != null) {
+            fallback.clear();
+        } else if (store != null) {
+            store.then(KeyValueStore::clear);
+        }
+    }
+}
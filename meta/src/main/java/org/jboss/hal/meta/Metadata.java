@@ -15,6 +15,10 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.description.ResourceDescription;
@@ -26,39 +30,73 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SECURITY_CONTEXT;
 
 /**
  * Pairs a {@link org.jboss.hal.meta.description.ResourceDescription} with a
- * {@link org.jboss.hal.meta.security.SecurityContext} for a specific management resource.
+ * {@link org.jboss.hal.meta.security.SecurityContext} for a specific management resource. The {@link MetadataProfile} tells
+ * which parts of the metadata have been read.
  */
 public class Metadata extends ModelNode {
 
+    private static final String METADATA_PROFILE = "metadata-profile";
+
     /** Creates an empty, undefined metadata instance with no resource description or security context. */
     public static Metadata undefined() {
         return new Metadata();
     }
 
+    /**
+     * Creates metadata from a model node which has been created by a metadata instance before, e.g. when reading metadata
+     * from the {@link SecondLevelCache}.
+     */
+    public static Metadata from(ModelNode modelNode) {
+        SecurityContext securityContext = modelNode.hasDefined(SECURITY_CONTEXT)
+                ? new SecurityContext(modelNode.get(SECURITY_CONTEXT))
+                : SecurityContext.READ_ONLY;
+        // metadata stored before profiles were introduced always contains all parts
+        MetadataProfile profile = modelNode.hasDefined(METADATA_PROFILE)
+                ? MetadataProfile.valueOf(modelNode.get(METADATA_PROFILE).asString())
+                : MetadataProfile.FULL;
+        return new Metadata(modelNode.get(ADDRESS).asString(),
+                new ResourceDescription(modelNode.get(RESOURCE_DESCRIPTION)),
+                securityContext, profile);
+    }
+
     public static Metadata metadata(String address, ResourceDescription resourceDescription,
             SecurityContext securityContext) {
-        return new Metadata(address, resourceDescription, securityContext);
+        return new Metadata(address, resourceDescription, securityContext, MetadataProfile.FULL);
+    }
+
+    public static Metadata metadata(String address, ResourceDescription resourceDescription,
+            SecurityContext securityContext, MetadataProfile profile) {
+        return new Metadata(address, resourceDescription, securityContext, profile);
     }
 
     private final String address;
     private final ResourceDescription resourceDescription;
     private final SecurityContext securityContext;
+    private final MetadataProfile profile;
+    private final Map<Object, Object> memos;
 
     private Metadata() {
         super();
         this.address = "";
         this.resourceDescription = new ResourceDescription();
         this.securityContext = new SecurityContext();
+        this.profile = MetadataProfile.FULL;
+        this.memos = new HashMap<>();
     }
 
-    private Metadata(String address, ResourceDescription resourceDescription, SecurityContext securityContext) {
+    private Metadata(String address, ResourceDescription resourceDescription, SecurityContext securityContext,
+            MetadataProfile profile) {
         super();
         this.address = address;
         this.resourceDescription = resourceDescription;
         this.securityContext = securityContext;
+        this.profile = profile;
+        this.memos = new HashMap<>();
         get(ADDRESS).set(address);
-        get(RESOURCE_DESCRIPTION).set(resourceDescription);
-        get(SECURITY_CONTEXT).set(securityContext);
+        // the node mirrors the description fields: share them instead of copying the whole tree
+        get(RESOURCE_DESCRIPTION).setCopyOnWrite(resourceDescription);
+        get(SECURITY_CONTEXT).setCopyOnWrite(securityContext);
+        get(METADATA_PROFILE).set(profile.name());
     }
 
     /** @return the string representation of the management resource address */
@@ -80,4 +118,28 @@ public class Metadata extends ModelNode {
     public SecurityContext securityContext() {
         return securityContext;
     }
+
+    /** @return the parts of the metadata which have been read */
+    public MetadataProfile profile() {
+        return profile;
+    }
+
+    /**
+     * Returns the value which has been derived from this metadata under the given key or computes and remembers it. Memoised
+     * values are not part of the model node: they are neither persisted nor copied. Metadata which has been read again is a
+     * new instance and starts with no memoised values, so derived values live exactly as long as the metadata they're derived
+     * from.
+     *
+     * @param key      the key of the derived value, usually the component which derives the value
+     * @param function computes the value if there's no value for the key yet
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T memo(Object key, Function<Metadata, T> function) {
+        Object value = memos.get(key);
+        if (value == null) {
+            value = function.apply(this);
+            memos.put(key, value);
+        }
+        return (T) value;
+    }
 }
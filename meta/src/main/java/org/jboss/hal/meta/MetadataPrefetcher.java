@@ -0,0 +1,251 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.db.KeyValueStore;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
+import org.jboss.hal.dmr.dispatch.Lane;
+
+import elemental2.dom.DomGlobal;
+import elemental2.dom.EventListener;
+import elemental2.dom.IdleDeadline;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.document;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
+
+/**
+ * Prefetches the metadata of templates the user is likely to navigate to next. Call {@link #navigated(AddressTemplate)}
+ * whenever the user navigates to a template. The prefetcher records the navigation in a {@linkplain UsageLog usage log}, selects
+ * the {@linkplain PrefetchCandidates candidates} and reads their metadata when the browser is idle.
+ * <p>
+ * Metadata is read in small batches, one batch per {@code requestIdleCallback} window, using the
+ * {@linkplain Lane#BACKGROUND background lane}. At most {@link #budget(int)} templates are prefetched per navigation. Any user
+ * interaction (pointer, key, wheel or touch events) immediately cancels the pending prefetch including the requests which
+ * are on the wire.
+ * <p>
+ * The usage log is persisted in IndexedDB, so that the frequently visited templates are known across sessions.
+ */
+@ApplicationScoped
+public class MetadataPrefetcher {
+
+    /** The default number of templates prefetched per navigation. */
+    public static final int DEFAULT_BUDGET = 8;
+    private static final int BATCH_SIZE = 4;
+    private static final double MIN_IDLE_TIME = 10;
+    private static final int FALLBACK_DELAY = 200;
+    private static final String DATABASE = "hal-usage";
+    private static final String STORE = "usage";
+    private static final String KEY = "metadata";
+    private static final String[] INTERACTIONS = {"pointerdown", "keydown", "wheel", "touchstart"};
+    private static final Logger logger = Logger.getLogger(MetadataPrefetcher.class.getName());
+
+    private final MetadataRepository metadataRepository;
+    private final EventListener interaction;
+    private UsageLog usageLog;
+    private PrefetchCandidates candidates;
+    private Promise<KeyValueStore> store;
+    private boolean enabled;
+    private int budget;
+    private List<AddressTemplate> queue;
+    private CancellationToken token;
+    private int idleHandle;
+    private boolean idleTimeout;
+    private boolean dirty;
+
+    @Inject
+    public MetadataPrefetcher(MetadataRepository metadataRepository) {
+        this.metadataRepository = metadataRepository;
+        this.interaction = __ -> cancel();
+        this.enabled = true;
+        this.budget = DEFAULT_BUDGET;
+        this.queue = new ArrayList<>();
+        this.token = new CancellationToken();
+        usageLog(new UsageLog());
+    }
+
+    @PostConstruct
+    void init() {
+        store = KeyValueStore.open(DATABASE, STORE);
+        store.then(kvs -> kvs.get(KEY))
+                .then(encoded -> {
+                    if (encoded != null && usageLog.size() == 0) {
+                        usageLog(UsageLog.fromModelNode(ModelNode.fromBase64(encoded)));
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    logger.warn("Unable to restore usage log: %s", error);
+                    return null;
+                });
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Enables or disables prefetching. Disabling prefetching cancels the pending prefetch. */
+    public void enabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            cancel();
+        }
+    }
+
+    /** Sets the maximal number of templates prefetched per navigation. */
+    public void budget(int budget) {
+        this.budget = Math.max(0, budget);
+    }
+
+    /**
+     * Records the navigation to the given template and schedules the prefetch of the candidates. A pending prefetch is
+     * cancelled.
+     */
+    public void navigated(AddressTemplate template) {
+        cancel();
+        usageLog.visit(template);
+        dirty = true;
+        if (enabled && budget > 0) {
+            queue = candidates.select(template, budget);
+            if (!queue.isEmpty()) {
+                logger.debug("Prefetch candidates for %s: %s", template, queue);
+                token = new CancellationToken();
+                listen(true);
+                requestIdle();
+            }
+        }
+        if (queue.isEmpty()) {
+            // nothing to prefetch: persist the usage log in the next idle window
+            requestIdle();
+        }
+    }
+
+    /** Cancels the pending prefetch, if any. */
+    public void cancel() {
+        if (idleHandle != 0) {
+            if (idleTimeout) {
+                DomGlobal.clearTimeout(idleHandle);
+            } else {
+                DomGlobal.cancelIdleCallback(idleHandle);
+            }
+            idleHandle = 0;
+        }
+        if (!queue.isEmpty()) {
+            logger.debug("Cancel prefetch of %s", queue);
+            queue = new ArrayList<>();
+        }
+        token.cancel();
+        listen(false);
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void usageLog(UsageLog usageLog) {
+        this.usageLog = usageLog;
+        this.candidates = new PrefetchCandidates(usageLog, this::childTypes, metadataRepository::cached);
+    }
+
+    private Collection<String> childTypes(AddressTemplate template) {
+        Metadata metadata = metadataRepository.peek(template);
+        if (metadata != null && metadata.resourceDescription().hasDefined(CHILDREN)) {
+            return metadata.resourceDescription().get(CHILDREN).keys();
+        }
+        return List.of();
+    }
+
+    private void requestIdle() {
+        if (idleHandle == 0) {
+            // Safari doesn't support requestIdleCallback()
+            idleTimeout = !Js.asPropertyMap(DomGlobal.window).has("requestIdleCallback");
+            if (!idleTimeout) {
+                idleHandle = DomGlobal.requestIdleCallback(this::idle);
+            } else {
+                idleHandle = (int) DomGlobal.setTimeout(__ -> {
+                    idleHandle = 0;
+                    prefetch();
+                }, FALLBACK_DELAY);
+            }
+        }
+    }
+
+    private void idle(IdleDeadline deadline) {
+        idleHandle = 0;
+        if (deadline.timeRemaining() < MIN_IDLE_TIME) {
+            requestIdle();
+        } else {
+            prefetch();
+        }
+    }
+
+    private void prefetch() {
+        persist();
+        if (queue.isEmpty() || token.cancelled()) {
+            return;
+        }
+        List<AddressTemplate> batch = new ArrayList<>(queue.subList(0, Math.min(BATCH_SIZE, queue.size())));
+        queue = new ArrayList<>(queue.subList(batch.size(), queue.size()));
+        CancellationToken batchToken = token;
+        metadataRepository.prefetch(batch, batchToken)
+                .then(__ -> {
+                    if (!batchToken.cancelled()) {
+                        if (queue.isEmpty()) {
+                            listen(false);
+                        } else {
+                            requestIdle();
+                        }
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    if (!batchToken.cancelled()) {
+                        logger.warn("Unable to prefetch metadata for %s: %s", batch, error);
+                        cancel();
+                    }
+                    return null;
+                });
+    }
+
+    private void persist() {
+        if (dirty && store != null) {
+            dirty = false;
+            String encoded = usageLog.toModelNode().toBase64String();
+            store.then(kvs -> kvs.put(KEY, encoded))
+                    .catch_(error -> {
+                        logger.warn("Unable to persist usage log: %s", error);
+                        return null;
+                    });
+        }
+    }
+
+    private void listen(boolean listen) {
+        for (String type : INTERACTIONS) {
+            if (listen) {
+                document.addEventListener(type, interaction, true);
+            } else {
+                document.removeEventListener(type, interaction, true);
+            }
+        }
+    }
+}
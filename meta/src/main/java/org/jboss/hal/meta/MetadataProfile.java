@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+/**
+ * Defines which parts of the metadata are read by the {@code read-resource-description} operations. Each profile includes
+ * the parts of the previous profiles:
+ * <ol>
+ *     <li>{@link #ATTRIBUTES}: the resource description without operations and without access control</li>
+ *     <li>{@link #SECURITY}: adds the {@linkplain org.jboss.hal.meta.security.SecurityContext security context}</li>
+ *     <li>{@link #FULL}: adds the operation descriptions</li>
+ * </ol>
+ * The operation descriptions make up the biggest part of the rrd payload. Pages which only render attributes should use
+ * {@link #SECURITY}. If metadata with a lesser profile is already cached, the {@link MetadataRepository} reads the missing
+ * parts and merges them into the cached metadata:
+ * <ul>
+ *     <li>{@link #ATTRIBUTES} to {@link #SECURITY} reads only the security context
+ *     ({@code access-control=trim-descriptions}).</li>
+ *     <li>Any profile to {@link #FULL} reads the full description again: The permissions of the operations are only part
+ *     of a security context which is read together with the operations, and {@code trim-descriptions} would drop the
+ *     operation descriptions.</li>
+ * </ul>
+ * Upgrading to {@link #FULL} therefore costs more than reading {@link #FULL} right away. {@link #SECURITY} only pays off if
+ * most of the pages don't need the operations. For the generated standalone fixture, {@link #SECURITY} reads 49.4k and
+ * {@link #FULL} 68.7k: {@link #SECURITY} saves 19.3k per resource, a later upgrade costs 68.7k.
+ */
+public enum MetadataProfile {
+
+    /** The resource description without operations. The security context is {@code SecurityContext.READ_ONLY}. */
+    ATTRIBUTES(false, false),
+
+    /** The resource description without operations, and the security context. */
+    SECURITY(true, false),
+
+    /** The resource description including operations, and the security context. */
+    FULL(true, true);
+
+    static MetadataProfile of(boolean security, boolean operations) {
+        if (security && operations) {
+            return FULL;
+        } else if (security) {
+            return SECURITY;
+        } else {
+            return ATTRIBUTES;
+        }
+    }
+
+    final boolean security;
+    final boolean operations;
+
+    MetadataProfile(boolean security, boolean operations) {
+        this.security = security;
+        this.operations = operations;
+    }
+
+    /** @return whether this profile includes all parts of the given profile */
+    public boolean includes(MetadataProfile profile) {
+        return ordinal() >= profile.ordinal();
+    }
+}
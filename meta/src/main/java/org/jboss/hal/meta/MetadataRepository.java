@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,8 +33,13 @@ import jakarta.inject.Inject;
 import org.jboss.elemento.flow.FlowContext;
 import org.jboss.elemento.flow.Task;
 import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.db.CacheStats;
 import org.jboss.hal.db.LRUCache;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
+import org.jboss.hal.env.Endpoints;
+import org.jboss.hal.env.Environment;
 import org.jboss.hal.env.Settings;
 
 import elemental2.promise.Promise;
@@ -49,8 +56,18 @@ import static org.jboss.elemento.flow.Flow.sequential;
 /**
  * Repository for metadata. Contains a first and second-level cache for metadata.
  * <p>
+ * The first level cache is an in-memory {@link LRUCache}. The second level cache is a persistent {@link SecondLevelCache}
+ * (IndexedDB by default) scoped by endpoint, management model version, locale, and access control identity (see
+ * {@link MetadataScope}). Lookups which miss the first level cache fall through to the second level cache before the
+ * metadata is read using {@code read-resource-description} operations.
+ * <p>
  * Metadata can be obtained synchronously via {@link #get(AddressTemplate)} or asynchronously via {@link #lookup(List)},
  * {@link #lookup(AddressTemplate, Consumer)}, and {@link #lookup(AddressTemplate)}.
+ * <p>
+ * Lookups can ask for a {@link MetadataProfile} which only contains parts of the metadata, e.g. without operation
+ * descriptions. If the cached metadata lacks parts of the requested profile, the missing parts are read and merged into the
+ * cached metadata. Only the security context can be read on its own. Adding the operation descriptions reads the full
+ * description again, see {@link MetadataProfile}. Lookups without a profile use {@link MetadataProfile#FULL}.
  */
 @ApplicationScoped
 public class MetadataRepository {
@@ -61,11 +78,12 @@ public class MetadataRepository {
     //  /server-group=* ?
     //  anything else?
 
-    // TODO Add support for 2nd level cache!
     private static final int FIRST_LEVEL_CACHE_SIZE = 500;
     private static final Logger logger = Logger.getLogger(MetadataRepository.class.getName());
 
     private final Settings settings;
+    private final Environment environment;
+    private final Endpoints endpoints;
     private final Dispatcher dispatcher;
 
     /**
@@ -82,6 +100,12 @@ public class MetadataRepository {
      */
     private final LRUCache<String, Metadata> cache;
 
+    /**
+     * Persistent second level cache for metadata. L1 misses fall through to this cache before any rrd operation is executed.
+     * Metadata read by rrd operations is written to this cache in the background.
+     */
+    private final SecondLevelCache secondLevelCache;
+
     /**
      * Contains the mapping between the requested address template and the processed resource addresses from the rrd-payload.
      * Keys and values are resolved using the {@link #resolver} before they're added to the map.
@@ -93,35 +117,150 @@ public class MetadataRepository {
      */
     private final Map<String, Set<String>> processedAddresses;
 
+    /**
+     * Contains the pending lookups. Key is the profile and the resolved address template (see {@link #inFlightKey(String,
+     * MetadataProfile)}), value is the promise shared by all callers which look up the metadata for that address and a
+     * profile included in the pending profile while the lookup is in progress. Entries are removed once the promise is
+     * settled.
+     */
+    private final Map<String, Promise<Metadata>> inFlight;
+
+    /**
+     * Strategy used to batch the rrd operations. The strategy is kept for the whole session, so that adaptive strategies can
+     * learn from all lookups.
+     */
+    private RrdBatchStrategy batchStrategy;
+
+    /** The callbacks waiting for the second level cache to be opened for {@link #openingScope}, {@code null} if not opening. */
+    private List<Runnable> opening;
+    private MetadataScope openingScope;
+
     @Inject
     public MetadataRepository(Settings settings,
+            Environment environment,
+            Endpoints endpoints,
             Dispatcher dispatcher,
             StatementContext statementContext) {
+        this(settings, environment, endpoints, dispatcher, statementContext, new IndexedDbSecondLevelCache());
+    }
+
+    MetadataRepository(Settings settings,
+            Environment environment,
+            Endpoints endpoints,
+            Dispatcher dispatcher,
+            StatementContext statementContext,
+            SecondLevelCache secondLevelCache) {
         this.settings = settings;
+        this.environment = environment;
+        this.endpoints = endpoints;
         this.dispatcher = dispatcher;
         this.resolver = new MetadataResolver(statementContext);
         this.cache = new LRUCache<>(FIRST_LEVEL_CACHE_SIZE);
+        this.secondLevelCache = secondLevelCache;
         this.processedAddresses = new HashMap<>();
+        this.inFlight = new HashMap<>();
+        this.batchStrategy = RrdBatchStrategy.adaptive();
 
         cache.addRemovalHandler((address, __) -> logger.debug("LRU metadata for %s has been removed", address));
     }
 
     // ------------------------------------------------------ api
 
+    /** Replaces the strategy used to batch the {@code read-resource-description} operations of subsequent lookups. */
+    public void batchStrategy(RrdBatchStrategy batchStrategy) {
+        this.batchStrategy = batchStrategy;
+    }
+
     /**
-     * Performs a parallel lookup for metadata based on a list of address templates. Each template in the list is processed and
-     * the associated metadata is retrieved.
+     * Performs a lookup for metadata based on a list of address templates. Templates with cached metadata are skipped.
+     * Templates which are already being looked up join the pending lookups. The metadata for the remaining templates is
+     * looked up at once.
      *
      * @param templates the list of address templates to perform the lookup for
      * @return a Promise that resolves to {@code Void} when all lookups have been completed
      */
     public Promise<Void> lookup(List<AddressTemplate> templates) {
-        List<Task<FlowContext>> tasks = templates.stream()
-                .map(template -> (Task<FlowContext>) context -> lookup(template).then(__ -> context.resolve()))
+        return lookup(templates, MetadataProfile.FULL);
+    }
+
+    /**
+     * Performs a lookup for metadata of the given profile based on a list of address templates. Templates with cached
+     * metadata which includes the profile are skipped. Templates which are already being looked up join the pending lookups.
+     * The (missing parts of the) metadata for the remaining templates is looked up at once.
+     *
+     * @param templates the list of address templates to perform the lookup for
+     * @param profile   the parts of the metadata to look up
+     * @return a Promise that resolves to {@code Void} when all lookups have been completed
+     */
+    public Promise<Void> lookup(List<AddressTemplate> templates, MetadataProfile profile) {
+        List<Promise<Metadata>> promises = new ArrayList<>();
+        Map<String, AddressTemplate> missing = new LinkedHashMap<>();
+        for (AddressTemplate template : templates) {
+            String address = resolveTemplate(template);
+            if (internalGet(address, profile) != null) {
+                continue;
+            }
+            Set<String> processed = processedInCache(address);
+            if (processed.size() > 1) {
+                continue;
+            } else if (processed.size() == 1) {
+                address = processed.iterator().next();
+                if (internalGet(address, profile) != null) {
+                    continue;
+                }
+            }
+            Promise<Metadata> pending = pending(address, profile);
+            if (pending != null) {
+                logger.debug("Join pending lookup for %s → %s", template, address);
+                promises.add(pending);
+            } else {
+                missing.putIfAbsent(address, template);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Promise<Void> load = load(missing.keySet(), profile, CancellationToken.NONE, Lane.INTERACTIVE);
+            for (Map.Entry<String, AddressTemplate> entry : missing.entrySet()) {
+                AddressTemplate template = entry.getValue();
+                promises.add(register(inFlightKey(entry.getKey(), profile),
+                        load.then(__ -> Promise.resolve(get(template)))));
+            }
+        }
+        if (promises.isEmpty()) {
+            return Promise.resolve((Void) null);
+        }
+        List<Task<FlowContext>> tasks = promises.stream()
+                .map(promise -> (Task<FlowContext>) context -> promise.then(__ -> context.resolve()))
                 .collect(toList());
         return parallel(new FlowContext(), tasks).then(context -> Promise.resolve((Void) null));
     }
 
+    /**
+     * Reads the metadata for the given address templates in the {@linkplain Lane#BACKGROUND background lane}. Templates with
+     * cached metadata and templates which are already being looked up are skipped. Unlike {@link #lookup(List)}, prefetches
+     * are not shared with other lookups: Interactive lookups for the same templates never wait for a prefetch, and the
+     * prefetch can be cancelled without affecting them.
+     *
+     * @param templates the list of address templates to prefetch
+     * @param token     the token to cancel the prefetch
+     * @return a Promise that resolves to {@code Void} when the metadata has been read, or which is rejected with
+     * {@link CancellationToken#CANCELLED} if the token has been cancelled
+     */
+    public Promise<Void> prefetch(List<AddressTemplate> templates, CancellationToken token) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (AddressTemplate template : templates) {
+            String address = resolveTemplate(template);
+            if (!cached(address) && pending(address, MetadataProfile.FULL) == null) {
+                missing.add(address);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Promise.resolve((Void) null);
+        }
+        logger.debug("Prefetch metadata for %s", missing);
+        return load(missing, MetadataProfile.FULL, token, Lane.BACKGROUND);
+    }
+
     /**
      * Performs a lookup for metadata based on the given address template.
      *
@@ -142,22 +281,33 @@ public class MetadataRepository {
      * @return a Promise representing the lookup result, containing the metadata associated with the address template
      */
     public Promise<Metadata> lookup(AddressTemplate template) {
+        return lookup(template, MetadataProfile.FULL);
+    }
+
+    /**
+     * Performs a lookup for metadata of the given profile based on the given address template. If the cached metadata
+     * doesn't include the profile, the missing parts are read and merged into the cached metadata. Upgrading to
+     * {@link MetadataProfile#FULL} reads the full description again, see {@link MetadataProfile}.
+     *
+     * @param template the address template to perform the lookup for
+     * @param profile  the parts of the metadata to look up
+     * @return a Promise representing the lookup result, containing the metadata associated with the address template
+     */
+    public Promise<Metadata> lookup(AddressTemplate template, MetadataProfile profile) {
         String address = resolveTemplate(template);
-        Metadata metadata = internalGet(address);
+        Metadata metadata = internalGet(address, profile);
         if (metadata != null) {
             logger.debug("Lookup metadata for %s → %s from cache", template, address);
             return Promise.resolve(metadata);
         } else {
             Set<String> processed = processedInCache(address);
             if (processed.isEmpty()) {
-                logger.debug("Process metadata for %s → %s", template, address);
-                return process(template, singleton(address));
+                return singleFlight(template, address, profile);
             } else if (processed.size() == 1) {
                 address = processed.iterator().next();
-                metadata = internalGet(address);
+                metadata = internalGet(address, profile);
                 if (metadata == null) {
-                    logger.debug("Process metadata for %s → %s", template, address);
-                    return process(template, singleton(address));
+                    return singleFlight(template, address, profile);
                 } else {
                     logger.debug("Lookup metadata for %s → %s from cache", template, address);
                     return Promise.resolve(metadata);
@@ -245,7 +395,13 @@ public class MetadataRepository {
         if (instance != null) {
             StringBuilder builder = new StringBuilder("{\"firstLevelCache\": ")
                     .append(instance.cache.size())
-                    .append(", \"secondLevelCache\": 0, \"entries\": [");
+                    .append(", \"secondLevelCache\": \"")
+                    .append(instance.secondLevelCache.getClass().getSimpleName())
+                    .append("\", \"batchStrategy\": \"")
+                    .append(instance.batchStrategy)
+                    .append("\", \"stats\": ")
+                    .append(statsJson(instance.cache.stats()))
+                    .append(", \"entries\": [");
             for (Iterator<Map.Entry<String, LRUCache.Node<String, Metadata>>> iterator = instance.cache.entries().iterator();
                     iterator.hasNext(); ) {
                 Map.Entry<String, LRUCache.Node<String, Metadata>> entry = iterator.next();
@@ -279,30 +435,250 @@ public class MetadataRepository {
         }
     }
 
+    private static String statsJson(CacheStats stats) {
+        return "{\"hits\": " + stats.hitCount() +
+                ", \"misses\": " + stats.missCount() +
+                ", \"evictions\": " + stats.evictionCount() +
+                ", \"loads\": " + stats.loadCount() +
+                ", \"loadTime\": " + stats.totalLoadTime() + "}";
+    }
+
     // ------------------------------------------------------ internal
 
     void addMetadata(Metadata metadata) {
-        logger.debug("Add metadata for %s", metadata.resourceAddress());
+        if (cache.contains(metadata.address())) {
+            Metadata existing = cache.get(metadata.address());
+            if (!metadata.profile().includes(existing.profile())) {
+                // e.g. a lookup of attributes finished after a lookup of the full metadata
+                logger.debug("Keep metadata for %s: Cached profile %s includes %s", metadata.address(), existing.profile(),
+                        metadata.profile());
+                return;
+            }
+        }
+        logger.debug("Add metadata for %s (%s)", metadata.resourceAddress(), metadata.profile());
         cache.put(metadata.address(), metadata);
+        secondLevelCache.put(metadata);
     }
 
     void addProcessedAddresses(String address, Set<String> processedAddresses) {
         logger.debug("Add processed addresses %s → %s", address, processedAddresses);
-        this.processedAddresses.computeIfAbsent(address, k -> new HashSet<>()).addAll(processedAddresses);
+        Set<String> processed = this.processedAddresses.computeIfAbsent(address, k -> new HashSet<>());
+        processed.addAll(processedAddresses);
+        secondLevelCache.putProcessed(address, new HashSet<>(processed));
+    }
+
+    /** Returns the cached metadata for the given template or {@code null}. Unlike {@link #get(AddressTemplate)}, logs nothing. */
+    Metadata peek(AddressTemplate template) {
+        String address = resolveTemplate(template);
+        Metadata metadata = internalGet(address);
+        if (metadata == null) {
+            Set<String> processed = processedInCache(address);
+            if (processed.size() == 1) {
+                metadata = internalGet(processed.iterator().next());
+            }
+        }
+        return metadata;
+    }
+
+    /** Returns whether there's no need to read the metadata for the given template. */
+    boolean cached(AddressTemplate template) {
+        return cached(resolveTemplate(template));
+    }
+
+    private boolean cached(String address) {
+        if (cache.contains(address)) {
+            return true;
+        }
+        Set<String> processed = processedInCache(address);
+        return processed.size() > 1 || (processed.size() == 1 && cache.contains(processed.iterator().next()));
     }
 
     private Set<String> processedInCache(String address) {
         return processedAddresses.getOrDefault(address, emptySet());
     }
 
-    private Promise<Metadata> process(AddressTemplate template, Set<String> addresses) {
-        String timer = logger.timeInfo("Metadata processing for " + template.template + " → " + addresses);
+    private Promise<Metadata> singleFlight(AddressTemplate template, String address, MetadataProfile profile) {
+        Promise<Metadata> pending = pending(address, profile);
+        if (pending != null) {
+            logger.debug("Join pending lookup for %s → %s", template, address);
+            return pending;
+        }
+        return register(inFlightKey(address, profile),
+                load(singleton(address), profile, CancellationToken.NONE, Lane.INTERACTIVE)
+                        .then(__ -> Promise.resolve(get(template))));
+    }
+
+    /** Returns a pending lookup for the given address whose profile includes the given profile, or {@code null}. */
+    private Promise<Metadata> pending(String address, MetadataProfile profile) {
+        if (!inFlight.isEmpty()) {
+            for (MetadataProfile pendingProfile : MetadataProfile.values()) {
+                if (pendingProfile.includes(profile)) {
+                    Promise<Metadata> pending = inFlight.get(inFlightKey(address, pendingProfile));
+                    if (pending != null) {
+                        return pending;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String inFlightKey(String address, MetadataProfile profile) {
+        return profile.name() + ":" + address;
+    }
+
+    private Promise<Metadata> register(String key, Promise<Metadata> promise) {
+        Promise<Metadata> shared = promise.then(
+                metadata -> {
+                    inFlight.remove(key);
+                    return Promise.resolve(metadata);
+                },
+                error -> {
+                    inFlight.remove(key);
+                    return Promise.reject(error);
+                });
+        inFlight.put(key, shared);
+        return shared;
+    }
+
+    /**
+     * Loads the metadata for the given addresses from the second level cache and processes the remaining addresses.
+     * Metadata in the second level cache which doesn't include the profile is used as a base for reading the missing parts.
+     */
+    private Promise<Void> load(Set<String> addresses, MetadataProfile profile, CancellationToken token, Lane lane) {
+        return new Promise<>((resolve, reject) -> whenOpen(() -> fromSecondLevelCache(addresses, profile, misses -> {
+            if (misses.isEmpty()) {
+                resolve.onInvoke((Void) null);
+            } else {
+                process(misses, profile, token, lane)
+                        .then(__ -> {
+                            resolve.onInvoke((Void) null);
+                            return null;
+                        })
+                        .catch_(error -> {
+                            reject.onInvoke(error);
+                            return null;
+                        });
+            }
+        })));
+    }
+
+    /**
+     * Opens the second level cache for the current scope unless it's already open and runs the given callback once the cache
+     * is ready. Lookups which are started while the cache is being opened share the pending open.
+     */
+    private void whenOpen(Runnable ready) {
+        // the scope changes when connecting to another endpoint or after a management model upgrade
+        MetadataScope scope = MetadataScope.of(endpoints, environment, settings);
+        if (opening != null && scope.equals(openingScope)) {
+            opening.add(ready);
+        } else if (opening == null && scope.equals(secondLevelCache.scope())) {
+            ready.run();
+        } else {
+            logger.debug("Open second level cache for %s", scope);
+            List<Runnable> callbacks = new ArrayList<>();
+            callbacks.add(ready);
+            opening = callbacks;
+            openingScope = scope;
+            secondLevelCache.open(scope, () -> {
+                if (opening == callbacks) {
+                    opening = null;
+                    openingScope = null;
+                }
+                callbacks.forEach(Runnable::run);
+            });
+        }
+    }
+
+    /**
+     * Reads the metadata for the given addresses from the second level cache into the first level cache. The second level
+     * cache must be open.
+     *
+     * @param callback called with the addresses whose metadata is missing or doesn't include the given profile
+     */
+    void fromSecondLevelCache(Set<String> addresses, MetadataProfile profile, Consumer<Set<String>> callback) {
+        Set<String> misses = new LinkedHashSet<>();
+        int[] pending = {addresses.size()};
+        for (String address : addresses) {
+            fromSecondLevelCache(address, profile, hit -> {
+                if (!hit) {
+                    misses.add(address);
+                }
+                pending[0]--;
+                if (pending[0] == 0) {
+                    callback.accept(misses);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the metadata for the given address from the second level cache into the first level cache. If there's no
+     * metadata for the address, the metadata of its processed addresses is read instead (e.g. {@code subsystem=*} →
+     * {@code subsystem=io}, {@code subsystem=logging}, ...).
+     *
+     * @param callback called with {@code true} if all metadata has been found and includes the given profile
+     */
+    private void fromSecondLevelCache(String address, MetadataProfile profile, Consumer<Boolean> callback) {
+        secondLevelCache.get(address, metadata -> {
+            if (metadata != null) {
+                callback.accept(promote(metadata, profile));
+            } else {
+                secondLevelCache.getProcessed(address, processed -> {
+                    if (processed.isEmpty()) {
+                        callback.accept(false);
+                        return;
+                    }
+                    boolean[] complete = {true};
+                    int[] pending = {processed.size()};
+                    for (String processedAddress : processed) {
+                        secondLevelCache.get(processedAddress, processedMetadata -> {
+                            complete[0] &= processedMetadata != null && promote(processedMetadata, profile);
+                            pending[0]--;
+                            if (pending[0] == 0) {
+                                if (complete[0]) {
+                                    processedAddresses.computeIfAbsent(address, k -> new HashSet<>()).addAll(processed);
+                                }
+                                callback.accept(complete[0]);
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+
+    /** Adds the given metadata to the first level cache and returns whether it includes the given profile. */
+    private boolean promote(Metadata metadata, MetadataProfile profile) {
+        logger.debug("Lookup metadata for %s from second level cache", metadata.address());
+        Metadata cached = cache.contains(metadata.address()) ? cache.get(metadata.address()) : null;
+        if (cached == null || !cached.profile().includes(metadata.profile())) {
+            cache.put(metadata.address(), metadata);
+        }
+        return metadata.profile().includes(profile);
+    }
+
+    private Promise<ProcessingContext> process(Set<String> addresses, MetadataProfile profile, CancellationToken token,
+            Lane lane) {
+        logger.debug("Process %s metadata for %s", profile, addresses);
+        Map<String, Metadata> cached = new HashMap<>();
+        for (String address : addresses) {
+            Metadata metadata = internalGet(address);
+            if (metadata != null) {
+                cached.put(address, metadata);
+            }
+        }
+        String timer = logger.timeInfo("Metadata processing for " + addresses);
+        long start = System.currentTimeMillis();
         List<Task<ProcessingContext>> tasks = new ArrayList<>();
-        tasks.add(new RrdTask(settings, dispatcher));
+        tasks.add(new RrdTask(settings, dispatcher, batchStrategy, token, lane));
         tasks.add(new UpdateTask(this));
-        return sequential(new ProcessingContext(template, addresses), tasks)
-                .then(context -> Promise.resolve(get(template)))
-                .finally_(() -> logger.timeEnd(timer));
+        return sequential(new ProcessingContext(addresses, profile, cached), tasks)
+                .promise()
+                .finally_(() -> {
+                    cache.recordLoad(System.currentTimeMillis() - start);
+                    logger.timeEnd(timer);
+                });
     }
 
     private String resolveTemplate(AddressTemplate template) {
@@ -312,4 +688,9 @@ public class MetadataRepository {
     private Metadata internalGet(String address) {
         return cache.get(address);
     }
+
+    private Metadata internalGet(String address, MetadataProfile profile) {
+        Metadata metadata = cache.get(address);
+        return metadata != null && metadata.profile().includes(profile) ? metadata : null;
+    }
 }
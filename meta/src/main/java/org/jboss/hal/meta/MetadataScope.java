@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.jboss.hal.env.Endpoints;
+import org.jboss.hal.env.Environment;
+import org.jboss.hal.env.Settings;
+
+/**
+ * Identifies the metadata stored in a {@link SecondLevelCache}. Metadata depends on the management endpoint, the management
+ * model version, the locale used for the descriptions and the access control identity of the current user.
+ * <p>
+ * Cache keys are built as {@code <endpoint>|<management-version>|<locale>|<identity>|<address>}. The processed addresses of
+ * an address are stored under {@code <endpoint>|<management-version>|<locale>|<identity>|<address>|processed}. Keys which
+ * belong to the same endpoint but to a different management model version are {@linkplain #stale(String) stale} and must be
+ * removed.
+ *
+ * @param endpoint          the management endpoint URL
+ * @param managementVersion the management model version of the connected instance
+ * @param locale            the language used for the descriptions
+ * @param identity          the access control identity of the current user
+ */
+public record MetadataScope(String endpoint, String managementVersion, String locale, String identity) {
+
+    private static final String SEPARATOR = "|";
+    private static final String PROCESSED = "processed";
+
+    /** Creates a scope based on the current endpoint, environment and settings. */
+    public static MetadataScope of(Endpoints endpoints, Environment environment, Settings settings) {
+        return new MetadataScope(endpoints.dmr(), environment.managementVersion().toString(), settings.locale().language,
+                environment.accessControlProvider().name() + ":" + environment.identity());
+    }
+
+    /** Returns the cache key for the given (resolved) address. */
+    public String key(String address) {
+        return prefix() + address;
+    }
+
+    /** Returns the cache key for the processed addresses of the given (resolved) address. */
+    public String processedKey(String address) {
+        return key(address) + SEPARATOR + PROCESSED;
+    }
+
+    /** Returns the prefix shared by all keys of this scope. */
+    public String prefix() {
+        return endpointPrefix() + managementVersion + SEPARATOR + locale + SEPARATOR + identity + SEPARATOR;
+    }
+
+    /** Returns the prefix shared by all keys of the endpoint of this scope (regardless of version, locale, and identity). */
+    public String endpointPrefix() {
+        return endpoint + SEPARATOR;
+    }
+
+    /**
+     * Returns {@code true} if the given key belongs to the endpoint of this scope, but to a different management model version.
+     */
+    public boolean stale(String key) {
+        return key.startsWith(endpointPrefix()) && !key.startsWith(endpointPrefix() + managementVersion + SEPARATOR);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Selects the templates whose metadata is likely needed next. Given the template the user navigated to, the candidates are
+ * taken from these sources in this order:
+ * <ol>
+ *     <li>templates which have been visited after the current template in the past</li>
+ *     <li>children of the current template, i.e. {@code current/child-type=*}</li>
+ *     <li>siblings of the current template, i.e. {@code parent/other-child-type=*}</li>
+ *     <li>the most frequently visited templates</li>
+ * </ol>
+ * Duplicates, the current template and templates with cached metadata are skipped. The selection stops once the budget is
+ * used up. The child types are provided by a function, which returns an empty collection if the child types are not (yet)
+ * known.
+ */
+final class PrefetchCandidates {
+
+    private final UsageLog usageLog;
+    private final Function<AddressTemplate, Collection<String>> childTypes;
+    private final Predicate<AddressTemplate> cached;
+
+    PrefetchCandidates(UsageLog usageLog, Function<AddressTemplate, Collection<String>> childTypes,
+            Predicate<AddressTemplate> cached) {
+        this.usageLog = usageLog;
+        this.childTypes = childTypes;
+        this.cached = cached;
+    }
+
+    List<AddressTemplate> select(AddressTemplate current, int budget) {
+        Selection selection = new Selection(current, budget);
+        for (AddressTemplate successor : usageLog.successors(current)) {
+            if (!selection.add(successor)) {
+                return selection.templates;
+            }
+        }
+        for (String childType : childTypes.apply(current)) {
+            if (!selection.add(current.append(childType, "*"))) {
+                return selection.templates;
+            }
+        }
+        if (!current.isEmpty()) {
+            AddressTemplate parent = current.parent();
+            String key = current.last().key;
+            for (String childType : childTypes.apply(parent)) {
+                if (!childType.equals(key) && !selection.add(parent.append(childType, "*"))) {
+                    return selection.templates;
+                }
+            }
+        }
+        for (AddressTemplate frequent : usageLog.frequent(UsageLog.CAPACITY)) {
+            if (!selection.add(frequent)) {
+                return selection.templates;
+            }
+        }
+        return selection.templates;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private final class Selection {
+
+        final List<AddressTemplate> templates;
+        final Set<String> seen;
+        final int budget;
+
+        Selection(AddressTemplate current, int budget) {
+            this.templates = new ArrayList<>(budget);
+            this.seen = new HashSet<>();
+            this.budget = budget;
+            seen.add(current.template);
+        }
+
+        /** Adds the template unless it's a duplicate or cached. Returns {@code false} once the budget is used up. */
+        boolean add(AddressTemplate template) {
+            if (templates.size() < budget && seen.add(template.template) && !cached.test(template)) {
+                templates.add(template);
+            }
+            return templates.size() < budget;
+        }
+    }
+}
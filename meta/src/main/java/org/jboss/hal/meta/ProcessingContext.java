@@ -15,18 +15,26 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.elemento.flow.FlowContext;
 
-/** Flow context carrying the addresses to process and the accumulated {@link RrdResult} during metadata retrieval. */
+/**
+ * Flow context carrying the addresses to process, the requested {@link MetadataProfile}, the already cached metadata of the
+ * addresses and the accumulated {@link RrdResult} during metadata retrieval.
+ */
 class ProcessingContext extends FlowContext {
 
     final Set<String> addresses;
+    final MetadataProfile profile;
+    final Map<String, Metadata> cached;
     final RrdResult rrdResult;
 
-    ProcessingContext(AddressTemplate template, Set<String> addresses) {
+    ProcessingContext(Set<String> addresses, MetadataProfile profile, Map<String, Metadata> cached) {
         this.addresses = addresses;
+        this.profile = profile;
+        this.cached = cached;
         this.rrdResult = new RrdResult();
     }
 }
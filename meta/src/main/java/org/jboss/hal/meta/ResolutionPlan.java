@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled resolution of the placeholders in an {@link AddressTemplate} against a {@link StatementContext}.
+ * <p>
+ * The plan is computed once per template and records which segments are static and which placeholders the other segments
+ * need. The resolved template is memoised against the {@linkplain StatementContext#version() version} and the operation mode
+ * of the statement context. As long as neither changes, {@link #resolve(StatementContext)} returns the same template without
+ * looking at the segments again.
+ */
+final class ResolutionPlan {
+
+    private final AddressTemplate template;
+    private final Placeholder[] placeholders;
+    private int version;
+    private boolean standalone;
+    private AddressTemplate resolved;
+    private int resolutions;
+
+    ResolutionPlan(AddressTemplate template) {
+        this.template = template;
+        this.placeholders = new Placeholder[template.size()];
+        for (int i = 0; i < placeholders.length; i++) {
+            Segment segment = template.segment(i);
+            if (segment.containsPlaceholder()) {
+                placeholders[i] = segment.placeholder();
+            }
+        }
+    }
+
+    AddressTemplate resolve(StatementContext context) {
+        if (resolved == null || version != context.version() || standalone != context.standalone()) {
+            version = context.version();
+            standalone = context.standalone();
+            resolved = AddressTemplate.of(segments(context));
+            resolutions++;
+        }
+        return resolved;
+    }
+
+    private List<Segment> segments(StatementContext context) {
+        List<Segment> segments = new ArrayList<>(placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            Segment segment = template.segment(i);
+            Placeholder segmentPlaceholder = placeholders[i];
+            if (segmentPlaceholder == null) {
+                segments.add(segment);
+            } else if (!(standalone && segmentPlaceholder.domainOnly)) {
+                Placeholder statementPlaceholder = context.placeholder(segmentPlaceholder.name);
+                String resolvedValue = context.value(statementPlaceholder);
+                if (resolvedValue != null) {
+                    if (segment.hasKey()) {
+                        // key={placeholder}
+                        segments.add(new Segment(segment.key, resolvedValue));
+                    } else {
+                        // {placeholder}
+                        segments.add(new Segment(statementPlaceholder.resource, resolvedValue));
+                    }
+                } else {
+                    segments.add(segment);
+                }
+            }
+        }
+        return segments;
+    }
+
+    // for testing purposes
+    int resolutions() {
+        return resolutions;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Splits the addresses of a metadata lookup into batches and keeps up to {@link RrdBatchStrategy#maxInFlight()} batches in
+ * flight. The batches are sized by the estimated response weight as returned by {@link RrdBatchStrategy#weigh(String)}.
+ * Heavy addresses are scheduled first, so that they don't end up in the last round trip.
+ * <p>
+ * The scheduler doesn't know anything about operations or promises. Batches are executed by a {@link BatchExecutor}, which
+ * reports the outcome using a {@link BatchCallback}. A scheduler is meant to be used for one lookup only.
+ */
+class RrdBatchScheduler {
+
+    private final RrdBatchStrategy strategy;
+    private final BatchExecutor executor;
+    private final LongSupplier clock;
+    private final Deque<Item> queue;
+    private Runnable onComplete;
+    private Consumer<Object> onError;
+    private int inFlight;
+    private int roundTrips;
+    private boolean failed;
+    private boolean completed;
+
+    RrdBatchScheduler(RrdBatchStrategy strategy, BatchExecutor executor) {
+        this(strategy, executor, System::currentTimeMillis);
+    }
+
+    // for testing purposes
+    RrdBatchScheduler(RrdBatchStrategy strategy, BatchExecutor executor, LongSupplier clock) {
+        this.strategy = strategy;
+        this.executor = executor;
+        this.clock = clock;
+        this.queue = new ArrayDeque<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Executes the given addresses in batches. {@code onComplete} is called once all batches have been executed,
+     * {@code onError} is called once for the first failed batch. No further batches are started after a failure.
+     */
+    void execute(Collection<String> addresses, Runnable onComplete, Consumer<Object> onError) {
+        this.onComplete = onComplete;
+        this.onError = onError;
+        List<Item> items = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            items.add(new Item(address, Math.max(1, strategy.weigh(address))));
+        }
+        items.sort(comparingLong(Item::weight).reversed()); // stable, keeps the order of equally weighted addresses
+        queue.addAll(items);
+        if (queue.isEmpty()) {
+            onComplete.run();
+        } else {
+            pump();
+        }
+    }
+
+    /** The number of batches sent so far. */
+    int roundTrips() {
+        return roundTrips;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void pump() {
+        while (!failed && !queue.isEmpty() && inFlight < Math.max(1, strategy.maxInFlight())) {
+            List<String> batch = new ArrayList<>();
+            long weight = 0;
+            long maxWeight = strategy.maxBatchWeight();
+            while (!queue.isEmpty() && (batch.isEmpty() || weight + queue.peekFirst().weight() <= maxWeight)) {
+                Item item = queue.pollFirst();
+                batch.add(item.address());
+                weight += item.weight();
+            }
+            send(batch, weight);
+        }
+        // executors may call back synchronously, so make sure to complete only once
+        if (!failed && !completed && queue.isEmpty() && inFlight == 0) {
+            completed = true;
+            onComplete.run();
+        }
+    }
+
+    private void send(List<String> batch, long weight) {
+        inFlight++;
+        roundTrips++;
+        long start = clock.getAsLong();
+        executor.execute(batch, new BatchCallback() {
+            @Override
+            public void onSuccess(int results) {
+                inFlight--;
+                strategy.onResponse(batch.size(), weight, results, clock.getAsLong() - start);
+                pump();
+            }
+
+            @Override
+            public void onError(Object error) {
+                inFlight--;
+                if (!failed) {
+                    failed = true;
+                    queue.clear();
+                    onError.accept(error);
+                }
+            }
+        });
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Executes one batch of {@code read-resource-description} operations. */
+    @FunctionalInterface
+    interface BatchExecutor {
+
+        void execute(List<String> addresses, BatchCallback callback);
+    }
+
+    /** Reports the outcome of one batch. */
+    interface BatchCallback {
+
+        /** @param results the number of resource descriptions parsed from the response */
+        void onSuccess(int results);
+
+        void onError(Object error);
+    }
+
+    private record Item(String address, long weight) {}
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+/**
+ * Policy which decides how the {@code read-resource-description} operations of a metadata lookup are batched into composite
+ * operations and how many composites are executed concurrently.
+ * <p>
+ * A strategy is kept by the {@link MetadataRepository} for the whole session. Adaptive strategies use
+ * {@link #onResponse(int, long, int, long)} to adjust the batch size based on the observed latency and payload size.
+ * Implementations don't need to be thread-safe.
+ */
+public interface RrdBatchStrategy {
+
+    /** Returns the adaptive default strategy. */
+    static RrdBatchStrategy adaptive() {
+        return new AdaptiveRrdBatchStrategy();
+    }
+
+    /**
+     * Returns a strategy which always puts {@code batchSize} operations into one composite and executes up to
+     * {@code maxInFlight} composites concurrently.
+     */
+    static RrdBatchStrategy fixed(int batchSize, int maxInFlight) {
+        return new RrdBatchStrategy() {
+            @Override
+            public int maxInFlight() {
+                return maxInFlight;
+            }
+
+            @Override
+            public long maxBatchWeight() {
+                return batchSize;
+            }
+
+            @Override
+            public long weigh(String address) {
+                return 1;
+            }
+
+            @Override
+            public void onResponse(int operations, long weight, int results, long latency) {
+                // fixed strategy, nothing to adjust
+            }
+        };
+    }
+
+    /** The maximum number of composite operations which are executed concurrently. */
+    int maxInFlight();
+
+    /**
+     * The maximum estimated response weight of one composite operation. A composite always contains at least one operation,
+     * even if the weight of that operation exceeds this value.
+     */
+    long maxBatchWeight();
+
+    /** Estimates the response weight of the {@code read-resource-description} operation for the given (resolved) address. */
+    long weigh(String address);
+
+    /**
+     * Called after a batch has been executed successfully.
+     *
+     * @param operations the number of operations in the batch
+     * @param weight     the estimated weight of the batch
+     * @param results    the number of resource descriptions in the response
+     * @param latency    the time in milliseconds between sending the request and parsing the response
+     */
+    void onResponse(int operations, long weight, int results, long latency);
+}
@@ -59,6 +59,6 @@ class RrdResult {
     }
 
     boolean shouldUpdate() {
-        return !resourceDescriptions.isEmpty() || !processedAddresses.isEmpty();
+        return !resourceDescriptions.isEmpty() || !securityContexts.isEmpty() || !processedAddresses.isEmpty();
     }
 }
@@ -23,100 +23,127 @@ import org.jboss.elemento.logger.Logger;
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.env.Settings;
 
 import elemental2.promise.Promise;
 
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
-import static org.jboss.elemento.flow.Flow.sequential;
-import static org.jboss.elemento.logger.Level.DEBUG;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_CONTROL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.COMBINED_DESCRIPTIONS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.LOCALE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TRIM_DESCRIPTIONS;
 import static org.jboss.hal.meta.RrdParser.parseComposite;
 import static org.jboss.hal.meta.RrdParser.parseSingle;
 
-/** Creates, executes and parses the {@code read-resource-description} operations to read metadata. */
+/**
+ * Creates, executes and parses the {@code read-resource-description} operations to read metadata. The operations are batched
+ * into composite operations and executed concurrently according to the {@link RrdBatchStrategy}.
+ * <p>
+ * The parameters of the operations depend on the requested {@link MetadataProfile} and on the profile of the metadata which
+ * is already cached: Missing parts are requested (see {@link #rrd(ResourceAddress, MetadataProfile, MetadataProfile,
+ * String)}).
+ */
 class RrdTask implements Task<ProcessingContext> {
 
     private static final Logger logger = Logger.getLogger(RrdTask.class.getName());
-    private static final int BATCH_SIZE = 3;
 
     private final Dispatcher dispatcher;
     private final Settings settings;
+    private final RrdBatchStrategy strategy;
+    private final CancellationToken token;
+    private final Lane lane;
 
-    RrdTask(Settings settings, Dispatcher dispatcher) {
+    RrdTask(Settings settings, Dispatcher dispatcher, RrdBatchStrategy strategy, CancellationToken token, Lane lane) {
         this.dispatcher = dispatcher;
         this.settings = settings;
+        this.strategy = strategy;
+        this.token = token;
+        this.lane = lane;
     }
 
     @Override
     public Promise<ProcessingContext> apply(ProcessingContext context) {
-        List<Task<ProcessingContext>> tasks = new ArrayList<>();
+        if (context.addresses.isEmpty()) {
+            logger.debug("No rrd operations necessary");
+            return Promise.resolve(context);
+        }
+        return new Promise<>((resolve, reject) -> {
+            RrdBatchScheduler scheduler = new RrdBatchScheduler(strategy,
+                    (addresses, callback) -> execute(context, addresses, callback));
+            scheduler.execute(context.addresses, () -> {
+                logger.debug("Executed %d rrd operations in %d round trips using %s",
+                        context.addresses.size(), scheduler.roundTrips(), strategy);
+                resolve.onInvoke(context);
+            }, reject::onInvoke);
+        });
+    }
 
-        // create and partition operations
-        List<Operation> operations = createRrd(context);
+    private void execute(ProcessingContext context, List<String> addresses, RrdBatchScheduler.BatchCallback callback) {
+        RrdResult rrdResult = context.rrdResult;
+        List<Operation> operations = createRrd(context, addresses);
         if (operations.size() == 1) {
             Operation operation = operations.get(0);
             logger.debug("About to execute one rrd operation: %s", operation.asCli());
-            tasks.add((ProcessingContext pc) -> dispatcher.execute(operation).then(result -> {
-                parseSingle(operation.getAddress(), result, context.rrdResult);
-                return Promise.resolve(pc);
-            }));
-
-        } else if (operations.size() <= BATCH_SIZE) {
-            Composite composite = new Composite(operations);
-            logger.debug("About to execute one composite rrd operation: %s", composite.asCli());
-            tasks.add((ProcessingContext pc) -> dispatcher.execute(composite).then(result -> {
-                parseComposite(composite, result, context.rrdResult);
-                return Promise.resolve(pc);
-            }));
-
-        } else {
-            List<List<Operation>> piles = partition(operations);
-            List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
-            if (logger.isEnabled(DEBUG)) {
-                String ops = composites.stream().map(Composite::asCli).collect(joining(", "));
-                logger.debug("About to execute %d composite rrd operations: %s", composites.size(), ops);
-            }
-            for (Composite composite : composites) {
-                tasks.add((ProcessingContext pc) -> dispatcher.execute(composite).then(result -> {
-                    parseComposite(composite, result, context.rrdResult);
-                    return Promise.resolve(pc);
-                }));
-            }
-        }
-
-        if (!tasks.isEmpty()) {
-            return sequential(context, tasks).promise();
+            dispatcher.execute(operation, token, lane).then(result -> {
+                int before = rrdResult.resourceDescriptions.size();
+                parseSingle(operation.getAddress(), result, rrdResult);
+                callback.onSuccess(rrdResult.resourceDescriptions.size() - before);
+                return null;
+            }).catch_(error -> {
+                callback.onError(error);
+                return null;
+            });
         } else {
-            logger.debug("No rrd operations necessary");
-            return Promise.resolve(context);
+            Composite composite = new Composite(operations);
+            logger.debug("About to execute composite rrd operation: %s", composite.asCli());
+            dispatcher.execute(composite, token, lane).then(result -> {
+                int before = rrdResult.resourceDescriptions.size();
+                parseComposite(composite, result, rrdResult);
+                callback.onSuccess(rrdResult.resourceDescriptions.size() - before);
+                return null;
+            }).catch_(error -> {
+                callback.onError(error);
+                return null;
+            });
         }
     }
 
-    private List<Operation> createRrd(ProcessingContext context) {
+    private List<Operation> createRrd(ProcessingContext context, List<String> addresses) {
         List<Operation> operations = new ArrayList<>();
-        for (String address : context.addresses) {
+        for (String address : addresses) {
             ResourceAddress resourceAddress = AddressTemplate.ofTrusted(address).resolve(); // to get the encoding right
-            operations.add(new Operation.Builder(resourceAddress, READ_RESOURCE_DESCRIPTION_OPERATION)
-                    .param(OPERATIONS, true)
-                    .param(ACCESS_CONTROL, COMBINED_DESCRIPTIONS)
-                    .param(LOCALE, settings.locale().language)
-                    .build());
+            Metadata cached = context.cached.get(address);
+            operations.add(rrd(resourceAddress, context.profile, cached != null ? cached.profile() : null,
+                    settings.locale().language));
         }
         return operations;
     }
 
-    private List<List<Operation>> partition(List<Operation> operations) {
-        List<List<Operation>> piles = new ArrayList<>();
-        for (int i = 0; i < operations.size(); i += BATCH_SIZE) {
-            piles.add(new ArrayList<>(operations.subList(i, Math.min(i + BATCH_SIZE, operations.size()))));
+    /**
+     * Creates the rrd operation which reads the parts of the given profile which are not part of the cached profile:
+     * <ul>
+     *     <li>Operation descriptions are only requested if they're missing.</li>
+     *     <li>If the security context is missing, it's requested using {@code access-control=combined-descriptions}. If
+     *     the descriptions themselves are already cached, {@code access-control=trim-descriptions} is used instead.</li>
+     *     <li>If the operation descriptions are requested, the security context is requested again, since a security
+     *     context read without operations doesn't contain the permissions of the operations. Together with
+     *     {@code access-control=combined-descriptions}, this reads the full description again.</li>
+     * </ul>
+     *
+     * @param cached the profile of the cached metadata or {@code null} if there's no cached metadata
+     */
+    static Operation rrd(ResourceAddress address, MetadataProfile profile, MetadataProfile cached, String locale) {
+        boolean operations = profile.operations && (cached == null || !cached.operations);
+        boolean security = profile.security && (cached == null || !cached.security || operations);
+        Operation.Builder builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
+                .param(OPERATIONS, operations);
+        if (security) {
+            builder.param(ACCESS_CONTROL, cached == null || operations ? COMBINED_DESCRIPTIONS : TRIM_DESCRIPTIONS);
         }
-        return piles;
+        return builder.param(LOCALE, locale).build();
     }
 }
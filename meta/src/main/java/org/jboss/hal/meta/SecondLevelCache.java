@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Persistent second-level cache used by the {@link MetadataRepository}. Lookups which miss the first-level cache fall through
+ * to this cache before any {@code read-resource-description} operation is executed.
+ * <p>
+ * All entries belong to a {@link MetadataScope}. Implementations must purge stale entries (entries of the same endpoint, but
+ * a different management model version) when a scope is {@linkplain #open(MetadataScope, Runnable) opened}.
+ * <p>
+ * The API is callback-based, so that implementations can be asynchronous (like {@link IndexedDbSecondLevelCache}) or
+ * synchronous (like {@link InMemorySecondLevelCache}).
+ */
+public interface SecondLevelCache {
+
+    /**
+     * Switches to the given scope and purges stale entries. Subsequent {@link #get(String, Consumer)} and
+     * {@link #put(Metadata)} calls operate on this scope.
+     *
+     * @param scope the scope to switch to
+     * @param ready called once the cache is ready to be used
+     */
+    void open(MetadataScope scope, Runnable ready);
+
+    /** Returns the current scope or {@code null} if no scope has been opened yet. */
+    MetadataScope scope();
+
+    /**
+     * Looks up the metadata for the given resolved address in the current scope.
+     *
+     * @param address  the resolved address
+     * @param callback called with the metadata or {@code null} if there's no metadata for the address
+     */
+    void get(String address, Consumer<Metadata> callback);
+
+    /** Stores the given metadata in the current scope. Writes happen in the background; callers must not wait for them. */
+    void put(Metadata metadata);
+
+    /**
+     * Looks up the processed addresses of the given resolved address in the current scope. Addresses like
+     * {@code subsystem=*} are processed to other addresses (e.g. {@code subsystem=io}), and the metadata is stored under the
+     * processed addresses.
+     *
+     * @param address  the resolved address
+     * @param callback called with the processed addresses or an empty set if there are no processed addresses
+     */
+    void getProcessed(String address, Consumer<Set<String>> callback);
+
+    /**
+     * Stores the processed addresses of the given resolved address in the current scope. Writes happen in the background;
+     * callers must not wait for them.
+     */
+    void putProcessed(String address, Set<String> processed);
+
+    /** Removes all entries of all scopes. */
+    void clear();
+}
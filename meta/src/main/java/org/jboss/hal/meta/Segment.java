@@ -43,6 +43,8 @@ public class Segment {
     /** The resource name in decoded form, or a placeholder expression (e.g., {@code "{selected.server}"}). */
     public final String value;
 
+    private final int hash;
+
     Segment(String value) {
         this(null, value);
     }
@@ -50,6 +52,7 @@ public class Segment {
     public Segment(String key, String value) {
         this.key = key;
         this.value = value;
+        this.hash = Objects.hash(key, value);
     }
 
     /** @return whether this segment has a non-null key */
@@ -81,11 +84,11 @@ public class Segment {
         if (this == o) {return true;}
         if (o == null || getClass() != o.getClass()) {return false;}
         Segment segment = (Segment) o;
-        return Objects.equals(key, segment.key) && Objects.equals(value, segment.value);
+        return hash == segment.hash && Objects.equals(key, segment.key) && Objects.equals(value, segment.value);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(key, value);
+        return hash;
     }
 }
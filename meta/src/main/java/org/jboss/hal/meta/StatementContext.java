@@ -17,28 +17,38 @@ package org.jboss.hal.meta;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.jboss.hal.db.LRUCache;
 import org.jboss.hal.env.Environment;
 
 /**
  * Holds the current values for {@link Placeholder placeholders} used in {@link AddressTemplate address templates}.
  * Populated during navigation and used to resolve templates into concrete DMR addresses.
+ * <p>
+ * The statement context keeps a {@linkplain #version() version} which changes whenever a placeholder value changes. Resolved
+ * templates are memoised against this version in {@link ResolutionPlan}s.
  */
 @ApplicationScoped
 public class StatementContext {
 
+    static final int PLAN_CACHE_SIZE = 500;
+
     final Environment environment;
     private final Map<Placeholder, String> values;
     private final Map<String, Placeholder> placeholders;
+    private final LRUCache<AddressTemplate, ResolutionPlan> plans;
+    private int version;
 
     @Inject
     public StatementContext(Environment environment) {
         this.environment = environment;
         this.values = new HashMap<>();
         this.placeholders = new HashMap<>();
+        this.plans = new LRUCache<>(PLAN_CACHE_SIZE);
     }
 
     /** @return whether the console is connected to a standalone server */
@@ -58,8 +68,17 @@ public class StatementContext {
 
     /** Assigns a value to the given placeholder. */
     public void assign(Placeholder placeholder, String value) {
-        values.put(placeholder, value);
-        placeholders.put(placeholder.name, placeholder);
+        String oldValue = values.put(placeholder, value);
+        Placeholder oldPlaceholder = placeholders.put(placeholder.name, placeholder);
+        if (!Objects.equals(oldValue, value) || oldPlaceholder == null
+                || !Objects.equals(oldPlaceholder.resource, placeholder.resource)) {
+            version++;
+        }
+    }
+
+    /** @return a counter which changes whenever the value or resource of a placeholder changes */
+    public int version() {
+        return version;
     }
 
     /** @return the placeholder instance registered under the given name, or {@code null} */
@@ -79,4 +98,21 @@ public class StatementContext {
         }
         return null;
     }
+
+    /** Resolves the placeholders of the given template using the cached resolution plan of the template. */
+    AddressTemplate resolve(AddressTemplate template) {
+        if (!template.containsPlaceholder()) {
+            return template;
+        }
+        return plan(template).resolve(this);
+    }
+
+    ResolutionPlan plan(AddressTemplate template) {
+        ResolutionPlan plan = plans.get(template);
+        if (plan == null) {
+            plan = new ResolutionPlan(template);
+            plans.put(template, plan);
+        }
+        return plan;
+    }
 }
@@ -15,11 +15,11 @@
  */
 package org.jboss.hal.meta;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A {@link TemplateResolver} that resolves placeholders using the values stored in the {@link StatementContext}.
+ * <p>
+ * Resolvers are cheap to create: The resolution of a template is compiled once into a {@link ResolutionPlan}, which is cached
+ * by the statement context and shared by all resolvers.
  */
 public class StatementContextResolver implements TemplateResolver {
 
@@ -34,34 +34,6 @@ public class StatementContextResolver implements TemplateResolver {
 
     @Override
     public AddressTemplate resolve(AddressTemplate template) {
-        List<Segment> resolved = new ArrayList<>();
-        for (Segment segment : template) {
-            if (segment.containsPlaceholder()) {
-                Placeholder segmentPlaceholder = segment.placeholder();
-                if (statementContext.environment.standalone() && segmentPlaceholder.domainOnly) {
-                    continue;
-                }
-                Placeholder statementPlaceholder = statementContext.placeholder(segmentPlaceholder.name);
-                if (statementPlaceholder != null) {
-                    String resolvedValue = statementContext.value(statementPlaceholder);
-                    if (resolvedValue != null) {
-                        if (segment.hasKey()) {
-                            // key={placeholder}
-                            resolved.add(new Segment(segment.key, resolvedValue));
-                        } else {
-                            // {placeholder}
-                            resolved.add(new Segment(statementPlaceholder.resource, resolvedValue));
-                        }
-                    } else {
-                        resolved.add(segment);
-                    }
-                } else {
-                    resolved.add(segment);
-                }
-            } else {
-                resolved.add(segment);
-            }
-        }
-        return AddressTemplate.of(resolved);
+        return statementContext.resolve(template);
     }
 }
@@ -0,0 +1,165 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Index of values registered for {@link AddressTemplate} patterns, which finds the value of the most specific pattern matching
+ * an input template.
+ * <p>
+ * The patterns are stored in a trie with one level per segment. Each node has <em>exact</em> edges keyed by the segment and
+ * <em>wildcard</em> edges keyed by the resource type of segments with value {@code *}. Placeholders in patterns are exact edges
+ * and only match the same placeholder in the input, like in {@link TemplateMatcher}. A lookup follows the exact and the
+ * wildcard edge for each input segment, so its cost depends on the length of the input and not on the number of registered
+ * patterns.
+ * <p>
+ * The ranking is the same as in {@link TemplateMatcher#bestMatch(Iterable, java.util.function.Function, AddressTemplate)}:
+ * The longest matching prefix wins; ties are broken by the number of exact (non-wildcard) value matches and then by the order
+ * in which the values have been added.
+ *
+ * @param <T> the type of the values
+ */
+public final class TemplateIndex<T> {
+
+    private final Node<T> root;
+    private int order;
+    private int size;
+
+    public TemplateIndex() {
+        this.root = new Node<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Adds a value for the given pattern. */
+    public void add(AddressTemplate pattern, T value) {
+        addAll(singletonList(pattern), value);
+    }
+
+    /** Adds a value for several patterns. The value ranks by the best of its matching patterns. */
+    public void addAll(Collection<AddressTemplate> patterns, T value) {
+        Entry<T> entry = new Entry<>(value, order++);
+        for (AddressTemplate pattern : patterns) {
+            Node<T> node = root;
+            for (Segment segment : pattern) {
+                node = node.child(segment);
+            }
+            node.entries.add(entry);
+            size++;
+        }
+    }
+
+    /** Removes all patterns and values. */
+    public void clear() {
+        root.exact.clear();
+        root.wildcards.clear();
+        root.entries.clear();
+        order = 0;
+        size = 0;
+    }
+
+    /** @return the number of registered patterns */
+    public int size() {
+        return size;
+    }
+
+    /** @return the value of the most specific pattern matching the input, or {@link Optional#empty()} if no pattern matches */
+    public Optional<T> bestMatch(AddressTemplate input) {
+        return bestMatch(input, value -> true);
+    }
+
+    /**
+     * Returns the value of the most specific pattern matching the input among the values accepted by the filter. The filter is
+     * only called for values which would rank better than the current best value.
+     *
+     * @param input  the template to match against
+     * @param filter additional condition for the values
+     * @return the best matching value, or {@link Optional#empty()} if no accepted value matches
+     */
+    public Optional<T> bestMatch(AddressTemplate input, Predicate<T> filter) {
+        List<Match<T>> matches = new ArrayList<>();
+        collect(root, input, 0, 0, matches);
+        Match<T> best = null;
+        for (Match<T> match : matches) {
+            if ((best == null || match.betterThan(best)) && filter.test(match.entry.value)) {
+                best = match;
+            }
+        }
+        return best != null ? Optional.of(best.entry.value) : Optional.empty();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void collect(Node<T> node, AddressTemplate input, int depth, int exactValues, List<Match<T>> matches) {
+        if (depth > 0) {
+            for (Entry<T> entry : node.entries) {
+                matches.add(new Match<>(entry, depth, exactValues));
+            }
+        }
+        if (depth < input.size()) {
+            Segment segment = input.segment(depth);
+            Node<T> exact = node.exact.get(segment);
+            if (exact != null) {
+                collect(exact, input, depth + 1, exactValues + 1, matches);
+            }
+            if (segment.key != null) {
+                Node<T> wildcard = node.wildcards.get(segment.key);
+                if (wildcard != null) {
+                    collect(wildcard, input, depth + 1, exactValues, matches);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static final class Node<T> {
+
+        final Map<Segment, Node<T>> exact = new HashMap<>();
+        final Map<String, Node<T>> wildcards = new HashMap<>();
+        final List<Entry<T>> entries = new ArrayList<>();
+
+        Node<T> child(Segment segment) {
+            if (segment.key != null && "*".equals(segment.value)) {
+                return wildcards.computeIfAbsent(segment.key, k -> new Node<>());
+            }
+            return exact.computeIfAbsent(segment, s -> new Node<>());
+        }
+    }
+
+    private record Entry<T>(T value, int order) {}
+
+    private record Match<T>(Entry<T> entry, int segments, int exactValues) {
+
+        boolean betterThan(Match<T> other) {
+            if (segments != other.segments) {
+                return segments > other.segments;
+            } else if (exactValues != other.exactValues) {
+                return exactValues > other.exactValues;
+            }
+            return entry.order < other.entry.order;
+        }
+    }
+}
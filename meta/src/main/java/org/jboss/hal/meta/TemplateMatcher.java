@@ -16,7 +16,6 @@
 package org.jboss.hal.meta;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -55,16 +54,15 @@ public final class TemplateMatcher {
      * @return the match result
      */
     public static Match match(AddressTemplate pattern, AddressTemplate input) {
-        List<Segment> patternSegments = pattern.segments();
-        List<Segment> inputSegments = input.segments();
-        if (patternSegments.isEmpty() || patternSegments.size() > inputSegments.size()) {
+        int size = pattern.size();
+        if (size == 0 || size > input.size()) {
             return Match.NO_MATCH;
         }
 
         int exactValues = 0;
-        for (int i = 0; i < patternSegments.size(); i++) {
-            Segment ps = patternSegments.get(i);
-            Segment is = inputSegments.get(i);
+        for (int i = 0; i < size; i++) {
+            Segment ps = pattern.segment(i);
+            Segment is = input.segment(i);
             if (!ps.key.equals(is.key)) {
                 return Match.NO_MATCH;
             }
@@ -76,7 +74,7 @@ public final class TemplateMatcher {
             }
             exactValues++;
         }
-        return new Match(true, patternSegments.size(), exactValues);
+        return new Match(true, size, exactValues);
     }
 
     /**
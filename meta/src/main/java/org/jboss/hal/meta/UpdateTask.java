@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,7 +28,11 @@ import elemental2.promise.Promise;
 
 import static org.jboss.hal.meta.Metadata.metadata;
 
-/** Task that transfers parsed {@link RrdResult} data (resource descriptions and security contexts) into the {@link MetadataRepository}. */
+/**
+ * Task that transfers parsed {@link RrdResult} data (resource descriptions and security contexts) into the
+ * {@link MetadataRepository}. If metadata with a lesser profile is already cached, the parts read by the rrd operations are
+ * merged into the cached metadata.
+ */
 class UpdateTask implements Task<ProcessingContext> {
 
     private static final Logger logger = Logger.getLogger(UpdateTask.class.getName());
@@ -40,15 +45,13 @@ class UpdateTask implements Task<ProcessingContext> {
     @Override
     public Promise<ProcessingContext> apply(ProcessingContext context) {
         if (context.rrdResult.shouldUpdate()) {
-            for (Map.Entry<String, ResourceDescription> entry : context.rrdResult.resourceDescriptions.entrySet()) {
-                String address = entry.getKey();
-                ResourceDescription resourceDescription = entry.getValue();
-                SecurityContext securityContext = context.rrdResult.securityContexts.get(address);
-                if (securityContext == null) {
-                    logger.warn("No security context for %s in rrd results. Fallback to read-only security context.", address);
-                    securityContext = SecurityContext.READ_ONLY;
+            Set<String> addresses = new LinkedHashSet<>(context.rrdResult.resourceDescriptions.keySet());
+            addresses.addAll(context.cached.keySet());
+            for (String address : addresses) {
+                Metadata metadata = merge(address, context);
+                if (metadata != null) {
+                    metadataRepository.addMetadata(metadata);
                 }
-                metadataRepository.addMetadata(metadata(address, resourceDescription, securityContext));
             }
             for (Map.Entry<String, Set<String>> entry : context.rrdResult.processedAddresses.entrySet()) {
                 metadataRepository.addProcessedAddresses(entry.getKey(), entry.getValue());
@@ -56,4 +59,37 @@ class UpdateTask implements Task<ProcessingContext> {
         }
         return Promise.resolve(context);
     }
+
+    static Metadata merge(String address, ProcessingContext context) {
+        Metadata cached = context.cached.get(address);
+        ResourceDescription resourceDescription = context.rrdResult.resourceDescriptions.get(address);
+        SecurityContext securityContext = context.rrdResult.securityContexts.get(address);
+        boolean operations = context.profile.operations && resourceDescription != null;
+        boolean security = context.profile.security;
+
+        if (cached != null) {
+            // keep the parts which have been read before
+            if (cached.profile().operations || !operations) {
+                resourceDescription = cached.resourceDescription();
+                operations = cached.profile().operations;
+            }
+            if (cached.profile().security) {
+                // a security context which has been read together with the operations replaces the cached one,
+                // since only the new one contains the permissions of the operations
+                if (securityContext == null) {
+                    securityContext = cached.securityContext();
+                }
+                security = true;
+            }
+        } else if (resourceDescription == null) {
+            return null;
+        }
+        if (securityContext == null) {
+            if (security) {
+                logger.warn("No security context for %s in rrd results. Fallback to read-only security context.", address);
+            }
+            securityContext = SecurityContext.READ_ONLY;
+        }
+        return metadata(address, resourceDescription, securityContext, MetadataProfile.of(security, operations));
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.db.LRUCache;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Bounded log of the templates the user navigated to. For each template the log counts the visits and the templates which
+ * were visited next. The log keeps the most recently visited templates and, per template, the most frequent successors.
+ * <p>
+ * The log can be converted to and from a {@link ModelNode}, so that it can be persisted across sessions.
+ */
+final class UsageLog {
+
+    static final int CAPACITY = 200;
+    static final int SUCCESSORS = 8;
+    private static final String VISITS = "visits";
+    private static final String NEXT = "next";
+
+    private final LRUCache<String, Usage> usages;
+    private String previous;
+
+    UsageLog() {
+        this(CAPACITY);
+    }
+
+    UsageLog(int capacity) {
+        this.usages = new LRUCache<>(capacity);
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Records a visit of the given template and the transition from the previously visited template. */
+    void visit(AddressTemplate template) {
+        String current = template.template;
+        if (previous != null && !previous.equals(current)) {
+            Usage usage = usages.get(previous);
+            if (usage != null) {
+                usage.followedBy(current);
+            }
+        }
+        Usage usage = usages.get(current);
+        if (usage == null) {
+            usage = new Usage(current);
+            usages.put(current, usage);
+        }
+        usage.visits++;
+        previous = current;
+    }
+
+    /**
+     * Returns the templates which have been visited after the given template, ordered by the number of transitions. Ties are
+     * ordered by the time the transition has been recorded for the first time.
+     */
+    List<AddressTemplate> successors(AddressTemplate template) {
+        Usage usage = usages.get(template.template);
+        if (usage == null) {
+            return List.of();
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(usage.next.entrySet());
+        entries.sort(comparingInt((Map.Entry<String, Integer> entry) -> entry.getValue()).reversed());
+        List<AddressTemplate> successors = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            successors.add(AddressTemplate.ofTrusted(entry.getKey()));
+        }
+        return successors;
+    }
+
+    /**
+     * Returns the most frequently visited templates, ordered by the number of visits. Ties are ordered from the most to the
+     * least recently visited template.
+     */
+    List<AddressTemplate> frequent(int limit) {
+        List<Usage> values = usages.values(); // most recently used first
+        values.sort(comparingInt((Usage usage) -> usage.visits).reversed());
+        List<AddressTemplate> frequent = new ArrayList<>(Math.min(limit, values.size()));
+        for (int i = 0; i < values.size() && i < limit; i++) {
+            frequent.add(AddressTemplate.ofTrusted(values.get(i).template));
+        }
+        return frequent;
+    }
+
+    int size() {
+        return usages.size();
+    }
+
+    // ------------------------------------------------------ persistence
+
+    ModelNode toModelNode() {
+        ModelNode modelNode = new ModelNode();
+        List<Usage> values = usages.values();
+        // least recently used first, so that fromModelNode() restores the order
+        for (int i = values.size() - 1; i >= 0; i--) {
+            Usage usage = values.get(i);
+            ModelNode node = new ModelNode();
+            node.get(VISITS).set(usage.visits);
+            ModelNode next = node.get(NEXT).setEmptyObject();
+            for (Map.Entry<String, Integer> entry : usage.next.entrySet()) {
+                next.get(entry.getKey()).set(entry.getValue());
+            }
+            modelNode.get(usage.template).set(node);
+        }
+        return modelNode;
+    }
+
+    static UsageLog fromModelNode(ModelNode modelNode) {
+        UsageLog log = new UsageLog();
+        if (modelNode.isDefined()) {
+            for (Property property : modelNode.asPropertyList()) {
+                Usage usage = new Usage(property.getName());
+                usage.visits = property.getValue().get(VISITS).asInt(0);
+                if (property.getValue().hasDefined(NEXT)) {
+                    for (Property next : property.getValue().get(NEXT).asPropertyList()) {
+                        usage.next.put(next.getName(), next.getValue().asInt(0));
+                    }
+                }
+                log.usages.put(property.getName(), usage);
+            }
+        }
+        return log;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static final class Usage {
+
+        final String template;
+        final Map<String, Integer> next;
+        int visits;
+
+        Usage(String template) {
+            this.template = template;
+            this.next = new LinkedHashMap<>();
+        }
+
+        void followedBy(String template) {
+            Integer count = next.get(template);
+            if (count != null) {
+                next.put(template, count + 1);
+            } else {
+                if (next.size() == SUCCESSORS) {
+                    String rarest = null;
+                    int min = Integer.MAX_VALUE;
+                    for (Map.Entry<String, Integer> entry : next.entrySet()) {
+                        if (entry.getValue() < min) {
+                            rarest = entry.getKey();
+                            min = entry.getValue();
+                        }
+                    }
+                    next.remove(rarest);
+                }
+                next.put(template, 1);
+            }
+        }
+    }
+}
@@ -28,13 +28,16 @@ import org.jboss.hal.dmr.Property;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_CONSTRAINTS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTE_GROUP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CONFIGURATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.EXPRESSIONS_ALLOWED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.METRIC;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NILLABLE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ONLY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SENSITIVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STORAGE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.UNIT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.VALUE_TYPE;
@@ -101,6 +104,19 @@ public class AttributeDescription extends NamedNode implements Description {
                 (READ_ONLY.equals(get(ACCESS_TYPE).asString()) || METRIC.equals(get(ACCESS_TYPE).asString()));
     }
 
+    /** @return the storage of this attribute: {@code configuration} (the default) or {@code runtime} */
+    public String storage() {
+        return hasDefined(STORAGE) ? get(STORAGE).asString() : CONFIGURATION;
+    }
+
+    /**
+     * @return whether the value of this attribute is computed at runtime ({@code storage=runtime}) and only returned by
+     * {@code read-resource(include-runtime=true)}
+     */
+    public boolean runtime() {
+        return RUNTIME.equals(storage());
+    }
+
     /** @return whether this attribute is required */
     public boolean required() {
         return failSafeBoolean(REQUIRED);
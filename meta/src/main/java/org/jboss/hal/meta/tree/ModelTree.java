@@ -29,7 +29,9 @@ import org.jboss.elemento.logger.Logger;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.CacheMode;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Segment;
 import org.jboss.hal.meta.StatementContext;
@@ -44,9 +46,8 @@ import static org.jboss.elemento.logger.Level.DEBUG;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_SINGLETONS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.meta.WildcardResolver.Direction.LTR;
-import static org.jboss.hal.meta.tree.TraverseType.WILDCARD_RESOURCES;
 
 /**
  * Represents a management model tree that provides functionality to traverse through various resources and apply actions or
@@ -102,100 +103,69 @@ public class ModelTree {
             Set<TraverseType> types,
             TraverseOperation<T> operation,
             TraverseConsumer<T> consumer) {
+        return traverse(continuation, start, new TraverseOptions.Builder().exclude(exclude).types(types).build(),
+                operation, consumer);
+    }
+
+    /**
+     * Traverses the management model tree starting from the specified address and performs the provided operation for each
+     * traversed resource. The resources are processed breadth-first: The children of sibling resources are read in one
+     * composite operation, and the number of requests in flight is limited. Both can be configured using the
+     * {@code TraverseOptions}, which also define the maximum depth, the excluded resources and an optional progress
+     * callback.
+     * <p>
+     * This method manages the continuation's running state: it is set to {@code true} when traversal begins and reset to
+     * {@code false} when the operation completes or is aborted.
+     *
+     * @param <T>          The type of result returned by the operation.
+     * @param continuation The {@code TraverseContinuation} instance to control the traversal process. The traversal can be
+     *                     aborted using this object.
+     * @param start        The starting point for traversal, specified as an {@code AddressTemplate}. This can be a full address
+     *                     or a wildcard address.
+     * @param options      The {@code TraverseOptions} which control the traversal.
+     * @param operation    The {@code TraverseOperation} implementation to be performed on each resource during traversal.
+     * @param consumer     A {@code TraverseConsumer} function that consumes the results of the operation and the traversal
+     *                     context for each resource.
+     * @return A {@code Promise} resolving to an instance of {@code TraverseContext} that encapsulates information about the
+     * traversal, including its progress and outcomes.
+     */
+    public <T> Promise<TraverseContext> traverse(
+            TraverseContinuation continuation,
+            AddressTemplate start,
+            TraverseOptions options,
+            TraverseOperation<T> operation,
+            TraverseConsumer<T> consumer) {
         if (logger.isEnabled(DEBUG)) {
-            logger.debug("Traverse %s, exclude: %s, type: %s", start, exclude,
-                    types.stream().map(TraverseType::name).collect(toList()));
+            logger.debug("Traverse %s, type: %s, concurrency: %d, batch size: %d", start,
+                    options.types().stream().map(TraverseType::name).collect(toList()),
+                    options.concurrency(), options.batchSize());
         }
-        continuation.running = true;
+        continuation.start();
         TraverseContext context = new TraverseContext();
-        return read(continuation, context, start, exclude, types, operation, consumer)
+        TraverseEngine<T> engine = new TraverseEngine<>(continuation, context, options, statementContext,
+                (template, onSuccess, onError) -> operation.execute(template, statementContext)
+                        .then(result -> {
+                            onSuccess.accept(result);
+                            return null;
+                        })
+                        .catch_(error -> {
+                            onError.accept(error);
+                            return null;
+                        }),
+                consumer,
+                (op, onResult, onError) -> dispatcher.dmr(op, false, CacheMode.DEFAULT, continuation.token(), Lane.BULK)
+                        .then(payload -> {
+                            onResult.accept(payload.get(RESULT));
+                            return null;
+                        })
+                        .catch_(error -> {
+                            onError.accept(error);
+                            return null;
+                        }));
+        return new Promise<TraverseContext>((resolve, reject) -> engine.start(start, () -> resolve.onInvoke(context)))
                 .finally_(() -> continuation.running = false);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private <T> Promise<TraverseContext> read(TraverseContinuation continuation, TraverseContext context,
-            AddressTemplate template, Set<String> excludes,
-            Set<TraverseType> types, TraverseOperation<T> operation, TraverseConsumer<T> consumer) {
-        if (continuation.running) {
-            return operation.execute(template, statementContext)
-                    .then(result -> {
-                        if (types.contains(WILDCARD_RESOURCES) || template.fullyQualified()) {
-                            logger.debug("✓ %s", template);
-                            context.recordAccepted();
-                            consumer.accept(template, result, context);
-                        }
-                        return readChildren(context, template, types);
-                    })
-                    .then(children -> {
-                        context.recordProgress(children.size());
-                        Promise[] promises = children.stream()
-                                .filter(child -> !excluded(child, excludes))
-                                .map(child ->
-                                        read(continuation, context, child, excludes, types, operation, consumer))
-                                .toArray(Promise[]::new);
-                        return Promise.all(promises).then(__ -> Promise.resolve(context));
-                    })
-                    .catch_((error) -> {
-                        ResourceAddress address = template.resolve(statementContext);
-                        context.recordFailed(address.toString(), new Operation.Builder(address, "unknown").build());
-                        return Promise.resolve(context);
-                    });
-        } else {
-            logger.debug("Traversal aborted");
-            return Promise.resolve(context);
-        }
-    }
-
-    private Promise<List<AddressTemplate>> readChildren(TraverseContext context, AddressTemplate template,
-            Set<TraverseType> traverseType) {
-        if ("*".equals(template.last().value)) {
-
-            // template:  /a=b/c=*
-            // operation: /a=b:read-children-names(child-type=c)
-            String resource = template.last().key;
-            AddressTemplate parent = template.parent();
-            ResourceAddress resourceAddress = parent.resolve(statementContext);
-            Operation operation = new Operation.Builder(resourceAddress, READ_CHILDREN_NAMES_OPERATION)
-                    .param(CHILD_TYPE, resource)
-                    .param(INCLUDE_SINGLETONS, traverseType.contains(TraverseType.NON_EXISTING_SINGLETONS))
-                    .build();
-            logger.debug("⮑ %s", operation.asCli());
-            return dispatcher.execute(operation, false)
-                    .then(result -> Promise.resolve(result.asList().stream()
-                            .map(modelNode -> parent.append(resource, modelNode.asString()))
-                            .collect(toList())))
-                    .catch_(__ -> {
-                        context.recordFailed(resourceAddress.toString(), operation);
-                        return Promise.resolve(emptyList());
-                    });
-        } else {
-
-            // template:  /a=b/c=d
-            // operation: /a=b/c=d:read-children-types()
-            ResourceAddress resourceAddress = template.resolve(statementContext);
-            Operation operation = new Operation.Builder(resourceAddress, READ_CHILDREN_TYPES_OPERATION)
-                    .build();
-            logger.debug("⮑ %s", operation.asCli());
-            return dispatcher.execute(operation, false)
-                    .then(result -> Promise.resolve(result.asList().stream()
-                            .map(modelNode -> template.append(modelNode.asString(), "*"))
-                            .collect(toList())))
-                    .catch_(__ -> {
-                        context.recordFailed(resourceAddress.toString(), operation);
-                        return Promise.resolve(emptyList());
-                    });
-        }
-    }
-
-    private boolean excluded(AddressTemplate template, Set<String> excludes) {
-        for (String exclude : excludes) {
-            if (template.template.startsWith(exclude)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     // ------------------------------------------------------ resolve wildcards
 
     /**
@@ -29,11 +29,15 @@ public class TraverseContext {
     private final Map<String, Operation> failed;
     private int processed;
     private int accepted;
+    private int pending;
+    private int requests;
 
     public TraverseContext() {
         failed = new HashMap<>();
         processed = 0;
         accepted = 0;
+        pending = 0;
+        requests = 0;
     }
 
     /** @return the total number of child resources discovered during traversal */
@@ -51,6 +55,16 @@ public class TraverseContext {
         return accepted;
     }
 
+    /** @return the number of discovered resources which have not been processed yet */
+    public int pending() {
+        return pending;
+    }
+
+    /** @return the number of requests sent to read the children of the traversed resources */
+    public int requests() {
+        return requests;
+    }
+
     // ------------------------------------------------------ internal
 
     void recordProgress(int size) {
@@ -64,4 +78,12 @@ public class TraverseContext {
     void recordFailed(String address, Operation operation) {
         failed.put(address, operation);
     }
+
+    void recordPending(int pending) {
+        this.pending = pending;
+    }
+
+    void recordRequest() {
+        requests++;
+    }
 }
@@ -15,21 +15,38 @@
  */
 package org.jboss.hal.meta.tree;
 
+import org.jboss.hal.dmr.dispatch.CancellationToken;
+
 /**
  * Class representing the control mechanism for managing the traversal process. The {@code TraverseContinuation} object can be
- * used to control the traversal by stopping the traversal operation.
+ * used to control the traversal by stopping the traversal operation. Stopping the traversal also aborts the requests which
+ * are in flight.
  */
 public class TraverseContinuation {
 
     boolean running;
+    private CancellationToken token;
 
     public TraverseContinuation() {
         running = false;
+        token = CancellationToken.NONE;
     }
 
-    /** Signals the traversal to stop at the next opportunity. */
+    /** Signals the traversal to stop at the next opportunity and aborts the requests which are in flight. */
     public void stop() {
         running = false;
+        token.cancel();
+    }
+
+    /** @return the token used for the requests of the current traversal */
+    public CancellationToken token() {
+        return token;
+    }
+
+    /** Marks the traversal as running and uses a new token for its requests. */
+    void start() {
+        running = true;
+        token = new CancellationToken();
     }
 
     /** @return whether the traversal is currently running */
@@ -0,0 +1,349 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.StatementContext;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_SINGLETONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.meta.tree.TraverseType.NON_EXISTING_SINGLETONS;
+import static org.jboss.hal.meta.tree.TraverseType.WILDCARD_RESOURCES;
+
+/**
+ * Work-queue engine behind {@link ModelTree#traverse(TraverseContinuation, AddressTemplate, TraverseOptions,
+ * TraverseOperation, TraverseConsumer)}.
+ * <p>
+ * Discovered resources are queued and processed breadth-first in batches of {@link TraverseOptions#batchSize()} resources.
+ * For each batch, the children of all resources are read using one composite of {@code read-children-names} and
+ * {@code read-children-types} operations and the {@link NodeOperation} is executed for each resource. Both the children reads
+ * and the node operations count as requests: At most {@link TraverseOptions#concurrency()} requests are in flight at any
+ * time, further requests wait for a free slot. New batches are only started if no request is waiting. If a composite fails as
+ * a whole, its steps are retried one by one, so that a single failing resource doesn't hide its siblings.
+ * <p>
+ * The engine doesn't know how to send operations. This is provided by the {@link ModelTree} using a {@link Transport}. This
+ * implementation is not thread-safe.
+ */
+class TraverseEngine<T> {
+
+    private static final Logger logger = Logger.getLogger(TraverseEngine.class.getName());
+
+    private final TraverseContinuation continuation;
+    private final TraverseContext context;
+    private final TraverseOptions options;
+    private final StatementContext statementContext;
+    private final NodeOperation<T> operation;
+    private final TraverseConsumer<T> consumer;
+    private final Transport transport;
+    private final Deque<AddressTemplate> queue;
+    private final Deque<Runnable> waiting;
+    private int startDepth;
+    private int batches;
+    private int inFlight;
+    private boolean completed;
+    private Runnable onComplete;
+
+    TraverseEngine(TraverseContinuation continuation, TraverseContext context, TraverseOptions options,
+            StatementContext statementContext, NodeOperation<T> operation, TraverseConsumer<T> consumer,
+            Transport transport) {
+        this.continuation = continuation;
+        this.context = context;
+        this.options = options;
+        this.statementContext = statementContext;
+        this.operation = operation;
+        this.consumer = consumer;
+        this.transport = transport;
+        this.queue = new ArrayDeque<>();
+        this.waiting = new ArrayDeque<>();
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Starts the traversal at the given template and calls {@code onComplete} once all resources have been processed or
+     * the traversal has been aborted using the {@link TraverseContinuation}.
+     */
+    void start(AddressTemplate start, Runnable onComplete) {
+        this.startDepth = start.size();
+        this.onComplete = onComplete;
+        queue.add(start);
+        pump();
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void pump() {
+        while (continuation.running && inFlight < options.concurrency() && waiting.isEmpty() && !queue.isEmpty()) {
+            List<AddressTemplate> nodes = new ArrayList<>();
+            while (nodes.size() < options.batchSize() && !queue.isEmpty()) {
+                nodes.add(queue.poll());
+            }
+            batches++;
+            new Batch(nodes).run();
+        }
+        context.recordPending(queue.size());
+        if (!completed && batches == 0 && (queue.isEmpty() || !continuation.running)) {
+            completed = true;
+            if (!continuation.running) {
+                logger.debug("Traversal aborted");
+            }
+            onComplete.run();
+        }
+    }
+
+    /** Sends the request if a slot is free. Otherwise, the request waits until a slot is {@linkplain #release() released}. */
+    private void request(Runnable request) {
+        if (inFlight < options.concurrency()) {
+            inFlight++;
+            request.run();
+        } else {
+            waiting.add(request);
+        }
+    }
+
+    /** Must be called once for each request after its response has been processed. Passes the slot on to a waiting request. */
+    private void release() {
+        inFlight--;
+        if (!waiting.isEmpty()) {
+            inFlight++;
+            waiting.poll().run();
+        } else {
+            pump();
+        }
+    }
+
+    private boolean descend(AddressTemplate template) {
+        // the children of a wildcard template are on the same depth as the wildcard template itself
+        return "*".equals(template.last().value) || template.size() - startDepth < options.maxDepth();
+    }
+
+    private Operation childrenOperation(AddressTemplate template) {
+        if ("*".equals(template.last().value)) {
+            // template:  /a=b/c=*
+            // operation: /a=b:read-children-names(child-type=c)
+            return new Operation.Builder(template.parent().resolve(statementContext), READ_CHILDREN_NAMES_OPERATION)
+                    .param(CHILD_TYPE, template.last().key)
+                    .param(INCLUDE_SINGLETONS, options.types().contains(NON_EXISTING_SINGLETONS))
+                    .build();
+        } else {
+            // template:  /a=b/c=d
+            // operation: /a=b/c=d:read-children-types()
+            return new Operation.Builder(template.resolve(statementContext), READ_CHILDREN_TYPES_OPERATION).build();
+        }
+    }
+
+    private List<AddressTemplate> children(AddressTemplate template, ModelNode result) {
+        if (!result.isDefined()) {
+            return emptyList();
+        }
+        if ("*".equals(template.last().value)) {
+            String resource = template.last().key;
+            AddressTemplate parent = template.parent();
+            return result.asList().stream()
+                    .map(modelNode -> parent.append(resource, modelNode.asString()))
+                    .collect(toList());
+        } else {
+            return result.asList().stream()
+                    .map(modelNode -> template.append(modelNode.asString(), "*"))
+                    .collect(toList());
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Executes the traverse operation for one resource. */
+    @FunctionalInterface
+    interface NodeOperation<T> {
+
+        void execute(AddressTemplate template, Consumer<T> onSuccess, Consumer<Object> onError);
+    }
+
+    /** Sends an operation or composite and calls {@code onResult} with the {@code result} of the response. */
+    @FunctionalInterface
+    interface Transport {
+
+        void execute(Operation operation, Consumer<ModelNode> onResult, Consumer<Object> onError);
+    }
+
+    /** A batch of sibling and cousin resources which are processed together. */
+    private class Batch {
+
+        private final List<AddressTemplate> nodes;
+        private final List<List<AddressTemplate>> children;
+        private final boolean[] failed;
+        private int outstanding;
+
+        Batch(List<AddressTemplate> nodes) {
+            this.nodes = nodes;
+            this.children = new ArrayList<>();
+            this.failed = new boolean[nodes.size()];
+            for (int i = 0; i < nodes.size(); i++) {
+                children.add(null);
+            }
+        }
+
+        void run() {
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                if (descend(nodes.get(i))) {
+                    indices.add(i);
+                }
+            }
+            outstanding = nodes.size() + 1;
+            readChildren(indices);
+            for (int i = 0; i < nodes.size(); i++) {
+                execute(i);
+            }
+        }
+
+        private void execute(int index) {
+            AddressTemplate template = nodes.get(index);
+            request(() -> operation.execute(template,
+                    result -> {
+                        if (options.types().contains(WILDCARD_RESOURCES) || template.fullyQualified()) {
+                            logger.debug("✓ %s", template);
+                            context.recordAccepted();
+                            consumer.accept(template, result, context);
+                        }
+                        countDown();
+                        release();
+                    },
+                    error -> {
+                        failed[index] = true;
+                        if (continuation.running) {
+                            // errors of aborted traversals are no failures
+                            ResourceAddress address = template.resolve(statementContext);
+                            context.recordFailed(address.toString(), new Operation.Builder(address, "unknown").build());
+                        }
+                        countDown();
+                        release();
+                    }));
+        }
+
+        private void readChildren(List<Integer> indices) {
+            if (indices.isEmpty()) {
+                countDown();
+            } else if (indices.size() == 1) {
+                readChildren(indices.get(0), this::countDown);
+            } else {
+                List<Operation> operations = indices.stream()
+                        .map(index -> childrenOperation(nodes.get(index)))
+                        .collect(toList());
+                Composite composite = new Composite(operations);
+                request(() -> {
+                    logger.debug("⮑ %s", composite.asCli());
+                    context.recordRequest();
+                    transport.execute(composite,
+                            result -> {
+                                CompositeResult compositeResult = new CompositeResult(result);
+                                for (int i = 0; i < indices.size(); i++) {
+                                    int index = indices.get(i);
+                                    ModelNode step = compositeResult.step(i);
+                                    if (SUCCESS.equals(step.get(OUTCOME).asString())) {
+                                        children.set(index, children(nodes.get(index), step.get(RESULT)));
+                                    } else {
+                                        failed(index, operations.get(i));
+                                    }
+                                }
+                                countDown();
+                                release();
+                            },
+                            error -> {
+                                // retry one by one to find out which resource failed
+                                logger.debug("Composite failed: %s. Read children one by one.", error);
+                                int[] remaining = new int[]{indices.size()};
+                                for (int index : indices) {
+                                    readChildren(index, () -> {
+                                        remaining[0]--;
+                                        if (remaining[0] == 0) {
+                                            countDown();
+                                        }
+                                    });
+                                }
+                                release();
+                            });
+                });
+            }
+        }
+
+        private void readChildren(int index, Runnable done) {
+            AddressTemplate template = nodes.get(index);
+            Operation operation = childrenOperation(template);
+            request(() -> {
+                logger.debug("⮑ %s", operation.asCli());
+                context.recordRequest();
+                transport.execute(operation,
+                        result -> {
+                            children.set(index, children(template, result));
+                            done.run();
+                            release();
+                        },
+                        error -> {
+                            failed(index, operation);
+                            done.run();
+                            release();
+                        });
+            });
+        }
+
+        private void failed(int index, Operation operation) {
+            if (continuation.running) {
+                context.recordFailed(operation.getAddress().toString(), operation);
+            }
+            children.set(index, emptyList());
+        }
+
+        private void countDown() {
+            outstanding--;
+            if (outstanding == 0) {
+                for (int i = 0; i < nodes.size(); i++) {
+                    List<AddressTemplate> nodeChildren = children.get(i);
+                    if (!failed[i] && nodeChildren != null) {
+                        context.recordProgress(nodeChildren.size());
+                        for (AddressTemplate child : nodeChildren) {
+                            if (!options.excluded(child)) {
+                                queue.add(child);
+                            }
+                        }
+                    }
+                }
+                batches--;
+                context.recordPending(queue.size());
+                options.progress().onProgress(context);
+                pump();
+            }
+        }
+    }
+}
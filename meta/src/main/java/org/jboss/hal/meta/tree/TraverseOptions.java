@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.tree;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jboss.hal.meta.AddressTemplate;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Options which control a traversal of the management model tree. Use the {@link Builder} to create an instance.
+ * <p>
+ * The traversal processes the resources breadth-first. It reads the children of up to {@link #batchSize()} resources in
+ * one composite operation and keeps up to {@link #concurrency()} requests in flight at any time. Both the composites and the
+ * operations executed for each resource count as requests.
+ */
+public class TraverseOptions {
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /** Returns options with default values, no exclusions and no additional {@link TraverseType traverse types}. */
+    public static TraverseOptions defaults() {
+        return new Builder().build();
+    }
+
+    private final int concurrency;
+    private final int batchSize;
+    private final int maxDepth;
+    private final Predicate<AddressTemplate> exclude;
+    private final Set<TraverseType> types;
+    private final TraverseProgress progress;
+
+    private TraverseOptions(Builder builder) {
+        this.concurrency = builder.concurrency;
+        this.batchSize = builder.batchSize;
+        this.maxDepth = builder.maxDepth;
+        this.exclude = builder.exclude;
+        this.types = builder.types;
+        this.progress = builder.progress;
+    }
+
+    /** @return the maximum number of requests in flight */
+    public int concurrency() {
+        return concurrency;
+    }
+
+    /** @return the maximum number of resources whose children are read in one composite operation */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum number of address segments below the start address. The children of resources at this depth are
+     * not read.
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /** @return whether the given resource and all its descendants are excluded from the traversal */
+    public boolean excluded(AddressTemplate template) {
+        return exclude.test(template);
+    }
+
+    /** @return the additional resource types to include in the traversal */
+    public Set<TraverseType> types() {
+        return types;
+    }
+
+    /** @return the callback which is notified about the progress of the traversal */
+    public TraverseProgress progress() {
+        return progress;
+    }
+
+    // ------------------------------------------------------ builder
+
+    /** Builder for {@link TraverseOptions}. */
+    public static class Builder {
+
+        private int concurrency;
+        private int batchSize;
+        private int maxDepth;
+        private Predicate<AddressTemplate> exclude;
+        private Set<TraverseType> types;
+        private TraverseProgress progress;
+
+        public Builder() {
+            this.concurrency = DEFAULT_CONCURRENCY;
+            this.batchSize = DEFAULT_BATCH_SIZE;
+            this.maxDepth = Integer.MAX_VALUE;
+            this.exclude = template -> false;
+            this.types = EnumSet.noneOf(TraverseType.class);
+            this.progress = TraverseProgress.NOOP;
+        }
+
+        /** Sets the maximum number of requests in flight (at least one). */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = Math.max(1, concurrency);
+            return this;
+        }
+
+        /** Sets the maximum number of resources whose children are read in one composite operation (at least one). */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = Math.max(1, batchSize);
+            return this;
+        }
+
+        /** Sets the maximum number of address segments below the start address. */
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = Math.max(0, maxDepth);
+            return this;
+        }
+
+        /**
+         * Excludes all resources whose address starts with one of the given strings. Partial addresses (e.g. prefixes) can be
+         * used to filter certain paths.
+         */
+        public Builder exclude(Set<String> exclude) {
+            Set<String> prefixes = exclude != null ? exclude : emptySet();
+            return exclude(template -> prefixes.stream().anyMatch(template.template::startsWith));
+        }
+
+        /** Excludes all resources (and their descendants) which match the given predicate. */
+        public Builder exclude(Predicate<AddressTemplate> exclude) {
+            this.exclude = exclude;
+            return this;
+        }
+
+        /** Sets the additional resource types to include in the traversal. */
+        public Builder types(Set<TraverseType> types) {
+            this.types = types.isEmpty() ? EnumSet.noneOf(TraverseType.class) : EnumSet.copyOf(types);
+            return this;
+        }
+
+        /** Sets the callback which is notified about the progress of the traversal. */
+        public Builder progress(TraverseProgress progress) {
+            this.progress = progress;
+            return this;
+        }
+
+        public TraverseOptions build() {
+            return new TraverseOptions(this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.tree;
+
+/**
+ * A functional interface which is notified about the progress of a traversal. It is called whenever a batch of resources
+ * has been processed.
+ */
+@FunctionalInterface
+public interface TraverseProgress {
+
+    /** A no-operation implementation which ignores all progress notifications. */
+    TraverseProgress NOOP = context -> {};
+
+    /**
+     * Called after a batch of resources has been processed.
+     *
+     * @param context the traverse context with the number of processed, accepted, failed and pending resources
+     */
+    void onProgress(TraverseContext context);
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.joining;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Property-based tests which compare address templates built from random segments with a plain list of segments as reference
+ * model.
+ */
+class AddressTemplatePropertiesTest {
+
+    private static final int SAMPLES = 500;
+    private static final String[] KEYS = {"subsystem", "server", "host", "deployment", "logger", "profile", "server-group"};
+    private static final String[] VALUES = {"io", "default", "*", "{selected.host}", "foo/bar", "a=b", "c:d", "ROOT.war"};
+    private static final String[] PLACEHOLDERS = {"{selected.server}", "{domain.controller}", "{selected.profile}"};
+
+    @Test
+    void templateAndSegments() {
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            assertEquals(reference(segments), template.template);
+            assertEquals(segments, template.segments());
+            assertEquals(segments, iterate(template));
+            assertEquals(segments.size(), template.size());
+            assertEquals(segments.isEmpty() ? Segment.EMPTY : segments.get(0), template.first());
+            assertEquals(segments.isEmpty() ? Segment.EMPTY : segments.get(segments.size() - 1), template.last());
+        });
+    }
+
+    @Test
+    void parseTemplate() {
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            AddressTemplate parsed = AddressTemplate.ofTrusted(template.template);
+            assertEquals(template, parsed);
+            assertEquals(template.hashCode(), parsed.hashCode());
+            assertEquals(segments, parsed.segments());
+        });
+    }
+
+    @Test
+    void subTemplate() {
+        Random random = new Random(42);
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            int from = random.nextInt(segments.size() + 1);
+            int to = from + random.nextInt(segments.size() - from + 1);
+            AddressTemplate sub = template.subTemplate(from, to);
+            AddressTemplate expected = AddressTemplate.of(new ArrayList<>(segments.subList(from, to)));
+
+            assertEquals(expected, sub);
+            assertEquals(expected.hashCode(), sub.hashCode());
+            assertEquals(reference(segments.subList(from, to)), sub.template);
+            assertEquals(segments.subList(from, to), sub.segments());
+            assertEquals(expected.fullyQualified(), sub.fullyQualified());
+            assertEquals(expected.parent(), sub.parent());
+        });
+    }
+
+    @Test
+    void subTemplateBounds() {
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            int size = segments.size();
+            assertThrows(IndexOutOfBoundsException.class, () -> template.subTemplate(-1, size));
+            assertThrows(IndexOutOfBoundsException.class, () -> template.subTemplate(0, size + 1));
+            if (size > 0) {
+                assertThrows(IndexOutOfBoundsException.class, () -> template.subTemplate(size, size - 1));
+            }
+        });
+    }
+
+    @Test
+    void parents() {
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            for (int size = segments.size(); size > 0; size--) {
+                AddressTemplate parent = template.parent();
+                List<Segment> expected = segments.subList(0, size - 1);
+                assertEquals(reference(expected), parent.template);
+                assertEquals(expected, parent.segments());
+                assertEquals(template, parent.append(template.last()));
+                template = parent;
+            }
+            assertSame(AddressTemplate.root(), template.parent());
+        });
+    }
+
+    @Test
+    void append() {
+        forAll(segments -> {
+            int split = segments.size() / 2;
+            AddressTemplate head = AddressTemplate.of(new ArrayList<>(segments.subList(0, split)));
+            AddressTemplate tail = AddressTemplate.of(new ArrayList<>(segments.subList(split, segments.size())));
+            AddressTemplate template = AddressTemplate.of(segments);
+
+            assertEquals(template, head.append(tail));
+            assertEquals(template, template.subTemplate(0, split).append(template.subTemplate(split, segments.size())));
+            AddressTemplate appended = head;
+            for (Segment segment : tail) {
+                appended = appended.append(segment);
+            }
+            assertEquals(template, appended);
+            assertEquals(template, head.appendTrusted(tail.template));
+        });
+    }
+
+    @Test
+    void fullyQualified() {
+        forAll(segments -> {
+            boolean expected = segments.stream().noneMatch(s -> s.containsPlaceholder() || "*".equals(s.value));
+            AddressTemplate template = AddressTemplate.of(segments);
+            assertEquals(expected, template.fullyQualified());
+            assertEquals(segments.stream().anyMatch(Segment::containsPlaceholder), template.containsPlaceholder());
+        });
+    }
+
+    @Test
+    void equality() {
+        Random random = new Random(7);
+        List<Segment> previous = new ArrayList<>();
+        forAll(segments -> {
+            AddressTemplate template = AddressTemplate.of(segments);
+            AddressTemplate other = AddressTemplate.of(previous);
+            if (reference(segments).equals(reference(previous))) {
+                assertEquals(template, other);
+                assertEquals(template.hashCode(), other.hashCode());
+            } else {
+                assertNotEquals(template, other);
+            }
+            previous.clear();
+            previous.addAll(random.nextBoolean() ? segments : segments(random));
+        });
+    }
+
+    @Test
+    void interned() {
+        forAll(segments -> {
+            String template = reference(segments);
+            assertSame(AddressTemplate.ofTrusted(template), AddressTemplate.ofTrusted(template));
+        });
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private void forAll(Consumer<List<Segment>> property) {
+        Random random = new Random(4711);
+        for (int i = 0; i < SAMPLES; i++) {
+            property.accept(segments(random));
+        }
+    }
+
+    /** Returns random segments. Every tenth list is longer than the 32 segments covered by the bitmaps. */
+    private List<Segment> segments(Random random) {
+        int size = random.nextInt(10) == 0 ? 32 + random.nextInt(10) : random.nextInt(8);
+        List<Segment> segments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(10) == 0) {
+                segments.add(new Segment(PLACEHOLDERS[random.nextInt(PLACEHOLDERS.length)]));
+            } else {
+                String value = random.nextInt(3) == 0
+                        ? VALUES[random.nextInt(VALUES.length)]
+                        : Integer.toString(random.nextInt(1000), 36);
+                segments.add(new Segment(KEYS[random.nextInt(KEYS.length)], value));
+            }
+        }
+        return segments;
+    }
+
+    private String reference(List<Segment> segments) {
+        return "/" + segments.stream().map(Segment::toString).collect(joining("/"));
+    }
+
+    private List<Segment> iterate(AddressTemplate template) {
+        List<Segment> segments = new ArrayList<>();
+        for (Segment segment : template) {
+            segments.add(segment);
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelDescriptionConstants;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADD;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.COMBINED_DESCRIPTIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EXCEPTIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MODEL_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NONE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TRIM_DESCRIPTIONS;
+import static org.jboss.hal.meta.MetadataProfile.ATTRIBUTES;
+import static org.jboss.hal.meta.MetadataProfile.FULL;
+import static org.jboss.hal.meta.MetadataProfile.SECURITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetadataProfileTest {
+
+    private static final String ADDRESS = "/subsystem=undertow";
+    private static ModelNode full;
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+        full = fixture("standalone-rrd.dmr").get(RESULT);
+    }
+
+    // ------------------------------------------------------ profiles
+
+    @Test
+    void includes() {
+        assertTrue(FULL.includes(SECURITY));
+        assertTrue(SECURITY.includes(ATTRIBUTES));
+        assertTrue(ATTRIBUTES.includes(ATTRIBUTES));
+        assertFalse(ATTRIBUTES.includes(SECURITY));
+        assertFalse(SECURITY.includes(FULL));
+    }
+
+    @Test
+    void persisted() {
+        Metadata metadata = parse(SECURITY, null).get(ADDRESS);
+        assertEquals(SECURITY, Metadata.from(ModelNode.fromBase64(metadata.toBase64String())).profile());
+
+        ModelNode legacy = metadata.clone();
+        legacy.remove("metadata-profile");
+        assertEquals(FULL, Metadata.from(legacy).profile());
+    }
+
+    // ------------------------------------------------------ rrd parameters
+
+    @Test
+    void rrdParameters() {
+        assertRrd(ATTRIBUTES, null, false, null);
+        assertRrd(SECURITY, null, false, COMBINED_DESCRIPTIONS);
+        assertRrd(FULL, null, true, COMBINED_DESCRIPTIONS);
+
+        // only the missing parts
+        assertRrd(SECURITY, ATTRIBUTES, false, TRIM_DESCRIPTIONS);
+        assertRrd(FULL, ATTRIBUTES, true, COMBINED_DESCRIPTIONS);
+        // the security context is read again to get the permissions of the operations
+        assertRrd(FULL, SECURITY, true, COMBINED_DESCRIPTIONS);
+    }
+
+    // ------------------------------------------------------ merge
+
+    @Test
+    void attributes() {
+        Metadata metadata = parse(ATTRIBUTES, null).get(ADDRESS);
+        assertEquals(ATTRIBUTES, metadata.profile());
+        assertFalse(metadata.resourceDescription().attributes().isEmpty());
+        assertTrue(metadata.resourceDescription().operations().isEmpty());
+        assertSame(SecurityContext.READ_ONLY, metadata.securityContext());
+    }
+
+    @Test
+    void attributesToSecurity() {
+        Map<String, Metadata> attributes = parse(ATTRIBUTES, null);
+        Map<String, Metadata> security = parse(SECURITY, attributes);
+        Metadata expected = parse(SECURITY, null).get(ADDRESS);
+        Metadata metadata = security.get(ADDRESS);
+
+        assertEquals(SECURITY, metadata.profile());
+        assertSame(attributes.get(ADDRESS).resourceDescription(), metadata.resourceDescription());
+        assertEquals(expected.securityContext(), metadata.securityContext());
+    }
+
+    @Test
+    void securityToFull() {
+        Map<String, Metadata> security = parse(SECURITY, null);
+        Map<String, Metadata> merged = parse(FULL, security);
+        Metadata expected = parse(FULL, null).get(ADDRESS);
+        Metadata metadata = merged.get(ADDRESS);
+
+        assertEquals(FULL, metadata.profile());
+        // the expected description contains the access control in addition
+        assertEquals(expected.resourceDescription().get(ModelDescriptionConstants.ATTRIBUTES),
+                metadata.resourceDescription().get(ModelDescriptionConstants.ATTRIBUTES));
+        assertEquals(expected.resourceDescription().get(OPERATIONS), metadata.resourceDescription().get(OPERATIONS));
+        assertFalse(metadata.resourceDescription().operations().isEmpty());
+
+        // the security context read without operations doesn't know about the operations
+        assertFalse(security.get(ADDRESS).securityContext().executable(ADD));
+        assertEquals(expected.securityContext(), metadata.securityContext());
+        assertTrue(metadata.securityContext().executable(ADD));
+    }
+
+    @Test
+    void attributesToFull() {
+        Map<String, Metadata> merged = parse(FULL, parse(ATTRIBUTES, null));
+        Metadata expected = parse(FULL, null).get(ADDRESS);
+
+        assertEquals(FULL, merged.get(ADDRESS).profile());
+        assertEquals(expected, merged.get(ADDRESS));
+    }
+
+    @Test
+    void keepRicherCachedParts() {
+        Map<String, Metadata> cached = parse(FULL, null);
+        ProcessingContext context = new ProcessingContext(Set.of(ADDRESS), ATTRIBUTES, cached);
+        RrdParser.parseSingle(new ResourceAddress().add("subsystem", "undertow"),
+                respond(rrd(ATTRIBUTES, null)), context.rrdResult);
+        Metadata metadata = UpdateTask.merge(ADDRESS, context);
+
+        assertEquals(FULL, metadata.profile());
+        assertSame(cached.get(ADDRESS).resourceDescription(), metadata.resourceDescription());
+    }
+
+    @Test
+    void nothingToMerge() {
+        ProcessingContext context = new ProcessingContext(Set.of(ADDRESS), FULL, Map.of());
+        assertNull(UpdateTask.merge(ADDRESS, context));
+    }
+
+    // ------------------------------------------------------ payload
+
+    @Test
+    void payloadSavings() {
+        int fullSize = respond(rrd(FULL, null)).toBase64String().length();
+        int securitySize = respond(rrd(SECURITY, null)).toBase64String().length();
+        int attributesSize = respond(rrd(ATTRIBUTES, null)).toBase64String().length();
+        int operationsSize = respond(rrd(FULL, SECURITY)).toBase64String().length();
+        int trimmedSize = respond(rrd(SECURITY, ATTRIBUTES)).toBase64String().length();
+
+        // the fixture is generated by the FixtureGenerator of the benchmarks module, not recorded from a server: it has seven
+        // operations per resource, so the numbers only indicate the savings on a real server
+        assertTrue(attributesSize < securitySize);
+        assertTrue(securitySize < fullSize * 0.8, "security: " + securitySize + ", full: " + fullSize);
+        assertTrue(attributesSize < fullSize * 0.7, "attributes: " + attributesSize + ", full: " + fullSize);
+        // reading only the access control is cheaper than reading everything again
+        assertTrue(trimmedSize < securitySize / 2, "trimmed: " + trimmedSize + ", security: " + securitySize);
+        // reading the operations later, costs at most one additional description
+        assertTrue(operationsSize <= fullSize, "operations: " + operationsSize + ", full: " + fullSize);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private void assertRrd(MetadataProfile profile, MetadataProfile cached, boolean operations, String accessControl) {
+        Operation operation = rrd(profile, cached);
+        assertEquals(operations, operation.getParameter().get(OPERATIONS).asBoolean());
+        if (accessControl == null) {
+            assertFalse(operation.getParameter().hasDefined(ACCESS_CONTROL));
+        } else {
+            assertEquals(accessControl, operation.getParameter().get(ACCESS_CONTROL).asString());
+        }
+    }
+
+    private static Operation rrd(MetadataProfile profile, MetadataProfile cached) {
+        return RrdTask.rrd(new ResourceAddress().add("subsystem", "undertow"), profile, cached, "en");
+    }
+
+    /** Executes the rrd operation for the given profile against the fixture and merges the result. */
+    private static Map<String, Metadata> parse(MetadataProfile profile, Map<String, Metadata> cached) {
+        Map<String, Metadata> cachedProfile = cached != null ? cached : Map.of();
+        Metadata cachedMetadata = cachedProfile.get(ADDRESS);
+        Operation operation = rrd(profile, cachedMetadata != null ? cachedMetadata.profile() : null);
+        ProcessingContext context = new ProcessingContext(Set.of(ADDRESS), profile, cachedProfile);
+        RrdParser.parseSingle(operation.getAddress(), respond(operation), context.rrdResult);
+
+        Map<String, Metadata> metadata = new HashMap<>(cachedProfile);
+        Set<String> addresses = new HashSet<>(context.rrdResult.resourceDescriptions.keySet());
+        addresses.addAll(cachedProfile.keySet());
+        for (String address : addresses) {
+            Metadata merged = UpdateTask.merge(address, context);
+            if (merged != null) {
+                metadata.put(address, merged);
+            }
+        }
+        return metadata;
+    }
+
+    /** Simulates the response of the server for the parameters of the given rrd operation. */
+    private static ModelNode respond(Operation operation) {
+        boolean operations = operation.getParameter().get(OPERATIONS).asBoolean(false);
+        String accessControl = operation.getParameter().hasDefined(ACCESS_CONTROL)
+                ? operation.getParameter().get(ACCESS_CONTROL).asString()
+                : NONE;
+        return project(full, operations, accessControl);
+    }
+
+    private static ModelNode project(ModelNode description, boolean operations, String accessControl) {
+        ModelNode projection = new ModelNode();
+        if (TRIM_DESCRIPTIONS.equals(accessControl)) {
+            projection.get(ACCESS_CONTROL).set(accessControl(description.get(ACCESS_CONTROL), operations));
+        } else {
+            for (Property property : description.asPropertyList()) {
+                String name = property.getName();
+                if (CHILDREN.equals(name) || (OPERATIONS.equals(name) && !operations)
+                        || (ACCESS_CONTROL.equals(name) && NONE.equals(accessControl))) {
+                    continue;
+                }
+                projection.get(name).set(ACCESS_CONTROL.equals(name)
+                        ? accessControl(property.getValue(), operations)
+                        : property.getValue().clone());
+            }
+        }
+        if (description.hasDefined(CHILDREN)) {
+            ModelNode children = projection.get(CHILDREN).setEmptyObject();
+            for (Property child : description.get(CHILDREN).asPropertyList()) {
+                ModelNode childNode = child.getValue().clone();
+                if (child.getValue().hasDefined(MODEL_DESCRIPTION)) {
+                    ModelNode modelDescriptions = childNode.get(MODEL_DESCRIPTION).setEmptyObject();
+                    for (Property modelDescription : child.getValue().get(MODEL_DESCRIPTION).asPropertyList()) {
+                        modelDescriptions.get(modelDescription.getName())
+                                .set(project(modelDescription.getValue(), operations, accessControl));
+                    }
+                }
+                children.get(child.getName()).set(childNode);
+            }
+        }
+        return projection;
+    }
+
+    /** Without operations, the access control contains no permissions for operations. */
+    private static ModelNode accessControl(ModelNode accessControl, boolean operations) {
+        ModelNode projection = accessControl.clone();
+        if (!operations) {
+            if (projection.hasDefined(DEFAULT)) {
+                projection.get(DEFAULT).remove(OPERATIONS);
+            }
+            if (projection.hasDefined(EXCEPTIONS)) {
+                for (Property exception : projection.get(EXCEPTIONS).asPropertyList()) {
+                    if (exception.getValue().has(OPERATIONS)) {
+                        projection.get(EXCEPTIONS).get(exception.getName()).remove(OPERATIONS);
+                    }
+                }
+            }
+        }
+        return projection;
+    }
+
+    private static ModelNode fixture(String file) {
+        try (InputStream in = MetadataProfileTest.class.getResourceAsStream("/fixtures/" + file)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture " + file + " not found");
+            }
+            return ModelNode.fromBase64(new String(in.readAllBytes(), StandardCharsets.US_ASCII).replaceAll("\\s", ""));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.env.Environment;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE;
+import static org.jboss.hal.meta.MetadataProfile.ATTRIBUTES;
+import static org.jboss.hal.meta.MetadataProfile.FULL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetadataRepositoryTest {
+
+    private static final MetadataScope SCOPE = new MetadataScope("http://localhost:9990/management", "1.0.0", "en",
+            "SIMPLE:admin[]");
+
+    @Test
+    void promoteFromSecondLevelCache() {
+        AddressTemplate io = AddressTemplate.ofTrusted("subsystem=io");
+        AddressTemplate logging = AddressTemplate.ofTrusted("subsystem=logging");
+        InMemorySecondLevelCache secondLevelCache = new InMemorySecondLevelCache();
+        secondLevelCache.open(SCOPE, () -> {});
+        secondLevelCache.put(metadata("/subsystem=io", FULL));
+        secondLevelCache.put(metadata("/subsystem=logging", ATTRIBUTES));
+        MetadataRepository repository = new MetadataRepository(null, new Environment(), null, null,
+                new StatementContext(new Environment()), secondLevelCache);
+
+        // miss in the first level cache
+        assertNull(repository.peek(io));
+        assertFalse(repository.cached(io));
+
+        // hit in the second level cache
+        List<Set<String>> misses = new ArrayList<>();
+        repository.fromSecondLevelCache(Set.of("/subsystem=io", "/subsystem=logging", "/subsystem=undertow"), FULL,
+                misses::add);
+        assertEquals(1, misses.size());
+        // the metadata of subsystem=logging doesn't include the profile and has to be upgraded
+        assertEquals(Set.of("/subsystem=logging", "/subsystem=undertow"), misses.get(0));
+
+        // promoted to the first level cache
+        Metadata metadata = repository.peek(io);
+        assertTrue(repository.cached(io));
+        assertEquals("/subsystem=io", metadata.address());
+        assertEquals(FULL, metadata.profile());
+        assertEquals("description of /subsystem=io", metadata.resourceDescription().get(DESCRIPTION).asString());
+        assertSame(metadata, repository.peek(io));
+        assertEquals(ATTRIBUTES, repository.peek(logging).profile());
+    }
+
+    // ------------------------------------------------------ helper
+
+    private Metadata metadata(String address, MetadataProfile profile) {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("description of " + address);
+        ModelNode securityContext = new ModelNode();
+        securityContext.get(READ).set(true);
+        securityContext.get(WRITE).set(false);
+        return Metadata.metadata(address, new ResourceDescription(description), new SecurityContext(securityContext),
+                profile);
+    }
+}
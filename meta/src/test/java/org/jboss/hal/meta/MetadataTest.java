@@ -15,12 +15,27 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class MetadataTest {
 
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
     @Test
     void undefined() {
         Metadata metadata = Metadata.undefined();
@@ -28,4 +43,32 @@ class MetadataTest {
         assertFalse(metadata.resourceDescription().isDefined());
         assertFalse(metadata.securityContext().isDefined());
     }
+
+    @Test
+    void memo() {
+        AtomicInteger computations = new AtomicInteger();
+        Metadata metadata = Metadata.metadata("/subsystem=undertow", new ResourceDescription(), SecurityContext.RWX);
+        Object first = metadata.memo("key", m -> {
+            computations.incrementAndGet();
+            return new Object();
+        });
+        Object second = metadata.memo("key", m -> {
+            computations.incrementAndGet();
+            return new Object();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+        assertNotSame(first, metadata.memo("other", m -> new Object()));
+    }
+
+    @Test
+    void memoNotPersisted() {
+        Metadata metadata = Metadata.metadata("/subsystem=undertow", new ResourceDescription(), SecurityContext.RWX);
+        Object value = metadata.memo("key", m -> new Object());
+        Metadata restored = Metadata.from(ModelNode.fromBase64(metadata.toBase64String()));
+
+        assertEquals(metadata.address(), restored.address());
+        assertNotSame(value, restored.memo("key", m -> new Object()));
+    }
 }
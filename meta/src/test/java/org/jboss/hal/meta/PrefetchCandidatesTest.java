@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchCandidatesTest {
+
+    private static final AddressTemplate UNDERTOW = AddressTemplate.ofTrusted("subsystem=undertow");
+    private static final AddressTemplate SERVER = AddressTemplate.ofTrusted("subsystem=undertow/server=default-server");
+    private static final AddressTemplate LOGGING = AddressTemplate.ofTrusted("subsystem=logging");
+    private static final AddressTemplate DATASOURCES = AddressTemplate.ofTrusted("subsystem=datasources");
+
+    private final Map<AddressTemplate, List<String>> childTypes = new HashMap<>();
+    private final Set<AddressTemplate> cached = new HashSet<>();
+    private final UsageLog usageLog = new UsageLog();
+    private final PrefetchCandidates candidates = new PrefetchCandidates(usageLog, this::childTypes, cached::contains);
+
+    @Test
+    void nothingKnown() {
+        assertTrue(candidates.select(SERVER, 8).isEmpty());
+    }
+
+    @Test
+    void children() {
+        childTypes.put(SERVER, List.of("host", "http-listener", "https-listener"));
+        assertEquals(List.of(
+                        t("subsystem=undertow/server=default-server/host=*"),
+                        t("subsystem=undertow/server=default-server/http-listener=*"),
+                        t("subsystem=undertow/server=default-server/https-listener=*")),
+                candidates.select(SERVER, 8));
+    }
+
+    @Test
+    void siblings() {
+        childTypes.put(UNDERTOW, List.of("server", "servlet-container", "buffer-cache"));
+        assertEquals(List.of(
+                        t("subsystem=undertow/servlet-container=*"),
+                        t("subsystem=undertow/buffer-cache=*")),
+                candidates.select(SERVER, 8));
+    }
+
+    @Test
+    void rootHasNoSiblings() {
+        childTypes.put(AddressTemplate.root(), List.of("subsystem", "interface"));
+        assertEquals(List.of(t("subsystem=*"), t("interface=*")), candidates.select(AddressTemplate.root(), 8));
+    }
+
+    @Test
+    void order() {
+        usageLog.visit(SERVER);
+        usageLog.visit(LOGGING);
+        usageLog.visit(DATASOURCES);
+        usageLog.visit(DATASOURCES);
+        usageLog.visit(SERVER);
+        childTypes.put(SERVER, List.of("host"));
+        childTypes.put(UNDERTOW, List.of("server", "servlet-container"));
+
+        assertEquals(List.of(
+                        LOGGING, // successor
+                        t("subsystem=undertow/server=default-server/host=*"), // child
+                        t("subsystem=undertow/servlet-container=*"), // sibling
+                        DATASOURCES), // frequent
+                candidates.select(SERVER, 8));
+    }
+
+    @Test
+    void budget() {
+        childTypes.put(SERVER, List.of("a", "b", "c", "d", "e"));
+        childTypes.put(UNDERTOW, List.of("f", "g"));
+        List<AddressTemplate> selected = candidates.select(SERVER, 3);
+        assertEquals(List.of(
+                        t("subsystem=undertow/server=default-server/a=*"),
+                        t("subsystem=undertow/server=default-server/b=*"),
+                        t("subsystem=undertow/server=default-server/c=*")),
+                selected);
+        assertTrue(candidates.select(SERVER, 0).isEmpty());
+    }
+
+    @Test
+    void skipCached() {
+        childTypes.put(SERVER, List.of("host", "http-listener"));
+        cached.add(t("subsystem=undertow/server=default-server/host=*"));
+        assertEquals(List.of(t("subsystem=undertow/server=default-server/http-listener=*")), candidates.select(SERVER, 8));
+    }
+
+    @Test
+    void skipCurrentAndDuplicates() {
+        AddressTemplate host = t("subsystem=undertow/server=default-server/host=*");
+        usageLog.visit(SERVER);
+        usageLog.visit(host);
+        usageLog.visit(SERVER);
+        childTypes.put(SERVER, List.of("host"));
+
+        // host is successor, child and frequent, SERVER is frequent
+        assertEquals(List.of(host), candidates.select(SERVER, 8));
+    }
+
+    @Test
+    void deterministic() {
+        for (int i = 0; i < 20; i++) {
+            usageLog.visit(AddressTemplate.of("subsystem", "s" + (i % 7)));
+        }
+        childTypes.put(SERVER, List.of("host", "http-listener"));
+        childTypes.put(UNDERTOW, List.of("server", "servlet-container"));
+        List<AddressTemplate> first = candidates.select(SERVER, 6);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, candidates.select(SERVER, 6));
+        }
+        assertEquals(6, first.size());
+    }
+
+    private Collection<String> childTypes(AddressTemplate template) {
+        return childTypes.getOrDefault(template, List.of());
+    }
+
+    private static AddressTemplate t(String template) {
+        return AddressTemplate.ofTrusted(template);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.meta.Placeholder.SELECTED_HOST;
+import static org.jboss.hal.meta.Placeholder.SELECTED_SERVER;
+import static org.jboss.hal.meta.StatementContextFactory.domainStatementContext;
+import static org.jboss.hal.meta.StatementContextFactory.standaloneStatementContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResolutionPlanTest {
+
+    private static final AddressTemplate TEMPLATE = AddressTemplate.ofTrusted(
+            "{selected.host}/{selected.server}/subsystem=undertow/server=default-server");
+
+    @Test
+    void noPlaceholders() {
+        StatementContext context = domainStatementContext();
+        AddressTemplate template = AddressTemplate.ofTrusted("subsystem=undertow");
+        assertSame(template, new StatementContextResolver(context).resolve(template));
+        assertSame(template, template.apply(new StatementContextResolver(context)));
+    }
+
+    @Test
+    void sharedByResolvers() {
+        StatementContext context = domainStatementContext();
+        AddressTemplate resolved = new StatementContextResolver(context).resolve(TEMPLATE);
+        assertEquals("/host=secondary/server=server1/subsystem=undertow/server=default-server", resolved.template);
+        assertSame(resolved, new StatementContextResolver(context).resolve(TEMPLATE));
+        new MetadataResolver(context).resolve(TEMPLATE);
+        TEMPLATE.resolve(context);
+        assertEquals(1, context.plan(TEMPLATE).resolutions());
+    }
+
+    @Test
+    void noReResolutionWhileUnchanged() {
+        StatementContext context = domainStatementContext();
+        StatementContextResolver resolver = new StatementContextResolver(context);
+        ResolutionPlan plan = context.plan(TEMPLATE);
+        int version = context.version();
+
+        AddressTemplate resolved = resolver.resolve(TEMPLATE);
+        for (int i = 0; i < 100; i++) {
+            assertSame(resolved, resolver.resolve(TEMPLATE));
+            assertSame(resolved, resolver.resolve(AddressTemplate.ofTrusted(TEMPLATE.template)));
+        }
+
+        // assigning the same values doesn't change the version
+        context.assign(SELECTED_HOST, "secondary");
+        context.assign(SELECTED_SERVER, "server1");
+        assertSame(resolved, resolver.resolve(TEMPLATE));
+        assertEquals(version, context.version());
+        assertEquals(1, plan.resolutions());
+    }
+
+    @Test
+    void reResolveOnChange() {
+        StatementContext context = domainStatementContext();
+        StatementContextResolver resolver = new StatementContextResolver(context);
+        AddressTemplate before = resolver.resolve(TEMPLATE);
+        int version = context.version();
+
+        context.assign(SELECTED_SERVER, "server2");
+        AddressTemplate after = resolver.resolve(TEMPLATE);
+
+        assertNotEquals(version, context.version());
+        assertEquals("/host=secondary/server=server2/subsystem=undertow/server=default-server", after.template);
+        assertNotEquals(before, after);
+        assertSame(after, resolver.resolve(TEMPLATE));
+        assertEquals(2, context.plan(TEMPLATE).resolutions());
+    }
+
+    @Test
+    void changeResourceOfPlaceholder() {
+        StatementContext context = standaloneStatementContext();
+        AddressTemplate template = AddressTemplate.ofTrusted("{foo}");
+        context.assign(new Placeholder("foo", "a", false), "bar");
+        assertEquals("/a=bar", template.apply(new StatementContextResolver(context)).template);
+
+        context.assign(new Placeholder("foo", "b", false), "bar");
+        assertEquals("/b=bar", template.apply(new StatementContextResolver(context)).template);
+    }
+
+    @Test
+    void standalone() {
+        StatementContext context = standaloneStatementContext();
+        AddressTemplate resolved = new StatementContextResolver(context).resolve(TEMPLATE);
+        assertEquals("/subsystem=undertow/server=default-server", resolved.template);
+        assertSame(resolved, new StatementContextResolver(context).resolve(TEMPLATE));
+        assertEquals(1, context.plan(TEMPLATE).resolutions());
+    }
+}
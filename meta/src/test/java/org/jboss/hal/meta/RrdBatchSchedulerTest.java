@@ -0,0 +1,229 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.hal.meta.RrdBatchScheduler.BatchCallback;
+import org.jboss.hal.meta.RrdBatchScheduler.BatchExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Comparator.comparingLong;
+import static org.jboss.hal.meta.AdaptiveRrdBatchStrategy.INITIAL_WEIGHT;
+import static org.jboss.hal.meta.AdaptiveRrdBatchStrategy.MAX_IN_FLIGHT;
+import static org.jboss.hal.meta.AdaptiveRrdBatchStrategy.MAX_WEIGHT;
+import static org.jboss.hal.meta.AdaptiveRrdBatchStrategy.TARGET_LATENCY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RrdBatchSchedulerTest {
+
+    private FakeDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new FakeDispatcher(100, 10);
+    }
+
+    @Test
+    void empty() {
+        AtomicInteger completed = new AtomicInteger();
+        RrdBatchScheduler scheduler = new RrdBatchScheduler(RrdBatchStrategy.adaptive(), dispatcher, dispatcher::now);
+        scheduler.execute(List.of(), completed::incrementAndGet, error -> {});
+
+        assertEquals(1, completed.get());
+        assertEquals(0, scheduler.roundTrips());
+    }
+
+    @Test
+    void fewerRoundTrips() {
+        List<String> addresses = addresses(40);
+
+        FakeDispatcher sequential = new FakeDispatcher(100, 10);
+        RrdBatchScheduler legacy = run(RrdBatchStrategy.fixed(3, 1), sequential, addresses);
+        long legacyTime = sequential.now();
+
+        RrdBatchScheduler adaptive = run(RrdBatchStrategy.adaptive(), dispatcher, addresses);
+        long adaptiveTime = dispatcher.now();
+
+        assertEquals(14, legacy.roundTrips());
+        assertTrue(adaptive.roundTrips() < legacy.roundTrips(),
+                "Expected less than " + legacy.roundTrips() + " round trips, but got " + adaptive.roundTrips());
+        assertTrue(adaptiveTime < legacyTime, "Expected less than " + legacyTime + "ms, but took " + adaptiveTime + "ms");
+        assertEquals(40, dispatcher.executed);
+    }
+
+    @Test
+    void maxInFlight() {
+        run(RrdBatchStrategy.adaptive(), dispatcher, addresses(100));
+
+        assertEquals(MAX_IN_FLIGHT, dispatcher.maxConcurrent);
+        assertEquals(100, dispatcher.executed);
+    }
+
+    @Test
+    void weightedBatches() {
+        RrdBatchStrategy strategy = RrdBatchStrategy.adaptive();
+        List<String> addresses = new ArrayList<>(addresses(4));
+        addresses.add("subsystem=*");
+        addresses.add("profile=*/subsystem=*");
+
+        run(strategy, dispatcher, addresses);
+
+        // heavy addresses first
+        assertEquals("profile=*/subsystem=*", dispatcher.batches.get(0).get(0));
+        for (List<String> batch : dispatcher.batches) {
+            long weight = batch.stream().mapToLong(strategy::weigh).sum();
+            assertTrue(batch.size() == 1 || weight <= INITIAL_WEIGHT, "Batch " + batch + " too heavy: " + weight);
+        }
+    }
+
+    @Test
+    void adjustToLatency() {
+        RrdBatchStrategy strategy = RrdBatchStrategy.adaptive();
+        strategy.onResponse(8, INITIAL_WEIGHT, 8, TARGET_LATENCY / 2);
+        assertTrue(strategy.maxBatchWeight() > INITIAL_WEIGHT);
+
+        for (int i = 0; i < 20; i++) {
+            strategy.onResponse(64, strategy.maxBatchWeight(), 64, 10);
+        }
+        assertEquals(MAX_WEIGHT, strategy.maxBatchWeight());
+
+        strategy.onResponse(64, MAX_WEIGHT, 64, TARGET_LATENCY * 2);
+        assertEquals(MAX_WEIGHT / 2, strategy.maxBatchWeight());
+    }
+
+    @Test
+    void adjustToPayload() {
+        RrdBatchStrategy strategy = RrdBatchStrategy.adaptive();
+        strategy.onResponse(8, INITIAL_WEIGHT, 1_000, 10);
+        assertEquals(INITIAL_WEIGHT, strategy.maxBatchWeight());
+    }
+
+    @Test
+    void slowServer() {
+        FakeDispatcher slow = new FakeDispatcher(2 * TARGET_LATENCY, 0);
+        RrdBatchStrategy strategy = RrdBatchStrategy.adaptive();
+        run(strategy, slow, addresses(40));
+
+        assertTrue(strategy.maxBatchWeight() < INITIAL_WEIGHT);
+        assertEquals(40, slow.executed);
+    }
+
+    @Test
+    void failure() {
+        AtomicInteger completed = new AtomicInteger();
+        List<Object> errors = new ArrayList<>();
+        dispatcher.failAt = 2;
+        RrdBatchScheduler scheduler = new RrdBatchScheduler(RrdBatchStrategy.fixed(1, 2), dispatcher, dispatcher::now);
+        scheduler.execute(addresses(10), completed::incrementAndGet, errors::add);
+        dispatcher.run();
+
+        assertEquals(0, completed.get());
+        assertEquals(List.of("failed"), errors);
+        assertTrue(scheduler.roundTrips() < 10);
+    }
+
+    @Test
+    void synchronousExecutor() {
+        AtomicInteger completed = new AtomicInteger();
+        BatchExecutor executor = (addresses, callback) -> callback.onSuccess(addresses.size());
+        RrdBatchScheduler scheduler = new RrdBatchScheduler(RrdBatchStrategy.fixed(3, 4), executor, () -> 0);
+        scheduler.execute(addresses(10), completed::incrementAndGet, error -> {});
+
+        assertEquals(1, completed.get());
+        assertEquals(4, scheduler.roundTrips());
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static List<String> addresses(int count) {
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addresses.add("subsystem=s" + i);
+        }
+        return addresses;
+    }
+
+    private static RrdBatchScheduler run(RrdBatchStrategy strategy, FakeDispatcher dispatcher, List<String> addresses) {
+        AtomicInteger completed = new AtomicInteger();
+        RrdBatchScheduler scheduler = new RrdBatchScheduler(strategy, dispatcher, dispatcher::now);
+        scheduler.execute(addresses, completed::incrementAndGet, error -> {
+            throw new AssertionError("Unexpected error: " + error);
+        });
+        dispatcher.run();
+        assertEquals(1, completed.get());
+        return scheduler;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /**
+     * Simulates a management endpoint with a virtual clock. The latency of a request is a fixed round trip time plus a cost
+     * per operation. Responses are delivered in order of their completion time when calling {@link #run()}.
+     */
+    private static class FakeDispatcher implements BatchExecutor {
+
+        private final long roundTripTime;
+        private final long operationTime;
+        private final PriorityQueue<Response> responses;
+        private final List<List<String>> batches;
+        private long now;
+        private long sequence;
+        private int executed;
+        private int maxConcurrent;
+        private int failAt;
+
+        FakeDispatcher(long roundTripTime, long operationTime) {
+            this.roundTripTime = roundTripTime;
+            this.operationTime = operationTime;
+            this.responses = new PriorityQueue<>(comparingLong(Response::time).thenComparingLong(Response::sequence));
+            this.batches = new ArrayList<>();
+            this.failAt = -1;
+        }
+
+        @Override
+        public void execute(List<String> addresses, BatchCallback callback) {
+            batches.add(addresses);
+            long time = now + roundTripTime + operationTime * addresses.size();
+            responses.add(new Response(time, sequence++, addresses, callback));
+            maxConcurrent = Math.max(maxConcurrent, responses.size());
+        }
+
+        long now() {
+            return now;
+        }
+
+        void run() {
+            while (!responses.isEmpty()) {
+                Response response = responses.poll();
+                now = response.time();
+                if (response.sequence() == failAt) {
+                    response.callback().onError("failed");
+                } else {
+                    executed += response.addresses().size();
+                    response.callback().onSuccess(response.addresses().size());
+                }
+            }
+        }
+    }
+
+    private record Response(long time, long sequence, List<String> addresses, BatchCallback callback) {}
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecondLevelCacheTest {
+
+    private static final String ENDPOINT = "http://localhost:9990/management";
+    private static final MetadataScope V1 = new MetadataScope(ENDPOINT, "1.0.0", "en", "SIMPLE:admin[]");
+    private static final MetadataScope V2 = new MetadataScope(ENDPOINT, "2.0.0", "en", "SIMPLE:admin[]");
+
+    private InMemorySecondLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InMemorySecondLevelCache();
+    }
+
+    @Test
+    void noScope() {
+        cache.put(metadata("subsystem=io"));
+        assertEquals(0, cache.size());
+        assertNull(get("subsystem=io"));
+    }
+
+    @Test
+    void roundTrip() {
+        open(V1);
+        cache.put(metadata("subsystem=io"));
+
+        Metadata metadata = get("subsystem=io");
+        assertNotNull(metadata);
+        assertEquals("subsystem=io", metadata.address());
+        assertEquals("description of subsystem=io", metadata.resourceDescription().get(DESCRIPTION).asString());
+        assertTrue(metadata.securityContext().readable());
+        assertFalse(metadata.securityContext().writable());
+        assertNull(get("subsystem=undertow"));
+    }
+
+    @Test
+    void readOnlyFallback() {
+        open(V1);
+        cache.put(Metadata.metadata("subsystem=io", new ResourceDescription(description("subsystem=io")), SecurityContext.READ_ONLY));
+        assertTrue(get("subsystem=io").securityContext().readable());
+    }
+
+    @Test
+    void versionMismatch() {
+        open(V1);
+        cache.put(metadata("subsystem=io"));
+        cache.put(metadata("subsystem=undertow"));
+        assertEquals(2, cache.size());
+
+        // management model upgrade: the old entries are stale
+        open(V2);
+        assertEquals(0, cache.size());
+        assertNull(get("subsystem=io"));
+        assertNull(get("subsystem=undertow"));
+
+        // going back doesn't resurrect anything
+        cache.put(metadata("subsystem=io"));
+        open(V1);
+        assertEquals(0, cache.size());
+        assertNull(get("subsystem=io"));
+    }
+
+    @Test
+    void otherEndpointsAreKept() {
+        MetadataScope other = new MetadataScope("https://other:9993/management", "1.0.0", "en", "SIMPLE:admin[]");
+        open(other);
+        cache.put(metadata("subsystem=io"));
+        open(V1);
+        cache.put(metadata("subsystem=io"));
+        open(V2);
+
+        assertEquals(1, cache.size());
+        open(other);
+        assertNotNull(get("subsystem=io"));
+    }
+
+    @Test
+    void localeAndIdentity() {
+        MetadataScope german = new MetadataScope(ENDPOINT, "1.0.0", "de", "SIMPLE:admin[]");
+        MetadataScope monitor = new MetadataScope(ENDPOINT, "1.0.0", "en", "RBAC:bob[Monitor]");
+        open(V1);
+        cache.put(metadata("subsystem=io"));
+
+        // same version, but different locale or identity: entries are kept, but not visible
+        open(german);
+        assertNull(get("subsystem=io"));
+        open(monitor);
+        assertNull(get("subsystem=io"));
+        assertEquals(1, cache.size());
+
+        open(V1);
+        assertNotNull(get("subsystem=io"));
+    }
+
+    @Test
+    void processed() {
+        assertTrue(processed("subsystem=*").isEmpty());
+        open(V1);
+        assertTrue(processed("subsystem=*").isEmpty());
+
+        cache.putProcessed("subsystem=*", Set.of("subsystem=io", "subsystem=logging"));
+        cache.put(metadata("subsystem=io"));
+        assertEquals(Set.of("subsystem=io", "subsystem=logging"), processed("subsystem=*"));
+        assertNull(get("subsystem=*"));
+        assertTrue(processed("subsystem=io").isEmpty());
+
+        // processed addresses are stale after a management model upgrade as well
+        open(V2);
+        assertEquals(0, cache.size());
+        assertTrue(processed("subsystem=*").isEmpty());
+    }
+
+    @Test
+    void stale() {
+        assertFalse(V1.stale(V1.key("subsystem=io")));
+        assertTrue(V1.stale(V2.key("subsystem=io")));
+        assertFalse(V1.stale(new MetadataScope("http://localhost:9990/management2", "2.0.0", "en", "").key("a=b")));
+        assertFalse(V1.stale(new MetadataScope(ENDPOINT, "1.0.0", "de", "RBAC:bob[Monitor]").key("a=b")));
+    }
+
+    // ------------------------------------------------------ helper
+
+    private void open(MetadataScope scope) {
+        boolean[] ready = {false};
+        cache.open(scope, () -> ready[0] = true);
+        assertTrue(ready[0]);
+        assertEquals(scope, cache.scope());
+    }
+
+    private Set<String> processed(String address) {
+        List<Set<String>> result = new ArrayList<>();
+        cache.getProcessed(address, result::add);
+        assertEquals(1, result.size());
+        return result.get(0);
+    }
+
+    private Metadata get(String address) {
+        List<Metadata> result = new ArrayList<>();
+        cache.get(address, result::add);
+        assertEquals(1, result.size());
+        return result.get(0);
+    }
+
+    private Metadata metadata(String address) {
+        ModelNode securityContext = new ModelNode();
+        securityContext.get(READ).set(true);
+        securityContext.get(WRITE).set(false);
+        return Metadata.metadata(address, new ResourceDescription(description(address)), new SecurityContext(securityContext));
+    }
+
+    private ModelNode description(String address) {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("description of " + address);
+        return description;
+    }
+}
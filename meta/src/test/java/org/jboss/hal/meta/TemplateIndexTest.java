@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TemplateIndexTest {
+
+    private static final String[] SUBSYSTEMS = {"datasources", "ejb3", "io", "logging", "undertow"};
+    private static final String[] TYPES = {"server", "host", "handler", "listener", "cache"};
+
+    @Test
+    void empty() {
+        TemplateIndex<String> index = new TemplateIndex<>();
+        assertFalse(index.bestMatch(AddressTemplate.ofTrusted("subsystem=io")).isPresent());
+        index.add(AddressTemplate.root(), "root");
+        assertFalse(index.bestMatch(AddressTemplate.ofTrusted("subsystem=io")).isPresent());
+        index.add(AddressTemplate.ofTrusted("subsystem=io"), "io");
+        assertFalse(index.bestMatch(AddressTemplate.root()).isPresent());
+    }
+
+    @Test
+    void mostSpecific() {
+        TemplateIndex<String> index = new TemplateIndex<>();
+        index.add(AddressTemplate.ofTrusted("subsystem=*"), "subsystem");
+        index.add(AddressTemplate.ofTrusted("subsystem=logging"), "logging");
+        index.add(AddressTemplate.ofTrusted("subsystem=logging/logger=*"), "logger");
+        index.add(AddressTemplate.ofTrusted("subsystem=*/logger=com.acme"), "acme");
+
+        assertEquals(Optional.of("subsystem"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=io")));
+        assertEquals(Optional.of("logging"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=logging/root-logger=ROOT")));
+        assertEquals(Optional.of("logger"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=logging/logger=foo")));
+        // same number of segments and exact values: the first added value wins
+        assertEquals(Optional.of("logger"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=logging/logger=com.acme")));
+        assertEquals(Optional.of("acme"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=io/logger=com.acme")));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void placeholders() {
+        TemplateIndex<String> index = new TemplateIndex<>();
+        index.add(AddressTemplate.ofTrusted("subsystem=logging/logger={selected.resource}"), "selected");
+        index.add(AddressTemplate.ofTrusted("subsystem=logging"), "logging");
+
+        assertEquals(Optional.of("selected"),
+                index.bestMatch(AddressTemplate.ofTrusted("subsystem=logging/logger={selected.resource}")));
+        assertEquals(Optional.of("logging"), index.bestMatch(AddressTemplate.ofTrusted("subsystem=logging/logger=foo")));
+    }
+
+    @Test
+    void filter() {
+        TemplateIndex<String> index = new TemplateIndex<>();
+        index.add(AddressTemplate.ofTrusted("subsystem=*"), "subsystem");
+        index.add(AddressTemplate.ofTrusted("subsystem=logging"), "logging");
+        AddressTemplate input = AddressTemplate.ofTrusted("subsystem=logging");
+
+        assertEquals(Optional.of("subsystem"), index.bestMatch(input, value -> !value.equals("logging")));
+        assertFalse(index.bestMatch(input, value -> false).isPresent());
+    }
+
+    @Test
+    void clear() {
+        TemplateIndex<String> index = new TemplateIndex<>();
+        index.add(AddressTemplate.ofTrusted("subsystem=*"), "subsystem");
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.bestMatch(AddressTemplate.ofTrusted("subsystem=io")).isPresent());
+    }
+
+    @Test
+    void sameRankingAsTemplateMatcher() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            List<AddressTemplate> patterns = new ArrayList<>();
+            TemplateIndex<AddressTemplate> index = new TemplateIndex<>();
+            for (int i = 0; i < 200; i++) {
+                AddressTemplate pattern = template(random, true);
+                patterns.add(pattern);
+                index.add(pattern, pattern);
+            }
+            for (int i = 0; i < 200; i++) {
+                AddressTemplate input = template(random, random.nextInt(10) == 0);
+                Optional<AddressTemplate> expected = TemplateMatcher.bestMatch(patterns, Function.identity(), input);
+                assertEquals(expected, index.bestMatch(input), "Best match for " + input);
+            }
+        }
+    }
+
+    @Test
+    void sameRankingAsTemplateMatcherMultiple() {
+        Random random = new Random(4711);
+        for (int run = 0; run < 20; run++) {
+            List<List<AddressTemplate>> candidates = new ArrayList<>();
+            TemplateIndex<List<AddressTemplate>> index = new TemplateIndex<>();
+            for (int i = 0; i < 100; i++) {
+                List<AddressTemplate> scopes = List.of(template(random, true), template(random, true));
+                candidates.add(scopes);
+                index.addAll(scopes, scopes);
+            }
+            for (int i = 0; i < 200; i++) {
+                AddressTemplate input = template(random, false);
+                Optional<List<AddressTemplate>> expected = TemplateMatcher.bestMatchMultiple(candidates, Function.identity(),
+                        input);
+                assertEquals(expected, index.bestMatch(input), "Best match for " + input);
+            }
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private AddressTemplate template(Random random, boolean wildcards) {
+        AddressTemplate template = AddressTemplate.of("subsystem", wildcards && random.nextInt(5) == 0
+                ? "*"
+                : SUBSYSTEMS[random.nextInt(SUBSYSTEMS.length)]);
+        int depth = random.nextInt(4);
+        for (int i = 0; i < depth; i++) {
+            String value = wildcards && random.nextBoolean() ? "*" : "name-" + random.nextInt(3);
+            template = template.append(TYPES[random.nextInt(TYPES.length)], value);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsageLogTest {
+
+    private static final AddressTemplate A = AddressTemplate.ofTrusted("subsystem=a");
+    private static final AddressTemplate B = AddressTemplate.ofTrusted("subsystem=b");
+    private static final AddressTemplate C = AddressTemplate.ofTrusted("subsystem=c");
+    private static final AddressTemplate D = AddressTemplate.ofTrusted("subsystem=d");
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+    }
+
+    @Test
+    void empty() {
+        UsageLog log = new UsageLog();
+        assertTrue(log.successors(A).isEmpty());
+        assertTrue(log.frequent(10).isEmpty());
+    }
+
+    @Test
+    void successors() {
+        UsageLog log = new UsageLog();
+        visit(log, A, B, A, C, A, C, A, A);
+        assertEquals(List.of(C, B), log.successors(A));
+        assertEquals(List.of(A), log.successors(B));
+        assertTrue(log.successors(D).isEmpty());
+    }
+
+    @Test
+    void successorTiesInFirstSeenOrder() {
+        UsageLog log = new UsageLog();
+        visit(log, A, D, A, B, A, C);
+        assertEquals(List.of(D, B, C), log.successors(A));
+    }
+
+    @Test
+    void boundedSuccessors() {
+        UsageLog log = new UsageLog();
+        visit(log, A, B, A, B);
+        for (int i = 0; i < UsageLog.SUCCESSORS; i++) {
+            visit(log, A, AddressTemplate.of("resource", String.valueOf(i)));
+        }
+        List<AddressTemplate> successors = log.successors(A);
+        assertEquals(UsageLog.SUCCESSORS, successors.size());
+        assertEquals(B, successors.get(0));
+    }
+
+    @Test
+    void frequent() {
+        UsageLog log = new UsageLog();
+        visit(log, A, B, B, C, C, C, D);
+        assertEquals(List.of(C, B), log.frequent(2));
+        // ties: most recently visited first
+        assertEquals(List.of(C, B, D, A), log.frequent(10));
+    }
+
+    @Test
+    void bounded() {
+        UsageLog log = new UsageLog(2);
+        visit(log, A, A, A, B, C);
+        assertEquals(2, log.size());
+        assertEquals(List.of(C, B), log.frequent(10));
+    }
+
+    @Test
+    void roundTrip() {
+        UsageLog log = new UsageLog();
+        visit(log, A, B, A, C, A, C, D, D);
+        ModelNode modelNode = ModelNode.fromBase64(log.toModelNode().toBase64String());
+        UsageLog restored = UsageLog.fromModelNode(modelNode);
+
+        assertEquals(log.size(), restored.size());
+        assertEquals(log.frequent(10), restored.frequent(10));
+        assertEquals(log.successors(A), restored.successors(A));
+        assertEquals(log.successors(C), restored.successors(C));
+    }
+
+    @Test
+    void restoreUndefined() {
+        assertEquals(0, UsageLog.fromModelNode(new ModelNode()).size());
+    }
+
+    private void visit(UsageLog log, AddressTemplate... templates) {
+        for (AddressTemplate template : templates) {
+            log.visit(template);
+        }
+    }
+}
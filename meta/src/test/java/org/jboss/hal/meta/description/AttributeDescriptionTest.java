@@ -15,10 +15,13 @@
  */
 package org.jboss.hal.meta.description;
 
+import org.jboss.hal.dmr.ModelNode;
 import org.junit.jupiter.api.Test;
 
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STORAGE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AttributeDescriptionTest {
 
@@ -30,5 +33,17 @@ class AttributeDescriptionTest {
         assertFalse(attributeDescription.deprecation().isDefined());
         assertEquals("", attributeDescription.formatType());
         assertFalse(attributeDescription.simpleRecord());
+        assertEquals("configuration", attributeDescription.storage());
+        assertFalse(attributeDescription.runtime());
+    }
+
+    @Test
+    void storage() {
+        ModelNode modelNode = new ModelNode();
+        modelNode.get(STORAGE).set("runtime");
+        assertTrue(new AttributeDescription("active-count", modelNode).runtime());
+
+        modelNode.get(STORAGE).set("configuration");
+        assertFalse(new AttributeDescription("max-pool-size", modelNode).runtime());
     }
 }
\ No newline at end of file
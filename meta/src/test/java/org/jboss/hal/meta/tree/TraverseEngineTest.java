@@ -0,0 +1,380 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.tree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.meta.tree.TraverseEngine.NodeOperation;
+import org.jboss.hal.meta.tree.TraverseEngine.Transport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.dispatch.CancellationToken.CANCELLED;
+import static org.jboss.hal.meta.StatementContextFactory.standaloneStatementContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraverseEngineTest {
+
+    private StatementContext statementContext;
+    private FakeServer server;
+    private List<AddressTemplate> accepted;
+    private boolean[] completed;
+
+    @BeforeEach
+    void setUp() {
+        statementContext = standaloneStatementContext();
+        server = new FakeServer();
+        server.resource("", "subsystem", "host");
+        server.resource("subsystem=a", "x");
+        server.resource("subsystem=b");
+        server.resource("subsystem=c");
+        server.resource("host=primary", "server");
+        server.resource("subsystem=a/x=x1");
+        server.resource("subsystem=a/x=x2");
+        server.resource("host=primary/server=s1");
+        server.resource("host=primary/server=s2");
+        server.resource("host=primary/server=s3");
+        accepted = new ArrayList<>();
+        completed = new boolean[1];
+    }
+
+    @Test
+    void traverseAll() {
+        TraverseContext context = traverse(new TraverseOptions.Builder().build());
+
+        assertTrue(completed[0]);
+        assertEquals(10, accepted.size());
+        assertEquals(10, context.accepted());
+        assertEquals(0, context.pending());
+        assertTrue(context.failed().isEmpty());
+        assertTrue(accepted.contains(AddressTemplate.ofTrusted("subsystem=a/x=x2")));
+        assertTrue(accepted.contains(AddressTemplate.ofTrusted("host=primary/server=s3")));
+    }
+
+    @Test
+    void breadthFirst() {
+        traverse(new TraverseOptions.Builder().batchSize(1).concurrency(1).build());
+
+        for (int i = 1; i < accepted.size(); i++) {
+            assertTrue(accepted.get(i - 1).size() <= accepted.get(i).size(), "Not breadth-first: " + accepted);
+        }
+    }
+
+    @Test
+    void concurrency() {
+        traverse(new TraverseOptions.Builder().batchSize(1).concurrency(1).build());
+        assertEquals(1, server.maxInFlight);
+
+        setUp();
+        traverse(new TraverseOptions.Builder().batchSize(1).concurrency(2).build());
+        assertEquals(2, server.maxInFlight);
+        assertEquals(10, accepted.size());
+    }
+
+    @Test
+    void concurrencyIncludesNodeOperations() {
+        TraverseContext context = traverse(new TraverseOptions.Builder().build());
+
+        // children reads and node operations share the slots
+        assertEquals(TraverseOptions.DEFAULT_CONCURRENCY, server.maxInFlight);
+        assertTrue(server.maxNodesInFlight > 1);
+        assertEquals(10, context.accepted());
+        assertTrue(completed[0]);
+    }
+
+    @Test
+    void batchSiblings() {
+        TraverseContext unbatched = traverse(new TraverseOptions.Builder().batchSize(1).build());
+        int unbatchedRequests = server.requests;
+        assertEquals(unbatchedRequests, unbatched.requests());
+
+        setUp();
+        TraverseContext batched = traverse(new TraverseOptions.Builder().batchSize(16).build());
+        assertTrue(server.requests < unbatchedRequests,
+                "Expected fewer than " + unbatchedRequests + " requests, but got " + server.requests);
+        assertTrue(server.maxSteps > 1);
+        assertEquals(batched.requests(), server.requests);
+        assertEquals(unbatched.accepted(), batched.accepted());
+        assertEquals(unbatched.processed(), batched.processed());
+    }
+
+    @Test
+    void maxDepth() {
+        traverse(new TraverseOptions.Builder().maxDepth(1).build());
+
+        assertEquals(List.of("", "host=primary", "subsystem=a", "subsystem=b", "subsystem=c"), sorted(accepted));
+    }
+
+    @Test
+    void maxDepthRelativeToStart() {
+        traverse(AddressTemplate.ofTrusted("host=primary"), new TraverseOptions.Builder().maxDepth(1).build());
+
+        assertEquals(List.of("host=primary", "host=primary/server=s1", "host=primary/server=s2", "host=primary/server=s3"),
+                sorted(accepted));
+    }
+
+    @Test
+    void exclude() {
+        traverse(new TraverseOptions.Builder().exclude(Set.of("/host", "/subsystem=a/x")).build());
+
+        assertEquals(List.of("", "subsystem=a", "subsystem=b", "subsystem=c"), sorted(accepted));
+    }
+
+    @Test
+    void failedStep() {
+        server.failing.add("subsystem=a");
+        TraverseContext context = traverse(new TraverseOptions.Builder().build());
+
+        assertTrue(completed[0]);
+        assertEquals(1, context.failed().size());
+        assertFalse(accepted.contains(AddressTemplate.ofTrusted("subsystem=a/x=x1")));
+        assertTrue(accepted.contains(AddressTemplate.ofTrusted("host=primary/server=s1")));
+        assertEquals(8, accepted.size());
+    }
+
+    @Test
+    void failedComposite() {
+        server.failing.add("subsystem=a");
+        server.failWholeComposite = true;
+        TraverseContext context = traverse(new TraverseOptions.Builder().build());
+
+        assertTrue(completed[0]);
+        assertEquals(1, context.failed().size());
+        assertTrue(accepted.contains(AddressTemplate.ofTrusted("subsystem=b")));
+        assertTrue(accepted.contains(AddressTemplate.ofTrusted("host=primary/server=s1")));
+        assertEquals(8, accepted.size());
+    }
+
+    @Test
+    void abort() {
+        TraverseContinuation continuation = new TraverseContinuation();
+        continuation.start();
+        TraverseContext context = new TraverseContext();
+        TraverseEngine<ModelNode> engine = new TraverseEngine<>(continuation, context,
+                new TraverseOptions.Builder().batchSize(1).concurrency(1).build(), statementContext,
+                (template, onSuccess, onError) -> onSuccess.accept(new ModelNode()),
+                (template, payload, ctx) -> {
+                    accepted.add(template);
+                    if (accepted.size() == 3) {
+                        continuation.stop();
+                    }
+                }, server);
+        engine.start(AddressTemplate.root(), () -> completed[0] = true);
+        server.drain();
+
+        assertTrue(completed[0]);
+        assertEquals(3, accepted.size());
+        assertTrue(context.pending() > 0);
+    }
+
+    @Test
+    void abortInFlight() {
+        TraverseContinuation continuation = new TraverseContinuation();
+        continuation.start();
+        server.token = continuation.token();
+        TraverseContext context = new TraverseContext();
+        TraverseEngine<ModelNode> engine = new TraverseEngine<>(continuation, context,
+                new TraverseOptions.Builder().batchSize(1).build(), statementContext,
+                (template, onSuccess, onError) -> onSuccess.accept(new ModelNode()),
+                (template, payload, ctx) -> accepted.add(template), server);
+        engine.start(AddressTemplate.root(), () -> completed[0] = true);
+        server.step();
+        assertEquals(2, server.responses.size());
+
+        continuation.stop();
+        server.drain();
+
+        assertTrue(completed[0]);
+        assertEquals(List.of(AddressTemplate.root()), accepted);
+        assertTrue(context.failed().isEmpty());
+    }
+
+    @Test
+    void progress() {
+        List<Integer> processed = new ArrayList<>();
+        TraverseContext context = traverse(new TraverseOptions.Builder()
+                .batchSize(1)
+                .progress(ctx -> processed.add(ctx.processed()))
+                .build());
+
+        assertFalse(processed.isEmpty());
+        for (int i = 1; i < processed.size(); i++) {
+            assertTrue(processed.get(i - 1) <= processed.get(i));
+        }
+        assertEquals(context.processed(), processed.get(processed.size() - 1));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private TraverseContext traverse(TraverseOptions options) {
+        return traverse(AddressTemplate.root(), options);
+    }
+
+    private TraverseContext traverse(AddressTemplate start, TraverseOptions options) {
+        TraverseContinuation continuation = new TraverseContinuation();
+        continuation.start();
+        TraverseContext context = new TraverseContext();
+        TraverseEngine<ModelNode> engine = new TraverseEngine<>(continuation, context, options, statementContext, server,
+                (template, payload, ctx) -> accepted.add(template), server);
+        engine.start(start, () -> completed[0] = true);
+        server.drain();
+        return context;
+    }
+
+    private static List<String> sorted(List<AddressTemplate> templates) {
+        return templates.stream()
+                .map(template -> template.template.startsWith("/") ? template.template.substring(1) : template.template)
+                .sorted()
+                .collect(toList());
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /** Asynchronous fake management endpoint which answers read-children-types/names and the node operations. */
+    private static class FakeServer implements Transport, NodeOperation<ModelNode> {
+
+        final Map<String, List<String>> types = new LinkedHashMap<>();
+        final Map<String, List<String>> names = new HashMap<>();
+        final List<String> failing = new ArrayList<>();
+        final List<Runnable> responses = new ArrayList<>();
+        CancellationToken token = CancellationToken.NONE;
+        boolean failWholeComposite;
+        int requests;
+        int maxInFlight;
+        int maxSteps;
+        int nodesInFlight;
+        int maxNodesInFlight;
+
+        void resource(String address, String... childTypes) {
+            types.put(address, List.of(childTypes));
+            int index = address.lastIndexOf('/');
+            String parent = index == -1 ? "" : address.substring(0, index);
+            String segment = address.substring(index + 1);
+            if (!segment.isEmpty()) {
+                String[] keyValue = segment.split("=");
+                names.computeIfAbsent(parent + "|" + keyValue[0], k -> new ArrayList<>()).add(keyValue[1]);
+            }
+        }
+
+        @Override
+        public void execute(Operation operation, Consumer<ModelNode> onResult, Consumer<Object> onError) {
+            requests++;
+            ModelNode result;
+            if (operation instanceof Composite) {
+                Composite composite = (Composite) operation;
+                maxSteps = Math.max(maxSteps, composite.size());
+                result = new ModelNode();
+                int step = 1;
+                boolean failure = false;
+                for (Operation o : composite) {
+                    ModelNode stepResult = step(o);
+                    failure = failure || !SUCCESS.equals(stepResult.get(OUTCOME).asString());
+                    result.get("step-" + step++).set(stepResult);
+                }
+                if (failure && failWholeComposite) {
+                    respond(() -> onError.accept("composite failed"), onError);
+                    return;
+                }
+            } else {
+                ModelNode stepResult = step(operation);
+                if (!SUCCESS.equals(stepResult.get(OUTCOME).asString())) {
+                    respond(() -> onError.accept("failed"), onError);
+                    return;
+                }
+                result = stepResult.get(RESULT);
+            }
+            respond(() -> onResult.accept(result), onError);
+        }
+
+        @Override
+        public void execute(AddressTemplate template, Consumer<ModelNode> onSuccess, Consumer<Object> onError) {
+            nodesInFlight++;
+            maxNodesInFlight = Math.max(maxNodesInFlight, nodesInFlight);
+            respond(() -> {
+                nodesInFlight--;
+                onSuccess.accept(new ModelNode());
+            }, error -> {
+                nodesInFlight--;
+                onError.accept(error);
+            });
+        }
+
+        void drain() {
+            while (!responses.isEmpty()) {
+                responses.remove(0).run();
+            }
+        }
+
+        void step() {
+            responses.remove(0).run();
+        }
+
+        private void respond(Runnable response, Consumer<Object> onError) {
+            responses.add(() -> {
+                if (token.cancelled()) {
+                    // like an aborted fetch
+                    onError.accept(CANCELLED);
+                } else {
+                    response.run();
+                }
+            });
+            maxInFlight = Math.max(maxInFlight, responses.size());
+        }
+
+        private ModelNode step(Operation operation) {
+            String address = operation.getAddress().asPropertyList().stream()
+                    .map(property -> property.getName() + "=" + property.getValue().asString())
+                    .collect(joining("/"));
+            ModelNode step = new ModelNode();
+            if (failing.contains(address)) {
+                step.get(OUTCOME).set(FAILED);
+                return step;
+            }
+            List<String> children;
+            if (READ_CHILDREN_NAMES_OPERATION.equals(operation.getName())) {
+                children = names.getOrDefault(address + "|" + operation.get(CHILD_TYPE).asString(), List.of());
+            } else {
+                children = types.getOrDefault(address, List.of());
+            }
+            step.get(OUTCOME).set(SUCCESS);
+            step.get(RESULT).setEmptyList();
+            children.forEach(child -> step.get(RESULT).add(child));
+            return step;
+        }
+    }
+}
@@ -34,8 +34,8 @@ import static org.jboss.elemento.flow.Flow.sequential;
 
 /**
  * Orchestrates the sequential bootstrap process for the halOP console. The bootstrap runs a series of tasks in order:
- * SetLogLevel, SelectEndpoint, SingleSignOnSupport, ReadEnvironment, ReadHostNames, FindDomainController, ReadStability,
- * LoadSettings, and SetTitle. Fails fast on the first error.
+ * SetLogLevel, SelectEndpoint, SingleSignOnSupport, NegotiateEncoding, ReadEnvironment, ReadHostNames, FindDomainController,
+ * ReadStability, EnableResponseCache, LoadSettings, and SetTitle. Fails fast on the first error.
  */
 @ApplicationScoped
 @SuppressWarnings("CdiUnproxyableBeanTypesInspection")
@@ -55,10 +55,12 @@ public class Bootstrap {
                 new SetLogLevel(),
                 new SelectEndpoint(endpoints, endpointStorage),
                 new SingleSignOnSupport(),
+                new NegotiateEncoding(dispatcher),
                 new ReadEnvironment(dispatcher, environment, user),
                 new ReadHostNames(dispatcher, environment),
                 new FindDomainController(dispatcher, environment, statementContext),
                 new ReadStability(dispatcher, environment, statementContext),
+                new EnableResponseCache(dispatcher),
                 new LoadSettings(settings),
                 new SetTitle(settings, environment)
         )).failFast(true);
@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.op.bootstrap;
+
+import org.jboss.elemento.flow.FlowContext;
+import org.jboss.elemento.flow.Task;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+import elemental2.promise.Promise;
+
+/**
+ * Bootstrap task that detects whether the management endpoint supports binary DMR payloads. Falls back to base64-encoded
+ * payloads otherwise. Never fails.
+ */
+class NegotiateEncoding implements Task<FlowContext> {
+
+    private final Dispatcher dispatcher;
+
+    NegotiateEncoding(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public Promise<FlowContext> apply(FlowContext context) {
+        return dispatcher.negotiateEncoding().then(__ -> context.resolve());
+    }
+}
@@ -36,6 +36,7 @@ import org.jboss.hal.model.user.User;
 
 import elemental2.promise.Promise;
 
+import static java.util.stream.Collectors.joining;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DOMAIN_ORGANIZATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
@@ -130,6 +131,10 @@ class ReadEnvironment implements Task<FlowContext> {
                         }
                     }
                     user.setAuthenticated(true);
+                    environment.updateIdentity(user.getName() + user.getRoles().stream()
+                            .map(Role::getName)
+                            .sorted()
+                            .collect(joining(",", "[", "]")));
                     logger.info("User: %s", user);
 
                     return context.resolve();
@@ -23,6 +23,7 @@ import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
@@ -236,7 +237,7 @@ class OverviewCard implements Attachable, AutoRefresh, DashboardCard {
                     .param(ATTRIBUTES_ONLY, true)
                     .param(INCLUDE_RUNTIME, true)
                     .build();
-            dispatcher.execute(operation).then(result -> {
+            dispatcher.execute(operation, Lane.BACKGROUND).then(result -> {
                 uptimeDld.text(duration(result.get("uptime").asLong()));
                 return null;
             });
@@ -24,6 +24,7 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ModelNodeHelper;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRepository;
@@ -290,7 +291,7 @@ class RuntimeCard implements Attachable, AutoRefresh, DashboardCard {
                     .param(ATTRIBUTES_ONLY, true)
                     .param(INCLUDE_RUNTIME, true)
                     .build();
-            dispatcher.execute(new Composite(memoryOp, threadsOp))
+            dispatcher.execute(new Composite(memoryOp, threadsOp), Lane.BACKGROUND)
                     .then(result -> {
                         ModelNode memory = result.step(0).get(RESULT).get("heap-memory-usage");
                         ModelNode threads = result.step(1).get(RESULT);
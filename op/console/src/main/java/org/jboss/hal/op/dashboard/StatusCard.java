@@ -21,6 +21,7 @@ import org.jboss.elemento.flow.Task;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
@@ -200,7 +201,7 @@ class StatusCard implements Attachable, AutoRefresh, DashboardCard {
                 .param(ATTRIBUTES_ONLY, true)
                 .param(INCLUDE_RUNTIME, true)
                 .build();
-        dispatcher.execute(operation)
+        dispatcher.execute(operation, Lane.BACKGROUND)
                 .then(result -> {
                     RuntimeConfigurationState runtimeConfigurationState;
                     RunningMode runningMode;
@@ -22,6 +22,7 @@ import jakarta.inject.Inject;
 import org.jboss.elemento.By;
 import org.jboss.elemento.router.AnnotatedPlaces;
 import org.jboss.elemento.router.PlaceManager;
+import org.jboss.hal.dmr.dispatch.RouteCancellation;
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.resources.Ids;
 import org.patternfly.component.navigation.Navigation;
@@ -31,13 +32,15 @@ import io.crysknife.client.BeanManager;
 
 /**
  * CDI producer for the application-scoped {@link PlaceManager}. Configures the router with the base path, root element, title
- * formatting, fallback pages, and navigation synchronization.
+ * formatting, fallback pages, and navigation synchronization. Aborts the requests of the previous route after each
+ * navigation (see {@link RouteCancellation}).
  */
 public class PlaceManagerProducer {
 
     @Inject BeanManager beanManager;
     @Inject Environment environment;
     @Inject Navigation navigation;
+    @Inject RouteCancellation routeCancellation;
 
     /** Produces the application-scoped place manager configured with annotated routes and fallback pages. */
     @Produces
@@ -51,6 +54,8 @@ public class PlaceManagerProducer {
                 .noData(NoData::new)
                 .register(new AnnotatedPlaces(beanManager))
                 .afterPlace((placeManager, place) -> {
+                    // abort the requests of the pages we left
+                    routeCancellation.navigated();
                     NavigationItem best = null;
                     for (NavigationItem ni : navigation) {
                         if (place.path().startsWith(ni.identifier())) {
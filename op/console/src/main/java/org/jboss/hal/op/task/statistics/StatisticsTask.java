@@ -33,7 +33,10 @@ import org.jboss.hal.core.Notifications;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Lane;
+import org.jboss.hal.dmr.dispatch.RouteCancellation;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRepository;
@@ -84,6 +87,7 @@ public class StatisticsTask implements Task {
     private final Dispatcher dispatcher;
     private final MetadataRepository metadataRepository;
     private final ModelTree modelTree;
+    private final RouteCancellation routeCancellation;
     private final ExpressionsSection expressionsSection;
     private final ResourcesSection resourcesSection;
 
@@ -92,10 +96,12 @@ public class StatisticsTask implements Task {
             CrudOperations crud,
             MetadataRepository metadataRepository,
             ModelTree modelTree,
+            RouteCancellation routeCancellation,
             Notifications notifications) {
         this.dispatcher = dispatcher;
         this.metadataRepository = metadataRepository;
         this.modelTree = modelTree;
+        this.routeCancellation = routeCancellation;
         this.resources = new HashMap<>();
         this.expressions = new HashSet<>();
         this.expressionsSection = expressionsSection(this, dispatcher, crud);
@@ -131,26 +137,33 @@ public class StatisticsTask implements Task {
 
     @Override
     public void run() {
+        // stop the traversal and abort all requests once the user leaves the page
+        CancellationToken token = routeCancellation.token();
+        TraverseContinuation continuation = new TraverseContinuation();
+        Runnable unregister = token.onCancel(continuation::stop);
+        // the node reads of the traversal share the bulk lane with the children reads of the model tree
         TraverseOperation<ModelNode> operation = (template, context) -> {
             if (template.fullyQualified()) {
                 return dispatcher.execute(new Operation.Builder(template.resolve(context), READ_RESOURCE_OPERATION)
                                 .param(ATTRIBUTES_ONLY, true)
                                 .param(INCLUDE_RUNTIME, true)
-                                .build())
+                                .build(), token, Lane.BULK)
                         .then(result -> Promise.resolve(result.asPropertyList().stream()
                                 .filter(property -> STATISTICS_ENABLED.equals(property.getName()))
                                 .map(Property::getValue)
                                 .findFirst()
                                 .orElse(new ModelNode())))
                         .catch_(error -> {
-                            logger.error("Failed to read attributes of %s: %s", template, error);
+                            if (!token.cancelled()) {
+                                logger.error("Failed to read attributes of %s: %s", template, error);
+                            }
                             return Promise.resolve(new ModelNode());
                         });
             } else {
                 return Promise.resolve(new ModelNode());
             }
         };
-        modelTree.traverse(new TraverseContinuation(), AddressTemplate.root(), singleton("/core-service"),
+        modelTree.traverse(continuation, AddressTemplate.root(), singleton("/core-service"),
                         EnumSet.noneOf(TraverseType.class), operation,
                         (template, statisticsEnabled, context) -> {
                             if (template.fullyQualified() && statisticsEnabled.isDefined()) {
@@ -164,6 +177,8 @@ public class StatisticsTask implements Task {
                                 resourcesSection.addResource(rd);
                             }
                         })
+                // the route token outlives the traversal
+                .finally_(unregister::run)
                 .then(context -> {
                     // We have collected all expressions and resources with a statistics-enabled attribute.
                     // We can update the count and the bulk expression dropdown now.
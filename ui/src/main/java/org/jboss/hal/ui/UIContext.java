@@ -29,6 +29,7 @@ import org.jboss.hal.env.Endpoints;
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.env.Settings;
 import org.jboss.hal.meta.CapabilityRegistry;
+import org.jboss.hal.meta.MetadataPrefetcher;
 import org.jboss.hal.meta.MetadataRepository;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.meta.tree.ModelTree;
@@ -68,6 +69,7 @@ public class UIContext {
     private final Dispatcher dispatcher;
     private final Endpoints endpoints;
     private final Environment environment;
+    private final MetadataPrefetcher metadataPrefetcher;
     private final MetadataRepository metadataRepository;
     private final ModelTree modelTree;
     private final Notifications notifications;
@@ -85,6 +87,7 @@ public class UIContext {
             Dispatcher dispatcher,
             Endpoints endpoints,
             Environment environment,
+            MetadataPrefetcher metadataPrefetcher,
             MetadataRepository metadataRepository,
             ModelTree modelTree,
             Notifications notifications,
@@ -100,6 +103,7 @@ public class UIContext {
         this.dispatcher = dispatcher;
         this.endpoints = endpoints;
         this.environment = environment;
+        this.metadataPrefetcher = metadataPrefetcher;
         this.metadataRepository = metadataRepository;
         this.modelTree = modelTree;
         this.notifications = notifications;
@@ -140,6 +144,11 @@ public class UIContext {
         return environment;
     }
 
+    /** Returns the prefetcher which reads the metadata of likely next templates while the browser is idle. */
+    public MetadataPrefetcher metadataPrefetcher() {
+        return metadataPrefetcher;
+    }
+
     /** Returns the metadata repository for accessing WildFly management model metadata. */
     public MetadataRepository metadataRepository() {
         return metadataRepository;
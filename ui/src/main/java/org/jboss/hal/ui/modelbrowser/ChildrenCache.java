@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.modelbrowser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.db.LRUCache;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.meta.AddressTemplate;
+
+/**
+ * Caches the results of the read children operations of the model browser tree by address template. Folder templates (ending
+ * in {@code =*}) map to the result of {@code read-children-names}, resource templates to the result of
+ * {@code read-children-types}. The cache is filled when tree items are expanded and by the {@link PathComposite} of a deep
+ * link. Expanding an item again, e.g. after it has been reloaded or selected via history, doesn't need a request.
+ * <p>
+ * The cache also keeps the window of each folder: Large folders show their children in pages of {@link #PAGE_SIZE} items, so
+ * that the tree view doesn't create thousands of items at once.
+ */
+class ChildrenCache {
+
+    static final int CAPACITY = 256;
+    static final int PAGE_SIZE = 100;
+
+    private final LRUCache<String, ModelNode> results;
+    private final Map<String, Integer> limits;
+    private final Map<String, String> reveals;
+
+    ChildrenCache() {
+        this.results = new LRUCache<>(CAPACITY);
+        this.limits = new HashMap<>();
+        this.reveals = new HashMap<>();
+    }
+
+    // ------------------------------------------------------ cache
+
+    boolean contains(AddressTemplate template) {
+        return results.contains(template.template);
+    }
+
+    ModelNode get(AddressTemplate template) {
+        return results.get(template.template);
+    }
+
+    void put(AddressTemplate template, ModelNode result) {
+        results.put(template.template, result);
+    }
+
+    /**
+     * Removes the cached children of the given template and all its descendants. If the template is a resource, the children
+     * of its folder are removed as well, since adding or removing a resource changes the names of the folder.
+     */
+    void invalidate(AddressTemplate template) {
+        String prefix = template.template + "/";
+        List<String> remove = new ArrayList<>();
+        for (String key : results.keys()) {
+            if (key.equals(template.template) || key.startsWith(prefix)) {
+                remove.add(key);
+            }
+        }
+        if (!template.isEmpty() && !"*".equals(template.last().value)) {
+            remove.add(template.anonymiseLast().template);
+        }
+        for (String key : remove) {
+            results.remove(key);
+        }
+    }
+
+    void clear() {
+        results.clear();
+        limits.clear();
+        reveals.clear();
+    }
+
+    // ------------------------------------------------------ window
+
+    /** Makes sure that the child with the given name is part of the window the next time the folder is expanded. */
+    void reveal(AddressTemplate folder, String name) {
+        reveals.put(folder.template, name);
+    }
+
+    /** Extends the window of the given folder by one page. */
+    void more(AddressTemplate folder) {
+        limits.put(folder.template, limit(folder.template) + PAGE_SIZE);
+    }
+
+    /** Returns the number of children to show for the given folder and child names. */
+    int visible(AddressTemplate folder, List<String> names) {
+        int limit = limit(folder.template);
+        String reveal = reveals.remove(folder.template);
+        if (reveal != null) {
+            int index = names.indexOf(reveal);
+            if (index >= limit) {
+                limit = (index / PAGE_SIZE + 1) * PAGE_SIZE;
+                limits.put(folder.template, limit);
+            }
+        }
+        return Math.min(limit, names.size());
+    }
+
+    // ------------------------------------------------------ internal
+
+    private int limit(String folder) {
+        return limits.getOrDefault(folder, PAGE_SIZE);
+    }
+}
@@ -103,6 +103,7 @@ public class ModelBrowser implements Attachable, IsElement<HTMLElement> {
     final AddressTemplate root;
     final ModelBrowserTree tree;
     final ModelBrowserDetail detail;
+    final ChildrenCache childrenCache;
     private final HTMLElement rootElement;
     private final HTMLElement splitter;
     private boolean dragging;
@@ -119,6 +120,7 @@ public class ModelBrowser implements Attachable, IsElement<HTMLElement> {
         this.initialSelection = initialSelection;
         this.dragging = false;
         this.containerLeft = 0;
+        this.childrenCache = new ChildrenCache();
         this.tree = new ModelBrowserTree(this);
         this.detail = new ModelBrowserDetail(this);
         this.rootElement = div().css(halComponent(modelBrowser))
@@ -209,6 +211,7 @@ public class ModelBrowser implements Attachable, IsElement<HTMLElement> {
 
     void load() {
         if (root.fullyQualified()) {
+            childrenCache.clear();
             uic().metadataRepository().lookup(root, metadata -> {
                 ResourceAddress address = root.resolve(uic().statementContext());
                 Operation operation = new Operation.Builder(address, READ_CHILDREN_TYPES_OPERATION)
@@ -240,6 +243,7 @@ public class ModelBrowser implements Attachable, IsElement<HTMLElement> {
 
     private void add(AddResource.Details details) {
         addResourceModal(details.parent, details.child, details.singleton).then(__ -> {
+            childrenCache.invalidate(details.parent);
             tree.select(details.parent.identifier());
             tree.reload();
             return null;
@@ -250,6 +254,7 @@ public class ModelBrowser implements Attachable, IsElement<HTMLElement> {
         deleteResourceModal(details.template)
                 .then(node -> {
                     if (node.isDefined()) { // undefined means canceled
+                        childrenCache.invalidate(details.template);
                         tree.select(details.template.anonymiseLast().identifier());
                         tree.reload();
                     }
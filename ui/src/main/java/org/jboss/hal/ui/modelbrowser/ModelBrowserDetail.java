@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.jboss.elemento.IsElement;
 import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.MetadataProfile;
 import org.jboss.hal.resources.HalClasses;
 import org.jboss.hal.ui.modelbrowser.ModelBrowserEvents.AddResource;
 import org.jboss.hal.ui.modelbrowser.ModelBrowserEvents.DeleteResource;
@@ -86,7 +87,12 @@ class ModelBrowserDetail implements IsElement<HTMLElement>, OuiaSupport<HTMLElem
 
     void show(ModelBrowserNode mbn) {
         removeChildrenFrom(root);
-        uic().metadataRepository().lookup(mbn.template, metadata -> {
+        // resources need operation descriptions only if the operations tab is selected. Opening the tab reads the full
+        // description again (see MetadataProfile), which pays off as long as most resources are viewed without it.
+        MetadataProfile profile = mbn.type == ModelBrowserNode.Type.RESOURCE
+                || mbn.type == ModelBrowserNode.Type.SINGLETON_RESOURCE ? MetadataProfile.SECURITY : MetadataProfile.FULL;
+        uic().metadataRepository().lookup(mbn.template, profile).then(metadata -> {
+            uic().metadataPrefetcher().navigated(mbn.template);
             int rootSize = modelBrowser.root.size();
             ResourceShell shell = resourceShell(mbn.template, metadata)
                     .contentCss(halComponent(HalClasses.modelBrowser, detail, content))
@@ -132,6 +138,7 @@ class ModelBrowserDetail implements IsElement<HTMLElement>, OuiaSupport<HTMLElem
                     break;
             }
             root.appendChild(shell.element());
+            return null;
         });
     }
 
@@ -24,7 +24,6 @@ import java.util.function.Function;
 import org.jboss.elemento.By;
 import org.jboss.elemento.logger.Logger;
 import org.jboss.hal.dmr.ModelNode;
-import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.resources.Keys;
@@ -36,11 +35,8 @@ import elemental2.promise.Promise;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.elemento.Elements.div;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_SINGLETONS;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
 import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.FOLDER;
+import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.MORE;
 import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.RESOURCE;
 import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.SINGLETON_FOLDER;
 import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.SINGLETON_RESOURCE;
@@ -62,7 +58,7 @@ class ModelBrowserEngine {
 
     // The DMR operation selection and result parsing below mirrors the logic in
     // ResourceList.load() / parseChildNames() / parseChildTypes().
-    // Both use the same two-mode pattern based on the template shape:
+    // Both use the same two-mode pattern based on the template shape (see PathComposite.readChildren()):
     //   - wildcard (=*): read-children-names on the parent address
     //   - non-wildcard:  read-children-types with include-singletons on the template address
     // The duplication is intentional: this class builds a hierarchical ModelBrowserNode tree
@@ -73,28 +69,30 @@ class ModelBrowserEngine {
 
     /**
      * Returns a function that returns a promise to read the child resources of the selected tree view item. Uses
-     * {@link #parseChildren(ModelBrowserNode, ModelNode, boolean)} and {@link #mbn2tvi(Dispatcher)}.
+     * {@link #parseChildren(ModelBrowserNode, ModelNode, boolean)} and {@link #mbn2tvi(Dispatcher, ChildrenCache)}. The
+     * results are read from and stored in the given {@link ChildrenCache}.
      */
-    static AsyncItems<TreeViewItem, TreeViewItem> readChildrenOperation(Dispatcher dispatcher) {
+    static AsyncItems<TreeViewItem, TreeViewItem> readChildrenOperation(Dispatcher dispatcher, ChildrenCache cache) {
         return tvi -> {
             ModelBrowserNode mbn = tvi.get(Keys.MODEL_BROWSER_NODE);
             if (mbn != null) {
-                Operation operation = null;
-                if (mbn.type == SINGLETON_FOLDER || mbn.type == FOLDER) {
-                    operation = new Operation.Builder(mbn.template.parent().resolve(), READ_CHILDREN_NAMES_OPERATION)
-                            .param(CHILD_TYPE, mbn.name)
-                            .build();
-                } else if (mbn.type == SINGLETON_RESOURCE || mbn.type == RESOURCE) {
-                    operation = new Operation.Builder(mbn.template.resolve(), READ_CHILDREN_TYPES_OPERATION)
-                            .param(INCLUDE_SINGLETONS, true)
-                            .build();
-                }
-                if (operation != null) {
-                    return dispatcher.execute(operation)
-                            .then(result -> Promise.resolve(parseChildren(mbn, result, true)
-                                    .stream()
-                                    .map(mbn2tvi(dispatcher))
-                                    .collect(toList())));
+                if (mbn.type == SINGLETON_FOLDER || mbn.type == FOLDER ||
+                        mbn.type == SINGLETON_RESOURCE || mbn.type == RESOURCE) {
+                    ModelNode cached = cache.get(mbn.template);
+                    Promise<ModelNode> result;
+                    if (cached != null) {
+                        logger.debug("Read children of %s from cache", mbn.template);
+                        result = Promise.resolve(cached);
+                    } else {
+                        result = dispatcher.execute(PathComposite.readChildren(mbn.template)).then(children -> {
+                            cache.put(mbn.template, children);
+                            return Promise.resolve(children);
+                        });
+                    }
+                    return result.then(children -> Promise.resolve(window(mbn, parseChildren(mbn, children, true), cache)
+                            .stream()
+                            .map(mbn2tvi(dispatcher, cache))
+                            .collect(toList())));
                 } else {
                     logger.error("Unable to read child resources of tree view item %o - %s: Wrong node type %s",
                             tvi.element(), tvi.identifier(), mbn.type.name());
@@ -110,7 +108,25 @@ class ModelBrowserEngine {
     }
 
     /**
-     * Parses the result of {@link #readChildrenOperation(Dispatcher)} and turns it into a list of {@link ModelBrowserNode}s.
+     * Limits the children of large folders to the {@linkplain ChildrenCache#visible(AddressTemplate, List) window} of the
+     * folder. If there are more children, a {@link ModelBrowserNode.Type#MORE} node is added at the end.
+     */
+    static List<ModelBrowserNode> window(ModelBrowserNode parent, List<ModelBrowserNode> children, ChildrenCache cache) {
+        if ((parent.type == FOLDER || parent.type == SINGLETON_FOLDER) && children.size() > ChildrenCache.PAGE_SIZE) {
+            List<String> names = children.stream().map(mbn -> mbn.template.last().value).collect(toList());
+            int visible = cache.visible(parent.template, names);
+            if (visible < children.size()) {
+                List<ModelBrowserNode> windowed = new ArrayList<>(children.subList(0, visible));
+                windowed.add(ModelBrowserNode.more(parent, children.size() - visible));
+                return windowed;
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Parses the result of {@link #readChildrenOperation(Dispatcher, ChildrenCache)} and turns it into a list of
+     * {@link ModelBrowserNode}s.
      */
     static List<ModelBrowserNode> parseChildren(ModelBrowserNode parent, ModelNode result,
             boolean nonExistingSingletons) {
@@ -162,18 +178,18 @@ class ModelBrowserEngine {
     /**
      * Returns a function that turns a {@link ModelBrowserNode} into a {@link TreeViewItem}.
      */
-    static Function<ModelBrowserNode, TreeViewItem> mbn2tvi(Dispatcher dispatcher) {
+    static Function<ModelBrowserNode, TreeViewItem> mbn2tvi(Dispatcher dispatcher, ChildrenCache cache) {
         return mbn -> treeViewItem(mbn.identifier)
                 .text(mbn.name)
                 .icon(mbn.type.icon.get())
                 .store(Keys.MODEL_BROWSER_NODE, mbn)
                 .run(tvi -> {
-                    if (mbn.exists) {
-                        tvi.addItems(readChildrenOperation(dispatcher));
+                    if (mbn.exists && mbn.type != MORE) {
+                        tvi.addItems(readChildrenOperation(dispatcher, cache));
                         if (mbn.type.expandedIcon != null) {
                             tvi.expandedIcon(mbn.type.expandedIcon.get());
                         }
-                    } else {
+                    } else if (!mbn.exists) {
                         tvi.css(modifier(disabled));
                         nonExistingSingletonPopover(mbn, tvi);
                     }
@@ -49,7 +49,10 @@ class ModelBrowserNode {
         SINGLETON_RESOURCE(IconSets.fas::fileLines, null),
 
         /** A regular (non-singleton) resource instance. */
-        RESOURCE(IconSets.fas::fileLines, null);
+        RESOURCE(IconSets.fas::fileLines, null),
+
+        /** Placeholder for the children of a large folder which are not shown yet. Selecting it shows the next page. */
+        MORE(IconSets.fas::ellipsis, null);
 
         final Supplier<PredefinedIcon> icon;
         final Supplier<PredefinedIcon> expandedIcon;
@@ -60,6 +63,11 @@ class ModelBrowserNode {
         }
     }
 
+    /** Creates a placeholder node for the remaining children of the given folder. */
+    static ModelBrowserNode more(ModelBrowserNode folder, int remaining) {
+        return new ModelBrowserNode(folder.identifier + "-more", folder.template, "Show more (" + remaining + ")", Type.MORE);
+    }
+
     final String identifier;
     final AddressTemplate template;
     final String name;
@@ -68,7 +76,11 @@ class ModelBrowserNode {
     boolean exists;
 
     ModelBrowserNode(AddressTemplate template, String name, Type type) {
-        this.identifier = template.identifier();
+        this(template.identifier(), template, name, type);
+    }
+
+    private ModelBrowserNode(String identifier, AddressTemplate template, String name, Type type) {
+        this.identifier = identifier;
         this.template = template;
         this.name = name != null ? SafeHtmlUtils.htmlEscape(name) : null;
         this.type = type;
@@ -43,6 +43,8 @@ import static org.jboss.hal.resources.HalClasses.halComponent;
 import static org.jboss.hal.resources.HalClasses.tree;
 import static org.jboss.hal.ui.UIContext.uic;
 import static org.jboss.hal.ui.modelbrowser.ModelBrowserEngine.mbn2tvi;
+import static org.jboss.hal.ui.modelbrowser.ModelBrowserNode.Type.MORE;
+import static org.jboss.hal.ui.modelbrowser.PathComposite.pathComposite;
 import static org.patternfly.component.button.Button.button;
 import static org.patternfly.component.page.PageSection.pageSection;
 import static org.patternfly.component.toolbar.Toolbar.toolbar;
@@ -70,6 +72,9 @@ import static org.patternfly.style.Sticky.top;
  * <p>
  * The tree supports lazy loading of child resources, back/forward navigation history, searching, direct address navigation, and
  * collapsing. A toolbar above the tree provides buttons for all navigation actions.
+ * <p>
+ * The children of expanded items are kept in a {@link ChildrenCache}. Large folders show their children in pages, the
+ * remaining children are added on demand. Deep links read all levels which are not cached yet in one {@link PathComposite}.
  */
 class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElement, ModelBrowserTree> {
 
@@ -165,12 +170,14 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
 
     void load(List<ModelBrowserNode> nodes) {
         treeView.clear();
-        treeView.addItems(nodes, mbn2tvi(uic().dispatcher()));
+        treeView.addItems(nodes, mbn2tvi(uic().dispatcher(), modelBrowser.childrenCache));
     }
 
     void reload() {
         if (!treeView.selectedItems().isEmpty()) {
-            treeView.selectedItems().get(0).reload();
+            TreeViewItem tvi = treeView.selectedItems().get(0);
+            invalidate(tvi);
+            tvi.reload();
         } else {
             // no selection → load root
             modelBrowser.load();
@@ -193,6 +200,7 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
                 });
             } else if (!parentItem.contains(childIdentifier)) {
                 // child might have been added externally in CLI or other management tools
+                invalidate(parentItem);
                 parentItem.reload().then(__ -> {
                     treeView.select(childIdentifier);
                     return null;
@@ -211,22 +219,24 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
             if (item != null) {
                 treeView.select(item);
             } else {
-                sequential(new FlowContext(), loadItems(template)).subscribe(context -> {
-                    if (context.isSuccessful()) {
-                        // The template might contain invalid segments or no longer exist.
-                        // Build a template up to the last valid segment.
-                        AddressTemplate current = modelBrowser.root;
-                        for (Segment segment : relativeSegments(current, template)) {
-                            if (treeView.findItem(current.append(segment.key, segment.value).identifier()) == null) {
-                                break;
-                            }
-                            current = current.append(segment.key, segment.value);
-                        }
-                        treeView.select(current.identifier());
-                    } else {
-                        logger.error("Unable to select template %s: %s", template, context.failure());
-                    }
-                });
+                PathComposite path = pathComposite(modelBrowser.root, template, modelBrowser.childrenCache);
+                if (path.isEmpty()) {
+                    expand(template);
+                } else {
+                    // read all missing levels at once, the tree view items are then expanded from the cache
+                    uic().dispatcher().execute(path.composite())
+                            .then(result -> {
+                                path.cache(result, modelBrowser.childrenCache);
+                                expand(template);
+                                return null;
+                            })
+                            .catch_(error -> {
+                                logger.debug("Unable to read path of %s in one composite: %s. Read level by level.",
+                                        template, error);
+                                expand(template);
+                                return null;
+                            });
+                }
             }
         } else {
             logger.error("Unable to select %s: Template is empty or not fully qualified.", template);
@@ -248,6 +258,25 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
         return "";
     }
 
+    private void expand(AddressTemplate template) {
+        sequential(new FlowContext(), loadItems(template)).subscribe(context -> {
+            if (context.isSuccessful()) {
+                // The template might contain invalid segments or no longer exist.
+                // Build a template up to the last valid segment.
+                AddressTemplate current = modelBrowser.root;
+                for (Segment segment : relativeSegments(current, template)) {
+                    if (treeView.findItem(current.append(segment.key, segment.value).identifier()) == null) {
+                        break;
+                    }
+                    current = current.append(segment.key, segment.value);
+                }
+                treeView.select(current.identifier());
+            } else {
+                logger.error("Unable to select template %s: %s", template, context.failure());
+            }
+        });
+    }
+
     private List<Task<FlowContext>> loadItems(AddressTemplate template) {
         /*
          Relation between the template and the tree view item IDs:
@@ -279,7 +308,16 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
         for (Segment segment : relativeSegments(current, template)) {
             String wildcardItemId = current.append(segment.key, "*").identifier();
             String valueItemId = current.append(segment.key, segment.value).identifier();
-            tasks.add(context -> treeView.load(wildcardItemId).then(items -> context.resolve()));
+            // large folders only show a window of their children
+            modelBrowser.childrenCache.reveal(current.append(segment.key, "*"), segment.value);
+            tasks.add(context -> {
+                TreeViewItem folder = treeView.findItem(wildcardItemId);
+                if (folder != null && folder.status() != pending && treeView.findItem(valueItemId) == null) {
+                    // the folder has been loaded before, but the item is not part of its window
+                    return folder.reload().then(items -> context.resolve());
+                }
+                return treeView.load(wildcardItemId).then(items -> context.resolve());
+            });
             tasks.add(context -> treeView.load(valueItemId).then(items -> context.resolve()));
             current = current.append(segment.key, segment.value);
         }
@@ -309,16 +347,39 @@ class ModelBrowserTree implements IsElement<HTMLElement>, OuiaSupport<HTMLElemen
     }
 
     private void navigate(TreeViewItem treeViewItem, boolean updateHistory) {
+        ModelBrowserNode node = treeViewItem.get(Keys.MODEL_BROWSER_NODE);
+        if (node != null && node.type == MORE) {
+            showMore(node);
+            return;
+        }
         if (updateHistory) {
             history.navigate(treeViewItem);
         }
         updateNavigationButtons();
-        ModelBrowserNode node = treeViewItem.get(Keys.MODEL_BROWSER_NODE);
         if (node != null) {
             modelBrowser.detail.show(node);
         }
     }
 
+    private void showMore(ModelBrowserNode more) {
+        // the children are read from the cache, so reloading the folder only adds the next page
+        modelBrowser.childrenCache.more(more.template);
+        TreeViewItem folder = treeView.findItem(more.template.identifier());
+        if (folder != null) {
+            folder.reload().then(__ -> {
+                treeView.select(folder);
+                return null;
+            });
+        }
+    }
+
+    private void invalidate(TreeViewItem treeViewItem) {
+        ModelBrowserNode node = treeViewItem.get(Keys.MODEL_BROWSER_NODE);
+        if (node != null) {
+            modelBrowser.childrenCache.invalidate(node.template);
+        }
+    }
+
     private void updateNavigationButtons() {
         backButton.disabled(!history.canGoBack());
         forwardButton.disabled(!history.canGoForward());
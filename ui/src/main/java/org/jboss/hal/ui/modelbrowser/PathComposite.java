@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.modelbrowser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.Segment;
+
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_SINGLETONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+
+/**
+ * Reads all levels of a deep link in one composite operation. Selecting {@code subsystem=infinispan/cache-container=web} in a
+ * collapsed tree needs to expand four tree items:
+ * <pre>
+ * subsystem=*                              → :read-children-names(child-type=subsystem)
+ * subsystem=infinispan                     → /subsystem=infinispan:read-children-types(include-singletons=true)
+ * subsystem=infinispan/cache-container=*   → /subsystem=infinispan:read-children-names(child-type=cache-container)
+ * subsystem=infinispan/cache-container=web → /subsystem=infinispan/cache-container=web:read-children-types(...)
+ * </pre>
+ * Instead of one request per level, the operations of all levels which are not {@linkplain ChildrenCache cached} yet are sent
+ * as one composite. The results are put into the cache, so the tree items are expanded without further requests.
+ */
+final class PathComposite {
+
+    // ------------------------------------------------------ factory
+
+    /** Returns the operation to read the children of the given folder or resource template. */
+    static Operation readChildren(AddressTemplate template) {
+        if (!template.isEmpty() && "*".equals(template.last().value)) {
+            return new Operation.Builder(template.parent().resolve(), READ_CHILDREN_NAMES_OPERATION)
+                    .param(CHILD_TYPE, template.last().key)
+                    .build();
+        } else {
+            return new Operation.Builder(template.resolve(), READ_CHILDREN_TYPES_OPERATION)
+                    .param(INCLUDE_SINGLETONS, true)
+                    .build();
+        }
+    }
+
+    /**
+     * Creates a path composite for the levels between the root and the target template which are not part of the cache.
+     *
+     * @param root   the root template of the model browser
+     * @param target the template to select
+     * @param cache  the cache of the model browser
+     */
+    static PathComposite pathComposite(AddressTemplate root, AddressTemplate target, ChildrenCache cache) {
+        List<AddressTemplate> templates = new ArrayList<>();
+        AddressTemplate current = root;
+        for (Segment segment : target.subTemplate(root.size(), target.size())) {
+            AddressTemplate folder = current.append(segment.key, "*");
+            AddressTemplate resource = current.append(segment.key, segment.value);
+            if (!cache.contains(folder)) {
+                templates.add(folder);
+            }
+            if (!cache.contains(resource)) {
+                templates.add(resource);
+            }
+            current = resource;
+        }
+        return new PathComposite(templates);
+    }
+
+    // ------------------------------------------------------ instance
+
+    final List<AddressTemplate> templates;
+
+    private PathComposite(List<AddressTemplate> templates) {
+        this.templates = templates;
+    }
+
+    // ------------------------------------------------------ api
+
+    boolean isEmpty() {
+        return templates.isEmpty();
+    }
+
+    Composite composite() {
+        return new Composite(templates.stream().map(PathComposite::readChildren).collect(toList()));
+    }
+
+    /**
+     * Puts the results of the successful steps into the cache.
+     *
+     * @return the number of cached results
+     */
+    int cache(CompositeResult result, ChildrenCache cache) {
+        int cached = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            ModelNode step = result.step(i);
+            if (SUCCESS.equals(step.get(OUTCOME).asString())) {
+                cache.put(templates.get(i), step.get(RESULT));
+                cached++;
+            }
+        }
+        return cached;
+    }
+}
@@ -28,6 +28,8 @@
  *     <li>{@link org.jboss.hal.ui.modelbrowser.ModelBrowserDetail} - right-side detail panel with breadcrumb</li>
  *     <li>{@link org.jboss.hal.ui.modelbrowser.ModelBrowserEngine} - tree node creation and child resource loading</li>
  *     <li>{@link org.jboss.hal.ui.modelbrowser.ModelBrowserNode} - data model for tree nodes</li>
+ *     <li>{@link org.jboss.hal.ui.modelbrowser.ChildrenCache} - cached child resources and windows of large folders</li>
+ *     <li>{@link org.jboss.hal.ui.modelbrowser.PathComposite} - reads all levels of a deep link in one composite</li>
  *     <li>{@link org.jboss.hal.ui.modelbrowser.ModelBrowserEvents} - custom DOM events for tree interaction</li>
  *     <li>{@link org.jboss.hal.ui.modelbrowser.FindResource} - modal dialog for searching resources</li>
  *     <li>{@link org.jboss.hal.ui.modelbrowser.GotoResource} - modal dialog for navigating to a resource by address</li>
@@ -15,7 +15,7 @@
  */
 package org.jboss.hal.ui.navigation;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -23,7 +23,7 @@ import org.jboss.elemento.router.PlaceManager;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.meta.StatementContextResolver;
-import org.jboss.hal.meta.TemplateMatcher;
+import org.jboss.hal.meta.TemplateIndex;
 
 /**
  * Central registry that holds all {@link RouteBinding}s and provides lookup in both directions:
@@ -38,6 +38,9 @@ import org.jboss.hal.meta.TemplateMatcher;
  * multiple bindings match with the same prefix length, the one with more exact (non-wildcard) value matches wins. For example,
  * given bindings for {@code subsystem=*} and {@code subsystem=logging}, navigating to
  * {@code subsystem=logging/logger=com.example} resolves to the more specific {@code subsystem=logging} binding.
+ * <p>
+ * The resolved binding templates are kept in a {@link TemplateIndex}. The index is rebuilt when a binding is registered or
+ * when the values of the {@link StatementContext} have changed since the last lookup.
  *
  * @see RouteBinding
  */
@@ -47,17 +50,23 @@ public class RouteRegistry {
     private final StatementContext statementContext;
     private final String fallbackRoute;
     private final Map<String, RouteBinding> bindings;
+    private final TemplateIndex<RouteBinding> index;
+    private boolean dirty;
+    private int version;
+    private boolean standalone;
 
     public RouteRegistry(PlaceManager placeManager, StatementContext statementContext, String fallbackRoute) {
         this.placeManager = placeManager;
         this.statementContext = statementContext;
         this.fallbackRoute = fallbackRoute;
-        this.bindings = new HashMap<>();
+        this.bindings = new LinkedHashMap<>();
+        this.index = new TemplateIndex<>();
     }
 
     /** Registers a route binding. */
     public void register(RouteBinding binding) {
         bindings.put(binding.route(), binding);
+        dirty = true;
     }
 
     /** Looks up a binding by its exact route string. */
@@ -70,9 +79,10 @@ public class RouteRegistry {
      * one with the longest matching prefix wins; ties are broken by the number of exact (non-wildcard) value matches.
      */
     public Optional<RouteBinding> byTemplate(AddressTemplate template) {
-        StatementContextResolver resolver = new StatementContextResolver(statementContext);
-        return TemplateMatcher.bestMatch(bindings.values(),
-                binding -> resolver.resolve(binding.template()), template);
+        if (dirty || version != statementContext.version() || standalone != statementContext.standalone()) {
+            rebuild();
+        }
+        return index.bestMatch(template);
     }
 
     /** Navigates to the best matching route for the given template, falling back to the fallback route. */
@@ -80,4 +90,15 @@ public class RouteRegistry {
         byTemplate(template).ifPresentOrElse(binding -> placeManager.goTo(binding.route(), binding.routeParams(template)),
                 () -> placeManager.goTo(fallbackRoute, template.template));
     }
+
+    private void rebuild() {
+        StatementContextResolver resolver = new StatementContextResolver(statementContext);
+        index.clear();
+        for (RouteBinding binding : bindings.values()) {
+            index.add(resolver.resolve(binding.template()), binding);
+        }
+        dirty = false;
+        version = statementContext.version();
+        standalone = statementContext.standalone();
+    }
 }
@@ -60,5 +60,6 @@
  * @see org.jboss.hal.ui.brick
  * @see org.jboss.hal.ui.modelbrowser
  * @see org.jboss.hal.ui.resource
+ * @see org.jboss.hal.ui.virtual
  */
 package org.jboss.hal.ui;
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.resource;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Keyed diff of two attribute sets as returned by {@code read-resource}. Attributes are compared by name and value: an
+ * attribute is <em>changed</em> if it's part of both sets and the values differ, <em>added</em> if it's only part of the
+ * current set and <em>removed</em> if it's only part of the previous set.
+ * <p>
+ * Changed attributes can be patched in place. Added or removed attributes change the structure of the resource, and callers
+ * should rebuild the view instead. A diff against an undefined or non-object node is structural, too.
+ * <p>
+ * This class has no DOM dependencies.
+ */
+public final class AttributeDiff {
+
+    // ------------------------------------------------------ factory
+
+    /** Compares the attributes of the current resource with the previous one. */
+    public static AttributeDiff diff(ModelNode previous, ModelNode current) {
+        if (!isObject(previous) || !isObject(current)) {
+            return new AttributeDiff(emptySet(), isObject(current) ? current.keys() : emptySet(),
+                    isObject(previous) ? previous.keys() : emptySet(), true);
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        for (String name : current.keys()) {
+            if (previous.has(name)) {
+                if (!previous.get(name).equals(current.get(name))) {
+                    changed.add(name);
+                }
+            } else {
+                added.add(name);
+            }
+        }
+        for (String name : previous.keys()) {
+            if (!current.has(name)) {
+                removed.add(name);
+            }
+        }
+        return new AttributeDiff(changed, added, removed, !added.isEmpty() || !removed.isEmpty());
+    }
+
+    private static boolean isObject(ModelNode node) {
+        return node != null && node.getType() == ModelType.OBJECT;
+    }
+
+    // ------------------------------------------------------ instance
+
+    private final Set<String> changed;
+    private final Set<String> added;
+    private final Set<String> removed;
+    private final boolean structural;
+
+    private AttributeDiff(Set<String> changed, Set<String> added, Set<String> removed, boolean structural) {
+        this.changed = unmodifiableSet(changed);
+        this.added = unmodifiableSet(added);
+        this.removed = unmodifiableSet(removed);
+        this.structural = structural;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeDiff(changed=" + changed + ", added=" + added + ", removed=" + removed + ")";
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Returns the names of the attributes whose values differ. */
+    public Set<String> changed() {
+        return changed;
+    }
+
+    /** Returns the names of the attributes which are only part of the current resource. */
+    public Set<String> added() {
+        return added;
+    }
+
+    /** Returns the names of the attributes which are only part of the previous resource. */
+    public Set<String> removed() {
+        return removed;
+    }
+
+    /** Returns {@code true} if attributes have been added or removed and the view has to be rebuilt. */
+    public boolean structural() {
+        return structural;
+    }
+
+    /** Returns {@code true} if nothing has changed. */
+    public boolean isEmpty() {
+        return !structural && changed.isEmpty();
+    }
+
+    /** Returns {@code true} if one of the given attributes has changed, has been added or has been removed. */
+    public boolean affects(Iterable<String> names) {
+        for (String name : names) {
+            if (changed.contains(name) || added.contains(name) || removed.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
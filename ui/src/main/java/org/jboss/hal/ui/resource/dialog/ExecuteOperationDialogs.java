@@ -106,7 +106,7 @@ public class ExecuteOperationDialogs {
         // The original security context may restrict attribute-level access, but operation
         // parameters don't have individual access constraints.
         Metadata rwxMetadata = Metadata.metadata(metadata.address(), metadata.resourceDescription(),
-                SecurityContext.RWX);
+                SecurityContext.RWX, metadata.profile());
         PipelineContext context = new PipelineContext(template, rwxMetadata, new ModelNode(),
                 new PipelineFlags(Scope.NEW_RESOURCE, Placeholder.DEFAULT_VALUE));
         List<FormItem> items = Pipeline.instance().formItems(context, operationDescription.parameters());
@@ -19,14 +19,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 
+import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.description.AttributeDescription;
+import org.jboss.hal.meta.security.SecurityContext;
 import org.jboss.hal.ui.resource.PipelineContext;
 import org.jboss.hal.ui.resource.ResolvedAttribute;
 import org.jboss.hal.ui.resource.form.FormItem;
 import org.jboss.hal.ui.resource.pipeline.AttributeHandler.MatchResult;
+import org.jboss.hal.ui.resource.pipeline.RenderingPlan.Step;
 import org.jboss.hal.ui.resource.view.ViewItem;
 
 /**
@@ -49,9 +50,14 @@ import org.jboss.hal.ui.resource.view.ViewItem;
  *         {@link #formItem(PipelineContext, ResolvedAttribute)} produce items for single resolved attributes, used by handlers
  *         to delegate child attributes to the provider chain.</li>
  * </ul>
+ * <p>
+ * The match phase depends on the metadata only. It's compiled into a {@link RenderingPlan} which is memoised in the
+ * {@link Metadata}, so that re-rendering a resource (e.g. after a refresh or when switching between view and edit mode) only
+ * resolves the current values.
  *
  * @see AttributeHandler
  * @see ItemProvider
+ * @see RenderingPlan
  */
 public final class Pipeline {
 
@@ -97,31 +103,59 @@ public final class Pipeline {
 
     /** Runs the full pipeline and produces view items for all attributes in the resource metadata. */
     public List<ViewItem> viewItems(PipelineContext context) {
-        return viewItems(context, context.resourceDescription().attributes());
+        return plan(context.metadata()).items(context,
+                (handler, match) -> handler.viewItems(context, match),
+                ra -> provideViewItem(context, ra));
     }
 
     /** Runs the full pipeline and produces view items for the given attributes. */
     public List<ViewItem> viewItems(PipelineContext context, Iterable<AttributeDescription> attributes) {
-        return items(context, attributes,
+        return compile(context.securityContext(), attributes).items(context,
                 (handler, match) -> handler.viewItems(context, match),
                 ra -> provideViewItem(context, ra));
     }
 
     /** Runs the full pipeline and produces form items for all attributes in the resource metadata. */
     public List<FormItem> formItems(PipelineContext context) {
-        return formItems(context, context.resourceDescription().attributes());
+        return plan(context.metadata()).items(context,
+                (handler, match) -> handler.formItems(context, match),
+                ra -> provideFormItem(context, ra));
     }
 
     /** Runs the full pipeline and produces form items for the given attributes (also used for operation parameters). */
     public List<FormItem> formItems(PipelineContext context, Iterable<AttributeDescription> attributes) {
-        return items(context, attributes,
+        return compile(context.securityContext(), attributes).items(context,
                 (handler, match) -> handler.formItems(context, match),
                 ra -> provideFormItem(context, ra));
     }
 
-    private <T> List<T> items(PipelineContext context, Iterable<AttributeDescription> attributes,
-            BiFunction<AttributeHandler, AttributeMatch, List<T>> handlerFunction,
-            Function<ResolvedAttribute, T> providerFunction) {
+    /**
+     * Produces the view items of a single step of the {@linkplain #plan(Metadata) rendering plan}. Used to re-render the
+     * items of changed attributes only.
+     */
+    public List<ViewItem> viewItems(PipelineContext context, Step step) {
+        List<ViewItem> items = new ArrayList<>();
+        RenderingPlan.items(context, step,
+                (handler, match) -> handler.viewItems(context, match),
+                ra -> provideViewItem(context, ra), items);
+        return items;
+    }
+
+    // ------------------------------------------------------ rendering plan
+
+    /**
+     * Returns the rendering plan for all attributes of the given metadata. The plan is compiled once and memoised in the
+     * metadata. It's reused as long as the metadata instance is in use and compiled again for new metadata.
+     */
+    public RenderingPlan plan(Metadata metadata) {
+        return metadata.memo(this, m -> compile(m.securityContext(), m.resourceDescription().attributes()));
+    }
+
+    /**
+     * Compiles a rendering plan for the given attributes: runs the match phase of all handlers, restores the original
+     * attribute order and computes the RBAC state of the unclaimed attributes.
+     */
+    public RenderingPlan compile(SecurityContext securityContext, Iterable<AttributeDescription> attributes) {
         List<AttributeDescription> pool = toPool(attributes);
         Map<String, Integer> originalOrder = originalOrder(pool);
 
@@ -137,22 +171,15 @@ public final class Pipeline {
         }
 
         List<ItemOrMatch> sorted = sortByOriginalOrder(handledMatches, remaining, originalOrder);
-        List<T> items = new ArrayList<>();
+        List<Step> steps = new ArrayList<>();
         for (ItemOrMatch entry : sorted) {
             if (entry.handledMatch != null) {
-                List<T> result = handlerFunction.apply(entry.handledMatch.handler, entry.handledMatch.match);
-                if (result != null) {
-                    items.addAll(result);
-                }
+                steps.add(Step.claimed(entry.handledMatch.handler, entry.handledMatch.match));
             } else {
-                ResolvedAttribute ra = ResolvedAttribute.resolve(context, entry.unclaimed);
-                T item = providerFunction.apply(ra);
-                if (item != null) {
-                    items.add(item);
-                }
+                steps.add(Step.unclaimed(entry.unclaimed, securityContext));
             }
         }
-        return items;
+        return new RenderingPlan(steps);
     }
 
     // ------------------------------------------------------ child pipeline (recursive entry points)
@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.resource.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.jboss.hal.meta.description.AttributeDescription;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.jboss.hal.ui.resource.PipelineContext;
+import org.jboss.hal.ui.resource.ResolvedAttribute;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The compiled form of the {@link Pipeline} for a resource description and a security context. The plan contains one
+ * {@link Step} per item group in the original attribute order: either an {@link AttributeMatch} claimed by an
+ * {@link AttributeHandler} or an unclaimed attribute together with its precomputed RBAC state.
+ * <p>
+ * The plan depends on the metadata only. Running the plan for a {@link PipelineContext} just looks up the current values and
+ * calls the handlers and providers. The match phase and the security checks are not repeated.
+ *
+ * @see Pipeline#plan(org.jboss.hal.meta.Metadata)
+ */
+public final class RenderingPlan {
+
+    /**
+     * A step of the plan. Claimed steps carry the handler and its match, unclaimed steps carry the attribute description and
+     * its RBAC state.
+     */
+    public record Step(AttributeHandler handler, AttributeMatch match, AttributeDescription description,
+                       boolean readable, boolean readOnly, boolean writable) {
+
+        static Step claimed(AttributeHandler handler, AttributeMatch match) {
+            return new Step(handler, match, match.primary(), false, true, false);
+        }
+
+        static Step unclaimed(AttributeDescription description, SecurityContext securityContext) {
+            // nested attributes are secured by their root attribute (see PipelineContext)
+            String name = description.nested() ? description.root().name() : description.name();
+            return new Step(null, null, description,
+                    securityContext.readable(name), description.readOnly(), securityContext.writable(name));
+        }
+
+        /** Returns {@code true} if the attributes of this step have been claimed by a handler. */
+        public boolean claimed() {
+            return handler != null;
+        }
+
+        /** Returns the names of the top-level attributes this step depends on. */
+        public List<String> names() {
+            List<AttributeDescription> descriptions = claimed() ? match.descriptions() : List.of(description);
+            List<String> names = new ArrayList<>();
+            for (AttributeDescription ad : descriptions) {
+                names.add(ad.nested() ? ad.root().name() : ad.name());
+            }
+            return names;
+        }
+
+        /** Resolves the unclaimed attribute of this step against the current values of the given context. */
+        public ResolvedAttribute resolve(PipelineContext context) {
+            return new ResolvedAttribute(description, context.value(description), readable, readOnly, writable);
+        }
+
+        @Override
+        public String toString() {
+            return claimed() ? handler.getClass().getSimpleName() + ":" + match : description.name();
+        }
+    }
+
+    private final List<Step> steps;
+
+    RenderingPlan(List<Step> steps) {
+        this.steps = unmodifiableList(steps);
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Returns the steps of this plan in the original attribute order. */
+    public List<Step> steps() {
+        return steps;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    <T> List<T> items(PipelineContext context,
+            BiFunction<AttributeHandler, AttributeMatch, List<T>> handlerFunction,
+            Function<ResolvedAttribute, T> providerFunction) {
+        List<T> items = new ArrayList<>();
+        for (Step step : steps) {
+            items(context, step, handlerFunction, providerFunction, items);
+        }
+        return items;
+    }
+
+    static <T> void items(PipelineContext context, Step step,
+            BiFunction<AttributeHandler, AttributeMatch, List<T>> handlerFunction,
+            Function<ResolvedAttribute, T> providerFunction, List<T> items) {
+        if (step.claimed()) {
+            List<T> result = handlerFunction.apply(step.handler, step.match);
+            if (result != null) {
+                items.addAll(result);
+            }
+        } else {
+            T item = providerFunction.apply(step.resolve(context));
+            if (item != null) {
+                items.add(item);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RenderingPlan" + steps;
+    }
+}
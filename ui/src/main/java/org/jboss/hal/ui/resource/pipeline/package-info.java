@@ -69,6 +69,13 @@
  *                                                        ItemProvider chain
  * </pre>
  *
+ * <h2>Rendering Plans</h2>
+ * <p>
+ * The match phase only depends on the metadata. {@link org.jboss.hal.ui.resource.pipeline.Pipeline} compiles it into an
+ * immutable {@link org.jboss.hal.ui.resource.pipeline.RenderingPlan} with one step per handler match or unclaimed attribute
+ * (including its RBAC state). The plan is memoised in the {@link org.jboss.hal.meta.Metadata} and reused until the metadata is
+ * replaced, so rendering the same resource again only looks up the current values.
+ *
  * <h2>Entry Points</h2>
  * <ul>
  *     <li><b>Full pipeline</b> — {@code Pipeline.instance().viewItems(context)} /
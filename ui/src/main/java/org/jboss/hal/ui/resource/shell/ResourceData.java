@@ -16,17 +16,22 @@
 package org.jboss.hal.ui.resource.shell;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.elemento.Attachable;
 import org.jboss.elemento.HTMLContainerBuilder;
 import org.jboss.elemento.IsElement;
 import org.jboss.elemento.TypedBuilder;
 import org.jboss.elemento.logger.Logger;
+import org.jboss.hal.core.TwoPhaseLoader;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.CancellationToken;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.ui.resource.AttributeDiff;
 import org.jboss.hal.ui.resource.PipelineContext;
 import org.jboss.hal.ui.resource.PipelineFlags;
 import org.jboss.hal.ui.resource.PipelineFlags.Placeholder;
@@ -38,6 +43,7 @@ import org.jboss.hal.ui.resource.form.ResourceForm;
 import org.jboss.hal.ui.resource.grouping.AutoGrouping;
 import org.jboss.hal.ui.resource.grouping.GroupingSupport;
 import org.jboss.hal.ui.resource.pipeline.Pipeline;
+import org.jboss.hal.ui.resource.pipeline.RenderingPlan.Step;
 import org.jboss.hal.ui.resource.view.ResourceView;
 import org.jboss.hal.ui.resource.view.ViewItem;
 import org.patternfly.component.emptystate.EmptyState;
@@ -84,6 +90,14 @@ import static org.patternfly.core.ObservableValue.ov;
  * Central state machine that orchestrates viewing and editing of WildFly management resource attributes. Uses the pipeline to
  * produce view and form items from resource metadata, and delegates filtering and grouping to {@link ResourceView} and
  * {@link ResourceForm}.
+ * <p>
+ * Refreshing the view reads the resource again and compares the attributes with the previous ones using an
+ * {@link AttributeDiff}. Only the values of changed attributes are re-rendered and patched into the existing view, so focus,
+ * scroll position and open popovers are kept. The view is rebuilt only if attributes have been added or removed.
+ * <p>
+ * Unless a custom {@linkplain #operation(Operation) operation} is used, the view is loaded in two phases: the configuration is
+ * shown right away and the runtime attributes are patched in as soon as they've been read (see {@link TwoPhaseLoader}). The
+ * reads are cancelled once the view is detached.
  *
  * @see org.jboss.hal.ui.resource.ResourceItem
  * @see GroupingSupport
@@ -121,6 +135,9 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
     private boolean supportsGrouping;
     private State state;
     private Operation operation;
+    private boolean defaultOperation;
+    private CancellationToken loading;
+    private ModelNode resource;
     private ResourceView resourceView;
     private ResourceForm resourceForm;
 
@@ -134,10 +151,13 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
         this.grouped = false;
         this.supportsGrouping = false;
         this.state = null;
+        this.resource = null;
         this.operation = new Operation.Builder(template.resolve(), READ_RESOURCE_OPERATION)
                 .param(ATTRIBUTES_ONLY, true)
                 .param(INCLUDE_RUNTIME, true)
                 .build();
+        this.defaultOperation = true;
+        this.loading = new CancellationToken();
         this.pipeline = Pipeline.instance();
         this.viewItems = new ArrayList<>();
         this.formItems = new ArrayList<>();
@@ -155,6 +175,12 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
         load(VIEW);
     }
 
+    @Override
+    public void detach(MutationRecord mutationRecord) {
+        // stop reading the runtime attributes once the view is gone, e.g. after the route has changed
+        loading.cancel();
+    }
+
     @Override
     public HTMLElement element() {
         return root;
@@ -165,6 +191,7 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
     public ResourceData operation(Operation operation) {
         if (operation != null) {
             this.operation = operation;
+            this.defaultOperation = false;
         } else {
             logger.error("Operation is null!");
         }
@@ -180,13 +207,35 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
 
     void load(State state) {
         changeState(state);
+        loading.cancel();
+        loading = new CancellationToken();
         if (!metadata.isDefined()) {
             metadataError();
             return;
         }
-        uic().dispatcher().execute(operation,
-                resource -> processResource(resource, state),
-                (op, error) -> operationError(op.asCli(), error));
+        if (state == VIEW && defaultOperation) {
+            // show the configuration right away and patch in the runtime attributes as they come in
+            uic().crud().readTwoPhase(template, metadata, loading, new TwoPhaseLoader.Listener() {
+                @Override
+                public void configuration(ModelNode resource) {
+                    processResource(resource, state);
+                }
+
+                @Override
+                public void runtime(ModelNode resource, List<String> attributes) {
+                    patchResource(resource);
+                }
+
+                @Override
+                public void failed(Operation failed, String error) {
+                    operationError(failed.asCli(), error);
+                }
+            });
+        } else {
+            uic().dispatcher().execute(operation,
+                    resource -> processResource(resource, state),
+                    (op, error) -> operationError(op.asCli(), error));
+        }
     }
 
     private void processResource(ModelNode resource, State state) {
@@ -195,8 +244,8 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
             return;
         }
 
-        PipelineContext context = new PipelineContext(template, metadata, resource,
-                new PipelineFlags(Scope.EXISTING_RESOURCE, Placeholder.UNDEFINED));
+        PipelineContext context = context(resource);
+        this.resource = state == VIEW ? resource : null;
         viewItems.clear();
         formItems.clear();
 
@@ -236,6 +285,58 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
         return null;
     }
 
+    // ------------------------------------------------------ patching
+
+    private void patchResource(ModelNode current) {
+        if (state != VIEW) {
+            // switched to another state while reading the resource
+            return;
+        }
+        if (resourceView == null || !valid(current)) {
+            rebuild(current);
+            return;
+        }
+        AttributeDiff diff = AttributeDiff.diff(resource, current);
+        if (diff.structural()) {
+            logger.debug("Rebuild view of %s: %s", template, diff);
+            rebuild(current);
+            return;
+        }
+        resource = current;
+        if (diff.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Patch view of %s: %s", template, diff);
+        PipelineContext context = context(current);
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < viewItems.size(); i++) {
+            indices.put(viewItems.get(i).identifier(), i);
+        }
+        for (Step step : pipeline.plan(metadata).steps()) {
+            if (diff.affects(step.names())) {
+                for (ViewItem next : pipeline.viewItems(context, step)) {
+                    Integer index = indices.get(next.identifier());
+                    ViewItem patched = index != null ? resourceView.patch(viewItems.get(index), next) : null;
+                    if (patched == null) {
+                        // the items don't line up with the rendered ones
+                        rebuild(current);
+                        return;
+                    }
+                    viewItems.set(index, patched);
+                }
+            }
+        }
+        if (filter.defined()) {
+            onFilterChanged(filter, null);
+        }
+    }
+
+    private void rebuild(ModelNode current) {
+        removeChildrenFrom(rootContainer);
+        processResource(current, state);
+    }
+
     // ------------------------------------------------------ filtering
 
     private void onFilterChanged(Filter<ResolvedAttribute> filter, String origin) {
@@ -291,8 +392,14 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
 
     void refresh() {
         if (state == VIEW) {
-            removeChildrenFrom(rootContainer);
-            load(VIEW);
+            if (resource != null && resourceView != null) {
+                loading.cancel();
+                uic().dispatcher().execute(operation, this::patchResource,
+                        (op, error) -> operationError(op.asCli(), error));
+            } else {
+                removeChildrenFrom(rootContainer);
+                load(VIEW);
+            }
         }
     }
 
@@ -356,6 +463,11 @@ public class ResourceData implements TypedBuilder<HTMLElement, ResourceData>, Is
         }
     }
 
+    private PipelineContext context(ModelNode resource) {
+        return new PipelineContext(template, metadata, resource,
+                new PipelineFlags(Scope.EXISTING_RESOURCE, Placeholder.UNDEFINED));
+    }
+
     private boolean valid(ModelNode resource) {
         return resource != null && resource.isDefined() && !resource.asPropertyList().isEmpty();
     }
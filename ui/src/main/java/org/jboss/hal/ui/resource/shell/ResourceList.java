@@ -16,7 +16,9 @@
 package org.jboss.hal.ui.resource.shell;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.jboss.elemento.Attachable;
@@ -29,10 +31,12 @@ import org.jboss.hal.env.Stability;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.model.filter.NameAttribute;
+import org.jboss.hal.ui.virtual.VirtualList;
+import org.jboss.hal.ui.virtual.VirtualRow;
+import org.patternfly.component.button.Button;
 import org.patternfly.component.emptystate.EmptyState;
 import org.patternfly.component.emptystate.EmptyStateActions;
-import org.patternfly.component.list.DataList;
-import org.patternfly.component.list.DataListCell;
+import org.patternfly.component.list.DataListAction;
 import org.patternfly.component.list.DataListItem;
 import org.patternfly.component.menu.Menu;
 import org.patternfly.component.toolbar.Toolbar;
@@ -42,7 +46,6 @@ import org.patternfly.core.ObservableValue;
 import org.patternfly.core.OuiaSupport;
 import org.patternfly.filter.Filter;
 import org.patternfly.filter.FilterOperator;
-import org.patternfly.layout.flex.Flex;
 import org.patternfly.style.Classes;
 import org.patternfly.style.Variable;
 
@@ -68,6 +71,7 @@ import static org.jboss.hal.ui.brick.EmptyStateBricks.noMatch;
 import static org.jboss.hal.ui.brick.StabilityLabel.stabilityLabel;
 import static org.jboss.hal.ui.filter.ItemCount.itemCount;
 import static org.jboss.hal.ui.filter.NameSearchInput.nameSearchInput;
+import static org.jboss.hal.ui.virtual.VirtualList.virtualList;
 import static org.patternfly.component.button.Button.button;
 import static org.patternfly.component.emptystate.EmptyStateActions.emptyStateActions;
 import static org.patternfly.component.emptystate.EmptyStateFooter.emptyStateFooter;
@@ -97,7 +101,6 @@ import static org.patternfly.layout.flex.Flex.flex;
 import static org.patternfly.layout.flex.FlexItem.flexItem;
 import static org.patternfly.layout.flex.Gap.md;
 import static org.patternfly.style.Classes.component;
-import static org.patternfly.style.Classes.filtered;
 import static org.patternfly.style.Classes.modifier;
 import static org.patternfly.style.Classes.util;
 import static org.patternfly.style.Variable.componentVar;
@@ -117,6 +120,10 @@ import static org.patternfly.style.Variable.componentVar;
  * <p>
  * Each child has "View" and optional "Remove" action buttons. New children can be added via the toolbar.
  * <p>
+ * The children are shown in a {@linkplain VirtualList virtual list}, which renders only the rows inside the viewport. The
+ * metadata of singleton children (used for the description and the "Remove" button) is looked up when their rows scroll into
+ * view.
+ * <p>
  * Communication uses callbacks:
  * <ul>
  * <li>{@link #onSelect(Consumer)} — invoked when a child's "View" button is clicked</li>
@@ -163,6 +170,8 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
 
     // ------------------------------------------------------ instance
 
+    private static final int ROW_HEIGHT = 72;
+
     private final AddressTemplate template;
     private final Metadata metadata;
     private final boolean wildcardTemplate;
@@ -173,12 +182,15 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
     private final Toolbar toolbar;
     private final HTMLElement listContainer;
     private final HTMLElement root;
+    private final Filter<ChildResource> filter;
+    private final Map<ChildResource, Metadata> childMetadata;
     private Consumer<AddressTemplate> onSelect;
     private AddCallback onAdd;
     private Consumer<AddressTemplate> onDelete;
     private List<ChildResource> extraMissingChildren;
     private boolean singletonFolder;
-    private DataList dataList;
+    private List<ChildResource> children;
+    private VirtualList<ChildResource> virtualList;
 
     ResourceList(AddressTemplate template, Metadata metadata) {
         this.template = template;
@@ -188,7 +200,9 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
         this.total = ov(0);
         this.extraMissingChildren = emptyList();
         this.singletonFolder = false;
-        Filter<ChildResource> filter = new Filter<ChildResource>(FilterOperator.AND)
+        this.childMetadata = new HashMap<>();
+        this.children = emptyList();
+        this.filter = new Filter<ChildResource>(FilterOperator.AND)
                 .add(new NameAttribute<>(cr -> cr.name))
                 .onChange(this::onFilterChanged);
         this.noMatch = noMatch(filter);
@@ -375,7 +389,6 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
             empty(missing);
         } else {
             setupAddButton(missing);
-            visible.set(existing.size());
             total.set(existing.size());
             showChildren(existing);
         }
@@ -407,62 +420,40 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
 
     private void showChildren(List<ChildResource> children) {
         setVisible(toolbar, true);
-        if (dataList == null) {
-            dataList = dataList();
+        this.children = children;
+        childMetadata.clear();
+        if (virtualList == null) {
+            virtualList = virtualList(dataList().element(), ChildRow::new)
+                    .rowHeight(ROW_HEIGHT)
+                    .onVisible(this::resolveMetadata);
         }
-        dataList.clear();
-        for (ChildResource child : children) {
-            String childId = Id.build(child.name);
-            dataList.addItem(dataListItem(childId)
-                    .addCell(nameCell(childId, child))
-                    .addAction(dataListAction()
-                            .run(dataListAction -> {
-                                if (!child.singleton) {
-                                    dataListAction.style("align-items", "center");
-                                }
-                            })
-                            .add(button("View").tertiary()
-                                    .onClick((e, b) -> {
-                                        if (onSelect != null) {
-                                            onSelect.accept(child.template);
-                                        }
-                                    }))
-                            .run(action -> {
-                                Metadata childMeta = child.singleton
-                                        ? uic().metadataRepository().get(child.template)
-                                        : metadata;
-                                if (childMeta.resourceDescription().operations().supports(REMOVE)) {
-                                    action.add(button("Remove").tertiary()
-                                            .onClick((e, b) -> {
-                                                if (onDelete != null) {
-                                                    onDelete.accept(child.template);
-                                                }
-                                            }));
-                                }
-                            })));
-        }
-        if (!isAttached(dataList)) {
-            listContainer.appendChild(dataList.element());
+        if (!isAttached(virtualList)) {
+            listContainer.appendChild(virtualList.element());
         }
+        onFilterChanged(filter, null);
     }
 
-    private DataListCell nameCell(String childId, ChildResource child) {
-        Flex f = flex().direction(column);
-        if (child.singleton) {
-            Metadata childMeta = uic().metadataRepository().get(child.template);
-            Stability stability = childMeta.resourceDescription().stability();
-            if (uic().environment().highlightStability(stability)) {
-                f.add(flex().alignItems(center).columnGap(md)
-                        .add(flexItem().id(childId).text(child.name))
-                        .add(flexItem().add(stabilityLabel(stability))));
-            } else {
-                f.addItem(flexItem().id(childId).text(child.name));
+    // Singletons show their description and support "Remove" only if their metadata says so. Resolving the metadata of all
+    // children up front doesn't scale, so it's resolved for the rows which scroll into view.
+    private void resolveMetadata(List<ChildResource> visibleChildren) {
+        List<ChildResource> singletons = new ArrayList<>();
+        List<AddressTemplate> templates = new ArrayList<>();
+        for (ChildResource child : visibleChildren) {
+            if (child.singleton) {
+                singletons.add(child);
+                templates.add(child.template);
             }
-            f.add(small().text(childMeta.resourceDescription().description()));
-        } else {
-            f.addItem(flexItem().id(childId).text(child.name));
         }
-        return dataListCell().add(f);
+        if (!singletons.isEmpty()) {
+            // the metadata of singletons might have been looked up without operation descriptions
+            uic().metadataRepository().lookup(templates).then(__ -> {
+                for (ChildResource child : singletons) {
+                    childMetadata.put(child, uic().metadataRepository().get(child.template));
+                    virtualList.refresh(child);
+                }
+                return null;
+            });
+        }
     }
 
     private void setupAddButton(List<ChildResource> missing) {
@@ -502,30 +493,93 @@ public class ResourceList implements IsElement<HTMLElement>, Attachable,
     // ------------------------------------------------------ filter
 
     private void onFilterChanged(Filter<ChildResource> filter, String origin) {
-        if (dataList != null) {
-            int matchingItems = filter.defined() ? applyFilter(filter) : clearFilter();
-            visible.set(matchingItems);
+        if (virtualList != null) {
+            List<ChildResource> matching = children;
+            if (filter.defined()) {
+                matching = new ArrayList<>();
+                for (ChildResource child : children) {
+                    if (filter.match(child)) {
+                        matching.add(child);
+                    }
+                }
+            }
+            toggle(noMatch, listContainer, matching.isEmpty());
+            virtualList.items(matching);
+            visible.set(matching.size());
         }
     }
 
-    private int applyFilter(Filter<ChildResource> filter) {
-        int matches = 0;
-        for (DataListItem item : dataList.items()) {
-            String text = item.element().textContent;
-            boolean match = filter.match(new ChildResource(text, null, false, true));
-            item.classList().toggle(modifier(filtered), !match);
-            if (match) {
-                matches++;
-            }
+    // ------------------------------------------------------ inner classes
+
+    // Recyclable row of the virtual list. The DOM is built once, bind() only updates texts and visibility.
+    private class ChildRow implements VirtualRow<ChildResource> {
+
+        private final HTMLElement name;
+        private final HTMLElement stability;
+        private final HTMLElement description;
+        private final DataListAction actions;
+        private final Button remove;
+        private final DataListItem item;
+        private ChildResource child;
+
+        ChildRow() {
+            name = flexItem().element();
+            stability = flexItem().element();
+            description = small()
+                    .style("white-space", "nowrap")
+                    .style("overflow", "hidden")
+                    .style("text-overflow", "ellipsis")
+                    .element();
+            remove = button("Remove").tertiary()
+                    .onClick((e, b) -> {
+                        if (onDelete != null) {
+                            onDelete.accept(child.template);
+                        }
+                    });
+            actions = dataListAction()
+                    .add(button("View").tertiary()
+                            .onClick((e, b) -> {
+                                if (onSelect != null) {
+                                    onSelect.accept(child.template);
+                                }
+                            }))
+                    .add(remove);
+            item = dataListItem(Id.unique("child"))
+                    .addCell(dataListCell()
+                            .add(flex().direction(column)
+                                    .add(flex().alignItems(center).columnGap(md)
+                                            .add(name)
+                                            .add(stability))
+                                    .add(description)))
+                    .addAction(actions);
         }
-        toggle(noMatch, listContainer, matches == 0);
-        return matches;
-    }
 
-    private int clearFilter() {
-        toggle(noMatch, listContainer, false);
-        dataList.items().forEach(dli -> dli.classList().remove(modifier(filtered)));
-        return total.get();
+        @Override
+        public HTMLElement element() {
+            return item.element();
+        }
+
+        @Override
+        public void bind(ChildResource child, int index) {
+            this.child = child;
+            name.id = Id.build(child.name);
+            name.textContent = child.name;
+            Metadata childMeta = child.singleton ? childMetadata.get(child) : metadata;
+
+            removeChildrenFrom(stability);
+            if (child.singleton && childMeta != null) {
+                Stability level = childMeta.resourceDescription().stability();
+                if (uic().environment().highlightStability(level)) {
+                    stability.appendChild(stabilityLabel(level).element());
+                }
+            }
+            String text = child.singleton && childMeta != null ? childMeta.resourceDescription().description() : "";
+            description.textContent = text;
+            description.title = text;
+            setVisible(description, child.singleton);
+            actions.element().style.setProperty("align-items", child.singleton ? "" : "center");
+            setVisible(remove, childMeta != null && childMeta.resourceDescription().operations().supports(REMOVE));
+        }
     }
 
     // ------------------------------------------------------ actions
@@ -15,7 +15,6 @@
  */
 package org.jboss.hal.ui.resource.spi;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +25,7 @@ import jakarta.inject.Inject;
 
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.meta.AddressTemplate;
-
-import static java.util.stream.Collectors.toList;
-import static org.jboss.hal.meta.TemplateMatcher.bestMatchMultiple;
+import org.jboss.hal.meta.TemplateIndex;
 
 /**
  * CDI-managed registry that collects all {@link ResourceHeaderProvider} implementations at startup and provides best-prefix
@@ -38,24 +35,29 @@ import static org.jboss.hal.meta.TemplateMatcher.bestMatchMultiple;
  * template segments left-to-right. When multiple providers match, the one with the longest matching prefix wins; ties are
  * broken by the number of exact (non-wildcard) value matches. Only providers where
  * {@link ResourceHeaderProvider#appliesTo(Environment, AddressTemplate)} returns {@code true} are considered.
+ * <p>
+ * The scopes are kept in a {@link TemplateIndex}, so a lookup doesn't scan all providers.
  */
 @Startup
 @ApplicationScoped
 public class ResourceHeaderRegistry {
 
-    private final List<ResourceHeaderProvider> providers;
+    private final TemplateIndex<ResourceHeaderProvider> index;
 
     @Inject
     public ResourceHeaderRegistry(Instance<ResourceHeaderProvider> providers) {
-        this.providers = new ArrayList<>();
+        this.index = new TemplateIndex<>();
         for (ResourceHeaderProvider provider : providers) {
-            this.providers.add(provider);
+            index.addAll(provider.scopes(), provider);
         }
     }
 
     /** Constructor for testing without CDI. */
     ResourceHeaderRegistry(List<ResourceHeaderProvider> providers) {
-        this.providers = new ArrayList<>(providers);
+        this.index = new TemplateIndex<>();
+        for (ResourceHeaderProvider provider : providers) {
+            index.addAll(provider.scopes(), provider);
+        }
     }
 
     /**
@@ -65,9 +67,6 @@ public class ResourceHeaderRegistry {
      * {@link ResourceHeaderProvider#scopes()} wins. Returns {@link Optional#empty()} if no provider matches.
      */
     public Optional<ResourceHeaderProvider> lookup(Environment environment, AddressTemplate template) {
-        List<ResourceHeaderProvider> eligible = providers.stream()
-                .filter(p -> p.appliesTo(environment, template))
-                .collect(toList());
-        return bestMatchMultiple(eligible, ResourceHeaderProvider::scopes, template);
+        return index.bestMatch(template, provider -> provider.appliesTo(environment, template));
     }
 }
@@ -15,7 +15,6 @@
  */
 package org.jboss.hal.ui.resource.spi;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +25,7 @@ import jakarta.inject.Inject;
 
 import org.jboss.hal.env.Environment;
 import org.jboss.hal.meta.AddressTemplate;
-
-import static java.util.stream.Collectors.toList;
-import static org.jboss.hal.meta.TemplateMatcher.bestMatchMultiple;
+import org.jboss.hal.meta.TemplateIndex;
 
 /**
  * CDI-managed registry that collects all {@link ResourceTabsProvider} implementations at startup and provides best-prefix
@@ -38,24 +35,29 @@ import static org.jboss.hal.meta.TemplateMatcher.bestMatchMultiple;
  * template segments left-to-right. When multiple providers match, the one with the longest matching prefix wins; ties are
  * broken by the number of exact (non-wildcard) value matches. Only providers where
  * {@link ResourceTabsProvider#appliesTo(Environment, AddressTemplate)} returns {@code true} are considered.
+ * <p>
+ * The scopes are kept in a {@link TemplateIndex}, so a lookup doesn't scan all providers.
  */
 @Startup
 @ApplicationScoped
 public class ResourceTabsRegistry {
 
-    private final List<ResourceTabsProvider> providers;
+    private final TemplateIndex<ResourceTabsProvider> index;
 
     @Inject
     public ResourceTabsRegistry(Instance<ResourceTabsProvider> providers) {
-        this.providers = new ArrayList<>();
+        this.index = new TemplateIndex<>();
         for (ResourceTabsProvider provider : providers) {
-            this.providers.add(provider);
+            index.addAll(provider.scopes(), provider);
         }
     }
 
     /** Constructor for testing without CDI. */
     ResourceTabsRegistry(List<ResourceTabsProvider> providers) {
-        this.providers = new ArrayList<>(providers);
+        this.index = new TemplateIndex<>();
+        for (ResourceTabsProvider provider : providers) {
+            index.addAll(provider.scopes(), provider);
+        }
     }
 
     /**
@@ -65,9 +67,6 @@ public class ResourceTabsRegistry {
      * {@link ResourceTabsProvider#scopes()} wins. Returns {@link Optional#empty()} if no provider matches.
      */
     public Optional<ResourceTabsProvider> lookup(Environment environment, AddressTemplate template) {
-        List<ResourceTabsProvider> eligible = providers.stream()
-                .filter(p -> p.appliesTo(environment, template))
-                .collect(toList());
-        return bestMatchMultiple(eligible, ResourceTabsProvider::scopes, template);
+        return index.bestMatch(template, provider -> provider.appliesTo(environment, template));
     }
 }
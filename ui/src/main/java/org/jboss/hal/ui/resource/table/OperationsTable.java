@@ -21,6 +21,7 @@ import org.jboss.elemento.logger.Logger;
 import org.jboss.hal.env.Settings;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.MetadataProfile;
 import org.jboss.hal.meta.description.AttributeDescription;
 import org.jboss.hal.meta.description.OperationDescription;
 import org.jboss.hal.meta.description.ResourceDescription;
@@ -52,6 +53,7 @@ import static org.jboss.hal.ui.brick.AttributeBricks.attributeDescription;
 import static org.jboss.hal.ui.brick.AttributeBricks.attributeName;
 import static org.jboss.hal.ui.brick.DescriptionBricks.operationDescription;
 import static org.jboss.hal.ui.brick.DescriptionBricks.AttributeDescriptionContent.allButReadOnly;
+import static org.jboss.hal.ui.brick.EmptyStateBricks.error;
 import static org.jboss.hal.ui.brick.EmptyStateBricks.noMatch;
 import static org.jboss.hal.ui.brick.StabilityLabel.stabilityLabel;
 import static org.jboss.hal.ui.resource.dialog.ExecuteOperationDialogs.executeOperationModal;
@@ -91,6 +93,9 @@ import static org.patternfly.style.Width.width45;
  * Each row shows the operation name, parameters with types, return value, and an "Execute" button for executable operations.
  * The {@code :add} and {@code :remove} operations are excluded from direct execution. Global operations can be shown or hidden
  * via a toggle. A toolbar with filter controls is displayed above the table.
+ * <p>
+ * If the metadata doesn't include the operation descriptions (see {@link MetadataProfile}), they're looked up on demand. If
+ * the lookup fails, the table shows the error.
  */
 public class OperationsTable implements IsElement<HTMLElement> {
 
@@ -107,8 +112,8 @@ public class OperationsTable implements IsElement<HTMLElement> {
         boolean showGlobalOperations = uic().settings().get(Settings.Key.SHOW_GLOBAL_OPERATIONS).asBoolean();
         this.template = template;
         this.filter = new OperationsFilter(showGlobalOperations).onChange(this::onFilterChanged);
-        this.visible = ov(metadata.resourceDescription().operations().size());
-        this.total = ov(metadata.resourceDescription().operations().size());
+        this.visible = ov(0);
+        this.total = ov(0);
         this.root = div()
                 .add(operationsToolbar(filter, visible, total))
                 .add(table()
@@ -119,41 +124,59 @@ public class OperationsTable implements IsElement<HTMLElement> {
                                         .addItem(th("return-value").width(width20).text("Return value"))
                                         .addItem(th("execute")
                                                 .add(span().css(screenReader).text("Execute operation")))))
-                        .addBody(tbody = tbody()
-                                .addRows(metadata.resourceDescription().operations(), operation -> {
-                                    boolean executable = metadata.securityContext().executable(operation.name());
-                                    AttributeDescription returnValue = operation.returnValue();
-                                    return tr(operation.name())
-                                            .store(Keys.OPERATION_DESCRIPTION, operation)
-                                            .addItem(td("Name")
-                                                    .add(operationName(metadata.resourceDescription(), operation))
-                                                    .add(operationDescription(operation)))
-                                            .run(tableRow -> {
-                                                if (returnValue.isDefined()) {
-                                                    tableRow.addItem(td("Parameters")
-                                                                    .add(parameters(metadata.resourceDescription(), operation)))
-                                                            .addItem(td("Return value")
-                                                                    .add(returnValue(returnValue)));
-                                                } else {
-                                                    tableRow.addItem(td("Parameters")
-                                                            .colSpan(2)
-                                                            .add(parameters(metadata.resourceDescription(), operation)));
-                                                }
-                                            })
-                                            .addItem(td("Execute operation").css(modifier(fitContent))
-                                                    .run(td -> {
-                                                        // :add() and :remove() are special and can be executed otherwise
-                                                        if (executable && !ADD.equals(operation.name()) && !REMOVE.equals(
-                                                                operation.name())) {
-                                                            td.add(span().css(component(table, text))
-                                                                    .add(button("Execute").tertiary()
-                                                                            .ouiaId(OuiaIds.ouia("operation", operation.name(),
-                                                                                    "execute", "btn"))
-                                                                            .onClick((e, c) -> execute(operation))));
-                                                        }
-                                                    }));
-                                })))
+                        .addBody(tbody = tbody()))
                 .element();
+        if (metadata.profile().includes(MetadataProfile.FULL)) {
+            addRows(metadata, showGlobalOperations);
+        } else {
+            // the operation descriptions are read on demand
+            uic().metadataRepository().lookup(template, MetadataProfile.FULL)
+                    .then(full -> {
+                        addRows(full, showGlobalOperations);
+                        return null;
+                    })
+                    .catch_(error -> {
+                        logger.error("Unable to read operations of %s: %s", template, error);
+                        tbody.empty(5, error("No operations", "Unable to read the operations: " + error));
+                        return null;
+                    });
+        }
+    }
+
+    private void addRows(Metadata metadata, boolean showGlobalOperations) {
+        total.set(metadata.resourceDescription().operations().size());
+        visible.set(metadata.resourceDescription().operations().size());
+        tbody.addRows(metadata.resourceDescription().operations(), operation -> {
+            boolean executable = metadata.securityContext().executable(operation.name());
+            AttributeDescription returnValue = operation.returnValue();
+            return tr(operation.name())
+                    .store(Keys.OPERATION_DESCRIPTION, operation)
+                    .addItem(td("Name")
+                            .add(operationName(metadata.resourceDescription(), operation))
+                            .add(operationDescription(operation)))
+                    .run(tableRow -> {
+                        if (returnValue.isDefined()) {
+                            tableRow.addItem(td("Parameters")
+                                            .add(parameters(metadata.resourceDescription(), operation)))
+                                    .addItem(td("Return value")
+                                            .add(returnValue(returnValue)));
+                        } else {
+                            tableRow.addItem(td("Parameters")
+                                    .colSpan(2)
+                                    .add(parameters(metadata.resourceDescription(), operation)));
+                        }
+                    })
+                    .addItem(td("Execute operation").css(modifier(fitContent))
+                            .run(td -> {
+                                // :add() and :remove() are special and can be executed otherwise
+                                if (executable && !ADD.equals(operation.name()) && !REMOVE.equals(operation.name())) {
+                                    td.add(span().css(component(table, text))
+                                            .add(button("Execute").tertiary()
+                                                    .ouiaId(OuiaIds.ouia("operation", operation.name(), "execute", "btn"))
+                                                    .onClick((e, c) -> execute(operation))));
+                                }
+                            }));
+        });
         filter.set(GlobalOperationsAttribute.NAME, showGlobalOperations);
     }
 
@@ -104,6 +104,25 @@ public class ResourceView {
         return container.element();
     }
 
+    // ------------------------------------------------------ patching
+
+    /**
+     * Replaces the value of a rendered item with the value of the given item. Only the value element is swapped: the label
+     * (including its help popover) and all other items stay in the DOM, so focus, scroll position and open popovers are kept.
+     *
+     * @return the item which now represents the attribute or {@code null} if the previous item is not part of this view
+     */
+    public ViewItem patch(ViewItem previous, ViewItem next) {
+        int index = items.indexOf(previous);
+        if (index < 0 || previous.valueElement().parentNode == null) {
+            return null;
+        }
+        previous.valueElement().parentNode.replaceChild(next.valueElement(), previous.valueElement());
+        ViewItem patched = new PatchedViewItem(next, previous.element());
+        items.set(index, patched);
+        return patched;
+    }
+
     // ------------------------------------------------------ filtering
 
     /** Applies the filter to all items, toggling visibility. Returns the number of matching items. */
@@ -152,4 +171,25 @@ public class ResourceView {
                         _2xl, horizontal))
                 .element();
     }
+
+    // ------------------------------------------------------ inner classes
+
+    /** An item whose value has been patched into the element of the previous item. */
+    private record PatchedViewItem(ViewItem current, HTMLElement element) implements ViewItem {
+
+        @Override
+        public String identifier() {
+            return current.identifier();
+        }
+
+        @Override
+        public ResolvedAttribute attribute() {
+            return current.attribute();
+        }
+
+        @Override
+        public HTMLElement valueElement() {
+            return current.valueElement();
+        }
+    }
 }
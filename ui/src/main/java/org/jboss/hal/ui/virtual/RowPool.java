@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Binds items to a bounded set of recycled rows. Rows that scroll out of the {@linkplain RowRange range} are released to a free
+ * list and re-bound to the items that scroll in, so the number of rows ever created is limited by the size of the range, not
+ * by the number of items.
+ * <p>
+ * The pool also keeps track of the items which have been rendered at least once. {@link #render(RowRange)} returns the items
+ * which became visible for the first time, so that callers can resolve expensive per-row data (e.g. metadata) lazily.
+ * <p>
+ * This class has no DOM dependencies. The DOM-specific parts live in {@link VirtualList}.
+ *
+ * @param <T> the type of the items
+ * @param <R> the type of the rows
+ */
+final class RowPool<T, R> {
+
+    /** Binds an item to a row. */
+    @FunctionalInterface
+    interface Binder<T, R> {
+
+        void bind(R row, T item, int index);
+    }
+
+    private final Supplier<R> factory;
+    private final Binder<T, R> binder;
+    private final Consumer<R> release;
+    private final Map<Integer, R> bound;
+    private final Deque<R> free;
+    private final Set<T> seen;
+    private List<T> items;
+    private RowRange range;
+    private int created;
+    private int binds;
+
+    RowPool(Supplier<R> factory, Binder<T, R> binder, Consumer<R> release) {
+        this.factory = factory;
+        this.binder = binder;
+        this.release = release;
+        this.bound = new HashMap<>();
+        this.free = new ArrayDeque<>();
+        this.seen = new HashSet<>();
+        this.items = Collections.emptyList();
+        this.range = RowRange.EMPTY;
+    }
+
+    // ------------------------------------------------------ api
+
+    /**
+     * Replaces the items. All rows are released and re-bound by the next call to {@link #render(RowRange)}. Items which are
+     * not part of the new list are forgotten, so they're reported as new if they show up again.
+     */
+    void items(List<T> items) {
+        this.items = items;
+        this.range = RowRange.EMPTY;
+        if (!seen.isEmpty()) {
+            seen.retainAll(new HashSet<>(items));
+        }
+        for (R row : bound.values()) {
+            release.accept(row);
+            free.push(row);
+        }
+        bound.clear();
+    }
+
+    /**
+     * Releases the rows outside the given range and binds the items inside the range which are not bound yet.
+     *
+     * @return the items which have been rendered for the first time
+     */
+    List<T> render(RowRange range) {
+        for (Iterator<Map.Entry<Integer, R>> iterator = bound.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Integer, R> entry = iterator.next();
+            if (!range.contains(entry.getKey())) {
+                release.accept(entry.getValue());
+                free.push(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        List<T> fresh = new ArrayList<>();
+        int last = Math.min(range.last, items.size());
+        for (int index = range.first; index < last; index++) {
+            if (!bound.containsKey(index)) {
+                R row = free.isEmpty() ? create() : free.pop();
+                T item = items.get(index);
+                bind(row, item, index);
+                bound.put(index, row);
+                if (seen.add(item)) {
+                    fresh.add(item);
+                }
+            }
+        }
+        this.range = range;
+        return fresh;
+    }
+
+    /** Re-binds the row of the given item if the item is currently rendered. */
+    boolean refresh(T item) {
+        // the number of bound rows is small, so this is cheaper than looking up the index of the item
+        for (Map.Entry<Integer, R> entry : bound.entrySet()) {
+            int index = entry.getKey();
+            if (items.get(index).equals(item)) {
+                bind(entry.getValue(), item, index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the row bound to the item at the given index or {@code null} if the item is not rendered. */
+    R row(int index) {
+        return bound.get(index);
+    }
+
+    List<T> items() {
+        return items;
+    }
+
+    RowRange range() {
+        return range;
+    }
+
+    /** The number of rows bound to an item. */
+    int bound() {
+        return bound.size();
+    }
+
+    /** The number of rows created so far. */
+    int created() {
+        return created;
+    }
+
+    /** The number of bind operations so far. */
+    int binds() {
+        return binds;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private R create() {
+        created++;
+        return factory.get();
+    }
+
+    private void bind(R row, T item, int index) {
+        binds++;
+        binder.bind(row, item, index);
+    }
+}
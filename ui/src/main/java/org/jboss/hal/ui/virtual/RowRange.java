@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+/**
+ * The half-open range {@code [first, last)} of row indices rendered by a {@link VirtualList}. The range covers the rows inside
+ * the viewport plus an overscan buffer above and below, so that short scroll movements don't expose empty space.
+ */
+final class RowRange {
+
+    static final RowRange EMPTY = new RowRange(0, 0);
+
+    /**
+     * Computes the range of rows to render.
+     *
+     * @param scrollTop      the scroll offset of the viewport in pixels
+     * @param viewportHeight the height of the viewport in pixels
+     * @param rowHeight      the fixed height of one row in pixels
+     * @param overscan       the number of additional rows rendered above and below the viewport
+     * @param count          the total number of rows
+     */
+    static RowRange of(double scrollTop, double viewportHeight, int rowHeight, int overscan, int count) {
+        if (count <= 0 || rowHeight <= 0) {
+            return EMPTY;
+        }
+        double offset = Math.max(0, scrollTop);
+        int top = (int) Math.floor(offset / rowHeight);
+        int bottom = (int) Math.ceil((offset + Math.max(0, viewportHeight)) / rowHeight);
+        int first = Math.max(0, Math.min(top, count - 1) - overscan);
+        int last = Math.min(count, bottom + overscan);
+        return new RowRange(first, Math.max(first, last));
+    }
+
+    final int first;
+    final int last;
+
+    RowRange(int first, int last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RowRange rowRange = (RowRange) o;
+        return first == rowRange.first && last == rowRange.last;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * first + last;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + last + ")";
+    }
+
+    // ------------------------------------------------------ api
+
+    boolean contains(int index) {
+        return index >= first && index < last;
+    }
+
+    int size() {
+        return last - first;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.elemento.Attachable;
+import org.jboss.elemento.IsElement;
+
+import elemental2.dom.DomGlobal;
+import elemental2.dom.Element;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.MutationRecord;
+import elemental2.dom.ResizeObserver;
+
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.failSafeRemoveFromParent;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.scroll;
+
+/**
+ * A scrollable list which renders only the rows inside the viewport plus an overscan buffer. Use it for lists which can grow
+ * to thousands of items, like the children of a management resource.
+ * <p>
+ * All rows have the same, fixed {@linkplain #rowHeight(int) height}. A sizer element reserves the height of all items, so that
+ * the scrollbar reflects the full list. Rows are created by the row factory and recycled when they scroll out of view, so the
+ * number of DOM elements is bounded by the height of the viewport, not by the number of items.
+ * <p>
+ * Expensive per-row data can be resolved lazily: {@link #onVisible(Consumer)} is called with the items which became visible for
+ * the first time. Once the data is available, call {@link #refresh(Object)} to re-bind the row of an item.
+ * <pre>{@code
+ * VirtualList<Child> list = virtualList(ul().element(), ChildRow::new)
+ *         .rowHeight(48)
+ *         .onVisible(children -> resolve(children).then(__ -> children.forEach(list::refresh)));
+ * list.items(children);
+ * }</pre>
+ *
+ * @param <T> the type of the items
+ */
+public class VirtualList<T> implements IsElement<HTMLElement>, Attachable {
+
+    // ------------------------------------------------------ factory
+
+    /**
+     * Creates a virtual list which appends the rows to the given content element.
+     *
+     * @param content the element which holds the rows, e.g. the {@code <ul/>} of a data list
+     * @param rows    the factory for new rows
+     */
+    public static <T> VirtualList<T> virtualList(HTMLElement content, Supplier<VirtualRow<T>> rows) {
+        return new VirtualList<>(content, rows);
+    }
+
+    // ------------------------------------------------------ instance
+
+    /** The default height of a row in pixels. */
+    public static final int DEFAULT_ROW_HEIGHT = 48;
+    /** The default number of rows rendered above and below the viewport. */
+    public static final int DEFAULT_OVERSCAN = 5;
+    private static final String DEFAULT_MAX_HEIGHT = "70vh";
+
+    private final HTMLElement content;
+    private final HTMLElement sizer;
+    private final HTMLElement root;
+    private final RowPool<T, VirtualRow<T>> pool;
+    private final ResizeObserver resizeObserver;
+    private int rowHeight;
+    private int overscan;
+    private Consumer<List<T>> onVisible;
+    private double frame;
+
+    VirtualList(HTMLElement content, Supplier<VirtualRow<T>> rows) {
+        this.content = content;
+        this.rowHeight = DEFAULT_ROW_HEIGHT;
+        this.overscan = DEFAULT_OVERSCAN;
+        this.pool = new RowPool<>(() -> {
+            VirtualRow<T> row = rows.get();
+            row.element().style.setProperty("height", rowHeight + "px");
+            row.element().style.setProperty("box-sizing", "border-box");
+            row.element().style.setProperty("overflow", "hidden");
+            return row;
+        }, (row, item, index) -> row.bind(item, index), row -> failSafeRemoveFromParent(row.element()));
+        this.resizeObserver = new ResizeObserver((entries, observer) -> {
+            schedule();
+            return null;
+        });
+
+        content.style.setProperty("position", "absolute");
+        content.style.setProperty("top", "0");
+        content.style.setProperty("left", "0");
+        content.style.setProperty("right", "0");
+        content.style.setProperty("will-change", "transform");
+        root = div()
+                .style("overflow-y", "auto")
+                .style("max-height", DEFAULT_MAX_HEIGHT)
+                .add(sizer = div().style("position", "relative")
+                        .add(content)
+                        .element())
+                .element();
+        bind(root, scroll, __ -> schedule());
+        Attachable.register(this, this);
+    }
+
+    @Override
+    public void attach(MutationRecord mutationRecord) {
+        resizeObserver.observe(root);
+        schedule();
+    }
+
+    @Override
+    public void detach(MutationRecord mutationRecord) {
+        resizeObserver.disconnect();
+        if (frame != 0) {
+            DomGlobal.cancelAnimationFrame(frame);
+            frame = 0;
+        }
+    }
+
+    @Override
+    public HTMLElement element() {
+        return root;
+    }
+
+    // ------------------------------------------------------ builder
+
+    /** Sets the fixed height of a row in pixels. Must be set before the first call to {@link #items(List)}. */
+    public VirtualList<T> rowHeight(int rowHeight) {
+        this.rowHeight = Math.max(1, rowHeight);
+        return this;
+    }
+
+    /** Sets the number of rows rendered above and below the viewport. */
+    public VirtualList<T> overscan(int overscan) {
+        this.overscan = Math.max(0, overscan);
+        return this;
+    }
+
+    /** Sets the maximal height of the viewport as CSS value. Defaults to {@code 70vh}. */
+    public VirtualList<T> maxHeight(String maxHeight) {
+        root.style.setProperty("max-height", maxHeight);
+        return this;
+    }
+
+    // ------------------------------------------------------ events
+
+    /** Registers a callback invoked with the items which became visible for the first time. */
+    public VirtualList<T> onVisible(Consumer<List<T>> onVisible) {
+        this.onVisible = onVisible;
+        return this;
+    }
+
+    // ------------------------------------------------------ api
+
+    /** Replaces the items and renders the rows of the current viewport immediately. */
+    public void items(List<T> items) {
+        pool.items(items);
+        render();
+    }
+
+    public List<T> items() {
+        return pool.items();
+    }
+
+    /** Re-binds the row of the given item if the item is currently rendered. */
+    public void refresh(T item) {
+        pool.refresh(item);
+    }
+
+    /** Scrolls the item at the given index to the top of the viewport. */
+    public void scrollTo(int index) {
+        root.scrollTop = (double) Math.max(0, index) * rowHeight;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void schedule() {
+        if (frame == 0) {
+            frame = DomGlobal.requestAnimationFrame(__ -> {
+                frame = 0;
+                render();
+            });
+        }
+    }
+
+    private void render() {
+        int count = pool.items().size();
+        sizer.style.setProperty("height", count * rowHeight + "px");
+        RowRange range = RowRange.of(root.scrollTop, root.clientHeight, rowHeight, overscan, count);
+        if (range.equals(pool.range())) {
+            return;
+        }
+
+        List<T> fresh = pool.render(range);
+        content.style.setProperty("transform", "translateY(" + range.first * rowHeight + "px)");
+        // move rows only if they're out of order, to keep the focus of the rows which stay in the viewport
+        Element previous = null;
+        for (int index = range.first; index < range.last; index++) {
+            HTMLElement element = pool.row(index).element();
+            Element next = previous == null ? content.firstElementChild : previous.nextElementSibling;
+            if (element != next) {
+                content.insertBefore(element, next);
+            }
+            previous = element;
+        }
+        if (!fresh.isEmpty() && onVisible != null) {
+            onVisible.accept(fresh);
+        }
+    }
+}
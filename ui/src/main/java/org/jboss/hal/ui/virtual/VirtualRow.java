@@ -0,0 +1,33 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import org.jboss.elemento.IsElement;
+
+import elemental2.dom.HTMLElement;
+
+/**
+ * A recyclable row of a {@link VirtualList}. Rows are created once and re-bound to different items while the user scrolls.
+ * Implementations should build their DOM in the constructor and only update text, attributes and visibility in
+ * {@link #bind(Object, int)}.
+ *
+ * @param <T> the type of the items
+ */
+public interface VirtualRow<T> extends IsElement<HTMLElement> {
+
+    /** Binds the item at the given index to this row. Event handlers must refer to the most recently bound item. */
+    void bind(T item, int index);
+}
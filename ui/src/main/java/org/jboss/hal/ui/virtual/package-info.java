@@ -0,0 +1,27 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/**
+ * Windowing support for large lists. A {@link org.jboss.hal.ui.virtual.VirtualList} renders only the rows inside the viewport
+ * plus an overscan buffer and recycles the row elements while the user scrolls.
+ * <dl>
+ * <dt>{@link org.jboss.hal.ui.virtual.VirtualList}</dt>
+ * <dd>Scrollable list with fixed row height, which resolves per-row data lazily as rows scroll into view.</dd>
+ * <dt>{@link org.jboss.hal.ui.virtual.VirtualRow}</dt>
+ * <dd>Recyclable row, which is built once and re-bound to different items.</dd>
+ * </dl>
+ */
+package org.jboss.hal.ui.virtual;
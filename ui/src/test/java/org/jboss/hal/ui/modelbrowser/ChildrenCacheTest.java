@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.modelbrowser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.meta.AddressTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.jboss.hal.ui.modelbrowser.ChildrenCache.PAGE_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChildrenCacheTest {
+
+    private static final AddressTemplate DEPLOYMENTS = AddressTemplate.ofTrusted("deployment=*");
+    private static final AddressTemplate INFINISPAN = AddressTemplate.ofTrusted("subsystem=infinispan");
+    private static final AddressTemplate CONTAINERS = AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=*");
+    private static final AddressTemplate WEB = AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=web");
+    private static final AddressTemplate CACHES = AddressTemplate.ofTrusted(
+            "subsystem=infinispan/cache-container=web/local-cache=*");
+    private static final AddressTemplate SUBSYSTEMS = AddressTemplate.ofTrusted("subsystem=*");
+
+    @Test
+    void putGet() {
+        ChildrenCache cache = new ChildrenCache();
+        cache.put(CONTAINERS, new ModelNode().add("web"));
+
+        assertTrue(cache.contains(CONTAINERS));
+        assertTrue(cache.contains(AddressTemplate.ofTrusted("/subsystem=infinispan/cache-container=*")));
+        assertEquals("web", cache.get(CONTAINERS).asList().get(0).asString());
+        assertFalse(cache.contains(WEB));
+    }
+
+    @Test
+    void invalidateFolder() {
+        // add a resource to a folder
+        ChildrenCache cache = filled();
+        cache.invalidate(CONTAINERS);
+
+        assertTrue(cache.contains(SUBSYSTEMS));
+        assertTrue(cache.contains(INFINISPAN));
+        assertFalse(cache.contains(CONTAINERS));
+        // the existing resources of the folder are not affected
+        assertTrue(cache.contains(WEB));
+        assertTrue(cache.contains(CACHES));
+    }
+
+    @Test
+    void invalidateParent() {
+        // add a resource of a new type to a resource
+        ChildrenCache cache = filled();
+        cache.invalidate(INFINISPAN);
+
+        assertFalse(cache.contains(SUBSYSTEMS));
+        assertFalse(cache.contains(INFINISPAN));
+        assertFalse(cache.contains(CONTAINERS));
+        assertFalse(cache.contains(WEB));
+        assertFalse(cache.contains(CACHES));
+    }
+
+    @Test
+    void invalidateResource() {
+        // remove a resource
+        ChildrenCache cache = filled();
+        cache.invalidate(WEB);
+
+        assertTrue(cache.contains(SUBSYSTEMS));
+        assertTrue(cache.contains(INFINISPAN));
+        // the folder of the resource
+        assertFalse(cache.contains(CONTAINERS));
+        assertFalse(cache.contains(WEB));
+        assertFalse(cache.contains(CACHES));
+    }
+
+    @Test
+    void invalidateSiblings() {
+        ChildrenCache cache = filled();
+        AddressTemplate webFoo = AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=web-foo");
+        cache.put(webFoo, new ModelNode());
+        cache.invalidate(WEB);
+
+        // prefix of the template, but no descendant
+        assertTrue(cache.contains(webFoo));
+    }
+
+    @Test
+    void clear() {
+        ChildrenCache cache = filled();
+        cache.clear();
+        assertFalse(cache.contains(SUBSYSTEMS));
+    }
+
+    @Test
+    void smallFolder() {
+        ChildrenCache cache = new ChildrenCache();
+        assertEquals(10, cache.visible(DEPLOYMENTS, names(10)));
+    }
+
+    @Test
+    void pages() {
+        ChildrenCache cache = new ChildrenCache();
+        List<String> names = names(250);
+
+        assertEquals(PAGE_SIZE, cache.visible(DEPLOYMENTS, names));
+        cache.more(DEPLOYMENTS);
+        assertEquals(2 * PAGE_SIZE, cache.visible(DEPLOYMENTS, names));
+        cache.more(DEPLOYMENTS);
+        assertEquals(250, cache.visible(DEPLOYMENTS, names));
+
+        // other folders are not affected
+        assertEquals(PAGE_SIZE, cache.visible(SUBSYSTEMS, names));
+    }
+
+    @Test
+    void reveal() {
+        ChildrenCache cache = new ChildrenCache();
+        List<String> names = names(10_000);
+
+        cache.reveal(DEPLOYMENTS, "child-42");
+        assertEquals(PAGE_SIZE, cache.visible(DEPLOYMENTS, names));
+
+        cache.reveal(DEPLOYMENTS, "child-4711");
+        assertEquals(4800, cache.visible(DEPLOYMENTS, names));
+        // the window is kept
+        assertEquals(4800, cache.visible(DEPLOYMENTS, names));
+
+        cache.reveal(DEPLOYMENTS, "unknown");
+        assertEquals(4800, cache.visible(DEPLOYMENTS, names));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static ChildrenCache filled() {
+        ChildrenCache cache = new ChildrenCache();
+        cache.put(SUBSYSTEMS, new ModelNode().add("infinispan"));
+        cache.put(INFINISPAN, new ModelNode().add("cache-container"));
+        cache.put(CONTAINERS, new ModelNode().add("web"));
+        cache.put(WEB, new ModelNode().add("local-cache"));
+        cache.put(CACHES, new ModelNode().add("sso"));
+        return cache;
+    }
+
+    private static List<String> names(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add("child-" + i);
+        }
+        return names;
+    }
+}
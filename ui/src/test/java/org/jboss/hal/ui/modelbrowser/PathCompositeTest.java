@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.modelbrowser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.meta.AddressTemplate;
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_SINGLETONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.ui.modelbrowser.PathComposite.pathComposite;
+import static org.jboss.hal.ui.modelbrowser.PathComposite.readChildren;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathCompositeTest {
+
+    private static final AddressTemplate ROOT = AddressTemplate.root();
+    private static final AddressTemplate SSO = AddressTemplate.ofTrusted(
+            "subsystem=infinispan/cache-container=web/local-cache=sso");
+
+    @Test
+    void readChildNames() {
+        Operation operation = readChildren(AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=*"));
+        assertEquals(READ_CHILDREN_NAMES_OPERATION, operation.getName());
+        assertEquals("/subsystem=infinispan", operation.getAddress().toString());
+        assertEquals("cache-container", operation.getParameter().get(CHILD_TYPE).asString());
+    }
+
+    @Test
+    void readChildTypes() {
+        Operation operation = readChildren(AddressTemplate.ofTrusted("subsystem=infinispan"));
+        assertEquals(READ_CHILDREN_TYPES_OPERATION, operation.getName());
+        assertEquals("/subsystem=infinispan", operation.getAddress().toString());
+        assertTrue(operation.getParameter().get(INCLUDE_SINGLETONS).asBoolean());
+
+        Operation root = readChildren(ROOT);
+        assertEquals(READ_CHILDREN_TYPES_OPERATION, root.getName());
+        assertEquals("/", root.getAddress().toString());
+    }
+
+    @Test
+    void allLevels() {
+        PathComposite path = pathComposite(ROOT, SSO, new ChildrenCache());
+
+        assertEquals(List.of(
+                "/subsystem=*",
+                "/subsystem=infinispan",
+                "/subsystem=infinispan/cache-container=*",
+                "/subsystem=infinispan/cache-container=web",
+                "/subsystem=infinispan/cache-container=web/local-cache=*",
+                "/subsystem=infinispan/cache-container=web/local-cache=sso"), templates(path));
+        Composite composite = path.composite();
+        assertEquals(6, composite.size());
+        assertEquals(List.of(
+                ":read-children-names(child-type=subsystem)",
+                "/subsystem=infinispan:read-children-types(include-singletons=true)",
+                "/subsystem=infinispan:read-children-names(child-type=cache-container)",
+                "/subsystem=infinispan/cache-container=web:read-children-types(include-singletons=true)",
+                "/subsystem=infinispan/cache-container=web:read-children-names(child-type=local-cache)",
+                "/subsystem=infinispan/cache-container=web/local-cache=sso:read-children-types(include-singletons=true)"),
+                cli(composite));
+    }
+
+    @Test
+    void scoped() {
+        AddressTemplate root = AddressTemplate.ofTrusted("subsystem=infinispan");
+        PathComposite path = pathComposite(root, SSO, new ChildrenCache());
+
+        assertEquals(List.of(
+                "/subsystem=infinispan/cache-container=*",
+                "/subsystem=infinispan/cache-container=web",
+                "/subsystem=infinispan/cache-container=web/local-cache=*",
+                "/subsystem=infinispan/cache-container=web/local-cache=sso"), templates(path));
+    }
+
+    @Test
+    void skipCached() {
+        ChildrenCache cache = new ChildrenCache();
+        cache.put(AddressTemplate.ofTrusted("subsystem=*"), names("infinispan"));
+        cache.put(AddressTemplate.ofTrusted("subsystem=infinispan"), names("cache-container"));
+        PathComposite path = pathComposite(ROOT, SSO, cache);
+
+        assertEquals(List.of(
+                "/subsystem=infinispan/cache-container=*",
+                "/subsystem=infinispan/cache-container=web",
+                "/subsystem=infinispan/cache-container=web/local-cache=*",
+                "/subsystem=infinispan/cache-container=web/local-cache=sso"), templates(path));
+    }
+
+    @Test
+    void allCached() {
+        ChildrenCache cache = new ChildrenCache();
+        AddressTemplate template = AddressTemplate.ofTrusted("subsystem=infinispan");
+        pathComposite(ROOT, template, cache).cache(success(2), cache);
+
+        assertTrue(pathComposite(ROOT, template, cache).isEmpty());
+        assertTrue(pathComposite(ROOT, ROOT, cache).isEmpty());
+    }
+
+    @Test
+    void cacheResults() {
+        ChildrenCache cache = new ChildrenCache();
+        PathComposite path = pathComposite(ROOT, SSO, cache);
+        ModelNode steps = stepsNode(6);
+        steps.get("step-4").get(OUTCOME).set(FAILED);
+        steps.get("step-4").remove(RESULT);
+
+        assertEquals(5, path.cache(new CompositeResult(steps), cache));
+        assertEquals("child-0", cache.get(AddressTemplate.ofTrusted("subsystem=*")).asList().get(0).asString());
+        assertFalse(cache.contains(AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=web")));
+        assertNull(cache.get(AddressTemplate.ofTrusted("subsystem=infinispan/cache-container=web")));
+
+        // only the failed level is read again
+        assertEquals(List.of("/subsystem=infinispan/cache-container=web"), templates(pathComposite(ROOT, SSO, cache)));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static List<String> templates(PathComposite path) {
+        return path.templates.stream().map(t -> t.template).collect(toList());
+    }
+
+    private static List<String> cli(Composite composite) {
+        List<String> cli = new ArrayList<>();
+        for (Operation operation : composite) {
+            cli.add(operation.asCli());
+        }
+        return cli;
+    }
+
+    private static ModelNode names(String... names) {
+        ModelNode node = new ModelNode();
+        for (String name : names) {
+            node.add(name);
+        }
+        return node;
+    }
+
+    private static CompositeResult success(int size) {
+        return new CompositeResult(stepsNode(size));
+    }
+
+    private static ModelNode stepsNode(int size) {
+        ModelNode steps = new ModelNode();
+        for (int i = 0; i < size; i++) {
+            ModelNode step = new ModelNode();
+            step.get(OUTCOME).set(SUCCESS);
+            step.get(RESULT).set(names("child-" + i));
+            steps.get("step-" + (i + 1)).set(step);
+        }
+        return steps;
+    }
+}
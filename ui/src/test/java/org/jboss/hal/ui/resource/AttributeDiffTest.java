@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.resource;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttributeDiffTest {
+
+    @Test
+    void unchanged() {
+        ModelNode previous = resource();
+        AttributeDiff diff = AttributeDiff.diff(previous, previous.clone());
+
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.structural());
+        assertTrue(diff.changed().isEmpty());
+        assertFalse(diff.affects(List.of("name", "port", "enabled", "properties", "undefined")));
+    }
+
+    @Test
+    void changed() {
+        ModelNode previous = resource();
+        ModelNode current = previous.clone();
+        current.get("port").set(8443);
+        current.get("properties").get("b").set("B");
+
+        AttributeDiff diff = AttributeDiff.diff(previous, current);
+        assertFalse(diff.isEmpty());
+        assertFalse(diff.structural());
+        assertEquals(Set.of("port", "properties"), diff.changed());
+        assertTrue(diff.affects(List.of("name", "port")));
+        assertFalse(diff.affects(List.of("name", "enabled")));
+    }
+
+    @Test
+    void definedAndUndefined() {
+        ModelNode previous = resource();
+        ModelNode current = previous.clone();
+        current.get("undefined").set("defined");
+        current.get("name").clear();
+
+        AttributeDiff diff = AttributeDiff.diff(previous, current);
+        assertFalse(diff.structural());
+        assertEquals(Set.of("name", "undefined"), diff.changed());
+    }
+
+    @Test
+    void typeChange() {
+        ModelNode previous = resource();
+        ModelNode current = previous.clone();
+        current.get("port").setExpression("${port:8080}");
+
+        AttributeDiff diff = AttributeDiff.diff(previous, current);
+        assertEquals(Set.of("port"), diff.changed());
+    }
+
+    @Test
+    void addedAndRemoved() {
+        ModelNode previous = resource();
+        ModelNode current = new ModelNode();
+        for (String name : previous.keys()) {
+            if (!name.equals("enabled")) {
+                current.get(name).set(previous.get(name));
+            }
+        }
+        current.get("new").set(true);
+
+        AttributeDiff diff = AttributeDiff.diff(previous, current);
+        assertTrue(diff.structural());
+        assertFalse(diff.isEmpty());
+        assertEquals(Set.of("new"), diff.added());
+        assertEquals(Set.of("enabled"), diff.removed());
+        assertTrue(diff.changed().isEmpty());
+        assertTrue(diff.affects(List.of("enabled")));
+    }
+
+    @Test
+    void undefined() {
+        AttributeDiff diff = AttributeDiff.diff(null, resource());
+        assertTrue(diff.structural());
+        assertEquals(resource().keys(), diff.added());
+
+        diff = AttributeDiff.diff(resource(), new ModelNode());
+        assertTrue(diff.structural());
+        assertEquals(resource().keys(), diff.removed());
+    }
+
+    @Test
+    void previousNotModified() {
+        ModelNode previous = resource();
+        ModelNode current = new ModelNode();
+        current.get("name").set("other");
+        AttributeDiff.diff(previous, current);
+
+        assertEquals(resource(), previous);
+        assertEquals(1, current.keys().size());
+    }
+
+    private static ModelNode resource() {
+        ModelNode resource = new ModelNode();
+        resource.get("name").set("default");
+        resource.get("port").set(8080);
+        resource.get("enabled").set(true);
+        resource.get("properties").get("a").set("A");
+        resource.get("properties").get("b").set("b");
+        resource.get("undefined");
+        return resource;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.resource.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.DataBuffers;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.description.AttributeDescription;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.jboss.hal.ui.resource.AttributeDiff;
+import org.jboss.hal.ui.resource.PipelineContext;
+import org.jboss.hal.ui.resource.ResolvedAttribute;
+import org.jboss.hal.ui.resource.form.FormItem;
+import org.jboss.hal.ui.resource.pipeline.AttributeHandler.MatchResult;
+import org.jboss.hal.ui.resource.view.ViewItem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ALIAS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CLEAR_TEXT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MODEL_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RELATIVE_TO;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STORE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.UNIT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.VALUE_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the output of the compiled rendering plan with the uncompiled pipeline. Handlers and providers are replaced by
+ * recorders which log the matches and resolved attributes they receive instead of creating view and form items.
+ * <p>
+ * The resource descriptions come from the generated {@code standalone-rrd.dmr} fixture in the top-level {@code fixtures}
+ * directory, which is added to the test resources by the POM.
+ */
+class RenderingPlanTest {
+
+    private static Map<String, Metadata> fixture;
+    private List<String> events;
+    private List<AttributeHandler> handlers;
+    private Pipeline pipeline;
+
+    @BeforeAll
+    static void beforeAll() {
+        DataBuffers.useByteArrays();
+        fixture = new LinkedHashMap<>();
+        collect("/subsystem=undertow", fixture("standalone-rrd.dmr").get(RESULT), fixture);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        events = new ArrayList<>();
+        handlers = List.of(
+                new Recorder(new CredentialReferenceHandler(), events),
+                new Recorder(new TimeUnitHandler(), events),
+                new Recorder(new FileHandler(), events),
+                new Recorder(new PathRelativeToHandler(), events),
+                new Recorder(new MapHandler(), events),
+                new Recorder(new FlatteningHandler(), events));
+        pipeline = new Pipeline(handlers, List.of(new RecordingProvider(events)));
+    }
+
+    // ------------------------------------------------------ compare
+
+    @Test
+    void fixtureViewItems() {
+        assertTrue(fixture.size() > 1);
+        for (Metadata metadata : fixture.values()) {
+            PipelineContext context = context(metadata);
+            List<String> expected = uncompiled(context, metadata.resourceDescription().attributes());
+            pipeline.viewItems(context);
+            assertEquals(expected, events, metadata.address());
+            assertEquals(metadata.resourceDescription().attributes().size(), countAttributes(events), metadata.address());
+            events.clear();
+        }
+    }
+
+    @Test
+    void fixtureFormItems() {
+        for (Metadata metadata : fixture.values()) {
+            PipelineContext context = context(metadata);
+            List<String> expected = uncompiled(context, metadata.resourceDescription().attributes());
+            pipeline.formItems(context);
+            assertEquals(expected, events, metadata.address());
+            events.clear();
+        }
+    }
+
+    @Test
+    void fixtureReadOnly() {
+        for (Metadata metadata : fixture.values()) {
+            Metadata readOnly = Metadata.metadata(metadata.address(), metadata.resourceDescription(),
+                    SecurityContext.READ_ONLY);
+            PipelineContext context = context(readOnly);
+            List<String> expected = uncompiled(context, readOnly.resourceDescription().attributes());
+            pipeline.formItems(context);
+            assertEquals(expected, events, readOnly.address());
+            events.clear();
+        }
+    }
+
+    @Test
+    void handlerShapes() {
+        Metadata metadata = Metadata.metadata("/subsystem=test", shapes(), SecurityContext.RWX);
+        PipelineContext context = context(metadata);
+        List<String> expected = uncompiled(context, metadata.resourceDescription().attributes());
+        pipeline.viewItems(context);
+        assertEquals(expected, events);
+
+        // attribute descriptions are sorted by name, relative-to is claimed together with path
+        List<String> steps = pipeline.plan(metadata).steps().stream().map(RenderingPlan.Step::toString).toList();
+        assertEquals(List.of(
+                "Recorder:credential-reference(1)",
+                "Recorder:file(1)",
+                "last",
+                "Recorder:path(2)",
+                "plain",
+                "Recorder:properties(1)",
+                "Recorder:record(1)",
+                "Recorder:timeout(1)"), steps);
+    }
+
+    @Test
+    void explicitAttributes() {
+        Metadata metadata = fixture.values().iterator().next();
+        PipelineContext context = context(metadata);
+        List<AttributeDescription> attributes = new ArrayList<>();
+        for (AttributeDescription ad : metadata.resourceDescription().attributes()) {
+            if (attributes.size() < 3) {
+                attributes.add(ad);
+            }
+        }
+        List<String> expected = uncompiled(context, attributes);
+        pipeline.formItems(context, attributes);
+        assertEquals(expected, events);
+    }
+
+    @Test
+    void changedSteps() {
+        Metadata metadata = Metadata.metadata("/subsystem=test", shapes(), SecurityContext.RWX);
+        PipelineContext previous = context(metadata);
+        ModelNode resource = previous.resource().clone();
+        resource.get(RELATIVE_TO).set("jboss.server.log.dir");
+        resource.get("plain").set("changed");
+        PipelineContext current = new PipelineContext(previous.template(), metadata, resource, null);
+
+        AttributeDiff diff = AttributeDiff.diff(previous.resource(), current.resource());
+        for (RenderingPlan.Step step : pipeline.plan(metadata).steps()) {
+            if (diff.affects(step.names())) {
+                pipeline.viewItems(current, step);
+            }
+        }
+        assertEquals(List.of(
+                "handler PathRelativeToHandler path relative-to",
+                "provider plain=\"changed\" r:true ro:false w:true"), events);
+    }
+
+    // ------------------------------------------------------ memo
+
+    @Test
+    void memoised() {
+        Metadata metadata = fixture.values().iterator().next();
+        RenderingPlan plan = pipeline.plan(metadata);
+        assertSame(plan, pipeline.plan(metadata));
+
+        pipeline.viewItems(context(metadata));
+        pipeline.formItems(context(metadata));
+        assertSame(plan, pipeline.plan(metadata));
+    }
+
+    @Test
+    void newMetadataNewPlan() {
+        Metadata metadata = fixture.values().iterator().next();
+        RenderingPlan plan = pipeline.plan(metadata);
+        Metadata changed = Metadata.from(ModelNode.fromBase64(metadata.toBase64String()));
+
+        RenderingPlan changedPlan = pipeline.plan(changed);
+        assertNotSame(plan, changedPlan);
+        assertEquals(plan.toString(), changedPlan.toString());
+    }
+
+    @Test
+    void planPerPipeline() {
+        Metadata metadata = fixture.values().iterator().next();
+        Pipeline other = new Pipeline(emptyList(), List.of(new RecordingProvider(events)));
+
+        RenderingPlan plan = pipeline.plan(metadata);
+        RenderingPlan otherPlan = other.plan(metadata);
+        assertNotSame(plan, otherPlan);
+        assertFalse(otherPlan.steps().stream().anyMatch(RenderingPlan.Step::claimed));
+    }
+
+    @Test
+    void immutable() {
+        RenderingPlan plan = pipeline.plan(fixture.values().iterator().next());
+        assertThrows(UnsupportedOperationException.class, () -> plan.steps().clear());
+    }
+
+    // ------------------------------------------------------ uncompiled pipeline
+
+    /** The pipeline without a plan: runs the match phase and resolves each unclaimed attribute for every call. */
+    private List<String> uncompiled(PipelineContext context, Iterable<AttributeDescription> attributes) {
+        record Entry(Recorder recorder, AttributeMatch match, AttributeDescription primary) {}
+
+        List<AttributeDescription> remaining = new ArrayList<>();
+        Map<String, Integer> order = new HashMap<>();
+        for (AttributeDescription ad : attributes) {
+            order.put(ad.name(), remaining.size());
+            remaining.add(ad);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (AttributeHandler handler : handlers) {
+            MatchResult result = handler.match(remaining);
+            for (AttributeMatch match : result.matches()) {
+                entries.add(new Entry((Recorder) handler, match, match.primary()));
+            }
+            remaining = result.remaining();
+        }
+        for (AttributeDescription ad : remaining) {
+            entries.add(new Entry(null, null, ad));
+        }
+        entries.sort((a, b) -> Integer.compare(
+                order.getOrDefault(a.primary().name(), Integer.MAX_VALUE),
+                order.getOrDefault(b.primary().name(), Integer.MAX_VALUE)));
+
+        List<String> recorded = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.recorder() != null) {
+                recorded.add(Recorder.event(entry.recorder(), entry.match()));
+            } else {
+                recorded.add(RecordingProvider.event(ResolvedAttribute.resolve(context, entry.primary())));
+            }
+        }
+        return recorded;
+    }
+
+    // ------------------------------------------------------ recorders
+
+    private static class Recorder implements AttributeHandler {
+
+        static String event(Recorder recorder, AttributeMatch match) {
+            StringBuilder builder = new StringBuilder("handler ").append(recorder.delegate.getClass().getSimpleName());
+            for (AttributeDescription ad : match.descriptions()) {
+                builder.append(" ").append(ad.name());
+            }
+            return builder.toString();
+        }
+
+        private final AttributeHandler delegate;
+        private final List<String> events;
+
+        Recorder(AttributeHandler delegate, List<String> events) {
+            this.delegate = delegate;
+            this.events = events;
+        }
+
+        @Override
+        public MatchResult match(List<AttributeDescription> pool) {
+            return delegate.match(pool);
+        }
+
+        @Override
+        public List<ViewItem> viewItems(PipelineContext context, AttributeMatch match) {
+            events.add(event(this, match));
+            return emptyList();
+        }
+
+        @Override
+        public List<FormItem> formItems(PipelineContext context, AttributeMatch match) {
+            events.add(event(this, match));
+            return emptyList();
+        }
+    }
+
+    private static class RecordingProvider implements ItemProvider {
+
+        static String event(ResolvedAttribute ra) {
+            return "provider " + ra.fqn() + "=" + ra.value()
+                    + " r:" + ra.readable() + " ro:" + ra.readOnly() + " w:" + ra.writable();
+        }
+
+        private final List<String> events;
+
+        RecordingProvider(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public boolean handles(ResolvedAttribute ra) {
+            return true;
+        }
+
+        @Override
+        public ViewItem viewItem(PipelineContext context, ResolvedAttribute ra) {
+            events.add(event(ra));
+            return null;
+        }
+
+        @Override
+        public FormItem formItem(PipelineContext context, ResolvedAttribute ra) {
+            events.add(event(ra));
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static PipelineContext context(Metadata metadata) {
+        ModelNode resource = new ModelNode();
+        int index = 0;
+        for (AttributeDescription ad : metadata.resourceDescription().attributes()) {
+            if (index++ % 3 == 0) {
+                resource.get(ad.name()).set(ad.name() + "-value");
+            } else if (index % 3 == 0) {
+                resource.get(ad.name()).setExpression("${" + ad.name() + ":value}");
+            }
+        }
+        return new PipelineContext(AddressTemplate.ofTrusted(metadata.address()), metadata, resource, null);
+    }
+
+    private static int countAttributes(List<String> events) {
+        int count = 0;
+        for (String event : events) {
+            if (event.startsWith("provider ")) {
+                count++;
+            } else {
+                // handler <name> <attribute>...
+                count += event.split(" ").length - 2;
+            }
+        }
+        return count;
+    }
+
+    private static ResourceDescription shapes() {
+        ModelNode attributes = new ModelNode();
+        attributes.get("plain").get(TYPE).set(ModelType.STRING);
+        objectAttribute(attributes.get("credential-reference"), STORE, ALIAS, CLEAR_TEXT);
+        objectAttribute(attributes.get("timeout"), TIME, UNIT);
+        objectAttribute(attributes.get("file"), PATH, RELATIVE_TO);
+        attributes.get(PATH).get(TYPE).set(ModelType.STRING);
+        ModelNode properties = attributes.get("properties");
+        properties.get(TYPE).set(ModelType.OBJECT);
+        properties.get(VALUE_TYPE).set(ModelType.STRING);
+        objectAttribute(attributes.get("record"), "a", "b");
+        attributes.get(RELATIVE_TO).get(TYPE).set(ModelType.STRING);
+        attributes.get("last").get(TYPE).set(ModelType.INT);
+
+        ModelNode description = new ModelNode();
+        description.get(ATTRIBUTES).set(attributes);
+        return new ResourceDescription(description);
+    }
+
+    private static void objectAttribute(ModelNode attribute, String... keys) {
+        attribute.get(TYPE).set(ModelType.OBJECT);
+        for (String key : keys) {
+            attribute.get(VALUE_TYPE).get(key).get(TYPE).set(ModelType.STRING);
+        }
+    }
+
+    private static void collect(String address, ModelNode description, Map<String, Metadata> metadata) {
+        ModelNode accessControl = description.get(ACCESS_CONTROL);
+        SecurityContext securityContext = accessControl.hasDefined(DEFAULT)
+                ? new SecurityContext(accessControl.get(DEFAULT))
+                : SecurityContext.READ_ONLY;
+        ModelNode payload = description.clone();
+        payload.remove(CHILDREN);
+        metadata.put(address, Metadata.metadata(address, new ResourceDescription(payload), securityContext));
+
+        if (description.hasDefined(CHILDREN)) {
+            for (Property child : description.get(CHILDREN).asPropertyList()) {
+                if (child.getValue().hasDefined(MODEL_DESCRIPTION)) {
+                    for (Property modelDescription : child.getValue().get(MODEL_DESCRIPTION).asPropertyList()) {
+                        collect(address + "/" + child.getName() + "=" + modelDescription.getName(),
+                                modelDescription.getValue(), metadata);
+                    }
+                }
+            }
+        }
+    }
+
+    private static ModelNode fixture(String file) {
+        try (InputStream in = RenderingPlanTest.class.getResourceAsStream("/fixtures/" + file)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture " + file + " not found");
+            }
+            return ModelNode.fromBase64(new String(in.readAllBytes(), StandardCharsets.US_ASCII).replaceAll("\\s", ""));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
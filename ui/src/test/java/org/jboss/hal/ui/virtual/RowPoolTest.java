@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowPoolTest {
+
+    private static final int ROW_HEIGHT = 72;
+    private static final int VIEWPORT_HEIGHT = 720;
+    private static final int OVERSCAN = 5;
+
+    @Test
+    void render() {
+        Rows rows = new Rows();
+        rows.pool.items(children(100));
+
+        List<String> fresh = rows.pool.render(new RowRange(0, 10));
+        assertEquals(10, fresh.size());
+        assertEquals(10, rows.pool.bound());
+        assertEquals(10, rows.pool.created());
+        assertEquals("child-3", rows.pool.row(3).item);
+        assertEquals(3, rows.pool.row(3).index);
+        assertNull(rows.pool.row(10));
+    }
+
+    @Test
+    void recycle() {
+        Rows rows = new Rows();
+        rows.pool.items(children(100));
+        rows.pool.render(new RowRange(0, 10));
+        Row first = rows.pool.row(0);
+        Row fifth = rows.pool.row(5);
+
+        // scroll by 5 rows: 5 rows are released and re-bound, the others keep their item
+        List<String> fresh = rows.pool.render(new RowRange(5, 15));
+        assertEquals(List.of("child-10", "child-11", "child-12", "child-13", "child-14"), fresh);
+        assertEquals(10, rows.pool.created());
+        assertEquals(15, rows.pool.binds());
+        assertEquals(5, rows.released);
+        assertTrue(first.item.startsWith("child-1"));
+        assertSame(fifth, rows.pool.row(5));
+        assertEquals("child-5", rows.pool.row(5).item);
+    }
+
+    @Test
+    void freshOnlyOnce() {
+        Rows rows = new Rows();
+        rows.pool.items(children(100));
+        rows.pool.render(new RowRange(0, 10));
+        rows.pool.render(new RowRange(50, 60));
+
+        // scrolling back doesn't report the items again, but binds them again
+        assertTrue(rows.pool.render(new RowRange(0, 10)).isEmpty());
+        assertEquals(30, rows.pool.binds());
+    }
+
+    @Test
+    void replaceItems() {
+        Rows rows = new Rows();
+        List<String> children = children(100);
+        rows.pool.items(children);
+        rows.pool.render(new RowRange(0, 10));
+
+        // filtering keeps what has been seen for the remaining items
+        List<String> filtered = new ArrayList<>(children.subList(5, 50));
+        rows.pool.items(filtered);
+        assertEquals(0, rows.pool.bound());
+        assertEquals(10, rows.released);
+        List<String> fresh = rows.pool.render(new RowRange(0, 10));
+        assertEquals(List.of("child-10", "child-11", "child-12", "child-13", "child-14"), fresh);
+        assertEquals(10, rows.pool.created());
+
+        // items which are gone are forgotten
+        rows.pool.items(emptyList());
+        assertTrue(rows.pool.render(RowRange.EMPTY).isEmpty());
+        rows.pool.items(children);
+        assertEquals(10, rows.pool.render(new RowRange(0, 10)).size());
+    }
+
+    @Test
+    void refresh() {
+        Rows rows = new Rows();
+        rows.pool.items(children(100));
+        rows.pool.render(new RowRange(0, 10));
+
+        assertTrue(rows.pool.refresh("child-3"));
+        assertFalse(rows.pool.refresh("child-30"));
+        assertEquals(11, rows.pool.binds());
+    }
+
+    @Test
+    void scrollThroughTenThousandChildren() {
+        Rows rows = new Rows();
+        rows.pool.items(children(10_000));
+
+        Set<String> fresh = new HashSet<>();
+        for (int scrollTop = 0; scrollTop <= 10_000 * ROW_HEIGHT; scrollTop += ROW_HEIGHT / 3) {
+            RowRange range = RowRange.of(scrollTop, VIEWPORT_HEIGHT, ROW_HEIGHT, OVERSCAN, 10_000);
+            fresh.addAll(rows.pool.render(range));
+            assertTrue(rows.pool.bound() <= window());
+        }
+        assertEquals(10_000, fresh.size());
+        assertTrue(rows.pool.created() <= window() + 1);
+    }
+
+    @Test
+    void firstPaint() {
+        // only the rows inside the viewport plus the overscan buffer are created, see FirstPaintBenchmark for the timing
+        List<String> children = children(10_000);
+        Rows rows = new Rows();
+        rows.pool.items(children);
+        List<String> fresh = rows.pool.render(RowRange.of(0, VIEWPORT_HEIGHT, ROW_HEIGHT, OVERSCAN, children.size()));
+
+        assertEquals(15, fresh.size());
+        assertEquals(15, rows.pool.created());
+        assertEquals(15, rows.pool.bound());
+        assertEquals(15, rows.pool.binds());
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private static int window() {
+        return VIEWPORT_HEIGHT / ROW_HEIGHT + 1 + 2 * OVERSCAN;
+    }
+
+    private static List<String> children(int count) {
+        List<String> children = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            children.add("child-" + i);
+        }
+        return children;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Row {
+
+        String item;
+        int index;
+        // simulates building the DOM of a data list item
+        final StringBuilder dom = new StringBuilder();
+
+        void bind(String item, int index) {
+            this.item = item;
+            this.index = index;
+            dom.setLength(0);
+            dom.append("<li id=\"").append(item).append("\"><span>").append(item).append("</span></li>");
+        }
+    }
+
+    private static class Rows {
+
+        final RowPool<String, Row> pool;
+        int released;
+
+        Rows() {
+            pool = new RowPool<>(Row::new, Row::bind, row -> released++);
+        }
+    }
+}
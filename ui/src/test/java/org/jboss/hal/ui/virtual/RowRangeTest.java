@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2024 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.ui.virtual;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowRangeTest {
+
+    @Test
+    void empty() {
+        assertEquals(RowRange.EMPTY, RowRange.of(0, 500, 50, 5, 0));
+        assertEquals(RowRange.EMPTY, RowRange.of(0, 500, 0, 5, 100));
+    }
+
+    @Test
+    void top() {
+        RowRange range = RowRange.of(0, 500, 50, 5, 10_000);
+        assertEquals(new RowRange(0, 15), range);
+        assertEquals(15, range.size());
+    }
+
+    @Test
+    void middle() {
+        // rows 100 to 109 are visible, plus 5 rows above and below
+        assertEquals(new RowRange(95, 115), RowRange.of(5_000, 500, 50, 5, 10_000));
+        // a partially visible row at the top and bottom
+        assertEquals(new RowRange(95, 116), RowRange.of(5_025, 500, 50, 5, 10_000));
+    }
+
+    @Test
+    void bottom() {
+        assertEquals(new RowRange(9_985, 10_000), RowRange.of(499_500, 500, 50, 5, 10_000));
+        // overscrolled (e.g. items removed while scrolled down)
+        assertEquals(new RowRange(9_994, 10_000), RowRange.of(1_000_000, 500, 50, 5, 10_000));
+    }
+
+    @Test
+    void smallList() {
+        assertEquals(new RowRange(0, 3), RowRange.of(0, 500, 50, 5, 3));
+    }
+
+    @Test
+    void notAttached() {
+        // no viewport height yet: render the overscan buffer only
+        assertEquals(new RowRange(0, 5), RowRange.of(0, 0, 50, 5, 10_000));
+    }
+
+    @Test
+    void contains() {
+        RowRange range = new RowRange(10, 20);
+        assertFalse(range.contains(9));
+        assertTrue(range.contains(10));
+        assertTrue(range.contains(19));
+        assertFalse(range.contains(20));
+    }
+}